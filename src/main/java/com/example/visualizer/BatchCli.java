@@ -0,0 +1,387 @@
+package com.example.visualizer;
+
+import com.example.visualizer.model.ExcelData;
+import com.example.visualizer.model.PointTable;
+import com.example.visualizer.service.BinaryPointSource;
+import com.example.visualizer.service.ExcelService;
+import com.example.visualizer.service.PointSourceRegistry;
+import com.example.visualizer.service.RenderService;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 화면 없이 여러 파일을 한 번에 처리하는 일괄 실행 진입점
+ * 입력(파일, 폴더, 글롭 패턴)마다 출력 폴더 아래에 파일별 폴더를 만들고 그래프 이미지, 결과 엑셀,
+ * 엑셀 차트 워크북, 3D 포인트 파일(3d_data.bvpt)을 저장한 뒤 파일별 소요 시간을 출력한다.
+ * 파일은 제한된 스레드 풀에서 병렬로 처리하며 Swing 화면이나 JavaFX 툴킷을 띄우지 않는다.
+ *
+ * 사용법: java -Djava.awt.headless=true -cp building-visualizer-fat.jar com.example.visualizer.BatchCli
+ *         --out <출력 폴더> [--scale 배율] [--threads N] [--no-chart] [--no-points] <입력>...
+ */
+public class BatchCli {
+    private static final String USAGE =
+        "사용법: BatchCli --out <출력 폴더> [--scale 배율] [--threads N] [--no-chart] [--no-points] <입력>...\n"
+        + "  <입력>       파일, 폴더(바로 아래의 지원 파일) 또는 글롭 패턴 (예: data/*.xlsx, data/**/*.csv)\n"
+        + "  --out        결과를 저장할 폴더 (입력 파일마다 하위 폴더 생성)\n"
+        + "  --scale      단위 변환 배율 (기본 1.0)\n"
+        + "  --threads    동시에 처리할 파일 수 (기본 CPU 코어 수)\n"
+        + "  --no-chart   엑셀 차트 워크북 생성 안 함\n"
+        + "  --no-points  3D 포인트 파일(3d_data.bvpt) 생성 안 함";
+    private static final String POINT_FILE_NAME = "3d_data.bvpt";
+    private static final String CHART_FILE_SUFFIX = "_chart.xlsx";
+    private static final int EXIT_FAILED = 1;
+    private static final int EXIT_USAGE = 2;
+    
+    private final List<File> inputs;
+    private final File outputDir;
+    private final double unitScale;
+    private final int threads;
+    private final boolean writeChart;
+    private final boolean writePoints;
+    
+    public BatchCli(List<File> inputs, File outputDir, double unitScale, int threads,
+                    boolean writeChart, boolean writePoints) {
+        this.inputs = inputs;
+        this.outputDir = outputDir;
+        this.unitScale = unitScale;
+        this.threads = Math.max(1, threads);
+        this.writeChart = writeChart;
+        this.writePoints = writePoints;
+    }
+    
+    public static void main(String[] args) {
+        // AWT가 초기화되기 전에 설정해야 이미지 렌더링이 디스플레이 없이 동작
+        System.setProperty("java.awt.headless", "true");
+        
+        List<String> patterns = new ArrayList<>();
+        File outputDir = null;
+        double unitScale = 1.0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean writeChart = true;
+        boolean writePoints = true;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--out":
+                        outputDir = new File(value(args, ++i, "--out"));
+                        break;
+                    case "--scale":
+                        unitScale = Double.parseDouble(value(args, ++i, "--scale"));
+                        if (!(unitScale > 0)) {
+                            throw new IllegalArgumentException("단위 변환 배율은 양수여야 합니다: " + args[i]);
+                        }
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value(args, ++i, "--threads"));
+                        break;
+                    case "--no-chart":
+                        writeChart = false;
+                        break;
+                    case "--no-points":
+                        writePoints = false;
+                        break;
+                    case "-h":
+                    case "--help":
+                        System.out.println(USAGE);
+                        return;
+                    default:
+                        if (args[i].startsWith("--")) {
+                            throw new IllegalArgumentException("알 수 없는 옵션: " + args[i]);
+                        }
+                        patterns.add(args[i]);
+                }
+            }
+            if (outputDir == null || patterns.isEmpty()) {
+                throw new IllegalArgumentException("출력 폴더와 입력을 지정하세요.");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(EXIT_USAGE);
+            return;
+        }
+        
+        List<File> inputs;
+        try {
+            inputs = expandInputs(patterns, new PointSourceRegistry());
+        } catch (IOException e) {
+            System.err.println("입력 목록 작성 실패: " + e.getMessage());
+            System.exit(EXIT_USAGE);
+            return;
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("처리할 입력 파일이 없습니다.");
+            System.exit(EXIT_USAGE);
+            return;
+        }
+        
+        boolean success = new BatchCli(inputs, outputDir, unitScale, threads, writeChart, writePoints).run();
+        System.exit(success ? 0 : EXIT_FAILED);
+    }
+    
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(option + " 옵션에 값이 없습니다.");
+        }
+        return args[index];
+    }
+    
+    /**
+     * 모든 입력 처리 후 요약 출력
+     * @return 모든 파일을 성공적으로 처리했으면 true
+     */
+    public boolean run() {
+        long startTime = System.nanoTime();
+        int poolSize = Math.min(threads, inputs.size());
+        List<FileReport> reports = assignOutputDirs();
+        System.out.println("일괄 처리 시작: " + inputs.size() + "개 파일, 스레드 " + poolSize + "개, 배율 " + unitScale
+            + ", 출력 " + outputDir.getAbsolutePath());
+        
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "batch-worker-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<FileReport> completion = new ExecutorCompletionService<>(executor);
+        for (FileReport report : reports) {
+            completion.submit(() -> process(report));
+        }
+        
+        // 끝나는 순서대로 진행 상황 출력
+        try {
+            for (int done = 1; done <= reports.size(); done++) {
+                FileReport report = completion.take().get();
+                System.out.println("[" + done + "/" + reports.size() + "] " + report.input.getName()
+                    + (report.error == null ? " 완료 (" + report.totalMillis + "ms)" : " 실패: " + report.error));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("일괄 처리가 중단되었습니다.");
+            return false;
+        } catch (ExecutionException e) {
+            // process()는 예외를 보고서에 기록하므로 여기까지 오지 않음
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        printSummary(reports, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), poolSize);
+        return reports.stream().allMatch(report -> report.error == null);
+    }
+    
+    /**
+     * 입력 파일별 출력 폴더 지정 (파일 이름이 같으면 _2, _3을 붙임)
+     */
+    private List<FileReport> assignOutputDirs() {
+        List<FileReport> reports = new ArrayList<>(inputs.size());
+        Set<String> used = new HashSet<>();
+        for (File input : inputs) {
+            String baseName = baseName(input);
+            String name = baseName;
+            for (int suffix = 2; !used.add(name.toLowerCase()); suffix++) {
+                name = baseName + "_" + suffix;
+            }
+            reports.add(new FileReport(input, new File(outputDir, name)));
+        }
+        return reports;
+    }
+    
+    /**
+     * 파일 하나 처리 (작업 스레드) - 서비스 객체는 스레드 간에 공유하지 않음
+     */
+    private FileReport process(FileReport report) {
+        long startTime = System.nanoTime();
+        try {
+            // 읽기 (UI와 같은 입력 형식 선택: xlsx, xls, csv, bvpt)
+            long stepTime = System.nanoTime();
+            PointTable table = new PointSourceRegistry().readTable(report.input);
+            ExcelData excelData = new ExcelData(report.input);
+            if (table != null) {
+                excelData.setHeaders(new ArrayList<>(table.getHeaders()));
+                excelData.setTable(table);
+                excelData.setHasTypeColumn(table.hasType());
+            }
+            ExcelService excelService = new ExcelService();
+            if (!excelService.validateExcelData(excelData)) {
+                throw new IllegalArgumentException("'x'와 'y' 컬럼과 데이터 행이 필요합니다.");
+            }
+            report.rows = table.size();
+            report.readMillis = millisSince(stepTime);
+            
+            // 그래프 이미지 + 결과 엑셀
+            stepTime = System.nanoTime();
+            new RenderService().runVisualization(excelData, unitScale, report.outputDir, progress -> { });
+            report.renderMillis = millisSince(stepTime);
+            
+            // 엑셀 차트 워크북
+            if (writeChart) {
+                stepTime = System.nanoTime();
+                excelService.createExcelChart(excelData, new File(report.outputDir, baseName(report.input) + CHART_FILE_SUFFIX));
+                report.chartMillis = millisSince(stepTime);
+            }
+            
+            // 3D 포인트 파일 (배율 적용)
+            if (writePoints) {
+                stepTime = System.nanoTime();
+                BinaryPointSource.write(table, unitScale, new File(report.outputDir, POINT_FILE_NAME));
+                report.pointsMillis = millisSince(stepTime);
+            }
+        } catch (Exception e) {
+            report.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        } catch (OutOfMemoryError e) {
+            report.error = "메모리 부족 (--threads를 줄이세요)";
+        }
+        report.totalMillis = millisSince(startTime);
+        return report;
+    }
+    
+    /**
+     * 파일별 소요 시간 표 (입력 순서)
+     */
+    private void printSummary(List<FileReport> reports, long elapsedMillis, int poolSize) {
+        int nameWidth = 10;
+        for (FileReport report : reports) {
+            nameWidth = Math.max(nameWidth, report.input.getName().length());
+        }
+        String format = "%-" + nameWidth + "s %10s %8s %8s %8s %8s %8s  %s%n";
+        
+        System.out.println();
+        System.out.printf(format, "파일", "행 수", "읽기", "그래프", "차트", "포인트", "합계", "결과");
+        int failed = 0;
+        long rows = 0;
+        for (FileReport report : reports) {
+            if (report.error != null) {
+                failed++;
+            }
+            rows += report.rows;
+            System.out.printf(format, report.input.getName(), String.format("%,d", report.rows),
+                millis(report.readMillis), millis(report.renderMillis), millis(report.chartMillis),
+                millis(report.pointsMillis), millis(report.totalMillis),
+                report.error == null ? report.outputDir.getPath() : "실패: " + report.error);
+        }
+        System.out.println();
+        System.out.println("일괄 처리 완료: 성공 " + (reports.size() - failed) + "개, 실패 " + failed + "개, "
+            + String.format("%,d", rows) + "행, 전체 " + elapsedMillis + "ms (스레드 " + poolSize + "개)");
+    }
+    
+    private static String millis(long value) {
+        return value >= 0 ? value + "ms" : "-";
+    }
+    
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+    
+    private static String baseName(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+    
+    /**
+     * 입력 인자를 파일 목록으로 변환 (중복 제거, 인자 순서 유지)
+     * 파일은 그대로, 폴더는 바로 아래의 지원 파일, 그 외는 글롭 패턴(** 는 하위 폴더 포함)으로 찾는다.
+     */
+    static List<File> expandInputs(List<String> patterns, PointSourceRegistry registry) throws IOException {
+        Set<File> files = new LinkedHashSet<>();
+        List<String> extensions = registry.getExtensions();
+        for (String pattern : patterns) {
+            File file = new File(pattern);
+            if (file.isFile()) {
+                files.add(file.getAbsoluteFile());
+                continue;
+            }
+            if (file.isDirectory()) {
+                try (Stream<Path> list = Files.list(file.toPath())) {
+                    list.filter(Files::isRegularFile)
+                        .filter(path -> extensions.contains(extensionOf(path.getFileName().toString())))
+                        .sorted()
+                        .forEach(path -> files.add(path.toFile().getAbsoluteFile()));
+                }
+                continue;
+            }
+            
+            int wildcard = indexOfWildcard(pattern);
+            if (wildcard < 0) {
+                System.err.println("입력 파일을 찾을 수 없습니다: " + pattern);
+                continue;
+            }
+            
+            // 와일드카드 앞의 폴더부터 탐색하고, 그 폴더 기준 상대 경로를 패턴과 비교
+            int separator = Math.max(pattern.lastIndexOf('/', wildcard), pattern.lastIndexOf(File.separatorChar, wildcard));
+            Path base = separator >= 0 ? Paths.get(pattern.substring(0, separator + 1)) : Paths.get(".");
+            String glob = pattern.substring(separator + 1);
+            if (!Files.isDirectory(base)) {
+                System.err.println("입력 폴더를 찾을 수 없습니다: " + base);
+                continue;
+            }
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+            int depth = glob.contains("**") ? Integer.MAX_VALUE : glob.split("[/\\\\]").length;
+            int before = files.size();
+            try (Stream<Path> walk = Files.walk(base, depth)) {
+                walk.filter(Files::isRegularFile)
+                    .filter(path -> matcher.matches(base.relativize(path)))
+                    .sorted()
+                    .forEach(path -> files.add(path.toFile().getAbsoluteFile()));
+            }
+            if (files.size() == before) {
+                System.err.println("패턴과 일치하는 파일이 없습니다: " + pattern);
+            }
+        }
+        return new ArrayList<>(files);
+    }
+    
+    private static int indexOfWildcard(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if ("*?[{".indexOf(pattern.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static String extensionOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(dot + 1).toLowerCase() : "";
+    }
+    
+    /**
+     * 파일 하나의 처리 결과 (단계별 소요 시간, 건너뛴 단계는 -1)
+     */
+    private static class FileReport {
+        final File input;
+        final File outputDir;
+        int rows;
+        long readMillis = -1;
+        long renderMillis = -1;
+        long chartMillis = -1;
+        long pointsMillis = -1;
+        long totalMillis;
+        String error;
+        
+        FileReport(File input, File outputDir) {
+            this.input = input;
+            this.outputDir = outputDir;
+        }
+    }
+}
@@ -1,16 +1,33 @@
 package com.example.visualizer.controller;
 
 import com.example.visualizer.model.ExcelData;
+import com.example.visualizer.model.PointTable;
+import com.example.visualizer.model.PointTableDiff;
+import com.example.visualizer.model.PointTableModel;
 import com.example.visualizer.model.ProgressInfo;
 import com.example.visualizer.service.ExcelService;
 import com.example.visualizer.service.FileService;
+import com.example.visualizer.service.FileWatchService;
+import com.example.visualizer.service.ParseCacheService;
+import com.example.visualizer.service.PointSource;
+import com.example.visualizer.service.PointSourceRegistry;
 import com.example.visualizer.view.MainFrame;
 
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.TableModel;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * 엑셀 파일 처리를 담당하는 컨트롤러
@@ -19,61 +36,386 @@ public class ExcelController {
     private final MainFrame view;
     private final ExcelService excelService;
     private final FileService fileService;
+    private final ParseCacheService parseCacheService;
+    private final PointSourceRegistry pointSourceRegistry;
     private ExcelData currentExcelData;
     
+    // 비동기 로딩 상태 (loadingData/loadingModel/currentLoad는 EDT에서만 접근)
+    private static final int INITIAL_ROWS = 2000;
+    private final ExecutorService loadExecutor;
+    private final AtomicInteger loadGeneration = new AtomicInteger();
+    private Future<?> currentLoad;
+    private ExcelData loadingData;
+    private PointTableModel loadingModel;
+    private volatile Future<?> cacheStore;
+    
+    // 파일 변경 감시 상태 (watchEnabled/watchedData는 EDT, watchedTable/watchedHashes는 재적재 스레드에서만 접근)
+    private final FileWatchService fileWatchService;
+    private final ExecutorService reloadExecutor;
+    private boolean watchEnabled;
+    private ExcelData watchedData;
+    private Consumer<PointTableDiff> dataPatchListener;
+    private PointTable watchedTable;
+    private long[] watchedHashes;
+    
     public ExcelController(MainFrame view) {
         this.view = view;
         this.excelService = new ExcelService();
         this.fileService = new FileService();
+        this.parseCacheService = new ParseCacheService();
+        this.pointSourceRegistry = new PointSourceRegistry();
         this.currentExcelData = null;
+        this.loadExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "excel-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.fileWatchService = new FileWatchService();
+        this.reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "file-watch-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
     
     /**
      * 엑셀 파일 열기 처리
      */
     public void openExcelFile() {
+        // 파일 선택 (xlsx, xls, csv, bvpt 등 등록된 입력 형식)
+        File selectedFile = fileService.selectDataFile(view, pointSourceRegistry.getExtensions());
+        if (selectedFile == null) {
+            return;
+        }
+        
+        // 파일 유효성 검사
+        if (!pointSourceRegistry.isSupported(selectedFile)) {
+            view.showError("지원하지 않는 파일 형식입니다.");
+            return;
+        }
+        
+        loadExcelFile(selectedFile);
+    }
+    
+    /**
+     * 백그라운드에서 엑셀 파일 로딩 시작
+     * 진행 중인 이전 로딩은 취소되며, 이전 로딩의 결과는 화면에 반영되지 않는다.
+     */
+    public void loadExcelFile(File file) {
+        cancelCurrentLoad();
+        int generation = loadGeneration.incrementAndGet();
+        
+        view.getControlPanel().setLoading(true);
+        view.getProgressPanel().updateProgress(
+            new ProgressInfo("파일 로딩 중...", "파일을 로딩 중...", true)
+        );
+        
+        currentLoad = loadExecutor.submit(() -> runLoad(file, generation));
+    }
+    
+    /**
+     * 진행 중인 로딩 취소 (이전에 로드된 데이터로 화면 복원)
+     */
+    public void cancelLoading() {
+        if (currentLoad == null) {
+            return;
+        }
+        cancelCurrentLoad();
+        loadGeneration.incrementAndGet();
+        
+        updateUI();
+        view.getControlPanel().setLoading(false);
+        view.getProgressPanel().updateProgress(
+            new ProgressInfo(0, "로딩 취소됨", "엑셀 파일 로딩이 취소되었습니다.")
+        );
+    }
+    
+    private void cancelCurrentLoad() {
+        if (currentLoad != null) {
+            currentLoad.cancel(true);
+            currentLoad = null;
+        }
+        loadingData = null;
+        loadingModel = null;
+    }
+    
+    /**
+     * 로딩 작업 본체 (백그라운드 스레드)
+     */
+    private void runLoad(File file, int generation) {
         try {
-            // 파일 선택
-            File selectedFile = fileService.selectExcelFile(view);
-            if (selectedFile == null) {
-                return;
+            PointSource source = pointSourceRegistry.findSource(file);
+            if (source == null) {
+                throw new IOException("지원하지 않는 파일 형식입니다: " + file.getName());
             }
             
-            // 파일 유효성 검사
-            if (!excelService.isValidExcelFile(selectedFile)) {
-                view.showError("유효하지 않은 엑셀 파일입니다.");
+            // 변경되지 않은 파일은 파싱 캐시에서 로드 (바이너리 형식은 캐시하지 않음)
+            ParseCacheService.CacheKey cacheKey = source.isCacheable() ? parseCacheService.keyFor(file) : null;
+            checkCurrent(generation);
+            ExcelData cached = cacheKey != null ? parseCacheService.load(cacheKey) : null;
+            if (cached != null) {
+                runIfCurrent(generation, () -> {
+                    loadingData = cached;
+                    loadingModel = null;
+                    completeLoading(generation, null);
+                });
                 return;
             }
             
-            // 진행 상태 업데이트
-            view.getProgressPanel().updateProgress(
-                new ProgressInfo("파일 로딩 중...", "엑셀 파일을 로딩 중...", true)
-            );
+            System.out.println("파일 로딩 시작: " + file.getName() + " (" + source.getFormatName() + ")");
+            source.read(file, new ProgressiveLoader(file, generation));
+            runIfCurrent(generation, () -> completeLoading(generation, cacheKey));
+        
+        } catch (CancellationException e) {
+            System.out.println("엑셀 로딩 취소: " + file.getName());
+        } catch (IOException e) {
+            if (isCurrent(generation)) {
+                runIfCurrent(generation, () -> failLoading("엑셀 파일 읽기 오류: " + e.getMessage()));
+            } else {
+                System.out.println("엑셀 로딩 취소: " + file.getName());
+            }
+        } catch (Exception e) {
+            runIfCurrent(generation, () -> failLoading("예상치 못한 오류: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * 로딩 완료 처리 (EDT)
+     * @param cacheKey 새로 파싱한 경우 캐시에 저장할 키 (캐시에서 읽었으면 null)
+     */
+    private void completeLoading(int generation, ParseCacheService.CacheKey cacheKey) {
+        ExcelData loaded = loadingData;
+        currentLoad = null;
+        loadingData = null;
+        loadingModel = null;
+        view.getControlPanel().setLoading(false);
+        
+        // 데이터 유효성 검사
+        if (loaded == null || !excelService.validateExcelData(loaded)) {
+            failLoading("엑셀 파일에 'x'와 'y' 컬럼이 필요합니다.");
+            return;
+        }
+        
+        currentExcelData = loaded;
+        updateUI();
+        updateWatch();
+        
+        // 완료 상태
+        view.getProgressPanel().updateProgress(
+            new ProgressInfo(0, "준비 완료", "엑셀 파일 로딩 완료. 시각화를 실행하세요.")
+        );
+        
+        // 캐시 저장은 화면과 무관하므로 백그라운드에서 처리 (EDT에서 채운 테이블은 submit 이후 읽기만 함)
+        if (cacheKey != null) {
+            cacheStore = loadExecutor.submit(() -> parseCacheService.store(cacheKey, loaded));
+        }
+    }
+    
+    /**
+     * 로딩 실패 처리 (EDT) - 이전에 로드된 데이터로 화면 복원
+     */
+    private void failLoading(String message) {
+        currentLoad = null;
+        loadingData = null;
+        loadingModel = null;
+        view.getControlPanel().setLoading(false);
+        updateUI();
+        view.getProgressPanel().updateProgress(new ProgressInfo(0, "로딩 실패", message));
+        view.showError(message);
+    }
+    
+    private boolean isCurrent(int generation) {
+        return loadGeneration.get() == generation;
+    }
+    
+    private void checkCurrent(int generation) {
+        if (!isCurrent(generation) || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException();
+        }
+    }
+    
+    /**
+     * 로딩 세대가 바뀌지 않은 경우에만 EDT에서 실행 (대체된 로딩의 결과는 버림)
+     */
+    private void runIfCurrent(int generation, Runnable action) {
+        SwingUtilities.invokeLater(() -> {
+            if (isCurrent(generation)) {
+                action.run();
+            }
+        });
+    }
+    
+    /**
+     * 파일 변경 감시 켜기/끄기 (현재 로드된 파일 대상)
+     */
+    public void setWatchEnabled(boolean enabled) {
+        watchEnabled = enabled;
+        updateWatch();
+    }
+    
+    /**
+     * 파일 변경으로 테이블의 일부 행이 바뀌었을 때 호출할 리스너 (EDT에서 호출됨)
+     */
+    public void setDataPatchListener(Consumer<PointTableDiff> listener) {
+        this.dataPatchListener = listener;
+    }
+    
+    /**
+     * 감시 대상을 현재 데이터에 맞춤 (EDT)
+     */
+    private void updateWatch() {
+        if (!watchEnabled || currentExcelData == null) {
+            fileWatchService.stop();
+            watchedData = null;
+            return;
+        }
+        if (watchedData == currentExcelData) {
+            return;
+        }
+        
+        ExcelData data = currentExcelData;
+        PointTable table = data.getTable();
+        int generation = loadGeneration.get();
+        try {
+            fileWatchService.watch(data.getFile(),
+                changed -> reloadExecutor.submit(() -> reloadChangedFile(changed, table, generation)));
+            watchedData = data;
+        } catch (IOException e) {
+            fileWatchService.stop();
+            watchedData = null;
+            view.showError("파일 변경 감시를 시작할 수 없습니다: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 바뀐 파일을 다시 읽어서 행 해시로 비교 (재적재 스레드)
+     * 헤더가 바뀌었으면 전체를 다시 로드하고, 아니면 바뀐 행만 EDT에서 반영한다.
+     */
+    private void reloadChangedFile(File file, PointTable table, int generation) {
+        if (!isCurrent(generation)) {
+            return;
+        }
+        try {
+            // 로딩 직후의 캐시 저장이 끝난 뒤에 테이블을 바꾸도록 대기
+            Future<?> store = cacheStore;
+            if (store != null) {
+                store.get();
+            }
             
-            // 엑셀 파일 읽기
-            currentExcelData = excelService.readExcelFile(selectedFile);
+            long startTime = System.nanoTime();
+            if (watchedTable != table) {
+                // 아직 바뀌지 않은 로드 당시 테이블의 해시 (첫 변경 때 한 번만 계산)
+                watchedTable = table;
+                watchedHashes = PointTableDiff.hashRows(table);
+            }
             
-            // 데이터 유효성 검사
-            if (!excelService.validateExcelData(currentExcelData)) {
-                view.showError("엑셀 파일에 'x'와 'y' 컬럼이 필요합니다.");
-                currentExcelData = null;
+            PointTable updated = pointSourceRegistry.readTable(file);
+            if (updated == null || !updated.getHeaders().equals(table.getHeaders())) {
+                System.out.println("헤더가 바뀌어 전체를 다시 로드합니다: " + file.getName());
+                runIfCurrent(generation, () -> loadExcelFile(file));
                 return;
             }
             
-            // UI 업데이트
-            updateUI();
-            
-            // 완료 상태
-            view.getProgressPanel().updateProgress(
-                new ProgressInfo(0, "준비 완료", "엑셀 파일 로딩 완료. 시각화를 실행하세요.")
-            );
+            long[] newHashes = PointTableDiff.hashRows(updated);
+            PointTableDiff diff = PointTableDiff.compute(watchedHashes, updated, newHashes);
+            watchedHashes = newHashes;
+            System.out.println("파일 변경 비교: " + diff.getUpdatedCount() + "개 행 변경, " + diff.getInsertedCount()
+                + "개 행 추가, " + diff.getDeletedCount() + "개 행 삭제 (" + (System.nanoTime() - startTime) / 1_000_000 + "ms)");
             
+            if (!diff.isEmpty()) {
+                runIfCurrent(generation, () -> applyFileChange(table, diff));
+            }
         } catch (IOException e) {
-            view.showError("엑셀 파일 읽기 오류: " + e.getMessage());
-            currentExcelData = null;
-        } catch (Exception e) {
-            view.showError("예상치 못한 오류: " + e.getMessage());
-            currentExcelData = null;
+            // 저장 도중인 파일은 다음 변경 이벤트에서 다시 시도
+            System.err.println("변경된 파일 다시 읽기 실패: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            System.err.println("파일 변경 반영 실패: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 바뀐 행을 현재 테이블에 반영하고 화면에 알림 (EDT)
+     */
+    private void applyFileChange(PointTable table, PointTableDiff diff) {
+        if (currentExcelData == null || currentExcelData.getTable() != table) {
+            return;
+        }
+        
+        diff.applyTo(table);
+        TableModel model = view.getDataTable().getModel();
+        if (model instanceof PointTableModel && ((PointTableModel) model).getTable() == table) {
+            ((PointTableModel) model).rowsChanged(diff);
+        }
+        if (dataPatchListener != null) {
+            dataPatchListener.accept(diff);
+        }
+        
+        view.getProgressPanel().updateProgress(
+            new ProgressInfo(0, "파일 변경 반영", "변경 " + diff.getUpdatedCount() + "행, 추가 "
+                + diff.getInsertedCount() + "행, 삭제 " + diff.getDeletedCount() + "행을 반영했습니다.")
+        );
+    }
+    
+    /**
+     * 입력 형식이 넘겨주는 배치를 EDT의 테이블에 이어 붙이는 Sink
+     * 파싱은 백그라운드 스레드에서 끝난 상태이므로 EDT에서는 배열 복사만 한다.
+     */
+    private class ProgressiveLoader implements PointSource.Sink {
+        private final File file;
+        private final int generation;
+        private final long startTime = System.nanoTime();
+        private long processedRows;
+        private long totalRows;
+        
+        ProgressiveLoader(File file, int generation) {
+            this.file = file;
+            this.generation = generation;
+        }
+        
+        @Override
+        public void onRowCountEstimate(long rowCount) {
+            totalRows = rowCount;
+        }
+        
+        @Override
+        public void onHeaders(List<String> headers) {
+            checkCurrent(generation);
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(INITIAL_ROWS, totalRows));
+            
+            runIfCurrent(generation, () -> {
+                ExcelData data = new ExcelData(file);
+                data.setHeaders(new ArrayList<>(headers));
+                data.setTable(new PointTable(headers, capacity));
+                data.setHasTypeColumn(headers.contains(PointTable.TYPE));
+                loadingData = data;
+                loadingModel = new PointTableModel(data.getTable());
+                view.getFileInfoPanel().setSelectedFile(data.getFileName());
+                view.getDataTable().setModel(loadingModel);
+            });
+        }
+        
+        /**
+         * 읽은 행 묶음을 EDT로 넘기고 진행 상태 갱신
+         */
+        @Override
+        public void onBatch(PointTable rows) {
+            checkCurrent(generation);
+            processedRows += rows.size();
+            
+            ProgressInfo progress = new ProgressInfo("파일 로딩 중...", "파일을 로딩 중...", true);
+            progress.setRowProgress(processedRows, Math.max(totalRows, processedRows), System.nanoTime() - startTime);
+            
+            runIfCurrent(generation, () -> {
+                if (loadingData != null && rows.size() > 0) {
+                    PointTable table = loadingData.getTable();
+                    int firstRow = table.size();
+                    table.appendAll(rows);
+                    loadingModel.rowsAppended(firstRow);
+                }
+                view.getProgressPanel().updateProgress(progress);
+            });
         }
     }
     
@@ -85,9 +427,12 @@ public class ExcelController {
             // 파일 정보 표시
             view.getFileInfoPanel().setSelectedFile(currentExcelData.getFileName());
             
-            // 테이블 모델 설정
-            var tableModel = excelService.createTableModel(currentExcelData);
-            view.getDataTable().setModel(tableModel);
+            // 테이블 모델 설정 (점진적 로딩으로 이미 표시 중인 모델은 정렬 상태 유지)
+            TableModel current = view.getDataTable().getModel();
+            if (!(current instanceof PointTableModel)
+                    || ((PointTableModel) current).getTable() != currentExcelData.getTable()) {
+                view.getDataTable().setModel(excelService.createTableModel(currentExcelData));
+            }
             
             // 시각화 버튼 활성화
             view.getControlPanel().setRunButtonEnabled(true);
@@ -114,8 +459,10 @@ public class ExcelController {
      * 엑셀 데이터 초기화
      */
     public void clearExcelData() {
+        cancelLoading();
         currentExcelData = null;
         updateUI();
+        updateWatch();
     }
     
     /**
@@ -169,9 +516,9 @@ public class ExcelController {
                     "엑셀 차트가 성공적으로 생성되었습니다!\n파일 위치: " + outputFile.getAbsolutePath(),
                     "차트 생성 완료", 
                     JOptionPane.INFORMATION_MESSAGE);
-                
-            }
             
+            }
+        
         } catch (IOException e) {
             view.showError("엑셀 차트 생성 오류: " + e.getMessage());
         } catch (Exception e) {
@@ -237,9 +584,9 @@ public class ExcelController {
                     "엑셀 파일에 차트가 성공적으로 추가되었습니다!\n파일 위치: " + outputFile.getAbsolutePath(),
                     "차트 추가 완료", 
                     JOptionPane.INFORMATION_MESSAGE);
-                
-            }
             
+            }
+        
         } catch (IOException e) {
             view.showError("엑셀 차트 추가 오류: " + e.getMessage());
         } catch (Exception e) {
@@ -4,6 +4,8 @@ import com.example.visualizer.model.ExcelData;
 import com.example.visualizer.view.MainFrame;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 /**
  * 메인 컨트롤러 - 전체 애플리케이션의 흐름을 관리
@@ -34,12 +36,48 @@ public class MainController {
             excelController.openExcelFile();
         });
         
+        // 로딩 취소 버튼
+        view.getControlPanel().getCancelLoadButton().addActionListener(e -> {
+            excelController.cancelLoading();
+        });
+        
+        // 파일 변경 감시 체크박스 (바뀐 행은 시각화 화면에도 부분 반영)
+        view.getControlPanel().getWatchFileCheckBox().addActionListener(e -> {
+            excelController.setWatchEnabled(view.getControlPanel().getWatchFileCheckBox().isSelected());
+        });
+        excelController.setDataPatchListener(diff -> {
+            visualizationController.applyDataPatch(excelController.getCurrentExcelData(), diff);
+        });
+        
         // 시각화 실행 버튼
         view.getControlPanel().getRunVisualizationButton().addActionListener(e -> {
             ExcelData excelData = excelController.getCurrentExcelData();
             visualizationController.runVisualization(excelData);
         });
         
+        // 배율 입력 (입력하는 대로 미리보기 차트에 반영, 데이터는 다시 만들지 않음)
+        view.getControlPanel().getScaleField().getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                visualizationController.applyUnitScale(view.getControlPanel().getScaleValue());
+            }
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                visualizationController.applyUnitScale(view.getControlPanel().getScaleValue());
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // 속성 변경은 값과 무관
+            }
+        });
+        
+        // 시각화 취소 버튼
+        view.getControlPanel().getCancelVisualizationButton().addActionListener(e -> {
+            visualizationController.cancelVisualization();
+        });
+        
         // 결과 엑셀 열기 버튼
         view.getControlPanel().getOpenResultButton().addActionListener(e -> {
             visualizationController.openResultExcel();
@@ -1,33 +1,69 @@
 package com.example.visualizer.controller;
 
 import com.example.visualizer.model.ExcelData;
+import com.example.visualizer.model.PointTable;
+import com.example.visualizer.model.PointTableDiff;
 import com.example.visualizer.model.ProgressInfo;
 import com.example.visualizer.model.VisualizationResult;
+import com.example.visualizer.service.BinaryPointSource;
+import com.example.visualizer.service.PointJsonReader;
+import com.example.visualizer.service.PointPushServer;
 import com.example.visualizer.service.PythonService;
 import com.example.visualizer.service.FileService;
-import com.example.visualizer.view.Interactive3DViewer;
+import com.example.visualizer.service.RenderService;
+import com.example.visualizer.service.ResultCache;
+import com.example.visualizer.service.RunRegistry;
 import com.example.visualizer.view.MainFrame;
-import com.example.visualizer.view.ChartPreviewPanel;
 import javax.swing.*;
 import java.io.File;
-import java.util.List;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * 시각화 처리를 담당하는 컨트롤러
  */
 public class VisualizationController {
+    // visualizer.engine=python이면 Java 엔진 대신 visualize.py로 결과 파일 생성
+    private static final boolean USE_PYTHON_ENGINE =
+        "python".equalsIgnoreCase(System.getProperty("visualizer.engine", "java"));
+    
     private final MainFrame view;
+    private final RenderService renderService;
     private final PythonService pythonService;
     private final FileService fileService;
+    private final ExecutorService renderExecutor;
+    private final PointPushServer pointPushServer;
+    private final RunRegistry runRegistry;
+    private final ResultCache resultCache;
     private VisualizationResult lastResult;
     private ExcelData currentExcelData;
+    // 이번 실행에서 visualize.py가 HTTP로 보낸 3D 데이터 (받았으면 JSON 파일을 찾지 않음)
+    private PointTable pushedPoints;
+    private volatile boolean cancelRequested;
     
     public VisualizationController(MainFrame view) {
         this.view = view;
+        this.renderService = new RenderService();
         this.pythonService = new PythonService();
         this.fileService = new FileService();
+        this.renderExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "visualization-render");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.runRegistry = new RunRegistry();
+        this.resultCache = new ResultCache();
         this.lastResult = null;
+        
+        // visualize.py의 3D 데이터 전송 수신 (Python 엔진을 실제로 실행할 때 서버를 띄움)
+        this.pointPushServer = new PointPushServer(this::onPointsPushed);
+        
+        // Python 엔진을 쓰는 경우 작업자 프로세스를 미리 띄워 둠
+        if (USE_PYTHON_ENGINE) {
+            pythonService.warmUp();
+        }
     }
     
     /**
@@ -41,6 +77,8 @@ public class VisualizationController {
         
         // 현재 Excel 데이터 저장
         this.currentExcelData = excelData;
+        this.pushedPoints = null;
+        this.cancelRequested = false;
         
         // 단위 변환 배율 검증
         final double unitScale;
@@ -57,70 +95,149 @@ public class VisualizationController {
             return;
         }
         
-        // UI 상태 업데이트
-        view.getControlPanel().setAllButtonsEnabled(false);
+        // UI 상태 업데이트 (실행 중에는 취소만 가능)
+        view.getControlPanel().setVisualizing(true);
         view.getProgressPanel().updateProgress(
             new ProgressInfo(0, "시각화 시작...", "JFreeChart로 시각화를 시작합니다...")
         );
         
-        // 백그라운드에서 시각화 실행
+        // 2D 차트 미리보기 (컬럼 배열에서 바로 생성)
         SwingUtilities.invokeLater(() -> {
             try {
-                // 2D 차트 데이터 생성
-                List<ChartPreviewPanel.ChartPoint> chartPoints = createChartPoints(excelData, unitScale);
-                
-                // 2D 차트 표시
-                view.getVisualizationPanel().display2DChart(chartPoints);
-                
-                // 3D 데이터가 있으면 3D 뷰어에도 표시
-                if (excelData.hasZColumn()) {
-                    display3DDataFromExcel();
-                }
-                
-                // 완료 상태 업데이트
-                view.getProgressPanel().updateProgress(
-                    new ProgressInfo(100, "시각화 완료", "JFreeChart 시각화가 완료되었습니다.")
-                );
-                
-                // 결과 엑셀 열기 버튼 활성화
-                view.getControlPanel().setOpenResultButtonEnabled(true);
-                
+                logChartData(excelData, unitScale);
+                view.getVisualizationPanel().display2DChart(excelData.getTable(), unitScale);
             } catch (Exception e) {
                 handleVisualizationError(e);
-            } finally {
-                // UI 상태 복원
-                view.getControlPanel().setAllButtonsEnabled(true);
             }
         });
+        
+        // 캐시 키는 실행 요청 시점의 테이블로 계산 (테이블은 EDT에서만 바뀌므로
+        // 렌더링 스레드에서 계산하면 파일 변경 반영 중인 테이블의 해시가 들어갈 수 있음)
+        ResultCache.Key key = ResultCache.key(excelData, unitScale, USE_PYTHON_ENGINE ? "python" : "java");
+        
+        // 결과 파일(그래프 이미지, 결과 엑셀)은 백그라운드에서 생성
+        renderExecutor.execute(() -> {
+            try {
+                // 같은 내용, 같은 배율로 이미 만든 결과가 있으면 재사용
+                ResultCache.Entry cached = resultCache.get(key);
+                ResultCache.Entry entry;
+                if (cached != null) {
+                    System.out.println("결과 캐시 적중 (" + resultCache.getStats() + ")");
+                    entry = cached;
+                } else {
+                    VisualizationResult result = renderResult(excelData, unitScale);
+                    if (cancelRequested) {
+                        throw new CancellationException();
+                    }
+                    if (result.isSuccess() && excelData.getFile() != null) {
+                        runRegistry.record(excelData.getFile(), result);
+                    }
+                    entry = resultCache.put(key, result);
+                    System.out.println("결과 캐시 미스 (" + resultCache.getStats() + ")");
+                }
+                SwingUtilities.invokeLater(() -> {
+                    updateUIWithResult(entry, cached != null);
+                    view.getControlPanel().setVisualizing(false);
+                });
+            } catch (CancellationException e) {
+                SwingUtilities.invokeLater(() -> {
+                    view.getProgressPanel().updateProgress(
+                        new ProgressInfo(0, "시각화 취소됨", "시각화가 취소되었습니다.")
+                    );
+                    view.getControlPanel().setVisualizing(false);
+                    view.getControlPanel().setOpenResultButtonEnabled(lastResult != null);
+                });
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> {
+                    handleVisualizationError(e);
+                    // UI 상태 복원 (이전 결과가 없으면 결과 열기는 비활성)
+                    view.getControlPanel().setVisualizing(false);
+                    view.getControlPanel().setOpenResultButtonEnabled(lastResult != null);
+                });
+            }
+        });
+    }
+    
+    /**
+     * 실행 중인 시각화 취소 (Python 프로세스 트리는 바로 종료하고, Java 엔진 결과는 완료 후 버림)
+     */
+    public void cancelVisualization() {
+        cancelRequested = true;
+        view.getControlPanel().getCancelVisualizationButton().setEnabled(false);
+        view.getProgressPanel().updateProgress(
+            new ProgressInfo("취소 중...", "시각화를 취소하는 중입니다...", true)
+        );
+        pythonService.cancel();
+    }
+    
+    /**
+     * 결과 파일 생성 (기본은 Java 엔진, 실패하거나 Python 엔진이 지정되면 visualize.py 실행)
+     */
+    private VisualizationResult renderResult(ExcelData excelData, double unitScale) throws Exception {
+        if (!USE_PYTHON_ENGINE) {
+            try {
+                return renderService.runVisualization(excelData, unitScale, this::updateProgress);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Java 시각화 엔진 실패, Python 스크립트로 대체: " + e.getMessage());
+            }
+            if (cancelRequested) {
+                throw new CancellationException();
+            }
+        }
+        
+        // 수신 서버는 이때 처음 띄우고, 이번 실행에 넘긴 토큰이 붙은 전송만 실행이 끝날 때까지 받음
+        String pushToken = pointPushServer.start() ? pointPushServer.beginRun() : null;
+        try {
+            return pythonService.runVisualization(excelData, unitScale, this::updateProgress, pushToken);
+        } finally {
+            pointPushServer.endRun(pushToken);
+        }
+    }
+    
+    /**
+     * 감시 중인 파일이 바뀌었을 때 바뀐 점만 화면에 반영 (EDT)
+     */
+    public void applyDataPatch(ExcelData excelData, PointTableDiff diff) {
+        if (excelData == null || excelData != currentExcelData || diff.isEmpty()) {
+            return;
+        }
+        view.getVisualizationPanel().applyDataPatch(excelData.getTable(), diff);
+    }
+    
+    /**
+     * 배율 입력이 바뀌었을 때 미리보기에 바로 반영 (EDT)
+     * 현재 데이터를 다시 만들지 않고 차트의 배율과 축만 바꾼다.
+     * 결과 파일(그래프 이미지, 결과 엑셀)에는 배율이 들어가므로 시각화를 다시 실행해야 바뀐다.
+     */
+    public void applyUnitScale(String scaleText) {
+        if (currentExcelData == null || !pythonService.isValidScale(scaleText)) {
+            return;
+        }
+        double unitScale = pythonService.parseScale(scaleText);
+        view.getVisualizationPanel().setUnitScale(unitScale);
+        
+        if (lastResult != null && lastResult.getUnitScale() != unitScale) {
+            view.getProgressPanel().updateProgress(new ProgressInfo(0, "배율 변경",
+                "미리보기에 배율 " + unitScale + "을 적용했습니다. 결과 파일은 시각화를 다시 실행하면 생성됩니다."));
+        }
     }
     
     /**
-     * 차트 포인트 데이터 생성
+     * 차트 데이터 디버그 정보 출력
      */
-    private List<ChartPreviewPanel.ChartPoint> createChartPoints(ExcelData excelData, double unitScale) {
-        List<ChartPreviewPanel.ChartPoint> points = new ArrayList<>();
+    private void logChartData(ExcelData excelData, double unitScale) {
+        PointTable table = excelData.getTable();
         
         System.out.println("차트 포인트 생성 시작:");
         System.out.println("  - 총 행 수: " + excelData.getRowCount());
         System.out.println("  - 헤더: " + excelData.getHeaders());
         System.out.println("  - 단위 변환 배율: " + unitScale);
         
-        for (int i = 0; i < excelData.getRowCount(); i++) {
-            double x = excelData.getDoubleValue(i, "x") * unitScale;
-            double y = excelData.getDoubleValue(i, "y") * unitScale;
-            double z = excelData.hasZColumn() ? excelData.getDoubleValue(i, "z") * unitScale : 0.0;
-            String type = excelData.hasTypeColumn() ? excelData.getStringValue(i, "type") : "default";
-            
-            // 처음 5개 점의 디버그 정보 출력
-            if (i < 5) {
-                System.out.println("  - 행 " + i + ": x=" + x + ", y=" + y + ", z=" + z + ", type=" + type);
-            }
-            
-            points.add(new ChartPreviewPanel.ChartPoint(x, y, z, type));
+        // 처음 5개 점의 디버그 정보 출력
+        for (int i = 0; i < Math.min(5, table.size()); i++) {
+            System.out.println("  - 행 " + i + ": x=" + table.getX(i) * unitScale + ", y=" + table.getY(i) * unitScale
+                + ", z=" + table.getZ(i) * unitScale + ", type=" + table.getType(i));
         }
-        
-        System.out.println("차트 포인트 생성 완료: " + points.size() + "개 점");
-        return points;
     }
     
     /**
@@ -133,147 +250,110 @@ public class VisualizationController {
     }
     
     /**
-     * 시각화 결과로 UI 업데이트
+     * 시각화 결과로 UI 업데이트 (EDT)
+     * @param fromCache 캐시에서 재사용한 결과인지 여부
      */
-    private void updateUIWithResult(VisualizationResult result) {
+    private void updateUIWithResult(ResultCache.Entry entry, boolean fromCache) {
+        VisualizationResult result = entry.getResult();
         if (result != null && result.isSuccess()) {
+            lastResult = result;
+            
             // 파일 정보 업데이트
             view.getFileInfoPanel().setResultFile(result.getExcelFileName());
             
-            // 이미지 표시
-            if (result.getImageFile() != null && result.getImageFile().exists()) {
-                ImageIcon icon = new ImageIcon(result.getImageFile().getAbsolutePath());
-                view.getVisualizationPanel().displayImage(icon);
+            // 3D 데이터가 있으면 3D 뷰어에도 표시 (표시한 포인트는 다음 실행을 위해 캐시에 보관)
+            ExcelData currentData = getCurrentExcelData();
+            if (currentData != null && currentData.hasZColumn()) {
+                if (pushedPoints != null) {
+                    entry.setPoints(pushedPoints);
+                } else if (entry.getPoints() != null) {
+                    view.getVisualizationPanel().display3DData(entry.getPoints());
+                } else {
+                    entry.setPoints(display3DDataFromExcel(result));
+                }
             }
             
-            // 3D 데이터 표시 (ExcelData에서 추출)
-            display3DDataFromExcel();
+            // 완료 상태 업데이트
+            String message = fromCache
+                ? "이전 결과를 재사용했습니다: " + result.getExcelPath() + " (캐시 " + resultCache.getStats() + ")"
+                : "결과 파일을 생성했습니다: " + result.getExcelPath();
+            view.getProgressPanel().updateProgress(new ProgressInfo(100, "시각화 완료", message));
             
             // 결과 엑셀 열기 버튼 활성화
             view.getControlPanel().setOpenResultButtonEnabled(true);
-            
-            view.showMessage("시각화가 완료되었습니다!");
         }
     }
     
     /**
-     * Excel 데이터에서 3D 포인트 추출하여 표시
+     * visualize.py가 보낸 3D 데이터 표시 (서버 스레드에서 호출 - 결과 처리보다 먼저 EDT에 등록됨)
      */
-    private void display3DDataFromExcel() {
-        // Python에서 생성된 3D 데이터 JSON 파일 읽기
-        // Downloads 폴더에서 BuildingVisualizer_* 폴더들 찾기
-        String downloadsPath = System.getProperty("user.home") + File.separator + "Downloads";
-        File downloadsDir = new File(downloadsPath);
-        File[] buildingDirs = downloadsDir.listFiles((dir, name) -> name.startsWith("BuildingVisualizer_"));
-        
-        if (buildingDirs != null && buildingDirs.length > 0) {
-            // 가장 최근 폴더 선택 (폴더명의 타임스탬프 기준)
-            File latestDir = buildingDirs[0];
-            for (File dir : buildingDirs) {
-                if (dir.lastModified() > latestDir.lastModified()) {
-                    latestDir = dir;
-                }
-            }
-            
-            // 해당 폴더에서 3d_data.json 파일 찾기
-            File jsonFile = new File(latestDir, "3d_data.json");
-            if (jsonFile.exists()) {
-                try {
-                    load3DDataFromJson(jsonFile);
-                    return;
-                } catch (Exception e) {
-                    System.err.println("JSON 파일 읽기 실패: " + e.getMessage());
-                }
+    private void onPointsPushed(PointTable points) {
+        SwingUtilities.invokeLater(() -> {
+            ExcelData currentData = getCurrentExcelData();
+            if (currentData == null || !currentData.hasZColumn()) {
+                return;
             }
+            pushedPoints = points;
+            view.getVisualizationPanel().display3DData(points);
+        });
+    }
+    
+    /**
+     * 이번 실행의 3D 데이터 표시
+     * 실행 기록에서 (입력 파일, 배율)로 결과를 찾아 visualize.py가 저장한 포인트 파일이 있으면 읽고,
+     * 없으면 Excel 데이터를 그대로 표시
+     * @return 포인트 파일에서 읽은 데이터 (Excel 데이터를 표시했으면 null)
+     */
+    private PointTable display3DDataFromExcel(VisualizationResult result) {
+        ExcelData currentData = getCurrentExcelData();
+        if (currentData == null) {
+            return null;
         }
         
-        // JSON 파일이 없으면 Excel 데이터에서 추출
-        ExcelData currentData = getCurrentExcelData();
-        if (currentData != null && currentData.hasZColumn()) {
-            List<Interactive3DViewer.BuildingPoint> points = new ArrayList<>();
-            
-            // Excel 데이터를 3D 포인트로 변환
-            for (int i = 0; i < currentData.getRowCount(); i++) {
-                double x = currentData.getDoubleValue(i, "x");
-                double y = currentData.getDoubleValue(i, "y");
-                double z = currentData.getDoubleValue(i, "z");
-                String type = currentData.getStringValue(i, "type");
+        RunRegistry.RunRecord run = currentData.getFile() != null
+            ? runRegistry.find(currentData.getFile(), result.getUnitScale()) : null;
+        File pointFile = run != null ? run.getPointFile() : null;
+        if (pointFile != null && pointFile.isFile()) {
+            try {
+                PointTable points = pointFile.getName().endsWith(".bvpt")
+                    ? load3DDataFromBinary(pointFile) : load3DDataFromJson(pointFile);
                 
-                points.add(new Interactive3DViewer.BuildingPoint(x, y, z, type));
+                // 3D 뷰어에 표시 (카메라 자동 조정 포함)
+                view.getVisualizationPanel().display3DData(points);
+                return points;
+            } catch (IOException e) {
+                System.err.println("3D 데이터 파일 읽기 실패: " + e.getMessage());
             }
-            
-            // 3D 뷰어에 표시 (카메라 자동 조정 포함)
-            view.getVisualizationPanel().display3DData(points);
         }
+        
+        // 포인트 파일이 없으면 Excel 데이터에서 추출
+        if (currentData.hasZColumn()) {
+            // 3D 뷰어에 표시 (컬럼 배열을 그대로 전달, 카메라 자동 조정 포함)
+            view.getVisualizationPanel().display3DData(currentData.getTable());
+        }
+        return null;
     }
     
     /**
-     * JSON 파일에서 3D 데이터 로드
+     * 바이너리 포인트 파일에서 3D 데이터 로드 (메모리 매핑 후 컬럼 배열로 bulk 복사)
      */
-    private void load3DDataFromJson(File jsonFile) {
-        try {
-            // JSON 파일 읽기
-            String jsonContent = new String(java.nio.file.Files.readAllBytes(jsonFile.toPath()));
-            
-            List<Interactive3DViewer.BuildingPoint> points = new ArrayList<>();
-            
-            // 더 안정적인 JSON 파싱
-            String[] lines = jsonContent.split("\n");
-            boolean inPointsArray = false;
-            boolean inPointObject = false;
-            double x = 0, y = 0, z = 0;
-            String type = "default";
-            
-            for (String line : lines) {
-                line = line.trim();
-                
-                if (line.contains("\"points\": [")) {
-                    inPointsArray = true;
-                    continue;
-                }
-                
-                if (inPointsArray && line.equals("]")) {
-                    break;
-                }
-                
-                if (inPointsArray && line.equals("{")) {
-                    inPointObject = true;
-                    x = 0; y = 0; z = 0; type = "default";
-                    continue;
-                }
-                
-                if (inPointObject && line.equals("},")) {
-                    points.add(new Interactive3DViewer.BuildingPoint(x, y, z, type));
-                    inPointObject = false;
-                    continue;
-                }
-                
-                if (inPointObject && line.equals("}")) {
-                    points.add(new Interactive3DViewer.BuildingPoint(x, y, z, type));
-                    inPointObject = false;
-                    continue;
-                }
-                
-                if (inPointObject && line.contains("\"x\":")) {
-                    x = Double.parseDouble(line.split(":")[1].replace(",", "").trim());
-                } else if (inPointObject && line.contains("\"y\":")) {
-                    y = Double.parseDouble(line.split(":")[1].replace(",", "").trim());
-                } else if (inPointObject && line.contains("\"z\":")) {
-                    z = Double.parseDouble(line.split(":")[1].replace(",", "").trim());
-                } else if (inPointObject && line.contains("\"type\":")) {
-                    type = line.split(":")[1].replace(",", "").replace("\"", "").trim();
-                }
-            }
-            
-            System.out.println("JSON에서 3D 데이터 로드: " + points.size() + "개 포인트");
-            
-            // 3D 뷰어에 표시 (카메라 자동 조정 포함)
-            view.getVisualizationPanel().display3DData(points);
-            
-        } catch (Exception e) {
-            System.err.println("JSON 파싱 오류: " + e.getMessage());
-            e.printStackTrace();
-        }
+    private PointTable load3DDataFromBinary(File binaryFile) throws IOException {
+        long startTime = System.currentTimeMillis();
+        PointTable points = new BinaryPointSource().readTable(binaryFile);
+        System.out.println("바이너리 파일에서 3D 데이터 로드: " + points.size() + "개 포인트 ("
+            + (System.currentTimeMillis() - startTime) + "ms)");
+        return points;
+    }
+    
+    /**
+     * JSON 파일에서 3D 데이터 로드 (메모리 매핑 + 바이트 단위 파싱, 레이아웃 무관)
+     */
+    private PointTable load3DDataFromJson(File jsonFile) throws IOException {
+        long startTime = System.currentTimeMillis();
+        PointTable points = PointJsonReader.read(jsonFile);
+        System.out.println("JSON에서 3D 데이터 로드: " + points.size() + "개 포인트 ("
+            + (System.currentTimeMillis() - startTime) + "ms)");
+        return points;
     }
     
     /**
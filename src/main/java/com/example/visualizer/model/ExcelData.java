@@ -10,7 +10,7 @@ public class ExcelData {
     private File file;
     private String fileName;
     private List<String> headers;
-    private List<List<Object>> data;
+    private PointTable table;
     private boolean hasTypeColumn;
     
     public ExcelData(File file) {
@@ -40,12 +40,15 @@ public class ExcelData {
         this.headers = headers;
     }
     
-    public List<List<Object>> getData() {
-        return data;
+    /**
+     * 컬럼 단위로 파싱된 좌표 데이터 반환
+     */
+    public PointTable getTable() {
+        return table;
     }
     
-    public void setData(List<List<Object>> data) {
-        this.data = data;
+    public void setTable(PointTable table) {
+        this.table = table;
     }
     
     public boolean hasTypeColumn() {
@@ -57,7 +60,7 @@ public class ExcelData {
     }
     
     public boolean isValid() {
-        return file != null && file.exists() && headers != null && data != null;
+        return file != null && file.exists() && headers != null && table != null;
     }
     
     public boolean hasRequiredColumns() {
@@ -75,54 +78,49 @@ public class ExcelData {
      * 데이터 행 개수 반환
      */
     public int getRowCount() {
-        return data != null ? data.size() : 0;
+        return table != null ? table.size() : 0;
     }
     
     /**
      * 특정 행과 컬럼의 double 값 반환
      */
     public double getDoubleValue(int row, String columnName) {
-        if (data == null || headers == null || row >= data.size()) {
+        if (table == null || headers == null || row >= table.size()) {
             return 0.0;
         }
         
         int columnIndex = headers.indexOf(columnName);
-        if (columnIndex == -1 || columnIndex >= data.get(row).size()) {
+        if (columnIndex == -1) {
             return 0.0;
         }
         
-        Object value = data.get(row).get(columnIndex);
-        if (value instanceof Number) {
-            return ((Number) value).doubleValue();
+        if (table.isNumericColumn(columnIndex)) {
+            return table.getDouble(row, columnIndex);
         }
         
-        // String으로 저장된 숫자도 파싱 시도
-        if (value != null) {
-            try {
-                return Double.parseDouble(value.toString().trim());
-            } catch (NumberFormatException e) {
-                System.err.println("숫자 변환 실패: " + value + " (행: " + row + ", 컬럼: " + columnName + ")");
-                return 0.0;
-            }
+        // 좌표 컬럼이 아닌 경우 문자열 파싱 시도
+        String value = table.getText(row, columnIndex);
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("숫자 변환 실패: " + value + " (행: " + row + ", 컬럼: " + columnName + ")");
+            return 0.0;
         }
-        
-        return 0.0;
     }
     
     /**
      * 특정 행과 컬럼의 String 값 반환
      */
     public String getStringValue(int row, String columnName) {
-        if (data == null || headers == null || row >= data.size()) {
+        if (table == null || headers == null || row >= table.size()) {
             return "";
         }
         
         int columnIndex = headers.indexOf(columnName);
-        if (columnIndex == -1 || columnIndex >= data.get(row).size()) {
+        if (columnIndex == -1) {
             return "";
         }
         
-        Object value = data.get(row).get(columnIndex);
-        return value != null ? value.toString() : "";
+        return table.getText(row, columnIndex);
     }
 }
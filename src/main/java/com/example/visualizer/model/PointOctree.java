@@ -0,0 +1,200 @@
+package com.example.visualizer.model;
+
+/**
+ * 3D 뷰어의 상세도(LOD) 선택용 팔진 트리
+ * 행 인덱스 배열 하나를 노드별 구간으로 나누어 정렬하므로 각 노드는 [start, end) 구간만 가진다.
+ * 구간 안은 자식 공간 순서로 다시 정렬되어 있어서 구간을 일정 간격으로 건너뛰며 고르면
+ * 노드 공간 전체에 고르게 퍼진 대표 표본이 된다 (표본을 따로 저장하지 않음).
+ */
+public class PointOctree {
+    private static final int MAX_DEPTH = 16;
+    
+    private final int[] order;
+    private final int leafSize;
+    private final Node root;
+    private int nodeCount;
+    
+    /**
+     * 팔진 트리 노드 (축 정렬 상자와 행 구간)
+     */
+    public static final class Node {
+        private final double minX, minY, minZ;
+        private final double maxX, maxY, maxZ;
+        private final int start;
+        private final int end;
+        private Node[] children;
+        
+        private Node(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, int start, int end) {
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.maxZ = maxZ;
+            this.start = start;
+            this.end = end;
+        }
+        
+        public double getMinX() {
+            return minX;
+        }
+        
+        public double getMinY() {
+            return minY;
+        }
+        
+        public double getMinZ() {
+            return minZ;
+        }
+        
+        public double getMaxX() {
+            return maxX;
+        }
+        
+        public double getMaxY() {
+            return maxY;
+        }
+        
+        public double getMaxZ() {
+            return maxZ;
+        }
+        
+        public int size() {
+            return end - start;
+        }
+        
+        public boolean isLeaf() {
+            return children == null;
+        }
+        
+        /**
+         * 비어 있지 않은 자식 노드 (잎 노드면 빈 배열)
+         */
+        public Node[] getChildren() {
+            return children != null ? children : new Node[0];
+        }
+    }
+    
+    private PointOctree(int[] order, int leafSize, Node root) {
+        this.order = order;
+        this.leafSize = leafSize;
+        this.root = root;
+    }
+    
+    /**
+     * 테이블 좌표로 팔진 트리 생성 (행 수 × 깊이에 비례)
+     * @param leafSize 잎 노드의 최대 점 개수 (노드 하나가 그리는 표본 개수와 같음)
+     */
+    public static PointOctree build(PointTable table, int leafSize) {
+        return build(table.getXArray(), table.getYArray(), table.getZArray(), table.size(), leafSize);
+    }
+    
+    /**
+     * 좌표 배열로 팔진 트리 생성 (테이블을 복사해 둔 배열로 다른 스레드에서 만들 때 사용)
+     * @param count 앞에서부터 사용할 점 개수
+     * @param leafSize 잎 노드의 최대 점 개수
+     */
+    public static PointOctree build(double[] xs, double[] ys, double[] zs, int count, int leafSize) {
+        int[] order = new int[count];
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+            minZ = Math.min(minZ, zs[i]);
+            maxZ = Math.max(maxZ, zs[i]);
+        }
+        if (count == 0) {
+            minX = minY = minZ = maxX = maxY = maxZ = 0;
+        }
+        
+        Node root = new Node(minX, minY, minZ, maxX, maxY, maxZ, 0, count);
+        PointOctree octree = new PointOctree(order, Math.max(1, leafSize), root);
+        octree.split(root, xs, ys, zs, new int[count], new byte[count], 0);
+        return octree;
+    }
+    
+    /**
+     * 노드를 8개 공간으로 나누어 구간을 자식 순서로 재배치하고 재귀적으로 분할
+     */
+    private void split(Node node, double[] xs, double[] ys, double[] zs, int[] scratch, byte[] octants, int depth) {
+        nodeCount++;
+        if (node.size() <= leafSize || depth >= MAX_DEPTH) {
+            return;
+        }
+        double centerX = (node.minX + node.maxX) / 2.0;
+        double centerY = (node.minY + node.maxY) / 2.0;
+        double centerZ = (node.minZ + node.maxZ) / 2.0;
+        
+        int[] counts = new int[8];
+        for (int i = node.start; i < node.end; i++) {
+            int octant = octant(order[i], xs, ys, zs, centerX, centerY, centerZ);
+            octants[i] = (byte) octant;
+            counts[octant]++;
+        }
+        int[] offsets = new int[8];
+        for (int octant = 1; octant < 8; octant++) {
+            offsets[octant] = offsets[octant - 1] + counts[octant - 1];
+        }
+        int[] next = offsets.clone();
+        for (int i = node.start; i < node.end; i++) {
+            scratch[next[octants[i]]++] = order[i];
+        }
+        System.arraycopy(scratch, 0, order, node.start, node.size());
+        
+        int childCount = 0;
+        for (int octant = 0; octant < 8; octant++) {
+            if (counts[octant] > 0) {
+                childCount++;
+            }
+        }
+        node.children = new Node[childCount];
+        int index = 0;
+        for (int octant = 0; octant < 8; octant++) {
+            if (counts[octant] == 0) {
+                continue;
+            }
+            boolean highX = (octant & 1) != 0;
+            boolean highY = (octant & 2) != 0;
+            boolean highZ = (octant & 4) != 0;
+            int start = node.start + offsets[octant];
+            Node child = new Node(
+                highX ? centerX : node.minX, highY ? centerY : node.minY, highZ ? centerZ : node.minZ,
+                highX ? node.maxX : centerX, highY ? node.maxY : centerY, highZ ? node.maxZ : centerZ,
+                start, start + counts[octant]);
+            node.children[index++] = child;
+            split(child, xs, ys, zs, scratch, octants, depth + 1);
+        }
+    }
+    
+    private static int octant(int row, double[] xs, double[] ys, double[] zs,
+                              double centerX, double centerY, double centerZ) {
+        return (xs[row] >= centerX ? 1 : 0) | (ys[row] >= centerY ? 2 : 0) | (zs[row] >= centerZ ? 4 : 0);
+    }
+    
+    public Node getRoot() {
+        return root;
+    }
+    
+    public int getNodeCount() {
+        return nodeCount;
+    }
+    
+    /**
+     * 노드 하나를 그릴 때의 점 개수 (잎 노드는 전체, 내부 노드는 표본)
+     */
+    public int sampleSize(Node node) {
+        return Math.min(node.size(), leafSize);
+    }
+    
+    /**
+     * 노드 표본의 k번째 행 인덱스 (0 ≤ k < sampleSize(node))
+     */
+    public int sampleRow(Node node, int k) {
+        int samples = sampleSize(node);
+        return order[node.start + (int) ((long) k * node.size() / samples)];
+    }
+}
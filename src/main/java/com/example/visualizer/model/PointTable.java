@@ -0,0 +1,570 @@
+package com.example.visualizer.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 좌표 데이터를 컬럼 단위 기본형 배열로 보관하는 모델 클래스
+ * x/y/z는 double[]로, type은 사전 인코딩된 int[]로 저장하며
+ * 값은 적재 시점에 한 번만 파싱한다. 나머지 컬럼은 파싱하지 않은 원본 문자열로
+ * 보관하고, 값이 처음 들어올 때 배열을 할당한다.
+ */
+public class PointTable {
+    public static final String X = "x";
+    public static final String Y = "y";
+    public static final String Z = "z";
+    public static final String TYPE = "type";
+    public static final String DEFAULT_TYPE = "default";
+    
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    private final List<String> headers;
+    private final int xColumn;
+    private final int yColumn;
+    private final int zColumn;
+    private final int typeColumn;
+    
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private int[] typeIds;
+    private final List<String> typeDictionary = new ArrayList<>();
+    private final Map<String, Integer> typeLookup = new HashMap<>();
+    // typeId별 textHash (rowHash에서 행마다 다시 계산하지 않도록 보관)
+    private long[] typeHashes = new long[16];
+    private final String[][] extraColumns;
+    private int size;
+    // contentHash() 결과 (행이 바뀌면 버림)
+    private long contentHash;
+    private boolean contentHashValid;
+    
+    public PointTable(List<String> headers) {
+        this(headers, INITIAL_CAPACITY);
+    }
+    
+    public PointTable(List<String> headers, int capacity) {
+        this.headers = Collections.unmodifiableList(new ArrayList<>(headers));
+        this.xColumn = headers.indexOf(X);
+        this.yColumn = headers.indexOf(Y);
+        this.zColumn = headers.indexOf(Z);
+        this.typeColumn = headers.indexOf(TYPE);
+        
+        int initial = Math.max(16, capacity);
+        this.x = new double[initial];
+        this.y = new double[initial];
+        this.z = new double[initial];
+        this.typeIds = new int[initial];
+        this.extraColumns = new String[headers.size()][];
+    }
+    
+    /**
+     * x, y, z, type 컬럼만 가진 포인트 전용 테이블 생성
+     */
+    public static PointTable forPoints(int capacity) {
+        return new PointTable(Arrays.asList(X, Y, Z, TYPE), capacity);
+    }
+    
+    /**
+     * 이미 파싱된 컬럼 배열로 테이블 복원 (배열은 복사하지 않고 그대로 사용)
+     * @param extraColumns 헤더 인덱스별 원본 문자열 컬럼 (좌표/type 컬럼과 빈 컬럼은 null)
+     */
+    public static PointTable fromColumns(List<String> headers, int size, double[] x, double[] y, double[] z,
+                                         int[] typeIds, List<String> typeDictionary, String[][] extraColumns) {
+        PointTable table = new PointTable(headers, 0);
+        table.x = x;
+        table.y = y;
+        table.z = z;
+        table.typeIds = typeIds;
+        table.size = size;
+        for (String type : typeDictionary) {
+            table.internType(type);
+        }
+        for (int c = 0; c < table.extraColumns.length && c < extraColumns.length; c++) {
+            if (!table.isPointColumn(c)) {
+                table.extraColumns[c] = extraColumns[c];
+            }
+        }
+        return table;
+    }
+    
+    /**
+     * 원본 행(셀 값 목록)을 파싱하여 추가
+     */
+    public void addRow(List<?> row) {
+        ensureCapacity(size + 1);
+        
+        x[size] = parseCoordinate(row, xColumn);
+        y[size] = parseCoordinate(row, yColumn);
+        z[size] = parseCoordinate(row, zColumn);
+        typeIds[size] = typeColumn >= 0 ? internType(cellText(row, typeColumn)) : 0;
+        
+        for (int c = 0; c < extraColumns.length; c++) {
+            if (isPointColumn(c)) {
+                continue;
+            }
+            String text = cellText(row, c);
+            if (text.isEmpty() && extraColumns[c] == null) {
+                continue;
+            }
+            if (extraColumns[c] == null) {
+                extraColumns[c] = new String[x.length];
+            }
+            extraColumns[c][size] = text;
+        }
+        
+        size++;
+        contentHashValid = false;
+    }
+    
+    /**
+     * 이미 파싱된 좌표를 추가 (나머지 컬럼은 비움)
+     */
+    public void addPoint(double px, double py, double pz, String type) {
+        ensureCapacity(size + 1);
+        x[size] = px;
+        y[size] = py;
+        z[size] = pz;
+        typeIds[size] = typeColumn >= 0 ? internType(type != null ? type : "") : 0;
+        size++;
+        contentHashValid = false;
+    }
+    
+    /**
+     * 좌표/type 이외 컬럼의 원본 문자열 설정 (addPoint로 추가한 행의 나머지 컬럼 채우기)
+     */
+    public void setText(int row, int column, String text) {
+        if (column < 0 || column >= extraColumns.length || isPointColumn(column)) {
+            return;
+        }
+        if (extraColumns[column] == null) {
+            if (text == null || text.isEmpty()) {
+                return;
+            }
+            extraColumns[column] = new String[x.length];
+        }
+        extraColumns[column][row] = text;
+        contentHashValid = false;
+    }
+    
+    /**
+     * 같은 헤더를 가진 다른 테이블의 행을 뒤에 이어 붙임 (타입 사전은 재매핑)
+     */
+    public void appendAll(PointTable other) {
+        if (!headers.equals(other.headers)) {
+            throw new IllegalArgumentException("헤더가 다른 테이블은 합칠 수 없습니다.");
+        }
+        
+        int count = other.size;
+        ensureCapacity(size + count);
+        System.arraycopy(other.x, 0, x, size, count);
+        System.arraycopy(other.y, 0, y, size, count);
+        System.arraycopy(other.z, 0, z, size, count);
+        
+        if (typeColumn >= 0) {
+            int[] remap = new int[other.typeDictionary.size()];
+            for (int i = 0; i < remap.length; i++) {
+                remap[i] = internType(other.typeDictionary.get(i));
+            }
+            for (int i = 0; i < count; i++) {
+                typeIds[size + i] = remap[other.typeIds[i]];
+            }
+        }
+        
+        for (int c = 0; c < extraColumns.length; c++) {
+            if (other.extraColumns[c] == null) {
+                continue;
+            }
+            if (extraColumns[c] == null) {
+                extraColumns[c] = new String[x.length];
+            }
+            System.arraycopy(other.extraColumns[c], 0, extraColumns[c], size, count);
+        }
+        
+        size += count;
+        contentHashValid = false;
+    }
+    
+    /**
+     * 같은 헤더를 가진 다른 테이블의 한 행으로 덮어쓰기 (targetRow == size()이면 뒤에 추가)
+     */
+    public void copyRow(PointTable source, int sourceRow, int targetRow) {
+        if (targetRow < 0 || targetRow > size) {
+            throw new IndexOutOfBoundsException("행 인덱스 범위 초과: " + targetRow + " (크기: " + size + ")");
+        }
+        ensureCapacity(targetRow + 1);
+        setRow(source, sourceRow, targetRow);
+        if (targetRow == size) {
+            size++;
+        }
+        contentHashValid = false;
+    }
+    
+    /**
+     * 같은 헤더를 가진 다른 테이블의 행들을 끼워 넣음 (뒤쪽 행은 뒤로 밀림)
+     * @param rows 끼워 넣은 뒤 기준 행 인덱스 (오름차순), source의 같은 인덱스 행을 복사
+     */
+    public void insertRows(PointTable source, int[] rows) {
+        if (rows.length == 0) {
+            return;
+        }
+        int newSize = size + rows.length;
+        if (rows[0] < 0 || rows[rows.length - 1] >= newSize) {
+            throw new IndexOutOfBoundsException("행 인덱스 범위 초과: " + rows[rows.length - 1] + " (크기: " + newSize + ")");
+        }
+        ensureCapacity(newSize);
+        
+        // 뒤에서부터 채우면 아직 옮기지 않은 행을 덮어쓰지 않음
+        int read = size - 1;
+        int next = rows.length - 1;
+        for (int write = newSize - 1; next >= 0; write--) {
+            if (rows[next] == write) {
+                setRow(source, write, write);
+                next--;
+            } else {
+                moveRow(read--, write);
+            }
+        }
+        size = newSize;
+        contentHashValid = false;
+    }
+    
+    /**
+     * 행들을 지우고 뒤쪽 행을 앞으로 당김 (배열 용량은 유지)
+     * @param rows 지우기 전 기준 행 인덱스 (오름차순)
+     */
+    public void removeRows(int[] rows) {
+        if (rows.length == 0) {
+            return;
+        }
+        int write = rows[0];
+        int next = 0;
+        for (int read = rows[0]; read < size; read++) {
+            if (next < rows.length && rows[next] == read) {
+                next++;
+            } else {
+                moveRow(read, write++);
+            }
+        }
+        for (String[] column : extraColumns) {
+            if (column != null) {
+                Arrays.fill(column, write, size, null);
+            }
+        }
+        size = write;
+        contentHashValid = false;
+    }
+    
+    /**
+     * 다른 테이블의 한 행을 그대로 써넣기 (용량과 행 수는 호출한 쪽에서 관리)
+     */
+    private void setRow(PointTable source, int sourceRow, int targetRow) {
+        x[targetRow] = source.x[sourceRow];
+        y[targetRow] = source.y[sourceRow];
+        z[targetRow] = source.z[sourceRow];
+        typeIds[targetRow] = typeColumn >= 0 ? internType(source.getType(sourceRow)) : 0;
+        
+        for (int c = 0; c < extraColumns.length; c++) {
+            if (isPointColumn(c)) {
+                continue;
+            }
+            String[] column = c < source.extraColumns.length ? source.extraColumns[c] : null;
+            String text = column != null ? column[sourceRow] : null;
+            if (extraColumns[c] == null) {
+                if (text == null || text.isEmpty()) {
+                    continue;
+                }
+                extraColumns[c] = new String[x.length];
+            }
+            extraColumns[c][targetRow] = text;
+        }
+    }
+    
+    /**
+     * 같은 테이블 안에서 한 행을 다른 자리로 옮김
+     */
+    private void moveRow(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        z[to] = z[from];
+        typeIds[to] = typeIds[from];
+        for (String[] column : extraColumns) {
+            if (column != null) {
+                column[to] = column[from];
+            }
+        }
+    }
+    
+    /**
+     * 뒤쪽 행 잘라내기 (배열 용량은 유지)
+     */
+    public void truncate(int newSize) {
+        if (newSize < 0 || newSize >= size) {
+            return;
+        }
+        for (String[] column : extraColumns) {
+            if (column != null) {
+                Arrays.fill(column, newSize, size, null);
+            }
+        }
+        size = newSize;
+        contentHashValid = false;
+    }
+    
+    /**
+     * 행 내용의 64비트 해시 (좌표 비트, 타입 문자열, 나머지 컬럼 문자열 기준)
+     * 파일이 바뀌었을 때 행 단위로 변경 여부를 비교하는 데 사용한다.
+     * 문자열은 String.hashCode(32비트)가 아니라 textHash(64비트)로 섞으므로 "Aa"/"BB" 같은 값도 구분된다.
+     */
+    public long rowHash(int row) {
+        long hash = mix(0x9E3779B97F4A7C15L, Double.doubleToLongBits(x[row]));
+        hash = mix(hash, Double.doubleToLongBits(y[row]));
+        hash = mix(hash, Double.doubleToLongBits(z[row]));
+        hash = mix(hash, typeColumn >= 0 ? typeHashes[typeIds[row]] : 0);
+        for (String[] column : extraColumns) {
+            String text = column != null ? column[row] : null;
+            hash = mix(hash, text != null && !text.isEmpty() ? textHash(text) : 0);
+        }
+        return hash;
+    }
+    
+    /**
+     * 문자열의 64비트 해시 (UTF-16 문자 단위 FNV-1a)
+     */
+    private static long textHash(String text) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+    
+    /**
+     * 테이블 전체 내용의 64비트 해시 (헤더, 행 수, 행 순서별 rowHash 기준)
+     * 같은 데이터로 다시 시각화할 때 이전 결과를 재사용할지 판단하는 데 사용한다.
+     * 결과는 행이 바뀔 때까지 보관하므로 같은 테이블로 다시 호출하면 바로 반환한다
+     * (테이블을 바꾸는 스레드에서 호출해야 함).
+     */
+    public long contentHash() {
+        if (contentHashValid) {
+            return contentHash;
+        }
+        long hash = mix(0x9E3779B97F4A7C15L, headers.hashCode());
+        hash = mix(hash, size);
+        for (int row = 0; row < size; row++) {
+            hash = mix(hash, rowHash(row));
+        }
+        contentHash = hash;
+        contentHashValid = true;
+        return hash;
+    }
+    
+    private static long mix(long hash, long value) {
+        long h = (hash ^ value) * 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 31;
+        return h * 0x94D049BB133111EBL;
+    }
+    
+    private void ensureCapacity(int required) {
+        if (required <= x.length) {
+            return;
+        }
+        int newCapacity = Math.max(required, x.length + (x.length >> 1));
+        x = Arrays.copyOf(x, newCapacity);
+        y = Arrays.copyOf(y, newCapacity);
+        z = Arrays.copyOf(z, newCapacity);
+        typeIds = Arrays.copyOf(typeIds, newCapacity);
+        for (int c = 0; c < extraColumns.length; c++) {
+            if (extraColumns[c] != null) {
+                extraColumns[c] = Arrays.copyOf(extraColumns[c], newCapacity);
+            }
+        }
+    }
+    
+    private double parseCoordinate(List<?> row, int column) {
+        if (column < 0 || column >= row.size()) {
+            return 0.0;
+        }
+        Object value = row.get(column);
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value == null) {
+            return 0.0;
+        }
+        try {
+            return Double.parseDouble(value.toString().trim());
+        } catch (NumberFormatException e) {
+            System.err.println("숫자 변환 실패: " + value + " (행: " + size + ", 컬럼: " + headers.get(column) + ")");
+            return 0.0;
+        }
+    }
+    
+    private static String cellText(List<?> row, int column) {
+        if (column >= row.size()) {
+            return "";
+        }
+        Object value = row.get(column);
+        return value != null ? value.toString() : "";
+    }
+    
+    private int internType(String type) {
+        Integer id = typeLookup.get(type);
+        if (id == null) {
+            id = typeDictionary.size();
+            typeDictionary.add(type);
+            typeLookup.put(type, id);
+            if (id == typeHashes.length) {
+                typeHashes = Arrays.copyOf(typeHashes, id * 2);
+            }
+            typeHashes[id] = type.isEmpty() ? 0 : textHash(type);
+        }
+        return id;
+    }
+    
+    private boolean isPointColumn(int column) {
+        return column == xColumn || column == yColumn || column == zColumn || column == typeColumn;
+    }
+    
+    // Getters
+    public List<String> getHeaders() {
+        return headers;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean hasZ() {
+        return zColumn >= 0;
+    }
+    
+    public boolean hasType() {
+        return typeColumn >= 0;
+    }
+    
+    public double getX(int row) {
+        return x[row];
+    }
+    
+    public double getY(int row) {
+        return y[row];
+    }
+    
+    public double getZ(int row) {
+        return z[row];
+    }
+    
+    public int getTypeId(int row) {
+        return typeIds[row];
+    }
+    
+    /**
+     * 타입 문자열 반환 (type 컬럼이 없으면 "default")
+     */
+    public String getType(int row) {
+        return typeColumn >= 0 ? typeDictionary.get(typeIds[row]) : DEFAULT_TYPE;
+    }
+    
+    /**
+     * 타입 사전 (typeId -> 타입 문자열)
+     */
+    public List<String> getTypeDictionary() {
+        return typeColumn >= 0 ? Collections.unmodifiableList(typeDictionary)
+                               : Collections.singletonList(DEFAULT_TYPE);
+    }
+    
+    /**
+     * x 좌표 배열 (길이는 size() 이상, 앞의 size()개만 유효)
+     */
+    public double[] getXArray() {
+        return x;
+    }
+    
+    public double[] getYArray() {
+        return y;
+    }
+    
+    public double[] getZArray() {
+        return z;
+    }
+    
+    public int[] getTypeIdArray() {
+        return typeIds;
+    }
+    
+    /**
+     * 좌표/type 이외 컬럼의 원본 문자열 배열 (값이 하나도 없으면 null)
+     */
+    public String[] getExtraColumn(int column) {
+        if (column < 0 || column >= extraColumns.length || isPointColumn(column)) {
+            return null;
+        }
+        return extraColumns[column];
+    }
+    
+    /**
+     * 컬럼 인덱스로 셀 값 반환 (좌표 컬럼은 Double, 그 외는 String)
+     */
+    public Object getValue(int row, int column) {
+        if (column == xColumn) {
+            return x[row];
+        }
+        if (column == yColumn) {
+            return y[row];
+        }
+        if (column == zColumn) {
+            return z[row];
+        }
+        return getText(row, column);
+    }
+    
+    /**
+     * 좌표 컬럼 인덱스로 double 값 반환 (좌표 컬럼이 아니면 0.0)
+     */
+    public double getDouble(int row, int column) {
+        if (column == xColumn) {
+            return x[row];
+        }
+        if (column == yColumn) {
+            return y[row];
+        }
+        if (column == zColumn) {
+            return z[row];
+        }
+        return 0.0;
+    }
+    
+    /**
+     * 컬럼 인덱스로 셀 값을 문자열로 반환
+     */
+    public String getText(int row, int column) {
+        if (column == xColumn) {
+            return Double.toString(x[row]);
+        }
+        if (column == yColumn) {
+            return Double.toString(y[row]);
+        }
+        if (column == zColumn) {
+            return Double.toString(z[row]);
+        }
+        if (column == typeColumn) {
+            return typeDictionary.get(typeIds[row]);
+        }
+        if (column < 0 || column >= extraColumns.length || extraColumns[column] == null) {
+            return "";
+        }
+        String text = extraColumns[column][row];
+        return text != null ? text : "";
+    }
+    
+    /**
+     * 좌표(숫자) 컬럼 여부
+     */
+    public boolean isNumericColumn(int column) {
+        return column >= 0 && (column == xColumn || column == yColumn || column == zColumn);
+    }
+}
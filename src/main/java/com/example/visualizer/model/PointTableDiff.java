@@ -0,0 +1,322 @@
+package com.example.visualizer.model;
+
+import java.util.Arrays;
+
+/**
+ * 같은 파일을 다시 읽었을 때 이전 테이블과 달라진 행 목록
+ * 행 해시(PointTable.rowHash)로 앞뒤의 같은 구간을 잘라낸 뒤, 가운데 구간은 해시로 같은 내용의 행을 찾아
+ * 순서가 유지되는 가장 긴 대응을 남긴다. 대응되지 않은 행은 같은 자리끼리 값 변경으로 묶고,
+ * 남는 행은 삭제/삽입으로 보고하므로 위쪽에 행 하나를 끼워 넣어도 뒤쪽 행이 모두 바뀐 것으로 보이지 않는다.
+ * 바뀐 행의 좌표/타입 값을 함께 들고 있으므로 화면 쪽은 다른 스레드에서 테이블을 다시 읽지 않고 이 값만 반영한다.
+ */
+public class PointTableDiff {
+    private static final int[] NO_ROWS = new int[0];
+    
+    private final PointTable updated;
+    private final int oldSize;
+    private final int newSize;
+    // 삭제된 행 (이전 테이블 기준), 추가된 행과 값이 바뀐 행 (새 테이블 기준), 모두 오름차순
+    private final int[] deleted;
+    private final int[] inserted;
+    private final int[] changed;
+    // 추가 + 변경 행 (새 테이블 기준, 오름차순)과 그 값
+    private final int[] rows;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final String[] types;
+    
+    private PointTableDiff(PointTable updated, int oldSize, int[] deleted, int[] inserted, int[] changed) {
+        this.updated = updated;
+        this.oldSize = oldSize;
+        this.newSize = updated.size();
+        this.deleted = deleted;
+        this.inserted = inserted;
+        this.changed = changed;
+        this.rows = merge(inserted, changed);
+        this.x = new double[rows.length];
+        this.y = new double[rows.length];
+        this.z = new double[rows.length];
+        this.types = new String[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            x[i] = updated.getX(row);
+            y[i] = updated.getY(row);
+            z[i] = updated.getZ(row);
+            types[i] = updated.getType(row);
+        }
+    }
+    
+    /**
+     * 테이블 전체 행 해시 계산
+     */
+    public static long[] hashRows(PointTable table) {
+        long[] hashes = new long[table.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = table.rowHash(i);
+        }
+        return hashes;
+    }
+    
+    /**
+     * 이전 행 해시와 새로 읽은 테이블을 비교
+     * @param oldHashes 이전 테이블의 행 해시 (길이가 이전 행 수)
+     * @param updated 새로 읽은 테이블
+     * @param newHashes updated의 행 해시 (hashRows 결과)
+     */
+    public static PointTableDiff compute(long[] oldHashes, PointTable updated, long[] newHashes) {
+        int oldSize = oldHashes.length;
+        int newSize = updated.size();
+        
+        // 앞뒤로 같은 구간 잘라내기
+        int common = Math.min(oldSize, newSize);
+        int prefix = 0;
+        while (prefix < common && oldHashes[prefix] == newHashes[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < common - prefix
+               && oldHashes[oldSize - 1 - suffix] == newHashes[newSize - 1 - suffix]) {
+            suffix++;
+        }
+        int oldEnd = oldSize - suffix;
+        int newEnd = newSize - suffix;
+        
+        int[] match = matchRows(oldHashes, prefix, oldEnd, newHashes, prefix, newEnd);
+        
+        // 대응된 행 사이의 구간: 같은 자리끼리는 값 변경, 남는 행은 삭제/삽입
+        RowList deleted = new RowList();
+        RowList inserted = new RowList();
+        RowList changed = new RowList();
+        int oldRow = prefix;
+        int newRow = prefix;
+        for (int row = prefix; row <= newEnd; row++) {
+            int anchor = row < newEnd ? match[row - prefix] : oldEnd;
+            if (anchor < 0) {
+                continue;
+            }
+            int paired = Math.min(anchor - oldRow, row - newRow);
+            for (int k = 0; k < paired; k++) {
+                if (oldHashes[oldRow + k] != newHashes[newRow + k]) {
+                    changed.add(newRow + k);
+                }
+            }
+            for (int r = oldRow + paired; r < anchor; r++) {
+                deleted.add(r);
+            }
+            for (int r = newRow + paired; r < row; r++) {
+                inserted.add(r);
+            }
+            oldRow = anchor + 1;
+            newRow = row + 1;
+        }
+        return new PointTableDiff(updated, oldSize, deleted.toArray(), inserted.toArray(), changed.toArray());
+    }
+    
+    /**
+     * 가운데 구간에서 내용이 같은 행을 순서가 유지되도록 대응
+     * 새 행마다 같은 해시를 가진 이전 행 중 아직 쓰지 않은 첫 행을 후보로 잡고,
+     * 후보 이전 행 번호가 증가하는 가장 긴 부분열만 대응으로 남긴다 (옮겨진 행은 삭제 + 삽입).
+     * @return 새 행(newStart 기준 오프셋)별로 대응된 이전 행 번호 (없으면 -1)
+     */
+    private static int[] matchRows(long[] oldHashes, int oldStart, int oldEnd,
+                                   long[] newHashes, int newStart, int newEnd) {
+        int newCount = newEnd - newStart;
+        int[] match = new int[newCount];
+        Arrays.fill(match, -1);
+        if (oldEnd <= oldStart || newCount == 0) {
+            return match;
+        }
+        
+        // 해시 → 이전 행 목록 (같은 해시끼리 next로 오름차순 연결)
+        int oldCount = oldEnd - oldStart;
+        int capacity = Integer.highestOneBit(Math.max(2, oldCount) * 2 - 1) << 1;
+        long[] keys = new long[capacity];
+        boolean[] used = new boolean[capacity];
+        int[] heads = new int[capacity];
+        int[] next = new int[oldCount];
+        for (int i = oldCount - 1; i >= 0; i--) {
+            int slot = findSlot(keys, used, oldHashes[oldStart + i]);
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = oldHashes[oldStart + i];
+                heads[slot] = -1;
+            }
+            next[i] = heads[slot];
+            heads[slot] = i;
+        }
+        
+        int[] candidates = new int[newCount];
+        for (int j = 0; j < newCount; j++) {
+            int slot = findSlot(keys, used, newHashes[newStart + j]);
+            int old = used[slot] ? heads[slot] : -1;
+            candidates[j] = old;
+            if (old >= 0) {
+                heads[slot] = next[old];
+            }
+        }
+        
+        // 후보 중 이전 행 번호가 증가하는 가장 긴 부분열 (tails[k]: 길이 k+1인 부분열의 마지막 새 행)
+        int[] tails = new int[newCount];
+        int[] previous = new int[newCount];
+        int length = 0;
+        for (int j = 0; j < newCount; j++) {
+            int old = candidates[j];
+            if (old < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (candidates[tails[mid]] < old) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[j] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = j;
+            if (low == length) {
+                length++;
+            }
+        }
+        for (int j = length > 0 ? tails[length - 1] : -1; j >= 0; j = previous[j]) {
+            match[j] = oldStart + candidates[j];
+        }
+        return match;
+    }
+    
+    /**
+     * 해시가 key인 칸, 없으면 비어 있는 칸 (선형 탐사)
+     */
+    private static int findSlot(long[] keys, boolean[] used, long key) {
+        int mask = keys.length - 1;
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    
+    private static int[] merge(int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            merged[k++] = a[i] < b[j] ? a[i++] : b[j++];
+        }
+        while (i < a.length) {
+            merged[k++] = a[i++];
+        }
+        while (j < b.length) {
+            merged[k++] = b[j++];
+        }
+        return merged;
+    }
+    
+    /**
+     * 대상 테이블에 삭제, 삽입, 값 변경 순으로 반영 (EDT에서 호출)
+     */
+    public void applyTo(PointTable target) {
+        target.removeRows(deleted);
+        target.insertRows(updated, inserted);
+        for (int row : changed) {
+            target.copyRow(updated, row, row);
+        }
+    }
+    
+    /**
+     * 바뀐 행도, 삭제/삽입도 없는지 여부
+     */
+    public boolean isEmpty() {
+        return rows.length == 0 && deleted.length == 0;
+    }
+    
+    public int getOldSize() {
+        return oldSize;
+    }
+    
+    public int getNewSize() {
+        return newSize;
+    }
+    
+    /**
+     * 값이 바뀌었거나 새로 추가된 행 인덱스 (새 테이블 기준, 오름차순)
+     */
+    public int[] getChangedRows() {
+        return rows;
+    }
+    
+    /**
+     * 값만 바뀐 행 인덱스 (새 테이블 기준, 오름차순)
+     */
+    public int[] getUpdatedRows() {
+        return changed;
+    }
+    
+    /**
+     * 추가된 행 인덱스 (새 테이블 기준, 오름차순)
+     */
+    public int[] getInsertedRows() {
+        return inserted;
+    }
+    
+    /**
+     * 삭제된 행 인덱스 (이전 테이블 기준, 오름차순)
+     */
+    public int[] getDeletedRows() {
+        return deleted;
+    }
+    
+    public int getUpdatedCount() {
+        return changed.length;
+    }
+    
+    public int getInsertedCount() {
+        return inserted.length;
+    }
+    
+    public int getDeletedCount() {
+        return deleted.length;
+    }
+    
+    /**
+     * i번째 바뀐 행의 좌표/타입 (getChangedRows() 순서)
+     */
+    public double getX(int i) {
+        return x[i];
+    }
+    
+    public double getY(int i) {
+        return y[i];
+    }
+    
+    public double getZ(int i) {
+        return z[i];
+    }
+    
+    public String getType(int i) {
+        return types[i];
+    }
+    
+    /**
+     * 늘어나는 행 번호 목록
+     */
+    private static class RowList {
+        private int[] rows = new int[16];
+        private int count;
+        
+        void add(int row) {
+            if (count == rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            rows[count++] = row;
+        }
+        
+        int[] toArray() {
+            return count == 0 ? NO_ROWS : Arrays.copyOf(rows, count);
+        }
+    }
+}
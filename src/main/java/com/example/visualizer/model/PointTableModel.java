@@ -0,0 +1,291 @@
+package com.example.visualizer.model;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * PointTable을 복사하지 않고 그대로 보여주는 JTable 모델
+ * 셀 값은 JTable이 화면에 그리는 행에 대해서만 요청 시점에 문자열로 변환한다.
+ * 정렬은 행 인덱스 순열(int[])만 바꾸며 원본 데이터는 재배열하지 않는다.
+ */
+public class PointTableModel extends AbstractTableModel {
+    private static final int MAX_UPDATE_EVENTS = 256;
+    
+    private final PointTable table;
+    private int[] viewToModel;
+    private int sortColumn = -1;
+    private boolean ascending = true;
+    
+    public PointTableModel(PointTable table) {
+        this.table = table;
+    }
+    
+    @Override
+    public int getRowCount() {
+        return table.size();
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return table.getHeaders().size();
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        return table.getHeaders().get(column);
+    }
+    
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return table.getText(convertRowIndexToModel(rowIndex), columnIndex);
+    }
+    
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return false;
+    }
+    
+    /**
+     * 화면 행 인덱스를 데이터 행 인덱스로 변환
+     */
+    public int convertRowIndexToModel(int rowIndex) {
+        return viewToModel != null && rowIndex < viewToModel.length ? viewToModel[rowIndex] : rowIndex;
+    }
+    
+    public PointTable getTable() {
+        return table;
+    }
+    
+    public int getSortColumn() {
+        return sortColumn;
+    }
+    
+    public boolean isAscending() {
+        return ascending;
+    }
+    
+    /**
+     * 컬럼 정렬 토글 (같은 컬럼을 다시 누르면 오름차순/내림차순 전환)
+     */
+    public void toggleSort(int column) {
+        if (column == sortColumn) {
+            sortBy(column, !ascending);
+        } else {
+            sortBy(column, true);
+        }
+    }
+    
+    /**
+     * 컬럼 기준으로 행 인덱스 순열 정렬
+     */
+    public void sortBy(int column, boolean ascending) {
+        if (column < 0 || column >= getColumnCount()) {
+            return;
+        }
+        
+        int count = table.size();
+        int[] indexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            indexes[i] = i;
+        }
+        
+        mergeSort(indexes, new int[count], sortComparator(column, ascending));
+        
+        this.viewToModel = indexes;
+        this.sortColumn = column;
+        this.ascending = ascending;
+        fireTableDataChanged();
+    }
+    
+    /**
+     * 테이블 뒤에 추가된 행 반영 (정렬 중이면 새 행만 정렬해서 기존 순열에 병합)
+     * 점진 로딩 중에는 배치마다 호출되므로 전체를 다시 정렬하지 않는다.
+     * @param firstRow 추가된 첫 행 인덱스
+     */
+    public void rowsAppended(int firstRow) {
+        int lastRow = table.size() - 1;
+        if (lastRow < firstRow) {
+            return;
+        }
+        if (sortColumn >= 0 && viewToModel != null && viewToModel.length == firstRow) {
+            mergeAppended(firstRow, lastRow);
+            fireTableDataChanged();
+        } else if (sortColumn >= 0) {
+            sortBy(sortColumn, ascending);
+        } else {
+            fireTableRowsInserted(firstRow, lastRow);
+        }
+    }
+    
+    /**
+     * 추가된 행(firstRow~lastRow)만 정렬한 뒤 기존 정렬 순열과 병합 (추가 행 수 k일 때 O(n + k log k))
+     * 값이 같으면 기존 행이 앞에 오므로 전체를 안정 정렬한 결과와 같다.
+     */
+    private void mergeAppended(int firstRow, int lastRow) {
+        int count = lastRow - firstRow + 1;
+        int[] added = new int[count];
+        for (int i = 0; i < count; i++) {
+            added[i] = firstRow + i;
+        }
+        // 새 행에 처음 보는 타입이 있을 수 있으므로 비교기는 새로 만듦
+        IndexComparator comparator = sortComparator(sortColumn, ascending);
+        mergeSort(added, new int[count], comparator);
+        
+        int[] existing = viewToModel;
+        int[] merged = new int[existing.length + count];
+        int i = 0, j = 0, k = 0;
+        while (i < existing.length && j < count) {
+            merged[k++] = comparator.compare(existing[i], added[j]) <= 0 ? existing[i++] : added[j++];
+        }
+        while (i < existing.length) {
+            merged[k++] = existing[i++];
+        }
+        while (j < count) {
+            merged[k++] = added[j++];
+        }
+        viewToModel = merged;
+    }
+    
+    /**
+     * 파일 변경으로 바뀐 행 반영 (정렬 중이면 다시 정렬, 아니면 삭제/삽입/변경 구간별로 이벤트 발생)
+     */
+    public void rowsChanged(PointTableDiff diff) {
+        if (diff.isEmpty()) {
+            return;
+        }
+        if (sortColumn >= 0) {
+            sortBy(sortColumn, ascending);
+            return;
+        }
+        
+        List<int[]> deleted = runs(diff.getDeletedRows());
+        List<int[]> inserted = runs(diff.getInsertedRows());
+        if (deleted.size() + inserted.size() > MAX_UPDATE_EVENTS) {
+            // 흩어진 삭제/삽입이 너무 많으면 전체 갱신
+            fireTableDataChanged();
+            return;
+        }
+        // 뒤쪽 구간부터 지워야 앞쪽 구간의 인덱스가 그대로 유지됨
+        for (int i = deleted.size() - 1; i >= 0; i--) {
+            fireTableRowsDeleted(deleted.get(i)[0], deleted.get(i)[1]);
+        }
+        for (int[] run : inserted) {
+            fireTableRowsInserted(run[0], run[1]);
+        }
+        
+        int[] rows = diff.getUpdatedRows();
+        List<int[]> updated = runs(rows);
+        if (updated.size() > MAX_UPDATE_EVENTS) {
+            // 흩어진 행이 너무 많으면 구간 하나로 묶음
+            fireTableRowsUpdated(rows[0], rows[rows.length - 1]);
+        } else {
+            for (int[] run : updated) {
+                fireTableRowsUpdated(run[0], run[1]);
+            }
+        }
+    }
+    
+    /**
+     * 오름차순 행 목록을 연속 구간 [첫 행, 마지막 행] 목록으로 묶음
+     */
+    private static List<int[]> runs(int[] rows) {
+        List<int[]> runs = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= rows.length; i++) {
+            if (i == rows.length || rows[i] != rows[i - 1] + 1) {
+                runs.add(new int[] {rows[start], rows[i - 1]});
+                start = i;
+            }
+        }
+        return runs;
+    }
+    
+    /**
+     * 정렬 해제 (원본 순서)
+     */
+    public void clearSort() {
+        viewToModel = null;
+        sortColumn = -1;
+        ascending = true;
+        fireTableDataChanged();
+    }
+    
+    /**
+     * 정렬 방향을 반영한 비교기
+     */
+    private IndexComparator sortComparator(int column, boolean ascending) {
+        IndexComparator comparator = comparatorFor(column);
+        if (!ascending) {
+            IndexComparator base = comparator;
+            comparator = (a, b) -> base.compare(b, a);
+        }
+        return comparator;
+    }
+    
+    /**
+     * 컬럼 종류별 비교기 (좌표는 double, type은 사전 순위, 그 외는 문자열)
+     */
+    private IndexComparator comparatorFor(int column) {
+        if (table.isNumericColumn(column)) {
+            return (a, b) -> Double.compare(table.getDouble(a, column), table.getDouble(b, column));
+        }
+        
+        if (table.hasType() && column == table.getHeaders().indexOf(PointTable.TYPE)) {
+            // 타입 사전을 한 번만 정렬해서 typeId별 순위로 비교
+            List<String> types = table.getTypeDictionary();
+            Integer[] order = new Integer[types.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> types.get(a).compareTo(types.get(b)));
+            int[] rank = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                rank[order[i]] = i;
+            }
+            int[] typeIds = table.getTypeIdArray();
+            return (a, b) -> Integer.compare(rank[typeIds[a]], rank[typeIds[b]]);
+        }
+        
+        return (a, b) -> table.getText(a, column).compareTo(table.getText(b, column));
+    }
+    
+    /**
+     * 기본형 인덱스 배열용 안정 병합 정렬 (박싱 없음)
+     */
+    private static void mergeSort(int[] indexes, int[] buffer, IndexComparator comparator) {
+        int count = indexes.length;
+        int[] source = indexes;
+        int[] target = buffer;
+        for (int width = 1; width < count; width <<= 1) {
+            for (int left = 0; left < count; left += width << 1) {
+                int mid = Math.min(left + width, count);
+                int right = Math.min(left + (width << 1), count);
+                int i = left, j = mid, k = left;
+                while (i < mid && j < right) {
+                    target[k++] = comparator.compare(source[i], source[j]) <= 0 ? source[i++] : source[j++];
+                }
+                while (i < mid) {
+                    target[k++] = source[i++];
+                }
+                while (j < right) {
+                    target[k++] = source[j++];
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != indexes) {
+            System.arraycopy(source, 0, indexes, 0, count);
+        }
+    }
+    
+    /**
+     * 행 인덱스 비교기
+     */
+    private interface IndexComparator {
+        int compare(int a, int b);
+    }
+}
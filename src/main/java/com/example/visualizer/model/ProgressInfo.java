@@ -8,6 +8,10 @@ public class ProgressInfo {
     private String message;
     private String status;
     private boolean indeterminate;
+    private long processedRows;
+    private long totalRows;
+    private double rowsPerSecond;
+    private long etaMillis = -1;
     
     public ProgressInfo() {
         this.progress = 0;
@@ -63,10 +67,57 @@ public class ProgressInfo {
         this.indeterminate = indeterminate;
     }
     
+    public long getProcessedRows() {
+        return processedRows;
+    }
+    
+    public long getTotalRows() {
+        return totalRows;
+    }
+    
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+    
+    /**
+     * 남은 예상 시간 (밀리초, 알 수 없으면 -1)
+     */
+    public long getEtaMillis() {
+        return etaMillis;
+    }
+    
+    public boolean hasRowProgress() {
+        return processedRows > 0;
+    }
+    
+    /**
+     * 행 단위 진행 정보 설정 (처리량과 남은 시간은 경과 시간으로 계산)
+     * @param totalRows 전체 행 수 (모르면 0)
+     * @param elapsedNanos 시작 후 경과 시간
+     */
+    public void setRowProgress(long processedRows, long totalRows, long elapsedNanos) {
+        this.processedRows = processedRows;
+        this.totalRows = totalRows;
+        this.rowsPerSecond = elapsedNanos > 0 ? processedRows * 1_000_000_000.0 / elapsedNanos : 0;
+        if (totalRows > 0 && rowsPerSecond > 0) {
+            long remaining = Math.max(0, totalRows - processedRows);
+            this.etaMillis = (long) (remaining * 1000 / rowsPerSecond);
+            setProgress((int) (processedRows * 100 / totalRows));
+            this.indeterminate = false;
+        } else {
+            this.etaMillis = -1;
+            this.indeterminate = totalRows <= 0;
+        }
+    }
+    
     public void reset() {
         this.progress = 0;
         this.message = "대기 중...";
         this.status = "준비";
         this.indeterminate = false;
+        this.processedRows = 0;
+        this.totalRows = 0;
+        this.rowsPerSecond = 0;
+        this.etaMillis = -1;
     }
 }
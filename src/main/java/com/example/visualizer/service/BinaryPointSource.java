@@ -0,0 +1,383 @@
+package com.example.visualizer.service;
+
+import com.example.visualizer.model.PointTable;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 바이너리 포인트 파일(.bvpt) 입력
+ * 컬럼 단위 리틀 엔디언 배열이므로 파싱 없이 메모리 매핑 후 통째로 복사한다.
+ * visualize.py가 Java 3D 뷰어로 포인트를 넘길 때도 같은 형식을 쓴다 (HTTP 본문 또는 3d_data.bvpt).
+ *
+ * 파일 구조 (모두 리틀 엔디언):
+ * magic "BVPT" | int32 version | int32 flags (1: z, 2: type) | int32 typeCount | int64 pointCount
+ * | typeCount x (int32 바이트 수 + UTF-8 타입 이름) | 8바이트 정렬 패딩
+ * | float64[n] x | float64[n] y | float64[n] z (flags & 1) | int32[n] typeId (flags & 2)
+ */
+public class BinaryPointSource implements PointSource {
+    public static final int VERSION = 1;
+    public static final int FLAG_Z = 1;
+    public static final int FLAG_TYPE = 2;
+    private static final byte[] MAGIC = {'B', 'V', 'P', 'T'};
+    private static final int FIXED_HEADER_SIZE = 24;
+    private static final int STREAM_CHUNK_BYTES = 64 * 1024;
+    
+    @Override
+    public String getFormatName() {
+        return "바이너리 포인트 (bvpt)";
+    }
+    
+    @Override
+    public List<String> getExtensions() {
+        return Collections.singletonList("bvpt");
+    }
+    
+    @Override
+    public boolean matchesMagic(byte[] head) {
+        return head.length >= 4 && head[0] == MAGIC[0] && head[1] == MAGIC[1]
+            && head[2] == MAGIC[2] && head[3] == MAGIC[3];
+    }
+    
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+    
+    @Override
+    public void read(File file, Sink sink) throws IOException {
+        sink.onBatch(readTable(file, sink));
+    }
+    
+    /**
+     * 파일 전체를 PointTable로 읽기
+     */
+    public PointTable readTable(File file) throws IOException {
+        return readTable(file, null);
+    }
+    
+    private PointTable readTable(File file, Sink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < FIXED_HEADER_SIZE) {
+                throw new IOException("손상된 바이너리 포인트 파일입니다: 헤더가 없습니다.");
+            }
+            
+            Header header = Header.parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, FIXED_HEADER_SIZE), file.getName());
+            int flags = header.flags;
+            int typeCount = header.typeCount;
+            int count = header.count;
+            boolean hasZ = (flags & FLAG_Z) != 0;
+            boolean hasType = (flags & FLAG_TYPE) != 0;
+            
+            // 타입 사전
+            long position = FIXED_HEADER_SIZE;
+            List<String> types = new ArrayList<>(typeCount);
+            for (int i = 0; i < typeCount; i++) {
+                ByteBuffer length = readAt(channel, position, 4, fileSize);
+                int byteLength = length.getInt();
+                if (byteLength < 0) {
+                    throw new IOException("손상된 바이너리 포인트 파일입니다: 타입 이름 길이가 잘못되었습니다.");
+                }
+                ByteBuffer name = readAt(channel, position + 4, byteLength, fileSize);
+                types.add(StandardCharsets.UTF_8.decode(name).toString());
+                position += 4 + byteLength;
+            }
+            position = (position + 7) & ~7L;
+            
+            long expected = position + 8L * count * (hasZ ? 3 : 2) + (hasType ? 4L * count : 0);
+            if (fileSize < expected) {
+                throw new IOException("손상된 바이너리 포인트 파일입니다: 데이터가 잘립니다.");
+            }
+            
+            List<String> headers = columnHeaders(hasZ, hasType);
+            if (sink != null) {
+                sink.onHeaders(headers);
+                sink.onRowCountEstimate(count);
+            }
+            
+            // 컬럼 배열 복사 (매핑된 버퍼에서 bulk get)
+            double[] x = readDoubles(channel, position, count);
+            position += 8L * count;
+            double[] y = readDoubles(channel, position, count);
+            position += 8L * count;
+            double[] z = new double[count];
+            if (hasZ) {
+                z = readDoubles(channel, position, count);
+                position += 8L * count;
+            }
+            int[] typeIds = new int[count];
+            if (hasType) {
+                channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * count)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(typeIds);
+                checkTypeIds(typeIds, types.size());
+            }
+            
+            return PointTable.fromColumns(headers, count, x, y, z, typeIds, types, new String[headers.size()][]);
+        }
+    }
+    
+    /**
+     * 스트림에서 PointTable 읽기 (길이를 모르는 본문)
+     */
+    public PointTable readTable(InputStream in) throws IOException {
+        return readTable(in, -1);
+    }
+    
+    /**
+     * 스트림에서 PointTable 읽기 (visualize.py가 HTTP로 보낸 본문)
+     * 컬럼 배열은 고정 크기 청크로 읽어서 리틀 엔디언 뷰로 바로 채운다.
+     * 헤더의 점 개수는 검증 전에는 믿지 않는다. 길이를 알면 본문 길이와 맞는지 먼저 확인하고,
+     * 모르면 배열을 실제로 받은 만큼만 키워서 잘리거나 손상된 본문이 큰 배열부터 할당하지 않게 한다.
+     * @param contentLength 본문 바이트 수 (모르면 음수)
+     */
+    public PointTable readTable(InputStream in, long contentLength) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        byte[] fixed = new byte[FIXED_HEADER_SIZE];
+        readFully(data, fixed);
+        Header header = Header.parse(ByteBuffer.wrap(fixed), "스트림");
+        boolean hasZ = (header.flags & FLAG_Z) != 0;
+        boolean hasType = (header.flags & FLAG_TYPE) != 0;
+        int count = header.count;
+        
+        // 타입 사전과 8바이트 정렬 패딩
+        long position = FIXED_HEADER_SIZE;
+        List<String> types = new ArrayList<>(Math.min(header.typeCount, 1024));
+        byte[] lengthBytes = new byte[4];
+        for (int i = 0; i < header.typeCount; i++) {
+            readFully(data, lengthBytes);
+            int byteLength = ByteBuffer.wrap(lengthBytes).order(ByteOrder.LITTLE_ENDIAN).getInt();
+            if (byteLength < 0 || byteLength > STREAM_CHUNK_BYTES) {
+                throw new IOException("손상된 바이너리 포인트 데이터입니다: 타입 이름 길이가 잘못되었습니다.");
+            }
+            byte[] name = new byte[byteLength];
+            readFully(data, name);
+            types.add(new String(name, StandardCharsets.UTF_8));
+            position += 4 + byteLength;
+        }
+        readFully(data, new byte[(int) (((position + 7) & ~7L) - position)]);
+        position = (position + 7) & ~7L;
+        
+        int capacity = Math.min(count, STREAM_CHUNK_BYTES / 8);
+        if (contentLength >= 0) {
+            long expected = position + 8L * count * (hasZ ? 3 : 2) + (hasType ? 4L * count : 0);
+            if (contentLength < expected) {
+                throw new IOException("손상된 바이너리 포인트 데이터입니다: 데이터가 잘립니다.");
+            }
+            capacity = count;
+        }
+        
+        byte[] chunk = new byte[STREAM_CHUNK_BYTES];
+        double[] x = readDoubles(data, chunk, count, capacity);
+        double[] y = readDoubles(data, chunk, count, capacity);
+        double[] z = hasZ ? readDoubles(data, chunk, count, capacity) : new double[count];
+        int[] typeIds = new int[hasType ? capacity : count];
+        if (hasType) {
+            for (int offset = 0; offset < count; ) {
+                int n = Math.min(count - offset, chunk.length / 4);
+                readFully(data, chunk, 4 * n);
+                if (offset + n > typeIds.length) {
+                    typeIds = Arrays.copyOf(typeIds, grownCapacity(typeIds.length, offset + n, count));
+                }
+                ByteBuffer.wrap(chunk, 0, 4 * n).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(typeIds, offset, n);
+                offset += n;
+            }
+            checkTypeIds(typeIds, types.size());
+        }
+        
+        List<String> headers = columnHeaders(hasZ, hasType);
+        return PointTable.fromColumns(headers, count, x, y, z, typeIds, types, new String[headers.size()][]);
+    }
+    
+    /**
+     * PointTable을 바이너리 포인트 파일로 저장 (좌표는 unitScale을 곱해서 기록, visualize.py의 3d_data.bvpt와 같은 형식)
+     * z/type 컬럼이 없는 테이블은 해당 플래그 없이 x, y만 기록한다.
+     */
+    public static void write(PointTable table, double unitScale, File file) throws IOException {
+        int count = table.size();
+        boolean hasZ = table.hasZ();
+        boolean hasType = table.hasType();
+        List<byte[]> names = new ArrayList<>();
+        int headerSize = FIXED_HEADER_SIZE;
+        if (hasType) {
+            for (String type : table.getTypeDictionary()) {
+                byte[] name = type.getBytes(StandardCharsets.UTF_8);
+                names.add(name);
+                headerSize += 4 + name.length;
+            }
+        }
+        
+        // 고정 헤더 + 타입 사전 + 8바이트 정렬 패딩
+        ByteBuffer header = ByteBuffer.allocate((headerSize + 7) & ~7).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC).putInt(VERSION).putInt((hasZ ? FLAG_Z : 0) | (hasType ? FLAG_TYPE : 0))
+            .putInt(names.size()).putLong(count);
+        for (byte[] name : names) {
+            header.putInt(name.length).put(name);
+        }
+        header.clear();
+        
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            ByteBuffer chunk = ByteBuffer.allocate(STREAM_CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            writeDoubles(channel, chunk, table.getXArray(), count, unitScale);
+            writeDoubles(channel, chunk, table.getYArray(), count, unitScale);
+            if (hasZ) {
+                writeDoubles(channel, chunk, table.getZArray(), count, unitScale);
+            }
+            if (hasType) {
+                int[] typeIds = table.getTypeIdArray();
+                for (int offset = 0; offset < count; ) {
+                    int n = Math.min(count - offset, chunk.capacity() / 4);
+                    chunk.clear();
+                    chunk.asIntBuffer().put(typeIds, offset, n);
+                    chunk.limit(4 * n);
+                    writeFully(channel, chunk);
+                    offset += n;
+                }
+            }
+        }
+    }
+    
+    private static void writeDoubles(FileChannel channel, ByteBuffer chunk, double[] values, int count,
+                                     double unitScale) throws IOException {
+        for (int offset = 0; offset < count; ) {
+            int n = Math.min(count - offset, chunk.capacity() / 8);
+            chunk.clear();
+            for (int i = 0; i < n; i++) {
+                chunk.putDouble(values[offset + i] * unitScale);
+            }
+            chunk.flip();
+            writeFully(channel, chunk);
+            offset += n;
+        }
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    private static List<String> columnHeaders(boolean hasZ, boolean hasType) {
+        List<String> headers = new ArrayList<>(List.of(PointTable.X, PointTable.Y));
+        if (hasZ) {
+            headers.add(PointTable.Z);
+        }
+        if (hasType) {
+            headers.add(PointTable.TYPE);
+        }
+        return headers;
+    }
+    
+    private static void checkTypeIds(int[] typeIds, int typeCount) throws IOException {
+        for (int typeId : typeIds) {
+            if (typeId < 0 || typeId >= typeCount) {
+                throw new IOException("손상된 바이너리 포인트 파일입니다: 타입 번호가 잘못되었습니다.");
+            }
+        }
+    }
+    
+    /**
+     * 스트림에서 double 배열 읽기 (capacity부터 시작해서 받은 만큼 count까지 키움)
+     */
+    private static double[] readDoubles(DataInputStream data, byte[] chunk, int count, int capacity) throws IOException {
+        double[] values = new double[capacity];
+        for (int offset = 0; offset < count; ) {
+            int n = Math.min(count - offset, chunk.length / 8);
+            readFully(data, chunk, 8 * n);
+            if (offset + n > values.length) {
+                values = Arrays.copyOf(values, grownCapacity(values.length, offset + n, count));
+            }
+            ByteBuffer.wrap(chunk, 0, 8 * n).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(values, offset, n);
+            offset += n;
+        }
+        return values;
+    }
+    
+    private static int grownCapacity(int current, int required, int count) {
+        return (int) Math.min(count, Math.max(required, 2L * current));
+    }
+    
+    private static void readFully(DataInputStream data, byte[] target) throws IOException {
+        readFully(data, target, target.length);
+    }
+    
+    private static void readFully(DataInputStream data, byte[] target, int length) throws IOException {
+        try {
+            data.readFully(target, 0, length);
+        } catch (EOFException e) {
+            throw new IOException("손상된 바이너리 포인트 데이터입니다: 데이터가 잘립니다.", e);
+        }
+    }
+    
+    private static double[] readDoubles(FileChannel channel, long position, int count) throws IOException {
+        double[] values = new double[count];
+        if (count > 0) {
+            channel.map(FileChannel.MapMode.READ_ONLY, position, 8L * count)
+                .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(values);
+        }
+        return values;
+    }
+    
+    private static ByteBuffer readAt(FileChannel channel, long position, int length, long fileSize) throws IOException {
+        if (position + length > fileSize) {
+            throw new IOException("손상된 바이너리 포인트 파일입니다: 데이터가 잘립니다.");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("손상된 바이너리 포인트 파일입니다: 데이터가 잘립니다.");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+    
+    /**
+     * 고정 헤더 (magic, 버전, 플래그, 타입 수, 포인트 수)
+     */
+    private static class Header {
+        final int flags;
+        final int typeCount;
+        final int count;
+        
+        private Header(int flags, int typeCount, int count) {
+            this.flags = flags;
+            this.typeCount = typeCount;
+            this.count = count;
+        }
+        
+        static Header parse(ByteBuffer buffer, String name) throws IOException {
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            byte[] magic = new byte[4];
+            buffer.get(magic);
+            if (magic[0] != MAGIC[0] || magic[1] != MAGIC[1] || magic[2] != MAGIC[2] || magic[3] != MAGIC[3]) {
+                throw new IOException("바이너리 포인트 파일이 아닙니다: " + name);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("지원하지 않는 바이너리 포인트 파일 버전입니다: " + version);
+            }
+            int flags = buffer.getInt();
+            int typeCount = buffer.getInt();
+            long pointCount = buffer.getLong();
+            if (pointCount < 0 || pointCount > Integer.MAX_VALUE - 8 || typeCount < 0) {
+                throw new IOException("손상된 바이너리 포인트 파일입니다: 개수가 잘못되었습니다.");
+            }
+            return new Header(flags, typeCount, (int) pointCount);
+        }
+    }
+}
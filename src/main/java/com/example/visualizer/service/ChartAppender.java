@@ -0,0 +1,371 @@
+package com.example.visualizer.service;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 기존 엑셀 패키지에 차트 파트만 추가하는 클래스
+ * 첫 번째 시트의 x, y 범위를 참조하는 차트 시트(chartsheet)와 drawing/chart 파트를 새로 만들고,
+ * 나머지 ZIP 엔트리는 압축을 풀지 않고 그대로 복사한다. 데이터 시트 XML은 변경하지 않으므로
+ * 처리 비용은 데이터 크기가 아니라 차트 크기에 비례한다.
+ */
+public class ChartAppender {
+    private static final String CHART_SHEET_NAME = "차트";
+    
+    private static final String NS_RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String REL_CHARTSHEET = NS_RELATIONSHIPS + "/chartsheet";
+    private static final String REL_DRAWING = NS_RELATIONSHIPS + "/drawing";
+    private static final String REL_CHART = NS_RELATIONSHIPS + "/chart";
+    private static final String TYPE_CHARTSHEET = "application/vnd.openxmlformats-officedocument.spreadsheetml.chartsheet+xml";
+    private static final String TYPE_DRAWING = "application/vnd.openxmlformats-officedocument.drawing+xml";
+    private static final String TYPE_CHART = "application/vnd.openxmlformats-officedocument.drawingml.chart+xml";
+    private static final String CONTENT_TYPES = "[Content_Types].xml";
+    
+    private static final String CHARTSHEET_XML =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+        + "<chartsheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\""
+        + " xmlns:r=\"" + NS_RELATIONSHIPS + "\">"
+        + "<sheetPr/><sheetViews><sheetView zoomToFit=\"1\" workbookViewId=\"0\"/></sheetViews>"
+        + "<pageMargins left=\"0.7\" right=\"0.7\" top=\"0.75\" bottom=\"0.75\" header=\"0.3\" footer=\"0.3\"/>"
+        + "<drawing r:id=\"rId1\"/></chartsheet>";
+    
+    // 차트 시트의 drawing은 셀 앵커 대신 절대 위치 앵커를 사용
+    private static final String DRAWING_XML =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+        + "<xdr:wsDr xmlns:xdr=\"http://schemas.openxmlformats.org/drawingml/2006/spreadsheetDrawing\""
+        + " xmlns:a=\"http://schemas.openxmlformats.org/drawingml/2006/main\">"
+        + "<xdr:absoluteAnchor><xdr:pos x=\"0\" y=\"0\"/><xdr:ext cx=\"9309100\" cy=\"6070600\"/>"
+        + "<xdr:graphicFrame macro=\"\"><xdr:nvGraphicFramePr><xdr:cNvPr id=\"2\" name=\"Chart 1\"/>"
+        + "<xdr:cNvGraphicFramePr><a:graphicFrameLocks noGrp=\"1\"/></xdr:cNvGraphicFramePr></xdr:nvGraphicFramePr>"
+        + "<xdr:xfrm><a:off x=\"0\" y=\"0\"/><a:ext cx=\"0\" cy=\"0\"/></xdr:xfrm>"
+        + "<a:graphic><a:graphicData uri=\"http://schemas.openxmlformats.org/drawingml/2006/chart\">"
+        + "<c:chart xmlns:c=\"http://schemas.openxmlformats.org/drawingml/2006/chart\""
+        + " xmlns:r=\"" + NS_RELATIONSHIPS + "\" r:id=\"rId1\"/>"
+        + "</a:graphicData></a:graphic></xdr:graphicFrame><xdr:clientData/></xdr:absoluteAnchor></xdr:wsDr>";
+    
+    private static final Pattern SHEET_NAME = Pattern.compile("<(?:\\w+:)?sheet\\b[^>]*\\bname=\"([^\"]*)\"");
+    private static final Pattern SHEET_ID = Pattern.compile("<(?:\\w+:)?sheet\\b[^>]*\\bsheetId=\"(\\d+)\"");
+    private static final Pattern SHEETS_END = Pattern.compile("</((?:\\w+:)?)sheets>");
+    private static final Pattern RELATIONSHIP_ID = Pattern.compile("\\bId=\"([^\"]*)\"");
+    
+    /**
+     * 원본 파일에 차트를 추가한 결과를 outputFile로 저장
+     * @return 패키지 구조를 해석할 수 없어 추가하지 못한 경우 false (원본/출력 파일은 변경되지 않음)
+     */
+    public boolean appendChart(File inputFile, File outputFile) throws IOException {
+        SheetInfo info = inspect(inputFile);
+        if (info == null) {
+            return false;
+        }
+        
+        byte[] chartXml = buildChartXml(info);
+        
+        File tempFile = File.createTempFile("chart-", ".xlsx.tmp", outputFile.getAbsoluteFile().getParentFile());
+        try {
+            try (ZipFile zip = new ZipFile(inputFile)) {
+                if (!writePackage(zip, info, chartXml, tempFile)) {
+                    return false;
+                }
+            }
+            // 원본과 같은 파일에 저장하는 경우를 위해 임시 파일에 쓰고 원본을 닫은 뒤 교체
+            Files.move(tempFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+        
+        System.out.println("기존 파일에 차트 시트 추가: " + info.sheetName + " (" + info.dataRowCount + "행 참조)");
+        return true;
+    }
+    
+    /**
+     * 첫 번째 시트의 이름, 헤더, 데이터 행 수(dimension)와 워크북 파트 경로 확인
+     */
+    private SheetInfo inspect(File inputFile) throws IOException {
+        SheetInfo info = new SheetInfo();
+        try (OPCPackage pkg = OPCPackage.open(inputFile, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return null;
+            }
+            sheets.next().close();
+            info.sheetName = sheets.getSheetName();
+            info.workbookPart = pkg.getPartsByRelationshipType(PackageRelationshipTypes.CORE_DOCUMENT)
+                .get(0).getPartName().getName().substring(1);
+        } catch (OpenXML4JException | RuntimeException e) {
+            System.out.println("패키지 구조 확인 실패, 전체 다시 쓰기로 처리: " + e.getMessage());
+            return null;
+        }
+        
+        // 헤더 행까지만 스트리밍으로 읽음 (dimension은 sheetData보다 앞에 있음)
+        int[] rowCount = {-1};
+        try {
+            new StreamingExcelReader().read(inputFile, new StreamingExcelReader.RowListener() {
+                @Override
+                public void onHeaders(List<String> headers) {
+                    info.headers = headers;
+                    throw new HeaderFound();
+                }
+                
+                @Override
+                public void onRow(List<Object> row) {
+                }
+                
+                @Override
+                public void onRowCountEstimate(int count) {
+                    rowCount[0] = count;
+                }
+            });
+        } catch (HeaderFound e) {
+            // 헤더까지 읽었으므로 중단
+        }
+        info.dataRowCount = rowCount[0];
+        
+        if (info.headers == null || !info.headers.contains("x") || !info.headers.contains("y")) {
+            throw new IllegalArgumentException("엑셀 파일에 'x'와 'y' 컬럼이 필요합니다.");
+        }
+        if (info.dataRowCount <= 0) {
+            System.out.println("시트 크기(dimension) 정보 없음, 전체 다시 쓰기로 처리");
+            return null;
+        }
+        return info;
+    }
+    
+    /**
+     * 임시 워크북에 같은 이름의 빈 시트를 만들어 차트 XML만 생성
+     * 빈 시트이므로 시리즈에는 원본 셀 범위 참조만 기록된다.
+     */
+    private byte[] buildChartXml(SheetInfo info) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            XSSFSheet sheet = workbook.createSheet(info.sheetName);
+            ExcelService.createScatterChart(sheet, info.headers, info.dataRowCount);
+            workbook.write(buffer);
+        }
+        
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.getName().startsWith("xl/charts/chart") && entry.getName().endsWith(".xml")) {
+                    return zip.readAllBytes();
+                }
+            }
+        }
+        throw new IOException("차트 XML 생성 실패");
+    }
+    
+    /**
+     * 원본 엔트리를 복사하면서 워크북/관계/콘텐츠 타입만 수정하고 새 파트를 추가
+     */
+    private boolean writePackage(ZipFile zip, SheetInfo info, byte[] chartXml, File target) throws IOException {
+        String workbookDir = info.workbookPart.substring(0, info.workbookPart.lastIndexOf('/') + 1);
+        String workbookRels = workbookDir + "_rels/" + info.workbookPart.substring(workbookDir.length()) + ".rels";
+        
+        String workbookXml = readEntry(zip, info.workbookPart);
+        String relsXml = readEntry(zip, workbookRels);
+        String typesXml = readEntry(zip, CONTENT_TYPES);
+        if (workbookXml == null || relsXml == null || typesXml == null) {
+            return false;
+        }
+        
+        // 새 파트 이름 (기존 파트와 겹치지 않는 번호)
+        String chartsheetName = nextFreeName(zip, workbookDir + "chartsheets/sheet");
+        String drawingName = nextFreeName(zip, workbookDir + "drawings/drawing");
+        String chartName = nextFreeName(zip, workbookDir + "charts/chart");
+        
+        // 워크북에 차트 시트 등록
+        String relId = nextRelationshipId(relsXml);
+        String modifiedWorkbook = addSheetEntry(workbookXml, relId);
+        if (modifiedWorkbook == null) {
+            return false;
+        }
+        String modifiedRels = insertBefore(relsXml, "</Relationships>",
+            relationship(relId, REL_CHARTSHEET, chartsheetName.substring(workbookDir.length())));
+        String modifiedTypes = insertBefore(typesXml, "</Types>",
+            override(chartsheetName, TYPE_CHARTSHEET) + override(drawingName, TYPE_DRAWING) + override(chartName, TYPE_CHART));
+        if (modifiedRels == null || modifiedTypes == null) {
+            return false;
+        }
+        
+        Map<String, String> replaced = new HashMap<>();
+        replaced.put(info.workbookPart, modifiedWorkbook);
+        replaced.put(workbookRels, modifiedRels);
+        replaced.put(CONTENT_TYPES, modifiedTypes);
+        
+        try (OutputStream out = Files.newOutputStream(target.toPath());
+             ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(out)) {
+            for (ZipArchiveEntry entry : Collections.list(zip.getEntries())) {
+                String modified = replaced.get(entry.getName());
+                if (modified != null) {
+                    writeEntry(zipOut, entry.getName(), modified.getBytes(StandardCharsets.UTF_8));
+                } else {
+                    // 압축을 풀지 않고 원본 바이트 그대로 복사
+                    try (InputStream raw = zip.getRawInputStream(entry)) {
+                        zipOut.addRawArchiveEntry(entry, raw);
+                    }
+                }
+            }
+            
+            writeEntry(zipOut, chartsheetName, CHARTSHEET_XML.getBytes(StandardCharsets.UTF_8));
+            writeEntry(zipOut, relsPathOf(chartsheetName), relationships(
+                relationship("rId1", REL_DRAWING, "../drawings/" + fileNameOf(drawingName))));
+            writeEntry(zipOut, drawingName, DRAWING_XML.getBytes(StandardCharsets.UTF_8));
+            writeEntry(zipOut, relsPathOf(drawingName), relationships(
+                relationship("rId1", REL_CHART, "../charts/" + fileNameOf(chartName))));
+            writeEntry(zipOut, chartName, chartXml);
+        }
+        return true;
+    }
+    
+    /**
+     * workbook.xml의 sheets 끝에 차트 시트 항목 추가 (이름/sheetId는 기존 값과 겹치지 않게)
+     */
+    private String addSheetEntry(String workbookXml, String relId) {
+        Matcher end = SHEETS_END.matcher(workbookXml);
+        if (!end.find()) {
+            return null;
+        }
+        
+        int maxSheetId = 0;
+        Matcher ids = SHEET_ID.matcher(workbookXml);
+        while (ids.find()) {
+            maxSheetId = Math.max(maxSheetId, Integer.parseInt(ids.group(1)));
+        }
+        
+        String name = CHART_SHEET_NAME;
+        for (int suffix = 2; containsSheetName(workbookXml, name); suffix++) {
+            name = CHART_SHEET_NAME + " " + suffix;
+        }
+        
+        String prefix = end.group(1);
+        String sheet = "<" + prefix + "sheet xmlns:r=\"" + NS_RELATIONSHIPS + "\" name=\"" + name
+            + "\" sheetId=\"" + (maxSheetId + 1) + "\" r:id=\"" + relId + "\"/>";
+        return workbookXml.substring(0, end.start()) + sheet + workbookXml.substring(end.start());
+    }
+    
+    private static boolean containsSheetName(String workbookXml, String name) {
+        Matcher names = SHEET_NAME.matcher(workbookXml);
+        while (names.find()) {
+            if (names.group(1).equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String nextRelationshipId(String relsXml) {
+        Matcher ids = RELATIONSHIP_ID.matcher(relsXml);
+        Set<String> used = new HashSet<>();
+        while (ids.find()) {
+            used.add(ids.group(1));
+        }
+        int next = used.size() + 1;
+        while (used.contains("rId" + next)) {
+            next++;
+        }
+        return "rId" + next;
+    }
+    
+    private static String nextFreeName(ZipFile zip, String base) {
+        int index = 1;
+        while (zip.getEntry(base + index + ".xml") != null) {
+            index++;
+        }
+        return base + index + ".xml";
+    }
+    
+    private static String insertBefore(String xml, String closingTag, String content) {
+        int index = xml.lastIndexOf(closingTag);
+        if (index < 0) {
+            return null;
+        }
+        return xml.substring(0, index) + content + xml.substring(index);
+    }
+    
+    private static String relationship(String id, String type, String target) {
+        return "<Relationship Id=\"" + id + "\" Type=\"" + type + "\" Target=\"" + target + "\"/>";
+    }
+    
+    private static byte[] relationships(String content) {
+        return ("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + content + "</Relationships>").getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static String override(String partName, String contentType) {
+        return "<Override PartName=\"/" + partName + "\" ContentType=\"" + contentType + "\"/>";
+    }
+    
+    private static String relsPathOf(String partName) {
+        int slash = partName.lastIndexOf('/');
+        return partName.substring(0, slash + 1) + "_rels/" + partName.substring(slash + 1) + ".rels";
+    }
+    
+    private static String fileNameOf(String partName) {
+        return partName.substring(partName.lastIndexOf('/') + 1);
+    }
+    
+    private static String readEntry(ZipFile zip, String name) throws IOException {
+        ZipArchiveEntry entry = zip.getEntry(name);
+        if (entry == null) {
+            return null;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+    
+    private static void writeEntry(ZipArchiveOutputStream zipOut, String name, byte[] content) throws IOException {
+        ZipArchiveEntry entry = new ZipArchiveEntry(name);
+        zipOut.putArchiveEntry(entry);
+        zipOut.write(content);
+        zipOut.closeArchiveEntry();
+    }
+    
+    /**
+     * 원본 패키지의 첫 번째 시트 정보
+     */
+    private static class SheetInfo {
+        private String sheetName;
+        private String workbookPart;
+        private List<String> headers;
+        private int dataRowCount;
+    }
+    
+    /**
+     * 헤더 행을 읽은 뒤 스트리밍 파싱을 중단하기 위한 신호
+     */
+    private static class HeaderFound extends RuntimeException {
+        HeaderFound() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,507 @@
+package com.example.visualizer.service;
+
+import com.example.visualizer.model.PointTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * CSV 입력 (메모리 매핑 + 병렬 청크 파싱)
+ * 파일을 줄 경계 기준의 청크로 나누고, 각 청크를 매핑된 버퍼에서 바로 파싱한다.
+ * 좌표 값은 문자열을 만들지 않고 바이트에서 직접 숫자로 변환하며,
+ * 청크 결과는 파일 순서대로 Sink에 전달된다.
+ * 구분자는 헤더 행에서 쉼표/세미콜론/탭 중 가장 많은 것을 사용한다.
+ * 따옴표로 감싼 필드는 지원하지만 필드 안의 줄바꿈은 지원하지 않는다.
+ */
+public class CsvPointSource implements PointSource {
+    private static final long TARGET_CHUNK_BYTES = 8L * 1024 * 1024;
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    
+    @Override
+    public String getFormatName() {
+        return "CSV";
+    }
+    
+    @Override
+    public List<String> getExtensions() {
+        return Arrays.asList("csv", "txt");
+    }
+    
+    @Override
+    public void read(File file, Sink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            
+            // 헤더 행
+            long headerEnd = findLineEnd(channel, 0, size);
+            byte[] headerBytes = readBytes(channel, 0, (int) headerEnd);
+            String headerLine = new String(headerBytes, StandardCharsets.UTF_8);
+            if (headerLine.startsWith("\uFEFF")) {
+                headerLine = headerLine.substring(1);
+            }
+            headerLine = stripCarriageReturn(headerLine);
+            byte delimiter = detectDelimiter(headerLine);
+            List<String> headers = splitHeader(headerLine, (char) delimiter);
+            sink.onHeaders(headers);
+            
+            long dataStart = Math.min(size, headerEnd + 1);
+            if (dataStart >= size) {
+                return;
+            }
+            
+            // 줄 경계로 청크 분할 후 병렬 파싱
+            long[] bounds = splitChunks(channel, dataStart, size);
+            ChunkParser parser = new ChunkParser(headers, delimiter);
+            List<CompletableFuture<PointTable>> chunks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                long start = bounds[i];
+                long end = bounds[i + 1];
+                chunks.add(CompletableFuture.supplyAsync(() -> parser.parse(channel, start, end)));
+            }
+            
+            try {
+                for (int i = 0; i < chunks.size(); i++) {
+                    PointTable chunk = chunks.get(i).join();
+                    if (i == 0 && chunks.size() > 1) {
+                        // 첫 청크의 행 밀도로 전체 행 수 추정
+                        double rowsPerByte = (double) chunk.size() / (bounds[1] - bounds[0]);
+                        sink.onRowCountEstimate((long) (rowsPerByte * (size - dataStart)));
+                    }
+                    sink.onBatch(chunk);
+                }
+            } catch (CompletionException e) {
+                cancelAll(chunks);
+                if (e.getCause() instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                }
+                throw e;
+            } catch (RuntimeException e) {
+                // Sink 쪽 취소(CancellationException) 포함
+                cancelAll(chunks);
+                throw e;
+            }
+        }
+    }
+    
+    private static void cancelAll(List<CompletableFuture<PointTable>> chunks) {
+        for (CompletableFuture<PointTable> chunk : chunks) {
+            chunk.cancel(false);
+        }
+    }
+    
+    /**
+     * 청크 경계 계산 (각 경계는 줄의 시작 위치)
+     */
+    private static long[] splitChunks(FileChannel channel, long dataStart, long size) throws IOException {
+        long dataSize = size - dataStart;
+        int cores = Runtime.getRuntime().availableProcessors();
+        long chunkBytes = Math.min(MAX_CHUNK_BYTES, Math.max(TARGET_CHUNK_BYTES, dataSize / cores));
+        
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(dataStart);
+        long position = dataStart + chunkBytes;
+        while (position < size) {
+            long lineEnd = findLineEnd(channel, position, size);
+            if (lineEnd >= size - 1) {
+                break;
+            }
+            bounds.add(lineEnd + 1);
+            position = lineEnd + 1 + chunkBytes;
+        }
+        bounds.add(size);
+        
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+    
+    /**
+     * position 이후 첫 번째 '\n' 위치 (없으면 파일 크기)
+     */
+    private static long findLineEnd(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long offset = position;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+    
+    private static byte[] readBytes(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+    
+    private static String stripCarriageReturn(String line) {
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+    
+    private static byte detectDelimiter(String headerLine) {
+        byte best = ',';
+        long bestCount = headerLine.chars().filter(ch -> ch == ',').count();
+        for (char candidate : new char[] {';', '\t'}) {
+            long count = headerLine.chars().filter(ch -> ch == candidate).count();
+            if (count > bestCount) {
+                best = (byte) candidate;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+    
+    private static List<String> splitHeader(String line, char delimiter) {
+        List<String> headers = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == delimiter) {
+                headers.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(ch);
+            }
+        }
+        headers.add(field.toString().trim());
+        return headers;
+    }
+    
+    /**
+     * 청크 하나를 파싱하는 작업 (여러 스레드에서 동시에 사용, 상태 없음)
+     */
+    private static class ChunkParser {
+        private final List<String> headers;
+        private final byte delimiter;
+        private final int xColumn;
+        private final int yColumn;
+        private final int zColumn;
+        private final int typeColumn;
+        
+        ChunkParser(List<String> headers, byte delimiter) {
+            this.headers = headers;
+            this.delimiter = delimiter;
+            this.xColumn = headers.indexOf(PointTable.X);
+            this.yColumn = headers.indexOf(PointTable.Y);
+            this.zColumn = headers.indexOf(PointTable.Z);
+            this.typeColumn = headers.indexOf(PointTable.TYPE);
+        }
+        
+        PointTable parse(FileChannel channel, long chunkStart, long chunkEnd) {
+            MappedByteBuffer buffer;
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunkStart, chunkEnd - chunkStart);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            
+            int limit = buffer.limit();
+            // 평균 줄 길이를 모르므로 대략 32바이트/행으로 시작 (부족하면 PointTable이 늘림)
+            PointTable table = new PointTable(headers, Math.max(16, limit / 32));
+            int columnCount = headers.size();
+            int[] fieldStart = new int[columnCount];
+            int[] fieldEnd = new int[columnCount];
+            boolean[] fieldQuoted = new boolean[columnCount];
+            
+            TypeCache types = new TypeCache();
+            
+            int position = 0;
+            while (position < limit) {
+                int lineStart = position;
+                int lineEnd = position;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                position = lineEnd + 1;
+                if (isBlankLine(buffer, lineStart, lineEnd)) {
+                    continue;
+                }
+                
+                // 필드 경계 찾기 (따옴표 안의 구분자는 무시)
+                Arrays.fill(fieldStart, -1);
+                int field = 0;
+                int start = lineStart;
+                boolean inQuotes = false;
+                boolean quoted = false;
+                for (int i = lineStart; i <= lineEnd; i++) {
+                    byte b = i < lineEnd ? buffer.get(i) : delimiter;
+                    if (inQuotes && i < lineEnd) {
+                        if (b == '"') {
+                            if (i + 1 < lineEnd && buffer.get(i + 1) == '"') {
+                                i++;
+                            } else {
+                                inQuotes = false;
+                            }
+                        }
+                    } else if (b == '"' && i < lineEnd) {
+                        inQuotes = true;
+                        quoted = true;
+                    } else if (b == delimiter) {
+                        if (field < columnCount) {
+                            fieldStart[field] = start;
+                            fieldEnd[field] = i;
+                            fieldQuoted[field] = quoted;
+                        }
+                        field++;
+                        start = i + 1;
+                        quoted = false;
+                    }
+                }
+                
+                int row = table.size();
+                table.addPoint(number(buffer, xColumn, fieldStart, fieldEnd),
+                               number(buffer, yColumn, fieldStart, fieldEnd),
+                               number(buffer, zColumn, fieldStart, fieldEnd),
+                               typeColumn >= 0 ? types.lookup(buffer, typeColumn, fieldStart, fieldEnd, fieldQuoted) : null);
+                for (int c = 0; c < columnCount; c++) {
+                    if (c == xColumn || c == yColumn || c == zColumn || c == typeColumn || fieldStart[c] < 0) {
+                        continue;
+                    }
+                    table.setText(row, c, text(buffer, c, fieldStart, fieldEnd, fieldQuoted));
+                }
+            }
+            return table;
+        }
+        
+        private static boolean isBlankLine(ByteBuffer buffer, int start, int end) {
+            for (int i = start; i < end; i++) {
+                byte b = buffer.get(i);
+                if (b != '\r' && b != ' ' && b != '\t') {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private double number(ByteBuffer buffer, int column, int[] fieldStart, int[] fieldEnd) {
+            if (column < 0 || fieldStart[column] < 0) {
+                return 0.0;
+            }
+            int start = fieldStart[column];
+            int end = fieldEnd[column];
+            // 앞뒤 공백, 따옴표, 줄 끝의 '\r' 제거
+            while (start < end && isTrimmable(buffer.get(start))) {
+                start++;
+            }
+            while (end > start && isTrimmable(buffer.get(end - 1))) {
+                end--;
+            }
+            if (start == end) {
+                return 0.0;
+            }
+            double value = parseDouble(buffer, start, end);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+            
+            String text = decode(buffer, start, end);
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                System.err.println("숫자 변환 실패: " + text + " (컬럼: " + headers.get(column) + ")");
+                return 0.0;
+            }
+        }
+        
+        private static boolean isTrimmable(byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '"';
+        }
+        
+        static String text(ByteBuffer buffer, int column, int[] fieldStart, int[] fieldEnd, boolean[] fieldQuoted) {
+            if (fieldStart[column] < 0) {
+                return "";
+            }
+            int start = fieldStart[column];
+            int end = fieldEnd[column];
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            String text = decode(buffer, start, end);
+            if (fieldQuoted[column]) {
+                text = text.trim();
+                if (text.length() >= 2 && text.startsWith("\"") && text.endsWith("\"")) {
+                    text = text.substring(1, text.length() - 1);
+                }
+                text = text.replace("\"\"", "\"");
+            }
+            return text;
+        }
+        
+        static String decode(ByteBuffer buffer, int start, int end) {
+            byte[] bytes = new byte[end - start];
+            buffer.get(start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+    
+    /**
+     * 타입 값 캐시 (같은 바이트열이면 이전에 만든 문자열 재사용)
+     * 타입은 보통 종류가 적으므로 행마다 문자열을 디코딩하지 않도록 한다.
+     */
+    private static class TypeCache {
+        private static final int MAX_ENTRIES = 64;
+        private final byte[][] keys = new byte[MAX_ENTRIES][];
+        private final String[] values = new String[MAX_ENTRIES];
+        private int count;
+        
+        String lookup(ByteBuffer buffer, int column, int[] fieldStart, int[] fieldEnd, boolean[] fieldQuoted) {
+            if (fieldStart[column] < 0 || fieldQuoted[column]) {
+                return ChunkParser.text(buffer, column, fieldStart, fieldEnd, fieldQuoted);
+            }
+            int start = fieldStart[column];
+            int end = fieldEnd[column];
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            int length = end - start;
+            
+            for (int i = 0; i < count; i++) {
+                byte[] key = keys[i];
+                if (key.length != length) {
+                    continue;
+                }
+                int j = 0;
+                while (j < length && key[j] == buffer.get(start + j)) {
+                    j++;
+                }
+                if (j == length) {
+                    return values[i];
+                }
+            }
+            
+            String value = ChunkParser.decode(buffer, start, end);
+            if (count < MAX_ENTRIES) {
+                byte[] key = new byte[length];
+                buffer.get(start, key);
+                keys[count] = key;
+                values[count] = value;
+                count++;
+            }
+            return value;
+        }
+    }
+    
+    /**
+     * 바이트 범위의 십진수를 double로 변환 (유효 숫자 15자리, 지수 22 이내만 처리)
+     * 이 범위에서는 정수 가수와 10의 거듭제곱이 모두 double로 정확히 표현되므로
+     * 한 번의 곱셈/나눗셈 결과가 Double.parseDouble과 같다. 범위를 벗어나면 NaN을 반환한다.
+     */
+    static double parseDouble(ByteBuffer buffer, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        byte b = buffer.get(i);
+        if (b == '-' || b == '+') {
+            negative = b == '-';
+            i++;
+        }
+        
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean seenDigit = false;
+        boolean seenDot = false;
+        for (; i < end; i++) {
+            b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                seenDigit = true;
+                if (mantissa == 0 && b == '0') {
+                    if (seenDot) {
+                        exponent--;
+                    }
+                    continue;
+                }
+                if (digits >= 15) {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (seenDot) {
+                    exponent--;
+                }
+            } else if (b == '.' && !seenDot) {
+                seenDot = true;
+            } else if ((b == 'e' || b == 'E') && seenDigit) {
+                i++;
+                if (i >= end) {
+                    return Double.NaN;
+                }
+                boolean negativeExponent = false;
+                b = buffer.get(i);
+                if (b == '-' || b == '+') {
+                    negativeExponent = b == '-';
+                    i++;
+                }
+                if (i >= end) {
+                    return Double.NaN;
+                }
+                int value = 0;
+                for (; i < end; i++) {
+                    b = buffer.get(i);
+                    if (b < '0' || b > '9' || value > 1000) {
+                        return Double.NaN;
+                    }
+                    value = value * 10 + (b - '0');
+                }
+                exponent += negativeExponent ? -value : value;
+                break;
+            } else {
+                return Double.NaN;
+            }
+        }
+        
+        if (!seenDigit) {
+            return Double.NaN;
+        }
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (exponent < -22 || exponent > 22) {
+            return Double.NaN;
+        }
+        double value = exponent < 0 ? mantissa / POW10[-exponent] : mantissa * POW10[exponent];
+        return negative ? -value : value;
+    }
+}
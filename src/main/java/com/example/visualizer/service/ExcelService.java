@@ -1,7 +1,11 @@
 package com.example.visualizer.service;
 
 import com.example.visualizer.model.ExcelData;
+import com.example.visualizer.model.PointTable;
+import com.example.visualizer.model.PointTableModel;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFDrawing;
@@ -15,17 +19,41 @@ import org.apache.poi.xddf.usermodel.chart.XDDFDataSourcesFactory;
 import org.apache.poi.xddf.usermodel.chart.XDDFNumericalDataSource;
 
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 엑셀 파일 처리를 담당하는 서비스 클래스
  */
 public class ExcelService {
+    private static final int DEFAULT_EXPORT_ROW_WINDOW = 1000;
+    
+    // 차트 내보내기 설정 (시스템 프로퍼티로 기본값 변경 가능)
+    private int exportRowWindow = Integer.getInteger("visualizer.export.rowWindow", DEFAULT_EXPORT_ROW_WINDOW);
+    private boolean compressTempFiles = Boolean.parseBoolean(
+        System.getProperty("visualizer.export.compressTempFiles", "true"));
+    
+    public int getExportRowWindow() {
+        return exportRowWindow;
+    }
+    
+    public void setExportRowWindow(int exportRowWindow) {
+        this.exportRowWindow = exportRowWindow;
+    }
+    
+    public boolean isCompressTempFiles() {
+        return compressTempFiles;
+    }
+    
+    public void setCompressTempFiles(boolean compressTempFiles) {
+        this.compressTempFiles = compressTempFiles;
+    }
     
     /**
      * 엑셀 파일을 읽어서 ExcelData 객체로 변환
@@ -34,16 +62,20 @@ public class ExcelService {
         ExcelData excelData = new ExcelData(file);
         
         try (FileInputStream fis = new FileInputStream(file);
-             Workbook workbook = new XSSFWorkbook(fis)) {
+             XSSFWorkbook workbook = new XSSFWorkbook(fis);
+             FormulaCellEvaluator formulas = FormulaCellEvaluator.forWorkbook(workbook)) {
             
             Sheet sheet = workbook.getSheetAt(0);
             
+            // 수식 셀은 저장된 결과 값 사용 (결과가 없거나 재계산 강제된 파일만 계산)
+            boolean recalculateAll = workbook.getForceFormulaRecalculation();
+            
             // 헤더 읽기
             Row headerRow = sheet.getRow(0);
             List<String> headers = new ArrayList<>();
             if (headerRow != null) {
                 for (Cell cell : headerRow) {
-                    headers.add(cell.toString());
+                    headers.add(formulas.cellText(cell, recalculateAll));
                 }
             }
             excelData.setHeaders(headers);
@@ -51,41 +83,80 @@ public class ExcelService {
             // type 컬럼 존재 여부 확인
             excelData.setHasTypeColumn(headers.contains("type"));
             
-            // 데이터 읽기
-            List<List<Object>> data = new ArrayList<>();
+            // 데이터 읽기 (컬럼 단위로 한 번만 파싱)
+            PointTable table = new PointTable(headers, sheet.getLastRowNum());
+            List<Object> rowData = new ArrayList<>(headers.size());
             for (int r = 1; r <= sheet.getLastRowNum(); r++) {
                 Row row = sheet.getRow(r);
                 if (row == null) continue;
                 
-                List<Object> rowData = new ArrayList<>();
+                rowData.clear();
                 for (int c = 0; c < headers.size(); c++) {
                     Cell cell = row.getCell(c);
-                    rowData.add(cell == null ? "" : cell.toString());
+                    rowData.add(cell == null ? "" : formulas.cellText(cell, recalculateAll));
                 }
-                data.add(rowData);
+                table.addRow(rowData);
             }
-            excelData.setData(data);
+            excelData.setTable(table);
         }
         
         return excelData;
     }
     
+    /**
+     * 엑셀 파일을 스트리밍(SAX) 방식으로 읽어서 ExcelData 객체로 변환
+     * 결과는 readExcelFile과 동일하지만 워크북 DOM을 만들지 않는다.
+     */
+    public ExcelData readExcelFileStreaming(File file) throws IOException {
+        return readExcelFileStreaming(file, null);
+    }
+    
+    /**
+     * 엑셀 파일을 스트리밍 방식으로 읽으면서 파싱된 행을 콜백으로 전달
+     * @param rowCallback 행이 파싱될 때마다 호출되는 콜백 (null 허용)
+     */
+    public ExcelData readExcelFileStreaming(File file, Consumer<List<Object>> rowCallback) throws IOException {
+        ExcelData excelData = new ExcelData(file);
+        
+        new StreamingExcelReader().read(file, new StreamingExcelReader.RowListener() {
+            @Override
+            public void onHeaders(List<String> headers) {
+                excelData.setHeaders(headers);
+                excelData.setTable(new PointTable(headers));
+                // type 컬럼 존재 여부 확인
+                excelData.setHasTypeColumn(headers.contains("type"));
+            }
+            
+            @Override
+            public void onRow(List<Object> row) {
+                excelData.getTable().addRow(row);
+                if (rowCallback != null) {
+                    rowCallback.accept(row);
+                }
+            }
+        });
+        
+        return excelData;
+    }
+    
+    /**
+     * 엑셀 파일을 스트리밍으로 읽으면서 헤더/행을 리스너에 그대로 전달
+     * ExcelData를 직접 만들지 않으므로 호출 측에서 적재 방식을 정할 수 있다.
+     */
+    public void streamExcelFile(File file, StreamingExcelReader.RowListener listener) throws IOException {
+        new StreamingExcelReader().read(file, listener);
+    }
+    
     /**
      * ExcelData를 JTable 모델로 변환
+     * 행을 복사하지 않고 PointTable을 요청 시점에 읽는 모델을 반환한다.
      */
-    public DefaultTableModel createTableModel(ExcelData excelData) {
+    public TableModel createTableModel(ExcelData excelData) {
         if (excelData == null || !excelData.isValid()) {
             return new DefaultTableModel();
         }
         
-        String[] headers = excelData.getHeaders().toArray(new String[0]);
-        DefaultTableModel model = new DefaultTableModel(headers, 0);
-        
-        for (List<Object> rowData : excelData.getData()) {
-            model.addRow(rowData.toArray());
-        }
-        
-        return model;
+        return new PointTableModel(excelData.getTable());
     }
     
     /**
@@ -100,7 +171,7 @@ public class ExcelService {
             return false;
         }
         
-        if (excelData.getData() == null || excelData.getData().isEmpty()) {
+        if (excelData.getRowCount() == 0) {
             return false;
         }
         
@@ -115,8 +186,9 @@ public class ExcelService {
             return false;
         }
         
+        // XSSF 기반이므로 xlsx만 처리 (xls 등 다른 입력 형식은 PointSourceRegistry 사용)
         String fileName = file.getName().toLowerCase();
-        return fileName.endsWith(".xlsx") || fileName.endsWith(".xls");
+        return fileName.endsWith(".xlsx");
     }
     
     /**
@@ -126,13 +198,29 @@ public class ExcelService {
      * @throws IOException 파일 처리 오류
      */
     public void createExcelChart(ExcelData excelData, File outputFile) throws IOException {
-        if (excelData == null || !excelData.hasRequiredColumns() || excelData.getData() == null || excelData.getData().isEmpty()) {
+        createExcelChart(excelData, outputFile, exportRowWindow, compressTempFiles);
+    }
+    
+    /**
+     * 엑셀 차트 생성 및 저장 (SXSSF 스트리밍 쓰기)
+     * 메모리에는 최근 rowWindow개 행만 유지하고 나머지는 임시 파일로 내보내므로
+     * 힙 사용량이 행 수와 무관하게 일정하다.
+     * @param rowWindow 메모리에 유지할 행 수
+     * @param compressTempFiles 임시 파일 gzip 압축 여부 (디스크 사용량 감소, CPU 사용 증가)
+     */
+    public void createExcelChart(ExcelData excelData, File outputFile, int rowWindow,
+                                 boolean compressTempFiles) throws IOException {
+        if (excelData == null || !excelData.hasRequiredColumns() || excelData.getRowCount() == 0) {
             throw new IllegalArgumentException("유효하지 않은 엑셀 데이터입니다.");
         }
+        if (rowWindow <= 0) {
+            throw new IllegalArgumentException("행 윈도우 크기는 1 이상이어야 합니다: " + rowWindow);
+        }
         
-        // 새 워크북 생성
-        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
-            XSSFSheet sheet = workbook.createSheet("좌표 데이터");
+        // 스트리밍 워크북 생성
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, rowWindow, compressTempFiles);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("좌표 데이터");
             
             // 헤더 작성
             Row headerRow = sheet.createRow(0);
@@ -142,41 +230,47 @@ public class ExcelService {
                 cell.setCellValue(headers.get(i));
             }
             
-            // 데이터 작성
-            List<List<Object>> data = excelData.getData();
-            for (int r = 0; r < data.size(); r++) {
+            // 데이터 작성 (좌표 컬럼은 배열에서 바로 숫자로 기록, 윈도우를 넘은 행은 자동으로 임시 파일에 기록)
+            PointTable table = excelData.getTable();
+            for (int r = 0; r < table.size(); r++) {
                 Row row = sheet.createRow(r + 1);
-                List<Object> rowData = data.get(r);
-                for (int c = 0; c < rowData.size(); c++) {
+                for (int c = 0; c < headers.size(); c++) {
                     Cell cell = row.createCell(c);
-                    Object value = rowData.get(c);
-                    if (value instanceof Number) {
-                        cell.setCellValue(((Number) value).doubleValue());
+                    if (table.isNumericColumn(c)) {
+                        cell.setCellValue(table.getDouble(r, c));
                     } else {
-                        cell.setCellValue(value.toString());
+                        cell.setCellValue(table.getText(r, c));
                     }
                 }
             }
             
-            // 차트 생성
-            createScatterChart(sheet, excelData);
+            // 차트 생성 (SXSSFDrawing은 차트를 지원하지 않으므로 내부 XSSF 시트에 생성)
+            // 내부 시트에는 행이 없으므로 시리즈는 셀 범위 참조만 기록되고 캐시 값은 비어 있다.
+            // 엑셀은 파일을 열 때 참조 범위에서 값을 다시 읽는다.
+            createScatterChart(workbook.getXSSFWorkbook().getSheet(sheet.getSheetName()),
+                headers, excelData.getRowCount());
             
             // 파일 저장
             try (FileOutputStream fileOut = new FileOutputStream(outputFile)) {
                 workbook.write(fileOut);
             }
+        } finally {
+            // 임시 파일 삭제
+            workbook.dispose();
+            workbook.close();
         }
     }
     
     /**
      * 산점도 차트 생성
+     * @param dataRowCount 헤더를 제외한 데이터 행 수 (차트 참조 범위)
      */
-    private void createScatterChart(XSSFSheet sheet, ExcelData excelData) {
+    static XDDFChart createScatterChart(XSSFSheet sheet, List<String> headers, int dataRowCount) {
         // 차트 그리기 영역 생성
         XSSFDrawing drawing = sheet.createDrawingPatriarch();
         
         // 차트 위치 설정 (데이터 아래쪽에 배치)
-        int dataRows = excelData.getRowCount() + 1; // 헤더 포함
+        int dataRows = dataRowCount + 1; // 헤더 포함
         int chartStartRow = dataRows + 2;
         int chartEndRow = chartStartRow + 15;
         int chartStartCol = 0;
@@ -201,9 +295,9 @@ public class ExcelService {
         leftAxis.setCrosses(AxisCrosses.AUTO_ZERO);
         
         // 데이터 소스 생성
-        int xColIndex = excelData.getHeaders().indexOf("x");
-        int yColIndex = excelData.getHeaders().indexOf("y");
-        int dataRowsCount = excelData.getRowCount();
+        int xColIndex = headers.indexOf("x");
+        int yColIndex = headers.indexOf("y");
+        int dataRowsCount = dataRowCount;
         
         // X축 데이터 (x 컬럼)
         XDDFDataSource<Double> xData = XDDFDataSourcesFactory.fromNumericCellRange(
@@ -230,6 +324,8 @@ public class ExcelService {
         
         // 차트 제목 설정 (제목은 시리즈 이름으로 대체)
         // XDDFChart의 제목 설정은 복잡하므로 시리즈 제목으로 대체
+        
+        return chart;
     }
     
     /**
@@ -239,10 +335,13 @@ public class ExcelService {
      * @throws IOException 파일 처리 오류
      */
     public void addChartToExistingFile(File inputFile, File outputFile) throws IOException {
-        // 원본 파일 읽기
-        ExcelData excelData = readExcelFile(inputFile);
+        // 원본 패키지에 차트 파트만 추가 (데이터 시트는 그대로 복사)
+        if (new ChartAppender().appendChart(inputFile, outputFile)) {
+            return;
+        }
         
-        // 차트가 포함된 새 파일 생성
+        // 패키지 구조를 해석할 수 없으면 원본을 읽어서 새 파일로 다시 작성
+        ExcelData excelData = readExcelFileStreaming(inputFile);
         createExcelChart(excelData, outputFile);
     }
 }
@@ -4,6 +4,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 /**
  * 파일 관련 작업을 담당하는 서비스 클래스
@@ -19,13 +20,42 @@ public class FileService {
             @Override
             public boolean accept(File f) {
                 return f.isDirectory() || 
-                       f.getName().toLowerCase().endsWith(".xlsx") || 
-                       f.getName().toLowerCase().endsWith(".xls");
+                       f.getName().toLowerCase().endsWith(".xlsx");
             }
             
             @Override
             public String getDescription() {
-                return "Excel 파일 (*.xlsx, *.xls)";
+                return "Excel 파일 (*.xlsx)";
+            }
+        });
+        
+        int result = chooser.showOpenDialog(parent);
+        if (result == JFileChooser.APPROVE_OPTION) {
+            return chooser.getSelectedFile();
+        }
+        
+        return null;
+    }
+    
+    /**
+     * 좌표 데이터 파일 선택 다이얼로그 (지원하는 모든 입력 형식)
+     * @param extensions 허용할 확장자 목록 (소문자, 점 제외)
+     */
+    public File selectDataFile(Component parent, List<String> extensions) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new javax.swing.filechooser.FileFilter() {
+            @Override
+            public boolean accept(File f) {
+                return f.isDirectory() || extensions.contains(getFileExtension(f.getName()));
+            }
+            
+            @Override
+            public String getDescription() {
+                StringBuilder description = new StringBuilder("데이터 파일 (");
+                for (int i = 0; i < extensions.size(); i++) {
+                    description.append(i > 0 ? ", " : "").append("*.").append(extensions.get(i));
+                }
+                return description.append(")").toString();
             }
         });
         
@@ -0,0 +1,183 @@
+package com.example.visualizer.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로드한 파일의 변경을 감시하는 서비스 클래스
+ * 파일이 있는 디렉토리를 WatchService로 감시하고, 저장 중 연달아 들어오는 이벤트는
+ * 마지막 이벤트 이후 일정 시간(debounce) 동안 조용할 때 한 번만 전달한다.
+ * 크기와 수정 시각이 마지막으로 알린 값과 같으면 알리지 않는다.
+ */
+public class FileWatchService {
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 500;
+    
+    /**
+     * 파일 변경 알림 (감시 스레드에서 호출됨)
+     */
+    public interface ChangeListener {
+        void onFileChanged(File file);
+    }
+    
+    private final long debounceMillis;
+    private final ScheduledExecutorService scheduler;
+    
+    // 감시 상태 (this로 동기화)
+    private WatchService watchService;
+    private Thread watchThread;
+    private File watchedFile;
+    private ChangeListener listener;
+    private ScheduledFuture<?> pending;
+    private long lastSize;
+    private long lastModified;
+    
+    public FileWatchService() {
+        this(Long.getLong("visualizer.watch.debounceMillis", DEFAULT_DEBOUNCE_MILLIS));
+    }
+    
+    public FileWatchService(long debounceMillis) {
+        this.debounceMillis = debounceMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "file-watch-debounce");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * 파일 감시 시작 (이전에 감시하던 파일은 해제)
+     */
+    public synchronized void watch(File file, ChangeListener listener) throws IOException {
+        stop();
+        
+        Path directory = file.getAbsoluteFile().toPath().getParent();
+        if (directory == null) {
+            throw new IOException("감시할 디렉토리를 찾을 수 없습니다: " + file);
+        }
+        
+        WatchService service = FileSystems.getDefault().newWatchService();
+        try {
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            service.close();
+            throw e;
+        }
+        
+        this.watchService = service;
+        this.watchedFile = file.getAbsoluteFile();
+        this.listener = listener;
+        this.lastSize = watchedFile.length();
+        this.lastModified = watchedFile.lastModified();
+        
+        String fileName = watchedFile.getName();
+        watchThread = new Thread(() -> pollEvents(service, fileName), "file-watch");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        System.out.println("파일 변경 감시 시작: " + watchedFile);
+    }
+    
+    /**
+     * 감시 중지
+     */
+    public synchronized void stop() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                System.err.println("파일 감시 종료 실패: " + e.getMessage());
+            }
+            System.out.println("파일 변경 감시 중지: " + watchedFile);
+        }
+        watchService = null;
+        watchThread = null;
+        watchedFile = null;
+        listener = null;
+    }
+    
+    /**
+     * 감시 중인 파일 (감시 중이 아니면 null)
+     */
+    public synchronized File getWatchedFile() {
+        return watchedFile;
+    }
+    
+    /**
+     * 감시 스레드 본체 - 대상 파일 이름의 이벤트만 골라서 debounce 예약
+     */
+    private void pollEvents(WatchService service, String fileName) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean matched = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        matched = true;
+                    } else if (event.context() instanceof Path
+                            && ((Path) event.context()).getFileName().toString().equals(fileName)) {
+                        matched = true;
+                    }
+                }
+                if (matched) {
+                    scheduleCheck(service);
+                }
+                if (!key.reset()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // 감시 중지
+        }
+    }
+    
+    private synchronized void scheduleCheck(WatchService service) {
+        if (service != watchService) {
+            return;
+        }
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = scheduler.schedule(() -> checkChanged(service), debounceMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * 조용해진 뒤 실제로 내용이 바뀌었는지 확인하고 알림
+     * (저장 도중 파일이 잠시 사라지는 경우는 다음 생성 이벤트를 기다림)
+     */
+    private void checkChanged(WatchService service) {
+        File file;
+        ChangeListener target;
+        synchronized (this) {
+            if (service != watchService || !watchedFile.isFile()) {
+                return;
+            }
+            long size = watchedFile.length();
+            long modified = watchedFile.lastModified();
+            if (size == lastSize && modified == lastModified) {
+                return;
+            }
+            lastSize = size;
+            lastModified = modified;
+            file = watchedFile;
+            target = listener;
+        }
+        
+        System.out.println("파일 변경 감지: " + file.getName());
+        target.onFileChanged(file);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.visualizer.service;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.CellValue;
+import org.apache.poi.ss.usermodel.Date1904Support;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.util.LocaleUtil;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 캐시 값이 없거나 믿을 수 없는 수식 셀만 계산하는 평가기
+ * 리더는 파일에 저장된 수식 결과(캐시 값)를 먼저 쓰고, 오래된 셀만 여기로 넘긴다.
+ * 워크북 DOM과 FormulaEvaluator는 처음 계산이 필요할 때 한 번만 만들며,
+ * 계산한 값은 셀 위치별로 기억해서 같은 셀이나 참조되는 셀을 다시 계산하지 않는다.
+ */
+class FormulaCellEvaluator implements Closeable {
+    
+    /**
+     * 계산용 워크북을 여는 함수 (처음 계산할 때 한 번만 호출)
+     */
+    interface WorkbookOpener {
+        Workbook open() throws IOException;
+    }
+    
+    private final WorkbookOpener opener;
+    private final boolean ownsWorkbook;
+    private final Map<Long, String> memo = new HashMap<>();
+    private final DateFormat dateFormat;
+    
+    private Workbook workbook;
+    private FormulaEvaluator evaluator;
+    private boolean date1904;
+    private boolean unavailable;
+    
+    /**
+     * @param opener 계산용 워크북을 여는 함수
+     * @param ownsWorkbook close() 때 워크북도 닫을지 여부 (리더가 패키지를 닫는 경우 false)
+     */
+    FormulaCellEvaluator(WorkbookOpener opener, boolean ownsWorkbook) {
+        this.opener = opener;
+        this.ownsWorkbook = ownsWorkbook;
+        this.dateFormat = new SimpleDateFormat("dd-MMM-yyyy", LocaleUtil.getUserLocale());
+        this.dateFormat.setTimeZone(LocaleUtil.getUserTimeZone());
+    }
+    
+    /**
+     * 이미 열려 있는 워크북용 평가기 (워크북은 호출 측에서 닫음)
+     */
+    static FormulaCellEvaluator forWorkbook(Workbook workbook) {
+        return new FormulaCellEvaluator(() -> workbook, false);
+    }
+    
+    /**
+     * 시트/행/열 위치의 수식 셀 계산 결과 (계산할 수 없으면 null)
+     */
+    String evaluate(int sheetIndex, int row, int column) {
+        long key = ((long) sheetIndex << 40) | ((long) row << 16) | column;
+        if (memo.containsKey(key)) {
+            return memo.get(key);
+        }
+        
+        String value = null;
+        if (ensureEvaluator()) {
+            Sheet sheet = sheetIndex < workbook.getNumberOfSheets() ? workbook.getSheetAt(sheetIndex) : null;
+            Row sheetRow = sheet != null ? sheet.getRow(row) : null;
+            Cell cell = sheetRow != null ? sheetRow.getCell(column) : null;
+            value = cell != null ? evaluateCell(cell) : null;
+        }
+        memo.put(key, value);
+        return value;
+    }
+    
+    /**
+     * 수식 셀 계산 결과 (DOM 경로용, 계산할 수 없으면 null)
+     */
+    String evaluate(Cell cell) {
+        return evaluate(cell.getSheet().getWorkbook().getSheetIndex(cell.getSheet()),
+            cell.getRowIndex(), cell.getColumnIndex());
+    }
+    
+    /**
+     * DOM 셀 값을 cell.toString()과 같은 형식의 문자열로 변환 (수식 셀은 수식 대신 결과 값)
+     * 저장된 결과를 우선 쓰고, 결과가 없거나 recalculateAll이면 계산한다.
+     */
+    String cellText(Cell cell, boolean recalculateAll) {
+        if (cell.getCellType() != CellType.FORMULA) {
+            return cell.toString();
+        }
+        
+        boolean hasCachedValue = !(cell instanceof XSSFCell) || ((XSSFCell) cell).getCTCell().isSetV();
+        if (recalculateAll || !hasCachedValue) {
+            String evaluated = evaluate(cell);
+            if (evaluated != null) {
+                return evaluated;
+            }
+            if (!hasCachedValue) {
+                // 계산할 수 없으면 기존처럼 수식 텍스트
+                return cell.getCellFormula();
+            }
+        }
+        
+        switch (cell.getCachedFormulaResultType()) {
+            case NUMERIC:
+                if (DateUtil.isCellDateFormatted(cell)) {
+                    return dateFormat.format(cell.getDateCellValue());
+                }
+                return Double.toString(cell.getNumericCellValue());
+            case STRING:
+                return cell.getStringCellValue();
+            case BOOLEAN:
+                return cell.getBooleanCellValue() ? "TRUE" : "FALSE";
+            case ERROR:
+                return FormulaError.forInt(cell.getErrorCellValue()).getString();
+            default:
+                return "";
+        }
+    }
+    
+    /**
+     * 지금까지 계산한 셀 수
+     */
+    int getEvaluatedCount() {
+        return memo.size();
+    }
+    
+    private boolean ensureEvaluator() {
+        if (evaluator != null) {
+            return true;
+        }
+        if (unavailable) {
+            return false;
+        }
+        try {
+            workbook = opener.open();
+            evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+            evaluator.setIgnoreMissingWorkbooks(true);
+            date1904 = workbook instanceof Date1904Support && ((Date1904Support) workbook).isDate1904();
+            System.out.println("수식 계산용 워크북 로드 (캐시 값이 없는 수식 셀 계산)");
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("수식 계산용 워크북 열기 실패: " + e.getMessage());
+            unavailable = true;
+            return false;
+        }
+    }
+    
+    /**
+     * 셀 계산 결과를 셀 toString()과 같은 형식의 문자열로 변환
+     */
+    private String evaluateCell(Cell cell) {
+        try {
+            CellValue value = evaluator.evaluate(cell);
+            if (value == null) {
+                return "";
+            }
+            switch (value.getCellType()) {
+                case NUMERIC:
+                    double number = value.getNumberValue();
+                    if (isDateFormatted(cell) && DateUtil.isValidExcelDate(number)) {
+                        return dateFormat.format(DateUtil.getJavaDate(number, date1904));
+                    }
+                    return Double.toString(number);
+                case STRING:
+                    return value.getStringValue();
+                case BOOLEAN:
+                    return value.getBooleanValue() ? "TRUE" : "FALSE";
+                case ERROR:
+                    return FormulaError.forInt(value.getErrorValue()).getString();
+                default:
+                    return "";
+            }
+        } catch (RuntimeException e) {
+            System.err.println("수식 계산 실패: " + cell.getAddress() + " (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+    
+    /**
+     * 셀 서식이 날짜 형식인지 확인 (캐시 값 종류와 무관하게 서식만 확인)
+     */
+    private static boolean isDateFormatted(Cell cell) {
+        CellStyle style = cell.getCellStyle();
+        return style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (ownsWorkbook && workbook != null) {
+            workbook.close();
+        }
+        workbook = null;
+        evaluator = null;
+    }
+}
@@ -0,0 +1,437 @@
+package com.example.visualizer.service;
+
+import com.example.visualizer.model.ExcelData;
+import com.example.visualizer.model.PointTable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * 파싱된 좌표 데이터를 디스크에 캐시하는 서비스 클래스
+ * 원본 워크북의 경로/크기/수정 시각/내용 해시가 모두 같으면 XLSX를 다시 파싱하지 않고
+ * 메모리 매핑된 바이너리 캐시 파일에서 컬럼 배열을 바로 읽어온다.
+ * 캐시 디렉토리는 전체 크기 제한을 넘으면 가장 오래 사용하지 않은 파일부터 삭제한다.
+ * 캐시 파일 이름에 원본 내용 해시와 수정 시각이 들어가므로 원본이 바뀌면 새 이름으로 저장하고,
+ * 매핑된 채로 남아 있을 수 있는 파일(Windows에서는 GC 전까지 지우거나 덮어쓸 수 없음)은 덮어쓰지 않는다.
+ * 지우지 못한 파일은 기억해 두었다가 다음 저장 때 다시 지운다.
+ */
+public class ParseCacheService {
+    private static final int MAGIC = 0x42565043; // "BVPC"
+    private static final int VERSION = 2; // 2: 수식 셀을 수식 텍스트 대신 결과 값으로 저장
+    private static final String CACHE_EXTENSION = ".bvpc";
+    private static final long DEFAULT_MAX_BYTES = 512L * 1024 * 1024;
+    private static final int HASH_BUFFER_SIZE = 1 << 20;
+    
+    private final File cacheDir;
+    private final long maxBytes;
+    // 매핑 해제 전이라 지우지 못한 캐시 파일 (다음 정리 때 다시 시도)
+    private final Set<File> pendingDeletes = ConcurrentHashMap.newKeySet();
+    
+    public ParseCacheService() {
+        this(new File(System.getProperty("visualizer.cache.dir",
+                System.getProperty("user.home") + File.separator + ".building-visualizer" + File.separator + "cache")),
+             Long.getLong("visualizer.cache.maxBytes", DEFAULT_MAX_BYTES));
+    }
+    
+    public ParseCacheService(File cacheDir, long maxBytes) {
+        this.cacheDir = cacheDir;
+        this.maxBytes = maxBytes;
+    }
+    
+    /**
+     * 원본 파일의 캐시 키 (경로, 크기, 수정 시각, 내용 해시)
+     */
+    public static class CacheKey {
+        private final File source;
+        private final String path;
+        private final long size;
+        private final long lastModified;
+        private final long contentHash;
+        
+        CacheKey(File source, String path, long size, long lastModified, long contentHash) {
+            this.source = source;
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+        }
+        
+        public File getSource() {
+            return source;
+        }
+        
+        public long getContentHash() {
+            return contentHash;
+        }
+    }
+    
+    /**
+     * 원본 파일의 캐시 키 계산 (내용 해시를 위해 파일 전체를 한 번 읽음)
+     */
+    public CacheKey keyFor(File source) throws IOException {
+        String path = source.getCanonicalPath();
+        long size = source.length();
+        long lastModified = source.lastModified();
+        return new CacheKey(source, path, size, lastModified, hashContent(source.toPath(), size));
+    }
+    
+    /**
+     * 파일 내용 해시 (CRC32C)
+     * 원본 워크북은 Excel이 다시 저장할 수 있도록 매핑하지 않고 버퍼로 읽는다.
+     */
+    static long hashContent(Path path, long size) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue() ^ (size << 32);
+    }
+    
+    /**
+     * 캐시에서 데이터 로드
+     * @return 유효한 캐시가 있으면 ExcelData, 없거나 원본이 변경되었으면 null
+     */
+    public ExcelData load(CacheKey key) {
+        File cacheFile = cacheFileFor(key);
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+        
+        ExcelData excelData;
+        try {
+            excelData = readCache(cacheFile, key);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("파싱 캐시 읽기 실패: " + e.getMessage());
+            excelData = null;
+        }
+        
+        if (excelData == null) {
+            // 캐시가 손상됨 - 캐시 무효화 (매핑이 남아 있어 지우지 못하면 나중에 다시 시도)
+            if (deleteOrDefer(cacheFile)) {
+                System.out.println("파싱 캐시 무효화: " + cacheFile.getName());
+            }
+            return null;
+        }
+        
+        // LRU 갱신 (최근 사용 시각)
+        cacheFile.setLastModified(System.currentTimeMillis());
+        System.out.println("파싱 캐시 적중: " + key.path + " (" + excelData.getRowCount() + "행)");
+        return excelData;
+    }
+    
+    /**
+     * 캐시 파일을 메모리 매핑하여 읽기 (키가 일치하지 않으면 null)
+     */
+    private ExcelData readCache(File cacheFile, CacheKey key) throws IOException {
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            
+            long size = buffer.getLong();
+            long lastModified = buffer.getLong();
+            long contentHash = buffer.getLong();
+            String path = readString(buffer);
+            if (size != key.size || lastModified != key.lastModified
+                    || contentHash != key.contentHash || !path.equals(key.path)) {
+                return null;
+            }
+            
+            int headerCount = buffer.getInt();
+            List<String> headers = new ArrayList<>(headerCount);
+            for (int i = 0; i < headerCount; i++) {
+                headers.add(readString(buffer));
+            }
+            
+            int rowCount = buffer.getInt();
+            int typeCount = buffer.getInt();
+            List<String> typeDictionary = new ArrayList<>(typeCount);
+            for (int i = 0; i < typeCount; i++) {
+                typeDictionary.add(readString(buffer));
+            }
+            
+            double[] x = new double[rowCount];
+            double[] y = new double[rowCount];
+            double[] z = new double[rowCount];
+            int[] typeIds = new int[rowCount];
+            readDoubles(buffer, x);
+            readDoubles(buffer, y);
+            readDoubles(buffer, z);
+            buffer.asIntBuffer().get(typeIds);
+            buffer.position(buffer.position() + rowCount * Integer.BYTES);
+            
+            String[][] extraColumns = new String[headerCount][];
+            int extraCount = buffer.getInt();
+            for (int i = 0; i < extraCount; i++) {
+                int column = buffer.getInt();
+                String[] values = new String[rowCount];
+                for (int r = 0; r < rowCount; r++) {
+                    values[r] = readNullableString(buffer);
+                }
+                extraColumns[column] = values;
+            }
+            
+            PointTable table = PointTable.fromColumns(headers, rowCount, x, y, z, typeIds, typeDictionary, extraColumns);
+            ExcelData excelData = new ExcelData(key.source);
+            excelData.setHeaders(headers);
+            excelData.setTable(table);
+            excelData.setHasTypeColumn(headers.contains("type"));
+            return excelData;
+        }
+    }
+    
+    /**
+     * 파싱된 데이터를 캐시에 저장하고 디렉토리 크기 제한을 적용
+     */
+    public void store(CacheKey key, ExcelData excelData) {
+        if (excelData == null || !excelData.isValid()) {
+            return;
+        }
+        
+        File cacheFile = cacheFileFor(key);
+        try {
+            Files.createDirectories(cacheDir.toPath());
+            Path tempFile = Files.createTempFile(cacheDir.toPath(), "cache", ".tmp");
+            try (OutputStream fileOut = Files.newOutputStream(tempFile);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, 1 << 16))) {
+                writeCache(out, key, excelData);
+            }
+            try {
+                // 같은 이름이면 내용도 같으므로 손상된 파일을 바꿀 때만 덮어씀 (매핑 중이면 실패할 수 있음)
+                Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            System.out.println("파싱 캐시 저장: " + cacheFile.getName() + " (" + cacheFile.length() + " bytes)");
+        } catch (IOException e) {
+            System.err.println("파싱 캐시 저장 실패: " + e.getMessage());
+            return;
+        }
+        
+        deleteStaleVersions(cacheFile);
+        evictIfNeeded();
+    }
+    
+    private void writeCache(DataOutputStream out, CacheKey key, ExcelData excelData) throws IOException {
+        PointTable table = excelData.getTable();
+        List<String> headers = table.getHeaders();
+        int rowCount = table.size();
+        
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(key.size);
+        out.writeLong(key.lastModified);
+        out.writeLong(key.contentHash);
+        writeString(out, key.path);
+        
+        out.writeInt(headers.size());
+        for (String header : headers) {
+            writeString(out, header);
+        }
+        
+        out.writeInt(rowCount);
+        List<String> typeDictionary = table.getTypeDictionary();
+        out.writeInt(typeDictionary.size());
+        for (String type : typeDictionary) {
+            writeString(out, type);
+        }
+        
+        writeDoubles(out, table.getXArray(), rowCount);
+        writeDoubles(out, table.getYArray(), rowCount);
+        writeDoubles(out, table.getZArray(), rowCount);
+        int[] typeIds = table.getTypeIdArray();
+        for (int i = 0; i < rowCount; i++) {
+            out.writeInt(typeIds[i]);
+        }
+        
+        List<Integer> extraIndexes = new ArrayList<>();
+        for (int c = 0; c < headers.size(); c++) {
+            if (table.getExtraColumn(c) != null) {
+                extraIndexes.add(c);
+            }
+        }
+        out.writeInt(extraIndexes.size());
+        for (int column : extraIndexes) {
+            String[] values = table.getExtraColumn(column);
+            out.writeInt(column);
+            for (int r = 0; r < rowCount; r++) {
+                writeNullableString(out, values[r]);
+            }
+        }
+    }
+    
+    /**
+     * 같은 원본 경로의 이전 버전 캐시 파일 삭제 (원본이 바뀌기 전 내용으로 저장된 파일)
+     */
+    private void deleteStaleVersions(File current) {
+        String prefix = pathPrefix(current.getName());
+        File[] files = cacheDir.listFiles((dir, name) -> name.endsWith(CACHE_EXTENSION)
+            && pathPrefix(name).equals(prefix) && !name.equals(current.getName()));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (deleteOrDefer(file)) {
+                System.out.println("이전 파싱 캐시 삭제: " + file.getName());
+            }
+        }
+    }
+    
+    /**
+     * 캐시 파일 삭제 (지우지 못하면 다음 정리 때 다시 시도하도록 기억)
+     * @return 삭제했거나 이미 없으면 true
+     */
+    private boolean deleteOrDefer(File file) {
+        if (file.delete() || !file.exists()) {
+            pendingDeletes.remove(file);
+            return true;
+        }
+        if (pendingDeletes.add(file)) {
+            System.out.println("파싱 캐시 삭제 보류 (사용 중): " + file.getName());
+        }
+        return false;
+    }
+    
+    /**
+     * 이전에 지우지 못한 캐시 파일 다시 삭제
+     */
+    private void retryPendingDeletes() {
+        for (File file : pendingDeletes) {
+            if (file.delete() || !file.exists()) {
+                pendingDeletes.remove(file);
+                System.out.println("보류했던 파싱 캐시 삭제: " + file.getName());
+            }
+        }
+    }
+    
+    /**
+     * 캐시 디렉토리 크기 제한 적용 (최근 사용 시각이 오래된 순으로 삭제)
+     * 지우지 못한 파일은 건너뛰고 다음 파일을 지우며, 다음 정리 때 다시 시도한다.
+     */
+    private void evictIfNeeded() {
+        retryPendingDeletes();
+        File[] files = cacheDir.listFiles((dir, name) -> name.endsWith(CACHE_EXTENSION));
+        if (files == null) {
+            return;
+        }
+        
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (total <= maxBytes) {
+                break;
+            }
+            if (pendingDeletes.contains(file)) {
+                continue;
+            }
+            long length = file.length();
+            if (deleteOrDefer(file)) {
+                total -= length;
+                System.out.println("파싱 캐시 제거 (LRU): " + file.getName());
+            }
+        }
+    }
+    
+    /**
+     * 원본 버전별 캐시 파일 (경로의 SHA-1 + 내용 해시 + 수정 시각)
+     */
+    private File cacheFileFor(CacheKey key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = digest.digest(key.path.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            for (byte b : hash) {
+                name.append(String.format("%02x", b));
+            }
+            name.append('-').append(String.format("%016x", key.contentHash))
+                .append('-').append(Long.toHexString(key.lastModified));
+            return new File(cacheDir, name + CACHE_EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1을 사용할 수 없습니다.", e);
+        }
+    }
+    
+    /**
+     * 캐시 파일 이름의 원본 경로 부분 (이전 형식의 이름도 같은 경로로 취급)
+     */
+    private static String pathPrefix(String fileName) {
+        int end = fileName.indexOf('-');
+        return fileName.substring(0, end >= 0 ? end : fileName.length() - CACHE_EXTENSION.length());
+    }
+    
+    private static void writeDoubles(DataOutputStream out, double[] values, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            out.writeDouble(values[i]);
+        }
+    }
+    
+    private static void readDoubles(ByteBuffer buffer, double[] target) {
+        buffer.asDoubleBuffer().get(target);
+        buffer.position(buffer.position() + target.length * Double.BYTES);
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            writeString(out, value);
+        }
+    }
+    
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private static String readNullableString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.visualizer.service;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * TYPE_INT_RGB 이미지 전용 PNG 인코더
+ * ImageIO의 PNG writer는 행마다 다섯 가지 필터를 모두 시험해서 고르므로 큰 그래프 이미지에서 느리다.
+ * 그래프 이미지는 대부분 같은 색이 가로로 이어지므로 모든 행에 Sub 필터 하나만 적용하고,
+ * 픽셀 배열을 직접 읽어서 바로 압축한다.
+ */
+class PngEncoder {
+    private static final byte[] SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10, 26, 10};
+    private static final int COLOR_TYPE_RGB = 2;
+    private static final int FILTER_SUB = 1;
+    
+    private PngEncoder() {
+    }
+    
+    /**
+     * 이미지를 PNG 바이트로 인코딩 (TYPE_INT_RGB가 아니면 변환 후 인코딩)
+     */
+    static byte[] encode(BufferedImage image) throws IOException {
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            converted.getGraphics().drawImage(image, 0, 0, null);
+            image = converted;
+        }
+        
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.writeByte(8);                // 채널당 8비트
+        headerData.writeByte(COLOR_TYPE_RGB);
+        headerData.writeByte(0);                // deflate
+        headerData.writeByte(0);                // 적응형 필터
+        headerData.writeByte(0);                // 인터레이스 없음
+        
+        // 행마다 필터 종류 1바이트 + 왼쪽 픽셀과의 차이(Sub)
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(width * height / 8);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater, 1 << 16)) {
+            byte[] row = new byte[1 + width * 3];
+            row[0] = FILTER_SUB;
+            for (int y = 0; y < height; y++) {
+                int previous = 0;
+                for (int x = 0, offset = y * width, i = 1; x < width; x++) {
+                    int pixel = pixels[offset + x];
+                    row[i++] = (byte) ((pixel >> 16) - (previous >> 16));
+                    row[i++] = (byte) ((pixel >> 8) - (previous >> 8));
+                    row[i++] = (byte) (pixel - previous);
+                    previous = pixel;
+                }
+                out.write(row);
+            }
+        } finally {
+            deflater.end();
+        }
+        
+        ByteArrayOutputStream png = new ByteArrayOutputStream(compressed.size() + 64);
+        DataOutputStream data = new DataOutputStream(png);
+        data.write(SIGNATURE);
+        writeChunk(data, "IHDR", header.toByteArray());
+        writeChunk(data, "IDAT", compressed.toByteArray());
+        writeChunk(data, "IEND", new byte[0]);
+        return png.toByteArray();
+    }
+    
+    private static void writeChunk(DataOutputStream out, String type, byte[] body) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(body);
+        out.writeInt(body.length);
+        out.write(typeBytes);
+        out.write(body);
+        out.writeInt((int) crc.getValue());
+    }
+}
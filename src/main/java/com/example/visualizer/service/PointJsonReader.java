@@ -0,0 +1,473 @@
+package com.example.visualizer.service;
+
+import com.example.visualizer.model.PointTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * visualize.py가 만드는 3D 포인트 JSON({"points": [{"x", "y", "z", "type"}, ...], ...}) 파서
+ * 파일은 메모리 매핑해서, HTTP 본문은 고정 크기 버퍼로 읽으면서 바이트 단위로 토큰을 나눈다.
+ * 문서 전체를 문자열로 만들거나 객체 트리를 만들지 않고, 좌표는 바이트에서 바로 숫자로 변환해서
+ * PointTable의 컬럼 배열에 채운다. 같은 type 문자열은 한 번만 만든다.
+ * 공백/줄바꿈 배치와 키 순서에 상관없이 읽으며, 모르는 키와 값은 건너뛴다.
+ */
+public class PointJsonReader {
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final long MAP_WINDOW_BYTES = 256L * 1024 * 1024;
+    // 포인트 객체 하나의 대략적인 크기와 초기 용량 상한 (넘으면 테이블이 알아서 늘어남)
+    private static final int BYTES_PER_POINT = 60;
+    private static final int MAX_INITIAL_CAPACITY = 1 << 20;
+    private static final int MAX_CACHED_TYPES = 256;
+    
+    private static final byte[] KEY_POINTS = bytes("points");
+    private static final byte[] KEY_X = bytes("x");
+    private static final byte[] KEY_Y = bytes("y");
+    private static final byte[] KEY_Z = bytes("z");
+    private static final byte[] KEY_TYPE = bytes("type");
+    private static final byte[] NULL = bytes("null");
+    
+    private final Source source;
+    private ByteBuffer buffer;
+    private int position;
+    private int limit;
+    // 읽는 중인 토큰의 시작 위치 (버퍼를 다시 채울 때 이 위치부터 보존, 없으면 -1)
+    private int mark = -1;
+    // 마지막으로 읽은 토큰의 범위와 이스케이프 포함 여부
+    private int tokenStart;
+    private int tokenEnd;
+    private boolean tokenEscaped;
+    
+    private final List<byte[]> typeBytes = new ArrayList<>();
+    private final List<String> typeNames = new ArrayList<>();
+    
+    private PointJsonReader(Source source) {
+        this.source = source;
+    }
+    
+    /**
+     * 파일에서 포인트 읽기 (메모리 매핑)
+     */
+    public static PointTable read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            PointTable table = PointTable.forPoints(initialCapacity(channel.size()));
+            new PointJsonReader(new MappedSource(channel)).readDocument(table);
+            return table;
+        }
+    }
+    
+    /**
+     * 스트림에서 포인트 읽기
+     * @param expectedBytes 본문 크기를 알면 전달 (용량 추정용, 모르면 -1)
+     */
+    public static PointTable read(InputStream in, long expectedBytes) throws IOException {
+        PointTable table = PointTable.forPoints(initialCapacity(expectedBytes));
+        new PointJsonReader(new StreamSource(in)).readDocument(table);
+        return table;
+    }
+    
+    private static int initialCapacity(long bytes) {
+        return bytes > 0 ? (int) Math.min(bytes / BYTES_PER_POINT + 1, MAX_INITIAL_CAPACITY) : 1024;
+    }
+    
+    private void readDocument(PointTable table) throws IOException {
+        expect('{');
+        if (peek() == '}') {
+            position++;
+            return;
+        }
+        do {
+            scanString();
+            boolean points = tokenEquals(KEY_POINTS);
+            expect(':');
+            if (points) {
+                readPoints(table);
+            } else {
+                skipValue();
+            }
+        } while (readSeparator('}'));
+    }
+    
+    private void readPoints(PointTable table) throws IOException {
+        expect('[');
+        if (peek() == ']') {
+            position++;
+            return;
+        }
+        do {
+            readPoint(table);
+        } while (readSeparator(']'));
+    }
+    
+    private void readPoint(PointTable table) throws IOException {
+        double x = 0;
+        double y = 0;
+        double z = 0;
+        String type = PointTable.DEFAULT_TYPE;
+        
+        expect('{');
+        if (peek() == '}') {
+            position++;
+        } else {
+            do {
+                scanString();
+                int key = tokenEquals(KEY_X) ? 'x' : tokenEquals(KEY_Y) ? 'y' : tokenEquals(KEY_Z) ? 'z'
+                    : tokenEquals(KEY_TYPE) ? 't' : 0;
+                expect(':');
+                switch (key) {
+                    case 'x':
+                        x = readNumber();
+                        break;
+                    case 'y':
+                        y = readNumber();
+                        break;
+                    case 'z':
+                        z = readNumber();
+                        break;
+                    case 't':
+                        type = readType();
+                        break;
+                    default:
+                        skipValue();
+                }
+            } while (readSeparator('}'));
+        }
+        table.addPoint(x, y, z, type);
+    }
+    
+    /**
+     * ',' 이면 true, 닫는 괄호면 false
+     */
+    private boolean readSeparator(char close) throws IOException {
+        int c = peek();
+        if (c == ',') {
+            position++;
+            return true;
+        }
+        if (c == close) {
+            position++;
+            return false;
+        }
+        throw error("',' 또는 '" + close + "'");
+    }
+    
+    /**
+     * 숫자 값 읽기 (null은 0) - 일반적인 좌표는 문자열을 만들지 않고 바이트에서 바로 변환
+     */
+    private double readNumber() throws IOException {
+        scanLiteral();
+        if (tokenEquals(NULL)) {
+            return 0;
+        }
+        double value = CsvPointSource.parseDouble(buffer, tokenStart, tokenEnd);
+        if (!Double.isNaN(value)) {
+            return value;
+        }
+        
+        // 유효 숫자가 많거나 NaN/Infinity(Python json.dumps) 같은 값은 표준 변환 사용
+        String text = decode(tokenStart, tokenEnd);
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IOException("잘못된 숫자: " + text, e);
+        }
+    }
+    
+    /**
+     * type 값 읽기 - 이미 나온 type이면 바이트 비교만 하고 같은 문자열을 재사용
+     */
+    private String readType() throws IOException {
+        if (peek() != '"') {
+            scanLiteral();
+            return tokenEquals(NULL) ? PointTable.DEFAULT_TYPE : decode(tokenStart, tokenEnd);
+        }
+        scanString();
+        if (tokenEscaped) {
+            return unescape(tokenStart, tokenEnd);
+        }
+        for (int i = 0; i < typeBytes.size(); i++) {
+            if (tokenEquals(typeBytes.get(i))) {
+                return typeNames.get(i);
+            }
+        }
+        String type = decode(tokenStart, tokenEnd);
+        if (typeBytes.size() < MAX_CACHED_TYPES) {
+            byte[] raw = new byte[tokenEnd - tokenStart];
+            buffer.get(tokenStart, raw);
+            typeBytes.add(raw);
+            typeNames.add(type);
+        }
+        return type;
+    }
+    
+    /**
+     * 따옴표로 감싼 문자열의 범위 찾기 (따옴표 제외)
+     */
+    private void scanString() throws IOException {
+        expect('"');
+        mark = position;
+        tokenEscaped = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                throw new IOException("닫히지 않은 JSON 문자열");
+            }
+            byte b = buffer.get(position);
+            if (b == '"') {
+                break;
+            }
+            position++;
+            if (b == '\\') {
+                tokenEscaped = true;
+                if (position == limit && !fill()) {
+                    throw new IOException("닫히지 않은 JSON 문자열");
+                }
+                position++;
+            }
+        }
+        tokenStart = mark;
+        tokenEnd = position;
+        mark = -1;
+        position++;
+    }
+    
+    /**
+     * 숫자/true/false/null 같은 따옴표 없는 값의 범위 찾기
+     */
+    private void scanLiteral() throws IOException {
+        peek();
+        mark = position;
+        while (position < limit || fill()) {
+            byte b = buffer.get(position);
+            if (b == ',' || b == '}' || b == ']' || isWhitespace(b)) {
+                break;
+            }
+            position++;
+        }
+        tokenStart = mark;
+        tokenEnd = position;
+        mark = -1;
+        if (tokenStart == tokenEnd) {
+            throw error("값");
+        }
+    }
+    
+    /**
+     * 중첩 객체/배열을 포함한 값 하나를 건너뜀
+     */
+    private void skipValue() throws IOException {
+        int c = peek();
+        if (c == '"') {
+            scanString();
+        } else if (c == '{' || c == '[') {
+            char close = c == '{' ? '}' : ']';
+            position++;
+            if (peek() == close) {
+                position++;
+                return;
+            }
+            do {
+                if (close == '}') {
+                    scanString();
+                    expect(':');
+                }
+                skipValue();
+            } while (readSeparator(close));
+        } else {
+            scanLiteral();
+        }
+    }
+    
+    private boolean tokenEquals(byte[] expected) {
+        if (tokenEscaped || tokenEnd - tokenStart != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(tokenStart + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private String decode(int start, int end) {
+        byte[] raw = new byte[end - start];
+        buffer.get(start, raw);
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * 이스케이프가 들어 있는 문자열 복원
+     */
+    private String unescape(int start, int end) throws IOException {
+        StringBuilder text = new StringBuilder(end - start);
+        int segment = start;
+        int i = start;
+        while (i < end) {
+            if (buffer.get(i) != '\\') {
+                i++;
+                continue;
+            }
+            text.append(decode(segment, i));
+            byte escaped = buffer.get(i + 1);
+            i += 2;
+            switch (escaped) {
+                case 'b':
+                    text.append('\b');
+                    break;
+                case 'f':
+                    text.append('\f');
+                    break;
+                case 'n':
+                    text.append('\n');
+                    break;
+                case 'r':
+                    text.append('\r');
+                    break;
+                case 't':
+                    text.append('\t');
+                    break;
+                case 'u':
+                    if (i + 4 > end) {
+                        throw new IOException("잘못된 JSON 이스케이프: \\u" + decode(i, end));
+                    }
+                    int code = 0;
+                    for (int k = 0; k < 4; k++) {
+                        int digit = Character.digit(buffer.get(i + k), 16);
+                        if (digit < 0) {
+                            throw new IOException("잘못된 JSON 이스케이프: \\u" + decode(i, i + 4));
+                        }
+                        code = code * 16 + digit;
+                    }
+                    text.append((char) code);
+                    i += 4;
+                    break;
+                default:
+                    text.append((char) escaped);
+            }
+            segment = i;
+        }
+        return text.append(decode(segment, end)).toString();
+    }
+    
+    private void expect(char expected) throws IOException {
+        if (peek() != expected) {
+            throw error("'" + expected + "'");
+        }
+        position++;
+    }
+    
+    private int peek() throws IOException {
+        while (position < limit || fill()) {
+            byte b = buffer.get(position);
+            if (!isWhitespace(b)) {
+                return b;
+            }
+            position++;
+        }
+        return -1;
+    }
+    
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+    
+    /**
+     * 버퍼를 다시 채움 - 읽는 중인 토큰(mark 이후)은 보존하고 위치를 새 버퍼 기준으로 옮김
+     */
+    private boolean fill() throws IOException {
+        int keep = mark >= 0 ? mark : position;
+        ByteBuffer next = source.refill(buffer, keep);
+        if (next == null) {
+            return false;
+        }
+        buffer = next;
+        limit = next.limit();
+        position -= keep;
+        if (mark >= 0) {
+            mark -= keep;
+        }
+        return position < limit;
+    }
+    
+    private IOException error(String expected) throws IOException {
+        int c = peek();
+        return new IOException("JSON 형식 오류: " + expected + " 필요, "
+            + (c < 0 ? "입력 끝" : "'" + (char) c + "'") + " 발견");
+    }
+    
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+    
+    /**
+     * 바이트 공급원
+     */
+    private interface Source {
+        /**
+         * 현재 버퍼의 keep 위치부터 끝까지를 새 버퍼 앞쪽에 두고 뒤에 이어서 읽은 버퍼 반환
+         * (더 읽을 내용이 없으면 null)
+         */
+        ByteBuffer refill(ByteBuffer current, int keep) throws IOException;
+    }
+    
+    /**
+     * 파일을 구간 단위로 메모리 매핑 (작은 파일은 한 번에 전체 매핑)
+     */
+    private static class MappedSource implements Source {
+        private final FileChannel channel;
+        private final long size;
+        private long windowStart;
+        
+        MappedSource(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+        
+        @Override
+        public ByteBuffer refill(ByteBuffer current, int keep) throws IOException {
+            long start = current == null ? 0 : windowStart + keep;
+            long end = current == null ? 0 : windowStart + current.limit();
+            if (end >= size) {
+                return null;
+            }
+            windowStart = start;
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(MAP_WINDOW_BYTES, size - start));
+        }
+    }
+    
+    /**
+     * 스트림을 고정 크기 버퍼로 읽음 (토큰이 버퍼보다 길면 버퍼를 늘림)
+     */
+    private static class StreamSource implements Source {
+        private final InputStream in;
+        private byte[] array = new byte[STREAM_BUFFER_SIZE];
+        
+        StreamSource(InputStream in) {
+            this.in = in;
+        }
+        
+        @Override
+        public ByteBuffer refill(ByteBuffer current, int keep) throws IOException {
+            int kept = current == null ? 0 : current.limit() - keep;
+            if (kept > 0) {
+                if (kept == array.length) {
+                    array = Arrays.copyOf(array, array.length * 2);
+                }
+                System.arraycopy(current.array(), keep, array, 0, kept);
+            }
+            int read = in.read(array, kept, array.length - kept);
+            if (read <= 0) {
+                return null;
+            }
+            return ByteBuffer.wrap(array, 0, kept + read);
+        }
+    }
+}
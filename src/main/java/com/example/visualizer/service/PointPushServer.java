@@ -0,0 +1,163 @@
+package com.example.visualizer.service;
+
+import com.example.visualizer.model.PointTable;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * visualize.py의 3D 데이터 전송(POST http://localhost:8080/3d-data)을 받는 내장 HTTP 서버
+ * 요청 본문을 파일로 저장하지 않고 스트림에서 바로 PointTable로 파싱해서 리스너에 전달한다.
+ * 본문은 바이너리 포인트 형식(Content-Type: application/x-bvpt)이나 이전 버전의 JSON을 받는다.
+ * 서버가 떠 있으면 visualize.py는 Downloads에 3d_data.json을 쓰지 않는다.
+ * 루프백 주소에만 바인딩하므로 외부에서는 접근할 수 없고, 같은 PC의 다른 프로세스나 브라우저 페이지가
+ * 뷰어를 바꾸지 못하도록 Python 실행 중에만, 그 실행에 넘긴 토큰(X-Visualizer-Token 헤더)이 있는 요청만 받는다.
+ */
+public class PointPushServer {
+    public static final int PORT = 8080;
+    public static final String PATH = "/3d-data";
+    public static final String BINARY_CONTENT_TYPE = "application/x-bvpt";
+    public static final String TOKEN_HEADER = "X-Visualizer-Token";
+    
+    private final Consumer<PointTable> listener;
+    private final SecureRandom random = new SecureRandom();
+    private HttpServer server;
+    private ExecutorService executor;
+    // 실행 중인 Python 작업의 토큰 (없으면 모든 요청 거부)
+    private volatile String runToken;
+    
+    /**
+     * @param listener 수신한 포인트를 받을 콜백 (서버 스레드에서 호출, 응답 전에 실행)
+     */
+    public PointPushServer(Consumer<PointTable> listener) {
+        this.listener = listener;
+    }
+    
+    /**
+     * 서버 시작 (포트를 쓸 수 없으면 false - 이 경우 visualize.py는 JSON 파일로 대체 저장)
+     */
+    public synchronized boolean start() {
+        if (server != null) {
+            return true;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), PORT), 0);
+        } catch (IOException e) {
+            System.err.println("3D 데이터 수신 서버 시작 실패 (포트 " + PORT + "): " + e.getMessage());
+            return false;
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-push-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+        server.start();
+        System.out.println("3D 데이터 수신 대기: http://localhost:" + PORT + PATH);
+        return true;
+    }
+    
+    /**
+     * Python 실행 1건의 전송 토큰 발급 (이 토큰이 붙은 요청만 endRun 전까지 받음)
+     */
+    public synchronized String beginRun() {
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        StringBuilder token = new StringBuilder();
+        for (byte b : bytes) {
+            token.append(String.format("%02x", b));
+        }
+        runToken = token.toString();
+        return runToken;
+    }
+    
+    /**
+     * Python 실행 종료 (해당 실행의 토큰이 아직 유효하면 폐기)
+     */
+    public synchronized void endRun(String token) {
+        if (token != null && token.equals(runToken)) {
+            runToken = null;
+        }
+    }
+    
+    /**
+     * 서버 종료
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+        }
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                respond(exchange, 405, "POST only");
+                return;
+            }
+            if (!isCurrentRun(exchange.getRequestHeaders().getFirst(TOKEN_HEADER))) {
+                System.err.println("3D 데이터 요청 거부 (실행 중인 Python 작업의 토큰이 아님)");
+                respond(exchange, 403, "invalid token");
+                return;
+            }
+            
+            long startTime = System.currentTimeMillis();
+            String lengthHeader = exchange.getRequestHeaders().getFirst("Content-Length");
+            long length = -1;
+            if (lengthHeader != null) {
+                try {
+                    length = Long.parseLong(lengthHeader.trim());
+                } catch (NumberFormatException e) {
+                    // 길이를 모르면 기본 용량으로 시작
+                }
+            }
+            
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            boolean binary = contentType != null && contentType.startsWith(BINARY_CONTENT_TYPE);
+            PointTable table;
+            try (InputStream body = exchange.getRequestBody()) {
+                table = binary ? new BinaryPointSource().readTable(body, length) : PointJsonReader.read(body, length);
+            } catch (IOException e) {
+                System.err.println("3D 데이터 파싱 실패: " + e.getMessage());
+                respond(exchange, 400, String.valueOf(e.getMessage()));
+                return;
+            }
+            
+            System.out.println("3D 데이터 수신: " + table.size() + "개 포인트 ("
+                + (System.currentTimeMillis() - startTime) + "ms)");
+            listener.accept(table);
+            respond(exchange, 200, "{\"received\": " + table.size() + "}");
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private boolean isCurrentRun(String token) {
+        String expected = runToken;
+        return expected != null && token != null && MessageDigest.isEqual(
+            expected.getBytes(StandardCharsets.UTF_8), token.trim().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.visualizer.service;
+
+import com.example.visualizer.model.PointTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 좌표 데이터 입력 형식 인터페이스
+ * 형식별 리더는 파일을 읽어서 PointTable 배치 단위로 Sink에 전달한다.
+ * 기본 형식 외의 리더는 ServiceLoader(META-INF/services)로 등록할 수 있다.
+ */
+public interface PointSource {
+    
+    /**
+     * 읽은 데이터를 받는 쪽
+     */
+    interface Sink {
+        /**
+         * 헤더 수신 (배치보다 항상 먼저 한 번 호출됨)
+         */
+        void onHeaders(List<String> headers);
+        
+        /**
+         * 추정 데이터 행 수 (알 수 있는 형식만 호출)
+         */
+        default void onRowCountEstimate(long rowCount) {
+        }
+        
+        /**
+         * 파일 순서대로 읽은 행 묶음 (헤더는 onHeaders와 동일)
+         */
+        void onBatch(PointTable batch);
+    }
+    
+    /**
+     * 형식 이름 (화면 표시용)
+     */
+    String getFormatName();
+    
+    /**
+     * 처리하는 확장자 목록 (소문자, 점 제외)
+     */
+    List<String> getExtensions();
+    
+    /**
+     * 파일 앞부분의 매직 바이트로 형식 판별
+     * @param head 파일 앞부분 (파일이 짧으면 길이가 더 짧을 수 있음)
+     */
+    default boolean matchesMagic(byte[] head) {
+        return false;
+    }
+    
+    /**
+     * 파싱 캐시에 저장할 가치가 있는 형식인지 여부 (이미 바이너리인 형식은 false)
+     */
+    default boolean isCacheable() {
+        return true;
+    }
+    
+    /**
+     * 파일을 읽어서 Sink에 전달
+     */
+    void read(File file, Sink sink) throws IOException;
+}
@@ -0,0 +1,128 @@
+package com.example.visualizer.service;
+
+import com.example.visualizer.model.PointTable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * 입력 형식 등록/선택 클래스
+ * 파일 앞부분의 매직 바이트를 먼저 확인하고, 일치하는 형식이 없으면 확장자로 선택한다.
+ * 기본 형식(bvpt, xlsx, xls, csv) 다음에 ServiceLoader로 찾은 형식을 등록한다.
+ */
+public class PointSourceRegistry {
+    private static final int MAGIC_LENGTH = 8;
+    
+    private final List<PointSource> sources = new ArrayList<>();
+    
+    public PointSourceRegistry() {
+        register(new BinaryPointSource());
+        register(new XlsxPointSource());
+        register(new XlsPointSource());
+        register(new CsvPointSource());
+        for (PointSource source : ServiceLoader.load(PointSource.class)) {
+            register(source);
+        }
+    }
+    
+    /**
+     * 형식 추가 등록
+     */
+    public void register(PointSource source) {
+        sources.add(source);
+    }
+    
+    public List<PointSource> getSources() {
+        return Collections.unmodifiableList(sources);
+    }
+    
+    /**
+     * 등록된 모든 형식의 확장자
+     */
+    public List<String> getExtensions() {
+        List<String> extensions = new ArrayList<>();
+        for (PointSource source : sources) {
+            for (String extension : source.getExtensions()) {
+                if (!extensions.contains(extension)) {
+                    extensions.add(extension);
+                }
+            }
+        }
+        return extensions;
+    }
+    
+    /**
+     * 파일을 읽을 수 있는 형식 찾기 (없으면 null)
+     */
+    public PointSource findSource(File file) {
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        
+        byte[] head = readHead(file);
+        for (PointSource source : sources) {
+            if (source.matchesMagic(head)) {
+                return source;
+            }
+        }
+        
+        String extension = extensionOf(file.getName());
+        for (PointSource source : sources) {
+            if (source.getExtensions().contains(extension)) {
+                return source;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 지원하는 파일인지 확인
+     */
+    public boolean isSupported(File file) {
+        return findSource(file) != null;
+    }
+    
+    /**
+     * 파일 전체를 하나의 테이블로 읽기 (변경 감시 재적재처럼 점진 표시가 필요 없는 경우)
+     */
+    public PointTable readTable(File file) throws IOException {
+        PointSource source = findSource(file);
+        if (source == null) {
+            throw new IOException("지원하지 않는 파일 형식입니다: " + file.getName());
+        }
+        
+        PointTable[] table = new PointTable[1];
+        source.read(file, new PointSource.Sink() {
+            @Override
+            public void onHeaders(List<String> headers) {
+                table[0] = new PointTable(headers);
+            }
+            
+            @Override
+            public void onBatch(PointTable batch) {
+                table[0].appendAll(batch);
+            }
+        });
+        return table[0];
+    }
+    
+    private static byte[] readHead(File file) {
+        try (InputStream in = new FileInputStream(file)) {
+            return in.readNBytes(MAGIC_LENGTH);
+        } catch (IOException e) {
+            System.err.println("파일 앞부분 읽기 실패: " + e.getMessage());
+            return new byte[0];
+        }
+    }
+    
+    private static String extensionOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(dot + 1).toLowerCase() : "";
+    }
+}
@@ -5,78 +5,276 @@ import com.example.visualizer.model.VisualizationResult;
 import com.example.visualizer.model.ProgressInfo;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 /**
  * Python 시각화 처리를 담당하는 서비스 클래스
+ * 기본 시각화는 RenderService(JVM 내부)가 담당하며, 이 클래스는 Java 엔진을 쓸 수 없을 때의 대체 경로다.
  */
 public class PythonService {
+    // 상주 작업자 수 (0이면 매번 단발 프로세스 실행)
+    private static final int WORKER_COUNT = Integer.getInteger("visualizer.python.workers", 2);
+    // 작업 1건의 제한 시간 (상주 작업자와 단발 프로세스 공통)
+    private static final long JOB_TIMEOUT_MILLIS = Long.getLong("visualizer.python.jobTimeoutMillis", 10 * 60_000L);
+    
+    private final Set<Process> running = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "python-process-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 실행 중인 작업의 취소 핸들 (cancel()은 이 서비스가 시작한 작업만 취소)
+    private final Set<PythonWorkerPool.Job> jobs = ConcurrentHashMap.newKeySet();
+    private PythonWorkerPool workerPool;
     
     /**
-     * Python 시각화 실행
+     * 상주 작업자를 백그라운드에서 미리 시작 (첫 실행 때 import 대기를 없앰)
      */
-    public void runVisualization(ExcelData excelData, double unitScale, 
+    public void warmUp() {
+        if (WORKER_COUNT <= 0) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                getWorkerPool().start();
+            } catch (IOException e) {
+                System.err.println("Python 작업자 시작 실패: " + e.getMessage());
+            }
+        }, "python-worker-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Python 시각화 실행 (3D 데이터는 전송하지 않고 결과 폴더에 파일로 저장)
+     */
+    public VisualizationResult runVisualization(ExcelData excelData, double unitScale, 
                                 Consumer<ProgressInfo> progressCallback) throws Exception {
+        return runVisualization(excelData, unitScale, progressCallback, null);
+    }
+    
+    /**
+     * Python 시각화 실행 - 상주 작업자가 있으면 작업자에게 맡기고, 작업자를 쓸 수 없으면 단발 프로세스로 실행
+     * 진행 상황은 스크립트가 보내는 진행 이벤트(단계, 처리한 행 수)로 갱신한다.
+     * @param pushToken 3D 데이터 전송 토큰 (PointPushServer.beginRun, null이면 파일로 저장)
+     * @throws CancellationException 실행 중에 {@link #cancel()}이 호출된 경우
+     */
+    public VisualizationResult runVisualization(ExcelData excelData, double unitScale,
+                                Consumer<ProgressInfo> progressCallback, String pushToken) throws Exception {
         
         if (excelData == null || !excelData.isValid()) {
             throw new IllegalArgumentException("유효하지 않은 엑셀 데이터입니다.");
         }
+        PythonWorkerPool.Job job = new PythonWorkerPool.Job();
+        jobs.add(job);
+        try {
+            return runJob(excelData, unitScale, progressCallback, job, pushToken);
+        } finally {
+            jobs.remove(job);
+        }
+    }
+    
+    private VisualizationResult runJob(ExcelData excelData, double unitScale, Consumer<ProgressInfo> progressCallback,
+                                       PythonWorkerPool.Job job, String pushToken) throws Exception {
+        ProgressTranslator progress = new ProgressTranslator(progressCallback);
+        // 제한 시간은 작업자 실행과 단발 프로세스 대체 실행을 합친 전체 시간에 적용
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(JOB_TIMEOUT_MILLIS);
+        
+        if (WORKER_COUNT > 0) {
+            try {
+                progressCallback.accept(new ProgressInfo(5, "Python 작업자 실행 중...", "대기 중인 Python 작업자에게 시각화를 요청합니다..."));
+                VisualizationResult result = getWorkerPool().render(excelData.getFile(), unitScale, progress, job, pushToken);
+                if (job.isCancelled()) {
+                    throw new CancellationException("Python 시각화가 취소되었습니다.");
+                }
+                System.out.println("Saved image: " + result.getImageFile().getAbsolutePath());
+                System.out.println("Saved excel: " + result.getExcelFile().getAbsolutePath());
+                progressCallback.accept(new ProgressInfo(100, "완료!", "시각화가 완료되었습니다!"));
+                return result;
+            } catch (IOException e) {
+                if (job.isCancelled()) {
+                    throw new CancellationException("Python 시각화가 취소되었습니다.");
+                }
+                if (System.nanoTime() >= deadline) {
+                    throw new RuntimeException("Python 시각화 시간 초과 (" + JOB_TIMEOUT_MILLIS + "ms)", e);
+                }
+                System.err.println("Python 작업자 실행 실패, 단발 프로세스로 실행합니다: " + e.getMessage());
+            }
+        }
         
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        return runProcess(excelData.getFile(), unitScale, progressCallback, progress, remainingMillis, job, pushToken);
+    }
+    
+    /**
+     * 이 서비스로 실행 중인 Python 시각화 취소 (단발 프로세스와 작업을 맡은 작업자의 프로세스 트리를 종료)
+     */
+    public void cancel() {
+        for (PythonWorkerPool.Job job : jobs) {
+            job.cancel();
+        }
+        for (Process process : running) {
+            PythonWorkerPool.destroyTree(process);
+        }
+    }
+    
+    /**
+     * visualize.py를 단발 프로세스로 실행
+     * stdout의 JSON 한 줄({"op": "progress"|"result", ...})은 진행/결과로 처리하고 나머지 줄은 로그로 출력한다.
+     * 제한 시간이 지나거나 취소되면 프로세스 트리를 강제 종료한다.
+     */
+    private VisualizationResult runProcess(File excelFile, double unitScale, Consumer<ProgressInfo> progressCallback,
+                                           ProgressTranslator progress, long timeoutMillis, PythonWorkerPool.Job job,
+                                           String pushToken)
+            throws IOException, InterruptedException {
         // Python 스크립트 경로 찾기
         String pythonScript = findPythonScript();
         
         // 진행 상태 업데이트
-        progressCallback.accept(new ProgressInfo(20, "Python 스크립트 실행 중...", "Python 시각화 스크립트를 실행합니다..."));
+        progressCallback.accept(new ProgressInfo(5, "Python 스크립트 실행 중...", "Python 시각화 스크립트를 실행합니다..."));
         
-        // Python 프로세스 실행
-        ProcessBuilder pb = new ProcessBuilder("python", pythonScript,
-                excelData.getFile().getAbsolutePath(), String.valueOf(unitScale));
+        // Python 프로세스 실행 (-u: 진행 이벤트가 출력 버퍼에 묶이지 않도록)
+        ProcessBuilder pb = new ProcessBuilder("python", "-u", pythonScript,
+                excelFile.getAbsolutePath(), String.valueOf(unitScale));
         pb.directory(new File("."));
+        pb.environment().put("PYTHONIOENCODING", "utf-8");
+        if (pushToken != null) {
+            pb.environment().put("VISUALIZER_PUSH_TOKEN", pushToken);
+        }
         pb.redirectErrorStream(true);
         
         Process process = pb.start();
-        
-        // 진행 상태 업데이트
-        progressCallback.accept(new ProgressInfo(40, "데이터 처리 중...", "엑셀 데이터를 처리하고 그래프를 생성합니다..."));
+        running.add(process);
+        AtomicBoolean timedOut = new AtomicBoolean();
+        ScheduledFuture<?> timeout = watchdog.schedule(() -> {
+            timedOut.set(true);
+            PythonWorkerPool.destroyTree(process);
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        if (job.isCancelled()) {
+            PythonWorkerPool.destroyTree(process);
+        }
         
         // 출력 읽기
         String imagePath = null;
         String excelPath = null;
-        
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.startsWith("Saved image:")) {
-                    imagePath = line.replace("Saved image:", "").trim();
-                    progressCallback.accept(new ProgressInfo(70, "이미지 생성 완료...", "그래프 이미지를 생성했습니다."));
-                }
-                if (line.startsWith("Saved excel:")) {
-                    excelPath = line.replace("Saved excel:", "").trim();
-                    progressCallback.accept(new ProgressInfo(90, "엑셀 파일 생성 완료...", "결과 엑셀 파일을 생성했습니다."));
+        int exitCode;
+        try {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Map<String, String> event = parseEvent(line);
+                    if (event == null) {
+                        System.out.println("[python] " + line);
+                    } else if ("progress".equals(event.get("op"))) {
+                        progress.accept(event);
+                    } else if ("result".equals(event.get("op"))) {
+                        imagePath = event.get("image");
+                        excelPath = event.get("excel");
+                    }
                 }
-                System.out.println(line);
             }
+            
+            // 프로세스 완료 대기 (출력이 닫혔으면 곧 종료됨)
+            exitCode = process.waitFor();
+        } finally {
+            timeout.cancel(false);
+            running.remove(process);
         }
         
-        // 프로세스 완료 대기
-        int exitCode = process.waitFor();
-        
+        if (job.isCancelled()) {
+            throw new CancellationException("Python 시각화가 취소되었습니다.");
+        }
+        if (timedOut.get()) {
+            throw new RuntimeException("Python 시각화 시간 초과 (" + JOB_TIMEOUT_MILLIS + "ms)");
+        }
         if (exitCode != 0) {
             throw new RuntimeException("Python 스크립트 실행 실패 (종료 코드: " + exitCode + ")");
         }
         
+        // 결과 생성
+        if (imagePath == null || excelPath == null) {
+            throw new RuntimeException("시각화 결과 파일을 생성할 수 없습니다.");
+        }
+        
         // 최종 진행 상태
         progressCallback.accept(new ProgressInfo(100, "완료!", "시각화가 완료되었습니다!"));
+        return new VisualizationResult(new File(imagePath), new File(excelPath), unitScale);
+    }
+    
+    /**
+     * stdout 한 줄이 진행/결과 이벤트면 파싱 (일반 로그면 null)
+     */
+    private static Map<String, String> parseEvent(String line) {
+        if (!line.startsWith("{\"op\"")) {
+            return null;
+        }
+        try {
+            return PythonWorkerPool.parseJson(line);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * 스크립트 진행 이벤트를 ProgressInfo로 변환
+     * 처리량과 남은 시간은 같은 단계가 시작된 시점부터 계산한다 (단계마다 행 처리 속도가 다름).
+     */
+    private static final class ProgressTranslator implements Consumer<Map<String, String>> {
+        private final Consumer<ProgressInfo> progressCallback;
+        private String stage;
+        private long stageStartTime;
         
-        // 결과 생성
-        if (imagePath != null && excelPath != null) {
-            File imageFile = new File(imagePath);
-            File excelFile = new File(excelPath);
-            VisualizationResult result = new VisualizationResult(imageFile, excelFile, unitScale);
-            // 결과는 별도로 반환하지 않고 콜백으로 처리
-        } else {
-            throw new RuntimeException("시각화 결과 파일을 생성할 수 없습니다.");
+        ProgressTranslator(Consumer<ProgressInfo> progressCallback) {
+            this.progressCallback = progressCallback;
+        }
+        
+        @Override
+        public void accept(Map<String, String> event) {
+            String eventStage = event.get("stage");
+            if (stage == null || !stage.equals(eventStage)) {
+                stage = eventStage;
+                stageStartTime = System.nanoTime();
+            }
+            
+            int percent = (int) parseNumber(event.get("percent"), 0);
+            String message = event.get("message") != null ? event.get("message") : "Python 시각화 중...";
+            ProgressInfo info = new ProgressInfo(percent, message, "Python: " + message);
+            long rows = parseNumber(event.get("rows"), 0);
+            if (rows > 0) {
+                info.setRowProgress(rows, parseNumber(event.get("total"), 0), System.nanoTime() - stageStartTime);
+                info.setProgress(percent);
+            }
+            progressCallback.accept(info);
+        }
+        
+        private static long parseNumber(String value, long defaultValue) {
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+    }
+    
+    private synchronized PythonWorkerPool getWorkerPool() {
+        if (workerPool == null) {
+            workerPool = new PythonWorkerPool("python", findPythonScript(), WORKER_COUNT, JOB_TIMEOUT_MILLIS);
         }
+        return workerPool;
     }
     
     /**
@@ -0,0 +1,686 @@
+package com.example.visualizer.service;
+
+import com.example.visualizer.model.VisualizationResult;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 상주 Python 작업자 프로세스 풀
+ * visualize.py --worker 프로세스를 미리 띄워 두고(pandas/matplotlib import가 끝난 상태),
+ * stdin/stdout으로 길이 접두(4바이트 빅엔디언) JSON 프레임을 주고받아 작업을 처리한다.
+ * 작업자 수만큼 동시에 렌더링할 수 있고, 유휴 작업자는 주기적으로 ping으로 상태를 확인하며
+ * 응답이 없거나 프로세스가 죽은 작업자는 새 프로세스로 교체한다.
+ * 작업 중에 스크립트가 보내는 진행 프레임은 호출자에게 전달하고, 작업을 취소하면 그 작업을 맡은 프로세스 트리만 종료한다.
+ */
+public class PythonWorkerPool implements Closeable {
+    private static final long STARTUP_TIMEOUT_MILLIS = 60_000;
+    private static final long PING_TIMEOUT_MILLIS = 5_000;
+    private static final long HEALTH_CHECK_INTERVAL_MILLIS = 30_000;
+    private static final long RESTART_DELAY_MILLIS = 5_000;
+    private static final long DEFAULT_JOB_TIMEOUT_MILLIS = 10 * 60_000;
+    private static final int MAX_FRAME_BYTES = 16 << 20;
+    
+    private final String pythonCommand;
+    private final String script;
+    private final int size;
+    private final long jobTimeoutMillis;
+    private final BlockingQueue<Worker> idle = new LinkedBlockingQueue<>();
+    private final List<Worker> workers = new ArrayList<>();
+    private final AtomicLong requestIds = new AtomicLong();
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledExecutorService watchdogs;
+    private final ExecutorService launcher;
+    private final Thread shutdownHook = new Thread(this::close, "python-worker-shutdown");
+    
+    private boolean started;
+    private volatile boolean closed;
+    private int nextWorkerIndex;
+    
+    /**
+     * @param pythonCommand Python 실행 파일 (예: "python")
+     * @param script visualize.py 경로
+     * @param size 동시에 실행할 작업자 수
+     */
+    public PythonWorkerPool(String pythonCommand, String script, int size) {
+        this(pythonCommand, script, size,
+            Long.getLong("visualizer.python.jobTimeoutMillis", DEFAULT_JOB_TIMEOUT_MILLIS));
+    }
+    
+    public PythonWorkerPool(String pythonCommand, String script, int size, long jobTimeoutMillis) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("작업자 수는 1 이상이어야 합니다: " + size);
+        }
+        this.pythonCommand = pythonCommand;
+        this.script = script;
+        this.size = size;
+        this.jobTimeoutMillis = jobTimeoutMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "python-worker-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 응답 시간 제한은 상태 확인(ping 응답 대기로 막힐 수 있음)과 다른 스레드에서 발동해야 하므로 분리
+        this.watchdogs = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "python-worker-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 재시작은 import 때문에 오래 걸리므로 감시 스레드와 분리
+        this.launcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "python-worker-launcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * 작업자 프로세스 시작 (이미 시작했으면 무시)
+     * 모든 프로세스를 먼저 띄운 뒤 준비 신호를 기다리므로 import 시간은 작업자 수와 무관하게 한 번만 걸린다.
+     * @throws IOException 작업자를 하나도 시작하지 못한 경우
+     */
+    public synchronized void start() throws IOException {
+        if (closed) {
+            throw new IOException("Python 작업자 풀이 종료되었습니다.");
+        }
+        if (started) {
+            return;
+        }
+        
+        long startTime = System.currentTimeMillis();
+        List<Worker> launched = new ArrayList<>();
+        IOException failure = null;
+        for (int i = 0; i < size; i++) {
+            try {
+                launched.add(new Worker(nextWorkerIndex++));
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        for (Worker worker : launched) {
+            try {
+                worker.awaitReady();
+                workers.add(worker);
+                idle.offer(worker);
+            } catch (IOException e) {
+                worker.destroy();
+                failure = e;
+            }
+        }
+        if (workers.isEmpty()) {
+            throw new IOException("Python 작업자를 시작할 수 없습니다: "
+                + (failure != null ? failure.getMessage() : "알 수 없는 오류"), failure);
+        }
+        
+        started = true;
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        scheduler.scheduleWithFixedDelay(this::checkHealth, HEALTH_CHECK_INTERVAL_MILLIS,
+            HEALTH_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        System.out.println("Python 작업자 " + workers.size() + "개 준비 완료 ("
+            + (System.currentTimeMillis() - startTime) + "ms)");
+    }
+    
+    /**
+     * 작업 1건의 취소 핸들
+     * render에 넘겨 두고 다른 스레드에서 cancel()을 부르면 이 작업을 맡은 작업자만 종료한다
+     * (같은 풀에서 함께 실행 중인 다른 작업은 영향을 받지 않음).
+     */
+    public static final class Job {
+        private Worker worker;
+        private boolean cancelled;
+        
+        /**
+         * 작업 취소 (작업자를 배정받기 전이면 배정 없이 끝나고, 실행 중이면 해당 프로세스 트리를 종료)
+         */
+        public synchronized void cancel() {
+            cancelled = true;
+            if (worker != null) {
+                worker.cancel();
+            }
+        }
+        
+        public synchronized boolean isCancelled() {
+            return cancelled;
+        }
+        
+        private synchronized boolean assign(Worker worker) {
+            if (cancelled) {
+                return false;
+            }
+            this.worker = worker;
+            return true;
+        }
+        
+        private synchronized void release() {
+            worker = null;
+        }
+    }
+    
+    /**
+     * 유휴 작업자에게 시각화 작업 1건을 맡기고 결과를 기다림 (취소 핸들 없이 실행)
+     */
+    public VisualizationResult render(File excelFile, double unitScale,
+                                      Consumer<Map<String, String>> progressListener) throws IOException {
+        return render(excelFile, unitScale, progressListener, new Job(), null);
+    }
+    
+    /**
+     * 유휴 작업자에게 시각화 작업 1건을 맡기고 결과를 기다림 (모든 작업자가 바쁘면 빌 때까지 대기)
+     * @param progressListener 스크립트가 보낸 진행 프레임을 받을 콜백 (null이면 무시)
+     * @param job 이 작업의 취소 핸들
+     * @param pushToken 3D 데이터 전송 토큰 (null이면 스크립트는 전송하지 않고 파일로 저장)
+     * @throws IOException 작업자를 쓸 수 없거나 작업 중 프로세스가 죽은 경우 (작업자는 새로 띄움)
+     * @throws CancellationException 작업 전이나 작업 중에 job이 취소된 경우
+     * @throws RuntimeException 스크립트가 작업 실패를 응답한 경우
+     */
+    public VisualizationResult render(File excelFile, double unitScale,
+                                      Consumer<Map<String, String>> progressListener, Job job,
+                                      String pushToken) throws IOException {
+        start();
+        Worker worker = takeLiveWorker();
+        if (!job.assign(worker)) {
+            idle.offer(worker);
+            throw new CancellationException("Python 작업이 취소되었습니다.");
+        }
+        
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("op", "render");
+        request.put("file", excelFile.getAbsolutePath());
+        request.put("unit_scale", unitScale);
+        if (pushToken != null) {
+            request.put("push_token", pushToken);
+        }
+        
+        Map<String, String> response;
+        try {
+            response = worker.call(request, jobTimeoutMillis, progressListener);
+        } catch (IOException | CancellationException e) {
+            restart(worker);
+            throw e;
+        } finally {
+            job.release();
+        }
+        idle.offer(worker);
+        
+        if (!"true".equals(response.get("ok"))) {
+            throw new RuntimeException("Python 시각화 실패: " + response.get("error"));
+        }
+        return new VisualizationResult(new File(response.get("image")), new File(response.get("excel")), unitScale);
+    }
+    
+    /**
+     * 살아 있는 유휴 작업자를 꺼냄 (죽은 작업자는 새로 띄우도록 넘기고 다른 작업자를 기다림)
+     * @throws IOException 제한 시간 안에 쓸 수 있는 작업자가 없는 경우
+     */
+    private Worker takeLiveWorker() throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STARTUP_TIMEOUT_MILLIS);
+        while (true) {
+            Worker worker;
+            try {
+                worker = idle.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Python 작업자 대기 중 중단되었습니다.", e);
+            }
+            if (worker == null) {
+                throw new IOException("사용 가능한 Python 작업자가 없습니다.");
+            }
+            if (worker.isAlive()) {
+                return worker;
+            }
+            System.err.println("Python 작업자 " + worker.index + " 프로세스가 종료되어 다시 시작합니다.");
+            restart(worker);
+        }
+    }
+    
+    /**
+     * 현재 살아 있는 작업자 수
+     */
+    public synchronized int getWorkerCount() {
+        return workers.size();
+    }
+    
+    /**
+     * 작업자 종료 (exit 요청 후 응답이 없으면 강제 종료)
+     */
+    @Override
+    public void close() {
+        List<Worker> running;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            running = new ArrayList<>(workers);
+            workers.clear();
+            idle.clear();
+        }
+        scheduler.shutdownNow();
+        watchdogs.shutdownNow();
+        launcher.shutdownNow();
+        for (Worker worker : running) {
+            worker.exit();
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                // 이미 종료 중이거나 등록되지 않음
+            }
+        }
+    }
+    
+    /**
+     * 유휴 작업자 상태 확인 - 확인하는 동안에는 작업에 배정되지 않도록 큐에서 꺼내서 ping
+     */
+    private void checkHealth() {
+        int count = idle.size();
+        for (int i = 0; i < count && !closed; i++) {
+            Worker worker = idle.poll();
+            if (worker == null) {
+                return;
+            }
+            try {
+                Map<String, Object> ping = new LinkedHashMap<>();
+                ping.put("op", "ping");
+                worker.call(ping, PING_TIMEOUT_MILLIS, null);
+                idle.offer(worker);
+            } catch (IOException e) {
+                System.err.println("Python 작업자 " + worker.index + " 응답 없음: " + e.getMessage());
+                restart(worker);
+            }
+        }
+    }
+    
+    /**
+     * 죽거나 응답이 없는 작업자를 정리하고 새 프로세스를 띄움 (시작 실패 시 잠시 후 재시도)
+     */
+    private void restart(Worker dead) {
+        synchronized (this) {
+            workers.remove(dead);
+        }
+        dead.destroy();
+        if (!closed) {
+            launcher.execute(this::launchReplacement);
+        }
+    }
+    
+    private void launchReplacement() {
+        int index;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            index = nextWorkerIndex++;
+        }
+        Worker worker = null;
+        try {
+            worker = new Worker(index);
+            worker.awaitReady();
+            synchronized (this) {
+                if (closed) {
+                    worker.destroy();
+                    return;
+                }
+                workers.add(worker);
+            }
+            idle.offer(worker);
+            System.out.println("Python 작업자 " + index + " 재시작 완료");
+        } catch (IOException e) {
+            if (worker != null) {
+                worker.destroy();
+            }
+            System.err.println("Python 작업자 재시작 실패: " + e.getMessage());
+            if (!closed) {
+                scheduler.schedule(() -> launcher.execute(this::launchReplacement),
+                    RESTART_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+    
+    /**
+     * 작업자 프로세스 하나 (요청은 한 번에 하나씩만 보냄)
+     */
+    private final class Worker {
+        private final int index;
+        private final Process process;
+        private final DataOutputStream requests;
+        private final DataInputStream responses;
+        private volatile boolean cancelled;
+        
+        Worker(int index) throws IOException {
+            this.index = index;
+            ProcessBuilder builder = new ProcessBuilder(pythonCommand, script, "--worker");
+            builder.directory(new File("."));
+            builder.environment().put("PYTHONIOENCODING", "utf-8");
+            this.process = builder.start();
+            this.requests = new DataOutputStream(process.getOutputStream());
+            this.responses = new DataInputStream(process.getInputStream());
+            
+            // stderr(스크립트 로그)는 콘솔로 전달
+            Thread logThread = new Thread(this::pumpLog, "python-worker-" + index + "-log");
+            logThread.setDaemon(true);
+            logThread.start();
+        }
+        
+        /**
+         * 준비 신호(import 완료) 대기
+         */
+        void awaitReady() throws IOException {
+            Map<String, String> ready = withTimeout(STARTUP_TIMEOUT_MILLIS, this::readFrame);
+            if (!"ready".equals(ready.get("op"))) {
+                throw new IOException("Python 작업자 준비 신호가 올바르지 않습니다: " + ready);
+            }
+        }
+        
+        /**
+         * 요청 1건을 보내고 같은 id의 응답을 기다림 (시간 안에 응답이 없으면 프로세스를 종료)
+         * 응답 전에 오는 같은 id의 진행 프레임은 progressListener로 전달
+         */
+        Map<String, String> call(Map<String, Object> request, long timeoutMillis,
+                                 Consumer<Map<String, String>> progressListener) throws IOException {
+            String id = Long.toString(requestIds.incrementAndGet());
+            Map<String, Object> message = new LinkedHashMap<>();
+            message.put("id", id);
+            message.putAll(request);
+            
+            return withTimeout(timeoutMillis, () -> {
+                writeFrame(message);
+                Map<String, String> response = readFrame();
+                while ("progress".equals(response.get("op")) && id.equals(response.get("id"))) {
+                    if (progressListener != null) {
+                        progressListener.accept(response);
+                    }
+                    response = readFrame();
+                }
+                if (!id.equals(response.get("id"))) {
+                    throw new IOException("응답 id가 요청과 다릅니다: " + response.get("id") + " != " + id);
+                }
+                return response;
+            });
+        }
+        
+        /**
+         * 제한 시간이 지나면 프로세스를 강제 종료해서 막혀 있는 읽기를 깨움
+         */
+        private Map<String, String> withTimeout(long timeoutMillis, FrameExchange exchange) throws IOException {
+            AtomicBoolean timedOut = new AtomicBoolean();
+            ScheduledFuture<?> watchdog = watchdogs.schedule(() -> {
+                timedOut.set(true);
+                destroy();
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                return exchange.run();
+            } catch (IOException e) {
+                if (cancelled) {
+                    throw new CancellationException("Python 작업이 취소되었습니다.");
+                }
+                if (timedOut.get()) {
+                    throw new IOException("Python 작업자 응답 시간 초과 (" + timeoutMillis + "ms)", e);
+                }
+                if (e instanceof EOFException) {
+                    throw new IOException("Python 작업자 " + index + " 프로세스가 종료되었습니다.", e);
+                }
+                throw e;
+            } finally {
+                watchdog.cancel(false);
+            }
+        }
+        
+        private void writeFrame(Map<String, Object> message) throws IOException {
+            byte[] payload = toJson(message).getBytes(StandardCharsets.UTF_8);
+            requests.writeInt(payload.length);
+            requests.write(payload);
+            requests.flush();
+        }
+        
+        private Map<String, String> readFrame() throws IOException {
+            int length = responses.readInt();
+            if (length < 0 || length > MAX_FRAME_BYTES) {
+                throw new IOException("잘못된 프레임 길이: " + length);
+            }
+            byte[] payload = new byte[length];
+            responses.readFully(payload);
+            return parseJson(new String(payload, StandardCharsets.UTF_8));
+        }
+        
+        private void pumpLog() {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    System.out.println("[python-" + index + "] " + line);
+                }
+            } catch (IOException e) {
+                // 프로세스 종료
+            }
+        }
+        
+        boolean isAlive() {
+            return process.isAlive();
+        }
+        
+        /**
+         * exit 요청 후 잠시 기다렸다가 남아 있으면 강제 종료
+         */
+        void exit() {
+            try {
+                Map<String, Object> message = new HashMap<>();
+                message.put("op", "exit");
+                writeFrame(message);
+                process.waitFor(1, TimeUnit.SECONDS);
+            } catch (IOException e) {
+                // 이미 종료됨
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            destroy();
+        }
+        
+        void cancel() {
+            cancelled = true;
+            destroy();
+        }
+        
+        void destroy() {
+            destroyTree(process);
+        }
+    }
+    
+    /**
+     * 프로세스와 그 하위 프로세스를 모두 강제 종료 (스크립트가 띄운 프로세스가 남지 않도록)
+     */
+    static void destroyTree(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+    
+    private interface FrameExchange {
+        Map<String, String> run() throws IOException;
+    }
+    
+    /**
+     * 평탄한 JSON 객체 직렬화 (값은 문자열/숫자/불리언만 사용)
+     */
+    static String toJson(Map<String, Object> message) {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, Object> entry : message.entrySet()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendString(json, entry.getKey());
+            json.append(':');
+            Object value = entry.getValue();
+            if (value instanceof Number || value instanceof Boolean) {
+                json.append(value);
+            } else if (value == null) {
+                json.append("null");
+            } else {
+                appendString(json, value.toString());
+            }
+        }
+        return json.append('}').toString();
+    }
+    
+    private static void appendString(StringBuilder json, String text) {
+        json.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+    
+    /**
+     * 평탄한 JSON 객체 파싱 (값은 모두 문자열로 반환, 중첩 객체/배열은 지원하지 않음)
+     */
+    static Map<String, String> parseJson(String json) throws IOException {
+        Map<String, String> result = new LinkedHashMap<>();
+        int[] position = {skipWhitespace(json, 0)};
+        expect(json, position, '{');
+        position[0] = skipWhitespace(json, position[0]);
+        if (position[0] < json.length() && json.charAt(position[0]) == '}') {
+            return result;
+        }
+        while (true) {
+            position[0] = skipWhitespace(json, position[0]);
+            String key = readString(json, position);
+            position[0] = skipWhitespace(json, position[0]);
+            expect(json, position, ':');
+            position[0] = skipWhitespace(json, position[0]);
+            
+            String value;
+            if (position[0] < json.length() && json.charAt(position[0]) == '"') {
+                value = readString(json, position);
+            } else {
+                int start = position[0];
+                while (position[0] < json.length() && ",} \t\r\n".indexOf(json.charAt(position[0])) < 0) {
+                    position[0]++;
+                }
+                value = json.substring(start, position[0]);
+                if (value.isEmpty() || value.charAt(0) == '{' || value.charAt(0) == '[') {
+                    throw new IOException("지원하지 않는 JSON 값: " + json);
+                }
+                if (value.equals("null")) {
+                    value = null;
+                }
+            }
+            result.put(key, value);
+            
+            position[0] = skipWhitespace(json, position[0]);
+            if (position[0] < json.length() && json.charAt(position[0]) == ',') {
+                position[0]++;
+                continue;
+            }
+            expect(json, position, '}');
+            return result;
+        }
+    }
+    
+    private static String readString(String json, int[] position) throws IOException {
+        expect(json, position, '"');
+        StringBuilder text = new StringBuilder();
+        int i = position[0];
+        while (i < json.length()) {
+            char c = json.charAt(i++);
+            if (c == '"') {
+                position[0] = i;
+                return text.toString();
+            }
+            if (c != '\\') {
+                text.append(c);
+                continue;
+            }
+            if (i >= json.length()) {
+                break;
+            }
+            char escaped = json.charAt(i++);
+            switch (escaped) {
+                case 'b':
+                    text.append('\b');
+                    break;
+                case 'f':
+                    text.append('\f');
+                    break;
+                case 'n':
+                    text.append('\n');
+                    break;
+                case 'r':
+                    text.append('\r');
+                    break;
+                case 't':
+                    text.append('\t');
+                    break;
+                case 'u':
+                    if (i + 4 > json.length()) {
+                        throw new IOException("잘못된 JSON 이스케이프: " + json);
+                    }
+                    text.append((char) Integer.parseInt(json.substring(i, i + 4), 16));
+                    i += 4;
+                    break;
+                default:
+                    text.append(escaped);
+            }
+        }
+        throw new IOException("닫히지 않은 JSON 문자열: " + json);
+    }
+    
+    private static void expect(String json, int[] position, char expected) throws IOException {
+        if (position[0] >= json.length() || json.charAt(position[0]) != expected) {
+            throw new IOException("JSON 형식 오류 ('" + expected + "' 위치 " + position[0] + "): " + json);
+        }
+        position[0]++;
+    }
+    
+    private static int skipWhitespace(String json, int position) {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.visualizer.service;
+
+import com.example.visualizer.model.ExcelData;
+import com.example.visualizer.model.PointTable;
+import com.example.visualizer.model.ProgressInfo;
+import com.example.visualizer.model.VisualizationResult;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.ClientAnchor;
+import org.apache.poi.ss.usermodel.Drawing;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.util.Units;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Python 없이 JVM 안에서 시각화 결과 파일을 만드는 서비스 클래스
+ * 이미 로드된 ExcelData의 컬럼 배열로 그래프 이미지(coords_plot.png)와 이미지를 넣은
+ * 결과 엑셀(coords_with_plot.xlsx)을 만든다. 파일 구성과 저장 위치는 visualize.py와 같으며,
+ * 원본 파일을 다시 읽지 않으므로 프로세스 시작이나 파싱 비용이 없다.
+ */
+public class RenderService {
+    public static final String IMAGE_FILE_NAME = "coords_plot.png";
+    public static final String EXCEL_FILE_NAME = "coords_with_plot.xlsx";
+    public static final String OUTPUT_DIR_PREFIX = "BuildingVisualizer_";
+    
+    private static final String SHEET_NAME = "coords";
+    private static final int ROW_WINDOW = 1000;
+    
+    // 결과 엑셀에 넣는 이미지 크기와 위치 (visualize.py: 400x300, H2)
+    private static final int IMAGE_WIDTH = 400;
+    private static final int IMAGE_HEIGHT = 300;
+    private static final int IMAGE_COLUMN = 7;
+    private static final int DEFAULT_COLUMN_PIXELS = 64;
+    private static final int DEFAULT_ROW_PIXELS = 20;
+    
+    private final ScatterPlotRenderer renderer = new ScatterPlotRenderer();
+    
+    /**
+     * 시각화 실행 - Downloads 폴더에 실행별 폴더를 만들고 이미지와 결과 엑셀 저장
+     */
+    public VisualizationResult runVisualization(ExcelData excelData, double unitScale,
+                                                Consumer<ProgressInfo> progressCallback) throws IOException {
+        return runVisualization(excelData, unitScale, createOutputDirectory(), progressCallback);
+    }
+    
+    /**
+     * 시각화 실행 - 지정한 폴더에 이미지와 결과 엑셀 저장
+     */
+    public VisualizationResult runVisualization(ExcelData excelData, double unitScale, File outputDir,
+                                                Consumer<ProgressInfo> progressCallback) throws IOException {
+        if (excelData == null || !excelData.hasRequiredColumns() || excelData.getTable() == null) {
+            throw new IllegalArgumentException("유효하지 않은 엑셀 데이터입니다.");
+        }
+        
+        long startTime = System.currentTimeMillis();
+        Files.createDirectories(outputDir.toPath());
+        PointTable table = excelData.getTable();
+        
+        // 그래프 이미지 생성
+        progressCallback.accept(new ProgressInfo(20, "그래프 생성 중...", "Java 엔진으로 그래프 이미지를 생성합니다..."));
+        BufferedImage image = renderer.render(table, unitScale);
+        
+        // PNG는 한 번만 인코딩해서 파일 저장과 엑셀 삽입에 같이 사용
+        byte[] png = PngEncoder.encode(image);
+        File imageFile = new File(outputDir, IMAGE_FILE_NAME);
+        Files.write(imageFile.toPath(), png);
+        progressCallback.accept(new ProgressInfo(70, "이미지 생성 완료...", "그래프 이미지를 생성했습니다."));
+        
+        // 결과 엑셀 생성
+        File excelFile = new File(outputDir, EXCEL_FILE_NAME);
+        writeResultWorkbook(excelData, unitScale, png, excelFile);
+        progressCallback.accept(new ProgressInfo(90, "엑셀 파일 생성 완료...", "결과 엑셀 파일을 생성했습니다."));
+        
+        System.out.println("Saved image: " + imageFile.getAbsolutePath());
+        System.out.println("Saved excel: " + excelFile.getAbsolutePath());
+        System.out.println("Java 시각화 완료: " + table.size() + "개 포인트, "
+            + (System.currentTimeMillis() - startTime) + "ms");
+        
+        progressCallback.accept(new ProgressInfo(100, "완료!", "시각화가 완료되었습니다!"));
+        return new VisualizationResult(imageFile, excelFile, unitScale);
+    }
+    
+    /**
+     * 사용자 Downloads 폴더에 실행별 출력 폴더 경로 생성 (BuildingVisualizer_yyyyMMdd_HHmmss)
+     */
+    public File createOutputDirectory() {
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        File downloads = new File(System.getProperty("user.home"), "Downloads");
+        return new File(downloads, OUTPUT_DIR_PREFIX + timestamp);
+    }
+    
+    /**
+     * 배율을 적용한 좌표 데이터 시트와 그래프 이미지를 담은 결과 엑셀 저장 (SXSSF 스트리밍 쓰기)
+     */
+    void writeResultWorkbook(ExcelData excelData, double unitScale, byte[] png, File outputFile) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        try {
+            SXSSFSheet sheet = workbook.createSheet(SHEET_NAME);
+            PointTable table = excelData.getTable();
+            List<String> headers = excelData.getHeaders();
+            
+            // 헤더와 "시각화 결과" 제목 (데이터 컬럼과 겹치지 않도록 H열 또는 마지막 컬럼 다음 열)
+            int imageColumn = Math.max(IMAGE_COLUMN, headers.size() + 1);
+            Row headerRow = sheet.createRow(0);
+            for (int c = 0; c < headers.size(); c++) {
+                headerRow.createCell(c).setCellValue(headers.get(c));
+            }
+            headerRow.createCell(imageColumn).setCellValue("시각화 결과");
+            
+            // 데이터 작성 (좌표 컬럼은 배율을 곱한 숫자로 기록)
+            for (int r = 0; r < table.size(); r++) {
+                Row row = sheet.createRow(r + 1);
+                for (int c = 0; c < headers.size(); c++) {
+                    if (table.isNumericColumn(c)) {
+                        row.createCell(c).setCellValue(table.getDouble(r, c) * unitScale);
+                    } else {
+                        String text = table.getText(r, c);
+                        if (!text.isEmpty()) {
+                            Cell cell = row.createCell(c);
+                            cell.setCellValue(text);
+                        }
+                    }
+                }
+            }
+            
+            // 이미지 삽입 (기본 열 너비/행 높이 기준으로 400x300 픽셀이 되도록 앵커 계산)
+            int pictureIndex = workbook.addPicture(png, Workbook.PICTURE_TYPE_PNG);
+            Drawing<?> drawing = sheet.createDrawingPatriarch();
+            int columns = IMAGE_WIDTH / DEFAULT_COLUMN_PIXELS;
+            int rows = IMAGE_HEIGHT / DEFAULT_ROW_PIXELS;
+            ClientAnchor anchor = drawing.createAnchor(0, 0,
+                Units.pixelToEMU(IMAGE_WIDTH % DEFAULT_COLUMN_PIXELS), Units.pixelToEMU(IMAGE_HEIGHT % DEFAULT_ROW_PIXELS),
+                imageColumn, 1, imageColumn + columns, 1 + rows);
+            anchor.setAnchorType(ClientAnchor.AnchorType.MOVE_DONT_RESIZE);
+            drawing.createPicture(anchor, pictureIndex);
+            
+            try (OutputStream out = new FileOutputStream(outputFile)) {
+                workbook.write(out);
+            }
+        } finally {
+            // 임시 파일 삭제
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.visualizer.service;
+
+import com.example.visualizer.model.ExcelData;
+import com.example.visualizer.model.PointTable;
+import com.example.visualizer.model.VisualizationResult;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 시각화 결과 캐시 (메모리, LRU)
+ * 입력 데이터의 내용 해시 + 배율 + 엔진이 같으면 이전 실행의 결과 파일(이미지, 결과 엑셀)과
+ * 3D 뷰어에 표시한 포인트 데이터를 그대로 재사용한다.
+ * 항목 수와 포인트 데이터 크기 상한을 넘으면 가장 오래 사용하지 않은 항목부터 버린다.
+ * 결과 파일이 지워졌으면 적중으로 보지 않는다.
+ */
+public class ResultCache {
+    private static final int DEFAULT_MAX_ENTRIES = 16;
+    private static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+    // 포인트 하나의 메모리 크기 (x, y, z double + type int)
+    private static final int BYTES_PER_POINT = 28;
+    
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    
+    public ResultCache() {
+        this(Integer.getInteger("visualizer.resultCache.entries", DEFAULT_MAX_ENTRIES),
+             Long.getLong("visualizer.resultCache.maxBytes", DEFAULT_MAX_BYTES));
+    }
+    
+    public ResultCache(int maxEntries, long maxBytes) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxBytes = maxBytes;
+    }
+    
+    /**
+     * 캐시 키 (입력 내용 해시, 배율, 엔진)
+     */
+    public static final class Key {
+        private final long contentHash;
+        private final double unitScale;
+        private final String engine;
+        
+        private Key(long contentHash, double unitScale, String engine) {
+            this.contentHash = contentHash;
+            this.unitScale = unitScale;
+            this.engine = engine;
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return contentHash == key.contentHash && Double.compare(unitScale, key.unitScale) == 0
+                && engine.equals(key.engine);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(contentHash, unitScale, engine);
+        }
+    }
+    
+    /**
+     * 캐시 항목 - 결과 파일과 3D 뷰어에 표시한 포인트 (포인트는 표시 후에 채워짐)
+     */
+    public final class Entry {
+        private final VisualizationResult result;
+        private PointTable points;
+        // 캐시에 들어 있는 동안만 크기 계산에 포함
+        private boolean live;
+        
+        private Entry(VisualizationResult result) {
+            this.result = result;
+        }
+        
+        public VisualizationResult getResult() {
+            return result;
+        }
+        
+        public PointTable getPoints() {
+            synchronized (ResultCache.this) {
+                return points;
+            }
+        }
+        
+        /**
+         * 3D 뷰어에 표시한 포인트 보관 (입력 테이블 자체는 파일 감시로 바뀔 수 있으므로 넣지 않음)
+         */
+        public void setPoints(PointTable points) {
+            synchronized (ResultCache.this) {
+                if (live) {
+                    bytes += weight(points) - weight(this.points);
+                }
+                this.points = points;
+                if (live) {
+                    evict();
+                }
+            }
+        }
+    }
+    
+    /**
+     * 입력 데이터로 캐시 키 생성 (테이블을 바꾸는 스레드에서 호출 - 화면 앱은 EDT, 내용 해시는 테이블이 보관)
+     */
+    public static Key key(ExcelData excelData, double unitScale, String engine) {
+        return new Key(excelData.getTable().contentHash(), unitScale, engine);
+    }
+    
+    /**
+     * 캐시 조회 (결과 파일이 남아 있을 때만 적중)
+     */
+    public synchronized Entry get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && !(entry.result.getImageFile().isFile() && entry.result.getExcelFile().isFile())) {
+            remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry;
+    }
+    
+    /**
+     * 결과 저장
+     */
+    public synchronized Entry put(Key key, VisualizationResult result) {
+        remove(key);
+        Entry entry = new Entry(result);
+        entry.live = true;
+        entries.put(key, entry);
+        evict();
+        return entry;
+    }
+    
+    /**
+     * 적중/미스/제거 횟수와 현재 크기
+     */
+    public synchronized String getStats() {
+        return "적중 " + hits + ", 미스 " + misses + ", 제거 " + evictions
+            + ", 항목 " + entries.size() + "개, " + (bytes / 1024) + "KB";
+    }
+    
+    public synchronized long getHits() {
+        return hits;
+    }
+    
+    public synchronized long getMisses() {
+        return misses;
+    }
+    
+    private void remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            removed.live = false;
+            bytes -= weight(removed.points);
+        }
+    }
+    
+    private void evict() {
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            eldest.live = false;
+            bytes -= weight(eldest.points);
+            evictions++;
+        }
+    }
+    
+    private static long weight(PointTable points) {
+        return points != null ? (long) points.size() * BYTES_PER_POINT : 0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.visualizer.service;
+
+import com.example.visualizer.model.PointTable;
+
+import java.util.List;
+
+/**
+ * 행 단위 리더의 출력을 PointTable 배치로 묶어서 Sink에 전달하는 어댑터
+ * 행 수 또는 경과 시간 기준으로 배치를 넘기므로 느린 형식도 화면이 주기적으로 갱신된다.
+ */
+class RowBatcher implements StreamingExcelReader.RowListener {
+    private static final int BATCH_ROWS = 2000;
+    private static final long FLUSH_INTERVAL_NANOS = 100_000_000L;
+    
+    private final PointSource.Sink sink;
+    private List<String> headers;
+    private PointTable batch;
+    private long lastFlush = System.nanoTime();
+    
+    RowBatcher(PointSource.Sink sink) {
+        this.sink = sink;
+    }
+    
+    @Override
+    public void onHeaders(List<String> headers) {
+        this.headers = headers;
+        this.batch = new PointTable(headers, BATCH_ROWS);
+        sink.onHeaders(headers);
+    }
+    
+    @Override
+    public void onRowCountEstimate(int rowCount) {
+        sink.onRowCountEstimate(rowCount);
+    }
+    
+    @Override
+    public void onRow(List<Object> row) {
+        batch.addRow(row);
+        if (batch.size() >= BATCH_ROWS || System.nanoTime() - lastFlush >= FLUSH_INTERVAL_NANOS) {
+            flush();
+        }
+    }
+    
+    /**
+     * 남은 행을 Sink로 전달
+     */
+    void flush() {
+        lastFlush = System.nanoTime();
+        if (batch == null || batch.size() == 0) {
+            return;
+        }
+        PointTable full = batch;
+        batch = new PointTable(headers, BATCH_ROWS);
+        sink.onBatch(full);
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.visualizer.service;
+
+import com.example.visualizer.model.VisualizationResult;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시각화 실행 기록 색인
+ * 실행마다 입력 파일, 배율, 출력 폴더, 그래프 이미지, 결과 엑셀, 3D 포인트 파일을 기록하고
+ * (입력 파일, 배율)별 최신 실행을 메모리 맵으로 유지하므로 Downloads 폴더를 훑지 않고 바로 찾는다.
+ * 색인 파일은 한 줄에 실행 하나인 추가 전용 텍스트 파일이며, 처음 사용할 때 한 번만 읽는다.
+ * 보존 개수나 보존 기간을 넘은 실행은 색인에서 빼고, 정리된 줄이 쌓이면 색인 파일을 다시 쓴다.
+ * 출력 폴더는 사용자가 열어 보거나 고친 결과일 수 있으므로 visualizer.runs.deleteOutputs=true일 때만 함께 지운다.
+ */
+public class RunRegistry {
+    public static final String[] POINT_FILE_NAMES = {"3d_data.bvpt", "3d_data.json"};
+    private static final int DEFAULT_MAX_RUNS = 200;
+    private static final long DEFAULT_MAX_AGE_DAYS = 90;
+    private static final int FIELD_COUNT = 7;
+    
+    private final File indexFile;
+    private final int maxRuns;
+    private final long maxAgeMillis;
+    private final boolean deleteOutputs;
+    // 전체 실행 (오래된 순)과 (입력 파일, 배율)별 최신 실행
+    private final Deque<RunRecord> runs = new ArrayDeque<>();
+    private final Map<String, RunRecord> latest = new HashMap<>();
+    private int lineCount;
+    private boolean loaded;
+    
+    public RunRegistry() {
+        this(new File(System.getProperty("visualizer.runs.index",
+                System.getProperty("user.home") + File.separator + ".building-visualizer" + File.separator + "runs.idx")),
+             Integer.getInteger("visualizer.runs.keep", DEFAULT_MAX_RUNS),
+             Long.getLong("visualizer.runs.maxAgeDays", DEFAULT_MAX_AGE_DAYS),
+             Boolean.getBoolean("visualizer.runs.deleteOutputs"));
+    }
+    
+    public RunRegistry(File indexFile, int maxRuns, long maxAgeDays) {
+        this(indexFile, maxRuns, maxAgeDays, false);
+    }
+    
+    /**
+     * @param maxRuns 보존할 최대 실행 수
+     * @param maxAgeDays 보존 기간 (일)
+     * @param deleteOutputs 색인에서 뺀 실행의 출력 폴더도 삭제할지 여부
+     */
+    public RunRegistry(File indexFile, int maxRuns, long maxAgeDays, boolean deleteOutputs) {
+        this.indexFile = indexFile;
+        this.maxRuns = Math.max(1, maxRuns);
+        this.maxAgeMillis = TimeUnit.DAYS.toMillis(maxAgeDays);
+        this.deleteOutputs = deleteOutputs;
+    }
+    
+    /**
+     * 실행 1건의 결과 파일 경로
+     */
+    public static class RunRecord {
+        private final long timestamp;
+        private final String input;
+        private final double unitScale;
+        private final File outputDir;
+        private final File imageFile;
+        private final File excelFile;
+        private final File pointFile;
+        
+        RunRecord(long timestamp, String input, double unitScale, File outputDir,
+                  File imageFile, File excelFile, File pointFile) {
+            this.timestamp = timestamp;
+            this.input = input;
+            this.unitScale = unitScale;
+            this.outputDir = outputDir;
+            this.imageFile = imageFile;
+            this.excelFile = excelFile;
+            this.pointFile = pointFile;
+        }
+        
+        public long getTimestamp() {
+            return timestamp;
+        }
+        
+        public File getOutputDir() {
+            return outputDir;
+        }
+        
+        public File getImageFile() {
+            return imageFile;
+        }
+        
+        public File getExcelFile() {
+            return excelFile;
+        }
+        
+        /**
+         * visualize.py가 저장한 3D 포인트 파일 (HTTP로 전송했거나 Java 엔진 실행이면 null)
+         */
+        public File getPointFile() {
+            return pointFile;
+        }
+        
+        String key() {
+            return RunRegistry.key(input, unitScale);
+        }
+    }
+    
+    /**
+     * 시각화 결과 기록 (출력 폴더에 3D 포인트 파일이 있으면 함께 기록)
+     */
+    public synchronized RunRecord record(File input, VisualizationResult result) {
+        ensureLoaded();
+        File outputDir = result.getImageFile().getAbsoluteFile().getParentFile();
+        File pointFile = null;
+        for (String name : POINT_FILE_NAMES) {
+            File candidate = new File(outputDir, name);
+            if (candidate.isFile()) {
+                pointFile = candidate;
+                break;
+            }
+        }
+        RunRecord run = new RunRecord(System.currentTimeMillis(), input.getAbsolutePath(), result.getUnitScale(),
+            outputDir, result.getImageFile().getAbsoluteFile(), result.getExcelFile().getAbsoluteFile(), pointFile);
+        add(run);
+        
+        try {
+            Files.createDirectories(indexFile.getAbsoluteFile().getParentFile().toPath());
+            try (Writer writer = Files.newBufferedWriter(indexFile.toPath(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(format(run));
+            }
+            lineCount++;
+        } catch (IOException e) {
+            System.err.println("실행 기록 저장 실패: " + e.getMessage());
+        }
+        
+        prune();
+        return run;
+    }
+    
+    /**
+     * 입력 파일과 배율이 같은 가장 최근 실행 (없으면 null)
+     */
+    public synchronized RunRecord find(File input, double unitScale) {
+        ensureLoaded();
+        return latest.get(key(input.getAbsolutePath(), unitScale));
+    }
+    
+    private void add(RunRecord run) {
+        runs.addLast(run);
+        latest.put(run.key(), run);
+    }
+    
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!indexFile.isFile()) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(indexFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineCount++;
+                RunRecord run = parse(line);
+                if (run != null) {
+                    add(run);
+                }
+            }
+            System.out.println("실행 기록 로드: " + runs.size() + "건");
+        } catch (IOException e) {
+            System.err.println("실행 기록 읽기 실패: " + e.getMessage());
+        }
+        prune();
+    }
+    
+    /**
+     * 보존 개수/기간을 넘은 실행을 색인에서 정리
+     * 출력 폴더 삭제를 켰으면 폴더도 지운다 (다른 실행이 같은 폴더를 쓰고 있으면 남김).
+     */
+    private void prune() {
+        long cutoff = System.currentTimeMillis() - maxAgeMillis;
+        Deque<RunRecord> removed = new ArrayDeque<>();
+        while (!runs.isEmpty() && (runs.size() > maxRuns || runs.peekFirst().timestamp < cutoff)) {
+            RunRecord run = runs.removeFirst();
+            if (latest.get(run.key()) == run) {
+                latest.remove(run.key());
+            }
+            removed.add(run);
+        }
+        if (deleteOutputs && !removed.isEmpty()) {
+            Set<File> inUse = new HashSet<>();
+            for (RunRecord run : runs) {
+                inUse.add(run.outputDir);
+            }
+            for (RunRecord run : removed) {
+                if (!inUse.contains(run.outputDir)) {
+                    deleteOutput(run.outputDir);
+                }
+            }
+        }
+        
+        // 정리된 줄이 남은 실행 수만큼 쌓이면 색인 다시 쓰기
+        if (lineCount > 2 * runs.size() + 16) {
+            compact();
+        }
+    }
+    
+    private void compact() {
+        Path target = indexFile.toPath();
+        Path temp = target.resolveSibling(indexFile.getName() + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (RunRecord run : runs) {
+                    writer.write(format(run));
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            lineCount = runs.size();
+        } catch (IOException e) {
+            System.err.println("실행 기록 정리 실패: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 실행 출력 폴더 삭제 (BuildingVisualizer_ 폴더이고 하위 폴더가 없을 때만)
+     */
+    private static void deleteOutput(File outputDir) {
+        if (!outputDir.isDirectory() || !outputDir.getName().startsWith(RenderService.OUTPUT_DIR_PREFIX)) {
+            return;
+        }
+        File[] files = outputDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                return;
+            }
+        }
+        for (File file : files) {
+            if (!file.delete()) {
+                System.err.println("이전 실행 파일 삭제 실패: " + file.getAbsolutePath());
+                return;
+            }
+        }
+        if (outputDir.delete()) {
+            System.out.println("이전 실행 정리: " + outputDir.getAbsolutePath());
+        }
+    }
+    
+    private static String key(String input, double unitScale) {
+        return input + '\n' + unitScale;
+    }
+    
+    /**
+     * 한 줄 형식: 시각 \t 배율 \t 입력 파일 \t 출력 폴더 \t 이미지 \t 결과 엑셀 \t 포인트 파일(없으면 빈 값)
+     */
+    private static String format(RunRecord run) {
+        return run.timestamp + "\t" + run.unitScale + "\t" + escape(run.input)
+            + "\t" + escape(run.outputDir.getPath()) + "\t" + escape(run.imageFile.getPath())
+            + "\t" + escape(run.excelFile.getPath())
+            + "\t" + (run.pointFile != null ? escape(run.pointFile.getPath()) : "") + "\n";
+    }
+    
+    private static RunRecord parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != FIELD_COUNT) {
+            return null;
+        }
+        try {
+            return new RunRecord(Long.parseLong(fields[0]), unescape(fields[2]), Double.parseDouble(fields[1]),
+                new File(unescape(fields[3])), new File(unescape(fields[4])), new File(unescape(fields[5])),
+                fields[6].isEmpty() ? null : new File(unescape(fields[6])));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private static String escape(String text) {
+        return text.replace("%", "%25").replace("\t", "%09").replace("\n", "%0A").replace("\r", "%0D");
+    }
+    
+    private static String unescape(String text) {
+        return text.replace("%0D", "\r").replace("%0A", "\n").replace("%09", "\t").replace("%25", "%");
+    }
+}
@@ -0,0 +1,825 @@
+package com.example.visualizer.service;
+
+import com.example.visualizer.model.PointTable;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Java2D로 좌표 산점도 이미지를 그리는 클래스
+ * visualize.py(matplotlib)와 같은 구성으로 그린다. z 컬럼이 있으면 3D 투영(elev 25°, azim 45°),
+ * 없으면 X/Y 비율이 같은 2D 산점도이며 타입별 색상, 좌표 라벨, 눈금 간격, 범례 위치도 같다.
+ * 크기는 matplotlib 출력(150 DPI)과 같은 픽셀 기준을 사용한다.
+ */
+class ScatterPlotRenderer {
+    // matplotlib 출력 기준 (150 DPI, 1pt = 150/72 px)
+    private static final double PX_PER_POINT = 150.0 / 72.0;
+    private static final int WIDTH_2D = 1800;   // 12 x 10 인치
+    private static final int HEIGHT_2D = 1500;
+    private static final int WIDTH_3D = 2100;   // 14 x 10 인치
+    private static final int HEIGHT_3D = 1500;
+    private static final int MARGIN = 30;
+    private static final double MARKER_SIZE = 2 * Math.sqrt(20 / Math.PI) * PX_PER_POINT; // s=20 (pt²)
+    private static final double LABEL_OFFSET = 5 * PX_PER_POINT;
+    private static final double TICK_LENGTH = 3.5 * PX_PER_POINT;
+    private static final float LINE_WIDTH = (float) (0.8 * PX_PER_POINT);
+    private static final float POINT_ALPHA = 0.8f;
+    private static final int MAX_TICKS = 20;
+    private static final int LABEL_EVERY_3D = 5;
+    private static final double ELEVATION = Math.toRadians(25);
+    private static final double AZIMUTH = Math.toRadians(45);
+    
+    // visualize.py의 기본 색상 팔레트 (CAD 스타일에 적합한 색상들)
+    private static final Color[] BASE_COLORS = {
+        new Color(0x00008B), new Color(0x8B0000), new Color(0x006400), new Color(0xFF8C00), new Color(0x9400D3),
+        new Color(0x008B8B), new Color(0x8B008B), new Color(0xB8860B), new Color(0x556B2F), new Color(0x2F4F4F),
+        new Color(0x000080), new Color(0x800000), new Color(0x228B22), new Color(0xD2691E), new Color(0x4B0082)
+    };
+    private static final Color DEFAULT_COLOR = Color.BLUE;
+    private static final Color GRID_COLOR = new Color(176, 176, 176, 77);   // lightgray, alpha 0.3
+    private static final Color PANE_COLOR = new Color(242, 242, 242);
+    private static final Color PANE_EDGE_COLOR = new Color(204, 204, 204);
+    private static final Color TEXT_COLOR = new Color(0, 0, 0, 204);        // 좌표 라벨, alpha 0.8
+    
+    private static final String[] FONT_CANDIDATES = {"Malgun Gothic", "맑은 고딕", "NanumGothic", "Noto Sans CJK KR"};
+    
+    private final String fontFamily = findFontFamily();
+    
+    /**
+     * 테이블 좌표로 산점도 이미지 생성 (좌표는 unitScale을 곱해서 표시)
+     */
+    BufferedImage render(PointTable table, double unitScale) {
+        TypeGroups groups = new TypeGroups(table);
+        return table.hasZ() ? render3D(table, unitScale, groups) : render2D(table, unitScale, groups);
+    }
+    
+    /**
+     * 2D 산점도 (plt.axis("equal"), 모든 점에 좌표 라벨)
+     */
+    private BufferedImage render2D(PointTable table, double unitScale, TypeGroups groups) {
+        int n = table.size();
+        double[] xs = scaled(table.getXArray(), n, unitScale);
+        double[] ys = scaled(table.getYArray(), n, unitScale);
+        double[] xRange = range(xs, n);
+        double[] yRange = range(ys, n);
+        int[] xTicks = ticks(xRange[1]);
+        int[] yTicks = ticks(yRange[1]);
+        double[] xLim = limits(xRange, xTicks);
+        double[] yLim = limits(yRange, yTicks);
+        
+        Font titleFont = font(12);
+        Font labelFont = font(10);
+        Font tickFont = font(10);
+        Font pointFont = font(8);
+        
+        // 레이아웃 계산 (제목, 축 이름, 눈금 라벨 공간을 뺀 나머지가 그래프 영역)
+        Graphics2D measure = createGraphics(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB));
+        FontMetrics tickMetrics = measure.getFontMetrics(tickFont);
+        int maxYTickWidth = 0;
+        for (int tick : yTicks) {
+            maxYTickWidth = Math.max(maxYTickWidth, tickMetrics.stringWidth(Integer.toString(tick)));
+        }
+        int top = MARGIN + measure.getFontMetrics(titleFont).getHeight() + 12;
+        int bottom = HEIGHT_2D - MARGIN - measure.getFontMetrics(labelFont).getHeight() - tickMetrics.getHeight()
+            - (int) TICK_LENGTH - 16;
+        int left = MARGIN + measure.getFontMetrics(labelFont).getHeight() + maxYTickWidth + (int) TICK_LENGTH + 16;
+        int right = WIDTH_2D - MARGIN;
+        Legend legend = groups.hasLegend() ? new Legend(groups, font(10), measure) : null;
+        measure.dispose();
+        
+        double plotWidth = right - left;
+        double plotHeight = bottom - top;
+        
+        // X/Y 축 비율을 같게 맞추고 남는 방향의 범위를 넓힘
+        double scale = Math.min(plotWidth / (xLim[1] - xLim[0]), plotHeight / (yLim[1] - yLim[0]));
+        xLim = centered(xLim, plotWidth / scale);
+        yLim = centered(yLim, plotHeight / scale);
+        
+        // 범례는 그래프 오른쪽 바깥 (bbox_to_anchor=(1.05, 1))
+        int legendX = (int) (left + plotWidth * 1.05);
+        int width = legend != null ? Math.max(WIDTH_2D, legendX + legend.width + MARGIN) : WIDTH_2D;
+        BufferedImage image = new BufferedImage(width, HEIGHT_2D, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = createGraphics(image);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, HEIGHT_2D);
+        
+        double x0 = xLim[0];
+        double y0 = yLim[0];
+        Rectangle2D plot = new Rectangle2D.Double(left, top, plotWidth, plotHeight);
+        
+        // 격자
+        g.setStroke(new BasicStroke(LINE_WIDTH));
+        g.setColor(GRID_COLOR);
+        for (int tick : xTicks) {
+            if (tick >= xLim[0] && tick <= xLim[1]) {
+                double px = left + (tick - x0) * scale;
+                g.draw(new Line2D.Double(px, top, px, bottom));
+            }
+        }
+        for (int tick : yTicks) {
+            if (tick >= yLim[0] && tick <= yLim[1]) {
+                double py = bottom - (tick - y0) * scale;
+                g.draw(new Line2D.Double(left, py, right, py));
+            }
+        }
+        
+        // 타입별 점과 좌표 라벨 (타입 이름순, 그룹마다 점을 찍고 라벨을 씀)
+        g.setFont(pointFont);
+        for (int typeId : groups.order) {
+            BufferedImage marker = markerSprite(groups.colors[typeId]);
+            int half = marker.getWidth() / 2;
+            g.setClip(plot);
+            for (int k = groups.start[typeId]; k < groups.start[typeId + 1]; k++) {
+                int row = groups.rows[k];
+                if (Double.isNaN(xs[row]) || Double.isNaN(ys[row])) {
+                    continue;
+                }
+                g.drawImage(marker, (int) Math.round(left + (xs[row] - x0) * scale) - half,
+                    (int) Math.round(bottom - (ys[row] - y0) * scale) - half, null);
+            }
+            g.setClip(null);
+            
+            g.setColor(TEXT_COLOR);
+            for (int k = groups.start[typeId]; k < groups.start[typeId + 1]; k++) {
+                int row = groups.rows[k];
+                if (Double.isNaN(xs[row]) || Double.isNaN(ys[row])) {
+                    continue;
+                }
+                String text = "(" + coordinate(xs[row]) + "," + coordinate(ys[row]) + ")";
+                g.drawString(text, (float) (left + (xs[row] - x0) * scale + LABEL_OFFSET),
+                    (float) (bottom - (ys[row] - y0) * scale - LABEL_OFFSET));
+            }
+        }
+        
+        // 테두리와 눈금
+        g.setColor(Color.BLACK);
+        g.draw(plot);
+        g.setFont(tickFont);
+        for (int tick : xTicks) {
+            if (tick >= xLim[0] && tick <= xLim[1]) {
+                double px = left + (tick - x0) * scale;
+                g.draw(new Line2D.Double(px, bottom, px, bottom + TICK_LENGTH));
+                drawCentered(g, Integer.toString(tick), px, bottom + TICK_LENGTH + 4 + tickMetrics.getAscent());
+            }
+        }
+        for (int tick : yTicks) {
+            if (tick >= yLim[0] && tick <= yLim[1]) {
+                double py = bottom - (tick - y0) * scale;
+                g.draw(new Line2D.Double(left - TICK_LENGTH, py, left, py));
+                String text = Integer.toString(tick);
+                g.drawString(text, (float) (left - TICK_LENGTH - 6 - tickMetrics.stringWidth(text)),
+                    (float) (py + tickMetrics.getAscent() / 2.0 - 2));
+            }
+        }
+        
+        // 축 이름과 제목
+        g.setFont(labelFont);
+        drawCentered(g, "X 좌표", left + plotWidth / 2, HEIGHT_2D - MARGIN - g.getFontMetrics().getDescent());
+        AffineTransform saved = g.getTransform();
+        g.rotate(-Math.PI / 2, MARGIN + g.getFontMetrics().getAscent(), top + plotHeight / 2);
+        drawCentered(g, "Y 좌표", MARGIN + g.getFontMetrics().getAscent(), top + plotHeight / 2);
+        g.setTransform(saved);
+        g.setFont(titleFont);
+        drawCentered(g, "건물 평면 좌표 시각화", left + plotWidth / 2, MARGIN + g.getFontMetrics().getAscent());
+        
+        if (legend != null) {
+            legend.draw(g, legendX, top);
+        }
+        g.dispose();
+        return image;
+    }
+    
+    /**
+     * 3D 산점도 (정사영 투영, 5행마다 좌표 라벨)
+     */
+    private BufferedImage render3D(PointTable table, double unitScale, TypeGroups groups) {
+        int n = table.size();
+        double[] xs = scaled(table.getXArray(), n, unitScale);
+        double[] ys = scaled(table.getYArray(), n, unitScale);
+        double[] zs = scaled(table.getZArray(), n, unitScale);
+        double[] xRange = range(xs, n);
+        double[] yRange = range(ys, n);
+        double[] zRange = range(zs, n);
+        int[][] ticks = {ticks(xRange[1]), ticks(yRange[1]), ticks(zRange[1])};
+        
+        // 축 범위는 0부터 최댓값까지 (눈금이 모두 보이도록 확장)
+        double[][] lim = {
+            axisLimits(xRange, ticks[0]), axisLimits(yRange, ticks[1]), axisLimits(zRange, ticks[2])
+        };
+        
+        // X, Y는 1:1로 두고 Z만 건축 도면처럼 확대 (visualize.py의 set_box_aspect와 같은 계산)
+        double horizontal = Math.max(xRange[1], yRange[1]);
+        double zAspect = 1.0;
+        if (horizontal > 0 && zRange[1] > 0) {
+            double expansion = Math.max(3.0, Math.min(8.0, zRange[1] / (horizontal * 0.1)));
+            zAspect = zRange[1] / horizontal * expansion;
+        }
+        double boxScale = 1.0 / Math.max(1.0, zAspect);
+        double[] aspect = {boxScale, boxScale, Math.max(0.05, zAspect) * boxScale};
+        Projection projection = new Projection(lim, aspect);
+        
+        Font titleFont = font(12);
+        Font labelFont = font(10);
+        Font tickFont = font(10);
+        Font pointFont = font(6);
+        Graphics2D measure = createGraphics(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB));
+        int top = MARGIN + measure.getFontMetrics(titleFont).getHeight() + 12;
+        Legend legend = groups.hasLegend() ? new Legend(groups, font(10), measure) : null;
+        measure.dispose();
+        
+        // 상자 꼭짓점 투영 범위를 그래프 영역 가운데에 맞춤 (눈금/축 이름 공간은 여백으로 남김)
+        int areaLeft = MARGIN;
+        int areaWidth = WIDTH_3D - 2 * MARGIN;
+        int areaHeight = HEIGHT_3D - MARGIN - top;
+        projection.fit(areaLeft, top, areaWidth, areaHeight, 0.78);
+        
+        int legendX = (int) (areaLeft + areaWidth * 1.05);
+        int width = legend != null ? legendX + legend.width + MARGIN : WIDTH_3D;
+        BufferedImage image = new BufferedImage(width, HEIGHT_3D, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = createGraphics(image);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, HEIGHT_3D);
+        g.setStroke(new BasicStroke(LINE_WIDTH));
+        
+        // 시점 반대쪽 세 면(pane)과 격자
+        int[] back = projection.backSides();
+        for (int axis = 0; axis < 3; axis++) {
+            Shape pane = projection.pane(axis, back[axis]);
+            g.setColor(PANE_COLOR);
+            g.fill(pane);
+            g.setColor(PANE_EDGE_COLOR);
+            g.draw(pane);
+        }
+        g.setColor(GRID_COLOR);
+        for (int axis = 0; axis < 3; axis++) {
+            for (int tick : ticks[axis]) {
+                if (tick < lim[axis][0] || tick > lim[axis][1]) {
+                    continue;
+                }
+                for (int other = 0; other < 3; other++) {
+                    if (other != axis) {
+                        g.draw(projection.gridLine(axis, tick, other, back));
+                    }
+                }
+            }
+        }
+        
+        // 축 눈금과 이름 (X/Y는 바닥 앞쪽 모서리, Z는 화면 왼쪽 세로 모서리)
+        g.setColor(Color.BLACK);
+        String[] axisNames = {"X 좌표", "Y 좌표", "Z 좌표 (층)"};
+        for (int axis = 0; axis < 3; axis++) {
+            double[][] edge = projection.axisEdge(axis, back);
+            double[] start = projection.screen(edge[0]);
+            double[] end = projection.screen(edge[1]);
+            double[] direction = projection.outward(start, end);
+            g.draw(new Line2D.Double(start[0], start[1], end[0], end[1]));
+            
+            g.setFont(tickFont);
+            FontMetrics metrics = g.getFontMetrics();
+            int maxTickWidth = 0;
+            for (int tick : ticks[axis]) {
+                if (tick < lim[axis][0] || tick > lim[axis][1]) {
+                    continue;
+                }
+                double[] point = edge[0].clone();
+                point[axis] = tick;
+                double[] p = projection.screen(point);
+                g.draw(new Line2D.Double(p[0], p[1], p[0] + direction[0] * TICK_LENGTH, p[1] + direction[1] * TICK_LENGTH));
+                String text = Integer.toString(tick);
+                int textWidth = metrics.stringWidth(text);
+                maxTickWidth = Math.max(maxTickWidth, textWidth);
+                double distance = TICK_LENGTH + 8 + extent(direction, textWidth, metrics.getAscent());
+                drawCentered(g, text, p[0] + direction[0] * distance,
+                    p[1] + direction[1] * distance + metrics.getAscent() / 2.0 - 2);
+            }
+            
+            // 축 이름은 가장 긴 눈금 라벨 바깥쪽
+            g.setFont(labelFont);
+            FontMetrics labelMetrics = g.getFontMetrics();
+            double distance = TICK_LENGTH + 24 + 2 * extent(direction, maxTickWidth, metrics.getAscent())
+                + extent(direction, labelMetrics.stringWidth(axisNames[axis]), labelMetrics.getAscent());
+            drawCentered(g, axisNames[axis], (start[0] + end[0]) / 2 + direction[0] * distance,
+                (start[1] + end[1]) / 2 + direction[1] * distance + labelMetrics.getAscent() / 2.0);
+        }
+        
+        // 점은 먼 것부터 그림 (앞쪽 점이 뒤쪽 점을 가림)
+        int[] order = projection.depthOrder(xs, ys, zs, n);
+        BufferedImage[] markers = new BufferedImage[groups.colors.length];
+        for (int i = 0; i < markers.length; i++) {
+            markers[i] = markerSprite(groups.colors[i]);
+        }
+        int half = markers[0].getWidth() / 2;
+        int[] typeIds = table.getTypeIdArray();
+        double[] point = new double[3];
+        for (int row : order) {
+            point[0] = xs[row];
+            point[1] = ys[row];
+            point[2] = zs[row];
+            double[] p = projection.screen(point);
+            g.drawImage(markers[groups.hasLegend() ? typeIds[row] : 0],
+                (int) Math.round(p[0]) - half, (int) Math.round(p[1]) - half, null);
+        }
+        
+        g.setFont(pointFont);
+        g.setColor(TEXT_COLOR);
+        for (int row = 0; row < n; row += LABEL_EVERY_3D) {
+            if (Double.isNaN(xs[row]) || Double.isNaN(ys[row]) || Double.isNaN(zs[row])) {
+                continue;
+            }
+            point[0] = xs[row];
+            point[1] = ys[row];
+            point[2] = zs[row];
+            double[] p = projection.screen(point);
+            g.drawString("(" + coordinate(xs[row]) + "," + coordinate(ys[row]) + "," + coordinate(zs[row]) + ")",
+                (float) p[0], (float) p[1]);
+        }
+        
+        g.setColor(Color.BLACK);
+        g.setFont(titleFont);
+        drawCentered(g, "건물 3D 좌표 시각화", areaLeft + areaWidth / 2.0, MARGIN + g.getFontMetrics().getAscent());
+        
+        if (legend != null) {
+            legend.draw(g, legendX, top);
+        }
+        g.dispose();
+        return image;
+    }
+    
+    /**
+     * 눈금 위치 (데이터 최댓값 기준 최대 20개, 간격은 정수) - visualize.py와 같은 규칙
+     */
+    static int[] ticks(double max) {
+        if (Double.isNaN(max) || Double.isInfinite(max)) {
+            return new int[0];
+        }
+        int step = Math.max(1, (int) (max / MAX_TICKS));
+        long end = (long) max + step;
+        if (end <= 0) {
+            return new int[0];
+        }
+        int[] ticks = new int[(int) ((end - 1) / step) + 1];
+        for (int i = 0; i < ticks.length; i++) {
+            ticks[i] = i * step;
+        }
+        return ticks;
+    }
+    
+    /**
+     * 좌표 라벨 숫자 형식 (소수점 없이 반올림, Python의 f"{v:.0f}"와 같은 짝수 반올림)
+     */
+    static String coordinate(double value) {
+        if (Double.isNaN(value)) {
+            return "nan";
+        }
+        return Long.toString((long) Math.rint(value));
+    }
+    
+    /**
+     * 가운데 정렬한 글자 상자가 direction 방향으로 차지하는 반 길이 (라벨이 모서리와 겹치지 않게 띄울 거리)
+     */
+    private static double extent(double[] direction, double width, double height) {
+        return Math.abs(direction[0]) * width / 2 + Math.abs(direction[1]) * height / 2;
+    }
+    
+    private static double[] scaled(double[] values, int count, double unitScale) {
+        double[] result = new double[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = values[i] * unitScale;
+        }
+        return result;
+    }
+    
+    /**
+     * NaN을 제외한 최솟값/최댓값 (값이 없으면 0~0)
+     */
+    private static double[] range(double[] values, int count) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            double value = values[i];
+            if (value < min) {
+                min = value;
+            }
+            if (value > max) {
+                max = value;
+            }
+        }
+        return min <= max ? new double[] {min, max} : new double[] {0, 0};
+    }
+    
+    /**
+     * 2D 축 범위 - 데이터 범위에 5% 여백을 두고, 지정한 눈금이 모두 보이도록 확장
+     */
+    private static double[] limits(double[] range, int[] ticks) {
+        double margin = range[1] > range[0] ? (range[1] - range[0]) * 0.05 : 0.5;
+        double low = range[0] - margin;
+        double high = range[1] + margin;
+        if (ticks.length > 0) {
+            low = Math.min(low, ticks[0]);
+            high = Math.max(high, ticks[ticks.length - 1]);
+        }
+        return new double[] {low, high};
+    }
+    
+    /**
+     * 3D 축 범위 - 0부터 최댓값까지, 지정한 눈금이 모두 보이도록 확장
+     */
+    private static double[] axisLimits(double[] range, int[] ticks) {
+        double low = Math.min(0, range[0]);
+        double high = range[1];
+        if (ticks.length > 0) {
+            high = Math.max(high, ticks[ticks.length - 1]);
+        }
+        return new double[] {low, high > low ? high : low + 1};
+    }
+    
+    private static double[] centered(double[] limits, double span) {
+        double middle = (limits[0] + limits[1]) / 2;
+        return new double[] {middle - span / 2, middle + span / 2};
+    }
+    
+    private Font font(double points) {
+        return new Font(fontFamily, Font.PLAIN, (int) Math.round(points * PX_PER_POINT));
+    }
+    
+    /**
+     * 한글을 표시할 수 있는 글꼴 선택 (없으면 기본 산세리프)
+     */
+    private static String findFontFamily() {
+        for (String name : FONT_CANDIDATES) {
+            Font font = new Font(name, Font.PLAIN, 12);
+            if (!Font.DIALOG.equals(font.getFamily()) && font.canDisplay('좌')) {
+                return name;
+            }
+        }
+        return Font.SANS_SERIF;
+    }
+    
+    /**
+     * 점 마커 이미지 (안티앨리어싱된 원을 한 번만 그려 두고 점마다 복사 - 점마다 도형을 채우는 것보다 빠름)
+     */
+    private static BufferedImage markerSprite(Color color) {
+        int size = (int) Math.ceil(MARKER_SIZE) + 2;
+        BufferedImage sprite = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = createGraphics(sprite);
+        g.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (POINT_ALPHA * 255)));
+        double offset = (size - MARKER_SIZE) / 2;
+        g.fill(new Ellipse2D.Double(offset, offset, MARKER_SIZE, MARKER_SIZE));
+        g.dispose();
+        return sprite;
+    }
+    
+    private static Graphics2D createGraphics(BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        return g;
+    }
+    
+    private static void drawCentered(Graphics2D g, String text, double centerX, double baseline) {
+        g.drawString(text, (float) (centerX - g.getFontMetrics().stringWidth(text) / 2.0), (float) baseline);
+    }
+    
+    /**
+     * 타입별 행 묶음 (그리기/범례 순서는 타입 이름순, 색상은 처음 등장한 순서 - pandas groupby/unique와 같음)
+     */
+    private static final class TypeGroups {
+        final List<String> names;
+        final int[] order;
+        final int[] start;
+        final int[] rows;
+        final Color[] colors;
+        final boolean typed;
+        
+        TypeGroups(PointTable table) {
+            int n = table.size();
+            typed = table.hasType();
+            names = table.hasType() ? table.getTypeDictionary() : List.of(PointTable.DEFAULT_TYPE);
+            int typeCount = names.size();
+            int[] typeIds = table.getTypeIdArray();
+            
+            // 타입별 행 수와 처음 등장한 순서
+            int[] counts = new int[typeCount];
+            int[] appearance = new int[typeCount];
+            Arrays.fill(appearance, -1);
+            int seen = 0;
+            for (int i = 0; i < n; i++) {
+                int typeId = table.hasType() ? typeIds[i] : 0;
+                if (counts[typeId]++ == 0) {
+                    appearance[typeId] = seen++;
+                }
+            }
+            
+            // typeId별로 행 인덱스를 묶음 (계수 정렬)
+            start = new int[typeCount + 1];
+            for (int t = 0; t < typeCount; t++) {
+                start[t + 1] = start[t] + counts[t];
+            }
+            rows = new int[n];
+            int[] next = Arrays.copyOf(start, typeCount);
+            for (int i = 0; i < n; i++) {
+                rows[next[table.hasType() ? typeIds[i] : 0]++] = i;
+            }
+            
+            colors = new Color[typeCount];
+            List<Integer> present = new ArrayList<>();
+            for (int t = 0; t < typeCount; t++) {
+                colors[t] = table.hasType() ? colorFor(Math.max(0, appearance[t])) : DEFAULT_COLOR;
+                if (counts[t] > 0) {
+                    present.add(t);
+                }
+            }
+            present.sort((a, b) -> names.get(a).compareTo(names.get(b)));
+            order = present.stream().mapToInt(Integer::intValue).toArray();
+        }
+        
+        /**
+         * type 컬럼이 있을 때만 범례 표시
+         */
+        boolean hasLegend() {
+            return typed;
+        }
+        
+        /**
+         * 팔레트를 넘는 타입은 HSV 색상환에서 황금각 간격으로 생성
+         */
+        private static Color colorFor(int index) {
+            if (index < BASE_COLORS.length) {
+                return BASE_COLORS[index];
+            }
+            float hue = (float) (((index * 137.5) % 360) / 360);
+            return new Color(Color.HSBtoRGB(hue, 0.7f, 0.8f));
+        }
+    }
+    
+    /**
+     * 타입 범례 (matplotlib legend와 같은 배치: 마커 + 타입 이름)
+     */
+    private static final class Legend {
+        private final TypeGroups groups;
+        private final Font font;
+        private final int rowHeight;
+        private final int padding;
+        final int width;
+        final int height;
+        
+        Legend(TypeGroups groups, Font font, Graphics2D measure) {
+            this.groups = groups;
+            this.font = font;
+            FontMetrics metrics = measure.getFontMetrics(font);
+            this.rowHeight = metrics.getHeight() + 6;
+            this.padding = 12;
+            int textWidth = 0;
+            for (int typeId : groups.order) {
+                textWidth = Math.max(textWidth, metrics.stringWidth(groups.names.get(typeId)));
+            }
+            this.width = padding * 3 + (int) MARKER_SIZE + textWidth;
+            this.height = padding * 2 + rowHeight * groups.order.length;
+        }
+        
+        void draw(Graphics2D g, int x, int y) {
+            g.setColor(new Color(255, 255, 255, 204));
+            g.fillRoundRect(x, y, width, height, 8, 8);
+            g.setColor(PANE_EDGE_COLOR);
+            g.drawRoundRect(x, y, width, height, 8, 8);
+            
+            g.setFont(font);
+            FontMetrics metrics = g.getFontMetrics();
+            int rowY = y + padding;
+            for (int typeId : groups.order) {
+                Color color = groups.colors[typeId];
+                g.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (POINT_ALPHA * 255)));
+                double centerY = rowY + rowHeight / 2.0;
+                g.fill(new Ellipse2D.Double(x + padding, centerY - MARKER_SIZE / 2, MARKER_SIZE, MARKER_SIZE));
+                g.setColor(Color.BLACK);
+                g.drawString(groups.names.get(typeId), (float) (x + padding * 2 + MARKER_SIZE),
+                    (float) (centerY + metrics.getAscent() / 2.0 - 2));
+                rowY += rowHeight;
+            }
+        }
+    }
+    
+    /**
+     * 3D 좌표를 화면 좌표로 바꾸는 정사영 투영 (matplotlib view_init(elev, azim)과 같은 시점)
+     */
+    private static final class Projection {
+        private final double[][] lim;
+        private final double[] aspect;
+        private final double[] right = {-Math.sin(AZIMUTH), Math.cos(AZIMUTH), 0};
+        private final double[] up = {
+            -Math.sin(ELEVATION) * Math.cos(AZIMUTH), -Math.sin(ELEVATION) * Math.sin(AZIMUTH), Math.cos(ELEVATION)
+        };
+        private final double[] eye = {
+            Math.cos(ELEVATION) * Math.cos(AZIMUTH), Math.cos(ELEVATION) * Math.sin(AZIMUTH), Math.sin(ELEVATION)
+        };
+        private double scale = 1;
+        private double offsetX;
+        private double offsetY;
+        
+        Projection(double[][] lim, double[] aspect) {
+            this.lim = lim;
+            this.aspect = aspect;
+        }
+        
+        /**
+         * 상자 꼭짓점이 영역 안에 들어오도록 배율과 위치 결정
+         * @param fill 영역 중 상자가 차지할 비율 (나머지는 눈금/축 이름 공간)
+         */
+        void fit(double left, double top, double width, double height, double fill) {
+            double minX = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int corner = 0; corner < 8; corner++) {
+                double[] b = box(new double[] {
+                    lim[0][corner & 1], lim[1][(corner >> 1) & 1], lim[2][(corner >> 2) & 1]
+                });
+                double sx = dot(b, right);
+                double sy = dot(b, up);
+                minX = Math.min(minX, sx);
+                maxX = Math.max(maxX, sx);
+                minY = Math.min(minY, sy);
+                maxY = Math.max(maxY, sy);
+            }
+            scale = Math.min(width / (maxX - minX), height / (maxY - minY)) * fill;
+            offsetX = left + width / 2 - (minX + maxX) / 2 * scale;
+            offsetY = top + height / 2 + (minY + maxY) / 2 * scale;
+        }
+        
+        /**
+         * 데이터 좌표의 화면 위치
+         */
+        double[] screen(double[] point) {
+            double[] b = box(point);
+            return new double[] {offsetX + dot(b, right) * scale, offsetY - dot(b, up) * scale};
+        }
+        
+        /**
+         * 축별로 시점 반대쪽 면의 인덱스 (0: 최솟값 쪽, 1: 최댓값 쪽)
+         */
+        int[] backSides() {
+            return new int[] {eye[0] > 0 ? 0 : 1, eye[1] > 0 ? 0 : 1, eye[2] > 0 ? 0 : 1};
+        }
+        
+        /**
+         * axis 축에 수직인 면 (side 쪽)
+         */
+        Shape pane(int axis, int side) {
+            int a = (axis + 1) % 3;
+            int b = (axis + 2) % 3;
+            Path2D.Double path = new Path2D.Double();
+            int[][] corners = {{0, 0}, {1, 0}, {1, 1}, {0, 1}};
+            for (int i = 0; i < corners.length; i++) {
+                double[] point = new double[3];
+                point[axis] = lim[axis][side];
+                point[a] = lim[a][corners[i][0]];
+                point[b] = lim[b][corners[i][1]];
+                double[] p = screen(point);
+                if (i == 0) {
+                    path.moveTo(p[0], p[1]);
+                } else {
+                    path.lineTo(p[0], p[1]);
+                }
+            }
+            path.closePath();
+            return path;
+        }
+        
+        /**
+         * axis 축의 눈금 값 위치를 지나는 격자선 (pane 축에 수직인 면 위)
+         */
+        Shape gridLine(int axis, double value, int pane, int[] back) {
+            int along = 3 - axis - pane;
+            double[] from = new double[3];
+            double[] to = new double[3];
+            from[axis] = value;
+            to[axis] = value;
+            from[pane] = lim[pane][back[pane]];
+            to[pane] = lim[pane][back[pane]];
+            from[along] = lim[along][0];
+            to[along] = lim[along][1];
+            double[] p = screen(from);
+            double[] q = screen(to);
+            return new Line2D.Double(p[0], p[1], q[0], q[1]);
+        }
+        
+        /**
+         * 눈금을 표시할 모서리 (X/Y는 바닥의 앞쪽 모서리, Z는 화면 왼쪽에 있는 세로 모서리)
+         */
+        double[][] axisEdge(int axis, int[] back) {
+            double[] from = new double[3];
+            double[] to = new double[3];
+            from[axis] = lim[axis][0];
+            to[axis] = lim[axis][1];
+            if (axis < 2) {
+                int other = 1 - axis;
+                from[other] = lim[other][1 - back[other]];
+                from[2] = lim[2][back[2]];
+            } else {
+                double leftmost = Double.POSITIVE_INFINITY;
+                for (int corner = 0; corner < 4; corner++) {
+                    double[] candidate = {lim[0][corner & 1], lim[1][(corner >> 1) & 1], lim[2][0]};
+                    double sx = screen(candidate)[0];
+                    if (sx < leftmost) {
+                        leftmost = sx;
+                        from[0] = candidate[0];
+                        from[1] = candidate[1];
+                    }
+                }
+            }
+            for (int i = 0; i < 3; i++) {
+                if (i != axis) {
+                    to[i] = from[i];
+                }
+            }
+            return new double[][] {from, to};
+        }
+        
+        /**
+         * 모서리에서 상자 바깥쪽으로 향하는 화면 방향 (눈금 라벨 위치용)
+         */
+        double[] outward(double[] start, double[] end) {
+            double[] center = screen(new double[] {
+                (lim[0][0] + lim[0][1]) / 2, (lim[1][0] + lim[1][1]) / 2, (lim[2][0] + lim[2][1]) / 2
+            });
+            double dx = (start[0] + end[0]) / 2 - center[0];
+            double dy = (start[1] + end[1]) / 2 - center[1];
+            // 모서리 방향 성분을 빼서 모서리에 수직인 방향만 남김
+            double ex = end[0] - start[0];
+            double ey = end[1] - start[1];
+            double edgeLength = Math.hypot(ex, ey);
+            if (edgeLength > 0) {
+                double along = (dx * ex + dy * ey) / (edgeLength * edgeLength);
+                dx -= along * ex;
+                dy -= along * ey;
+            }
+            double length = Math.hypot(dx, dy);
+            return length > 0 ? new double[] {dx / length, dy / length} : new double[] {0, 1};
+        }
+        
+        /**
+         * 먼 점부터 가까운 점 순서의 행 인덱스 (NaN 좌표 제외)
+         * 깊이를 32비트로 양자화해서 행 인덱스와 함께 long 하나로 정렬한다.
+         */
+        int[] depthOrder(double[] xs, double[] ys, double[] zs, int count) {
+            double[] depth = new double[count];
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double[] point = new double[3];
+            for (int i = 0; i < count; i++) {
+                point[0] = xs[i];
+                point[1] = ys[i];
+                point[2] = zs[i];
+                depth[i] = dot(box(point), eye);
+                min = Math.min(min, depth[i]);
+                max = Math.max(max, depth[i]);
+            }
+            double range = max > min ? max - min : 1;
+            long[] keys = new long[count];
+            int valid = 0;
+            for (int i = 0; i < count; i++) {
+                if (Double.isNaN(depth[i])) {
+                    continue;
+                }
+                long quantized = (long) ((depth[i] - min) / range * Integer.MAX_VALUE);
+                keys[valid++] = (quantized << 32) | i;
+            }
+            Arrays.sort(keys, 0, valid);
+            int[] order = new int[valid];
+            for (int i = 0; i < valid; i++) {
+                order[i] = (int) keys[i];
+            }
+            return order;
+        }
+        
+        /**
+         * 데이터 좌표를 가운데가 원점인 상자 좌표로 변환 (box aspect 반영)
+         */
+        private double[] box(double[] point) {
+            double[] b = new double[3];
+            for (int i = 0; i < 3; i++) {
+                b[i] = ((point[i] - lim[i][0]) / (lim[i][1] - lim[i][0]) - 0.5) * aspect[i];
+            }
+            return b;
+        }
+        
+        private static double dot(double[] a, double[] b) {
+            return a[0] * b[0] + a[1] * b[1] + a[2] * b[2];
+        }
+    }
+}
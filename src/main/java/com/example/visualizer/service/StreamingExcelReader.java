@@ -0,0 +1,373 @@
+package com.example.visualizer.service;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.LocaleUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * XSSF 이벤트 API(SAX) 기반 엑셀 스트리밍 리더
+ * 워크북 전체를 DOM으로 올리지 않고 첫 번째 시트를 행 단위로 읽어서 전달한다.
+ * 파싱 중 메모리는 파일 크기가 아니라 한 행의 너비에 비례한다.
+ * 수식 셀은 파일에 저장된 결과 값을 쓰며, 결과가 없거나 전체 재계산이 지정된 파일의
+ * 수식 셀만 FormulaCellEvaluator로 계산한다 (이때만 워크북 DOM을 연다).
+ */
+public class StreamingExcelReader {
+    
+    /**
+     * 파싱된 헤더와 행을 전달받는 리스너
+     */
+    public interface RowListener {
+        /**
+         * 헤더 행 수신 (데이터 행보다 항상 먼저 한 번 호출됨)
+         */
+        void onHeaders(List<String> headers);
+        
+        /**
+         * 데이터 행 수신 (헤더 개수만큼의 셀 값)
+         */
+        void onRow(List<Object> row);
+        
+        /**
+         * 시트의 dimension 정보로 추정한 데이터 행 수 (정보가 없으면 호출되지 않음)
+         */
+        default void onRowCountEstimate(int rowCount) {
+        }
+    }
+    
+    /**
+     * 첫 번째 시트를 스트리밍으로 읽어서 리스너에 전달
+     */
+    public void read(File file, RowListener listener) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+            WorkbookSettings settings = readWorkbookSettings(reader);
+            
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                listener.onHeaders(new ArrayList<>());
+                return;
+            }
+            
+            // 계산용 워크북은 같은 패키지에서 필요할 때만 열고, 패키지와 함께 닫힘
+            try (InputStream sheet = sheets.next();
+                 FormulaCellEvaluator formulas = new FormulaCellEvaluator(() -> new XSSFWorkbook(pkg), false)) {
+                SheetHandler handler = new SheetHandler(sharedStrings, styles, settings, formulas, listener);
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(handler);
+                parser.parse(new InputSource(sheet));
+                handler.finish();
+                if (formulas.getEvaluatedCount() > 0) {
+                    System.out.println("수식 셀 계산: " + formulas.getEvaluatedCount() + "개 (캐시 값 없음/재계산 필요)");
+                }
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("엑셀 파일 스트리밍 읽기 실패: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * workbook.xml의 설정 (1904 날짜 체계, 열 때 전체 재계산 여부)
+     */
+    private static class WorkbookSettings {
+        private boolean date1904;
+        private boolean fullCalcOnLoad;
+    }
+    
+    /**
+     * workbook.xml에서 workbookPr/calcPr 설정 읽기
+     */
+    private WorkbookSettings readWorkbookSettings(XSSFReader reader) throws IOException, OpenXML4JException,
+            SAXException, ParserConfigurationException {
+        WorkbookSettings settings = new WorkbookSettings();
+        try (InputStream workbook = reader.getWorkbookData()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if ("workbookPr".equals(localName)) {
+                        settings.date1904 = isTrue(attributes.getValue("date1904"));
+                    } else if ("calcPr".equals(localName)) {
+                        // 저장된 수식 결과를 믿을 수 없다는 표시 (POI가 재계산 강제로 저장한 파일 등)
+                        settings.fullCalcOnLoad = isTrue(attributes.getValue("fullCalcOnLoad"));
+                    }
+                }
+            });
+            parser.parse(new InputSource(workbook));
+        }
+        return settings;
+    }
+    
+    private static boolean isTrue(String value) {
+        return "1".equals(value) || "true".equalsIgnoreCase(value);
+    }
+    
+    /**
+     * 시트 XML SAX 핸들러
+     * 셀 값은 DOM 경로(ExcelService.readExcelFile)와 동일한 문자열로 변환한다.
+     */
+    private static class SheetHandler extends DefaultHandler {
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final StylesTable styles;
+        private final boolean date1904;
+        private final boolean recalculateAll;
+        private final FormulaCellEvaluator formulas;
+        private final RowListener listener;
+        private final DateFormat dateFormat;
+        
+        private List<String> headers;
+        private Object[] rowValues;
+        private List<String> headerValues;
+        private int rowIndex = -1;
+        private int nextColumn;
+        
+        // 현재 셀 상태
+        private int column;
+        private String cellType;
+        private String cellStyle;
+        private boolean hasFormula;
+        private final StringBuilder value = new StringBuilder();
+        private final StringBuilder formula = new StringBuilder();
+        private final StringBuilder inlineText = new StringBuilder();
+        private boolean inValue;
+        private boolean inFormula;
+        private boolean inInlineText;
+        private boolean inPhonetic;
+        
+        SheetHandler(ReadOnlySharedStringsTable sharedStrings, StylesTable styles, WorkbookSettings settings,
+                     FormulaCellEvaluator formulas, RowListener listener) {
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.date1904 = settings.date1904;
+            this.recalculateAll = settings.fullCalcOnLoad;
+            this.formulas = formulas;
+            this.listener = listener;
+            this.dateFormat = new SimpleDateFormat("dd-MMM-yyyy", LocaleUtil.getUserLocale());
+            this.dateFormat.setTimeZone(LocaleUtil.getUserTimeZone());
+        }
+        
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "dimension":
+                    estimateRowCount(attributes.getValue("ref"));
+                    break;
+                case "row":
+                    startRow(attributes.getValue("r"));
+                    break;
+                case "c":
+                    startCell(attributes);
+                    break;
+                case "v":
+                    inValue = true;
+                    value.setLength(0);
+                    break;
+                case "f":
+                    hasFormula = true;
+                    inFormula = true;
+                    break;
+                case "rPh":
+                    inPhonetic = true;
+                    break;
+                case "t":
+                    inInlineText = "inlineStr".equals(cellType) && !inPhonetic;
+                    break;
+                default:
+                    break;
+            }
+        }
+        
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "row":
+                    endRow();
+                    break;
+                case "c":
+                    endCell();
+                    break;
+                case "v":
+                    inValue = false;
+                    break;
+                case "f":
+                    inFormula = false;
+                    break;
+                case "rPh":
+                    inPhonetic = false;
+                    break;
+                case "t":
+                    inInlineText = false;
+                    break;
+                default:
+                    break;
+            }
+        }
+        
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                value.append(ch, start, length);
+            } else if (inFormula) {
+                formula.append(ch, start, length);
+            } else if (inInlineText) {
+                inlineText.append(ch, start, length);
+            }
+        }
+        
+        private void estimateRowCount(String ref) {
+            if (ref == null || ref.isEmpty()) {
+                return;
+            }
+            try {
+                String last = ref.substring(ref.indexOf(':') + 1);
+                int lastRow = new CellReference(last).getRow();
+                listener.onRowCountEstimate(Math.max(0, lastRow));
+            } catch (RuntimeException e) {
+                // 잘못된 dimension은 무시 (진행률만 표시하지 않음)
+            }
+        }
+        
+        private void startRow(String ref) {
+            rowIndex = ref != null ? Integer.parseInt(ref) - 1 : rowIndex + 1;
+            nextColumn = 0;
+            
+            if (rowIndex == 0) {
+                headerValues = new ArrayList<>();
+                return;
+            }
+            
+            // 헤더 행이 없는 시트는 빈 헤더로 처리 (DOM 경로와 동일)
+            ensureHeaders();
+            rowValues = new Object[headers.size()];
+            Arrays.fill(rowValues, "");
+        }
+        
+        private void endRow() {
+            if (rowIndex == 0) {
+                headers = headerValues;
+                headerValues = null;
+                listener.onHeaders(headers);
+                return;
+            }
+            
+            listener.onRow(new ArrayList<>(Arrays.asList(rowValues)));
+            rowValues = null;
+        }
+        
+        private void startCell(Attributes attributes) {
+            String ref = attributes.getValue("r");
+            column = ref != null ? new CellReference(ref).getCol() : nextColumn;
+            nextColumn = column + 1;
+            cellType = attributes.getValue("t");
+            cellStyle = attributes.getValue("s");
+            hasFormula = false;
+            value.setLength(0);
+            formula.setLength(0);
+            inlineText.setLength(0);
+        }
+        
+        private void endCell() {
+            String text = formatCell();
+            if (rowIndex == 0) {
+                // DOM 경로는 헤더 행의 셀을 순서대로 모으므로 열 인덱스는 무시
+                headerValues.add(text);
+            } else if (column < rowValues.length) {
+                rowValues[column] = text;
+            }
+        }
+        
+        /**
+         * XSSFCell.toString()과 동일한 규칙으로 셀 값을 문자열로 변환 (수식 셀은 결과 값)
+         */
+        private String formatCell() {
+            // 수식 셀은 저장된 결과(<v>)를 우선 사용하고, 결과가 없거나 재계산이 필요한 셀만 계산
+            if (hasFormula && (value.length() == 0 || recalculateAll)) {
+                String evaluated = formulas.evaluate(0, rowIndex, column);
+                if (evaluated != null) {
+                    return evaluated;
+                }
+                if (value.length() == 0) {
+                    // 계산할 수 없으면 기존처럼 수식 텍스트
+                    return formula.toString();
+                }
+            }
+            
+            if ("s".equals(cellType)) {
+                if (value.length() == 0) {
+                    return "";
+                }
+                int index = Integer.parseInt(value.toString().trim());
+                return sharedStrings.getItemAt(index).getString();
+            }
+            if ("inlineStr".equals(cellType)) {
+                return inlineText.toString();
+            }
+            if ("str".equals(cellType) || "e".equals(cellType)) {
+                return value.toString();
+            }
+            if ("b".equals(cellType)) {
+                return "1".equals(value.toString().trim()) ? "TRUE" : "FALSE";
+            }
+            
+            // 숫자 셀
+            if (value.length() == 0) {
+                return "";
+            }
+            double number = Double.parseDouble(value.toString().trim());
+            if (isDateFormatted(number)) {
+                return dateFormat.format(DateUtil.getJavaDate(number, date1904));
+            }
+            return Double.toString(number);
+        }
+        
+        private boolean isDateFormatted(double number) {
+            if (cellStyle == null || styles == null || !DateUtil.isValidExcelDate(number)) {
+                return false;
+            }
+            XSSFCellStyle style = styles.getStyleAt(Integer.parseInt(cellStyle));
+            if (style == null) {
+                return false;
+            }
+            return DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        }
+        
+        private void ensureHeaders() {
+            if (headers == null) {
+                headers = new ArrayList<>();
+                listener.onHeaders(headers);
+            }
+        }
+        
+        /**
+         * 시트 파싱 종료 처리 (행이 하나도 없는 시트)
+         */
+        void finish() {
+            ensureHeaders();
+        }
+    }
+}
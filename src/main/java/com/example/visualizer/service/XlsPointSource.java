@@ -0,0 +1,301 @@
+package com.example.visualizer.service;
+
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.hssf.OldExcelFormatException;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.DimensionsRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.MulBlankRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.RecalcIdRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.hssf.record.UncalcedRecord;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.util.LocaleUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 구버전 XLS 입력 (HSSF 이벤트 API 스트리밍)
+ * 워크북 DOM(HSSFWorkbook)을 만들지 않고 레코드 단위로 첫 번째 시트를 읽는다.
+ * 셀 값은 HSSFCell.toString()과 같은 규칙으로 문자열로 변환하되, 수식 셀은 수식 대신
+ * 저장된 결과 값을 쓴다. 시트가 재계산되지 않은 채 저장된 경우(UNCALCED)나 Excel이 아닌 도구가
+ * 결과 없이 저장한 경우(RECALCID 없음)에만 수식을 계산한다.
+ */
+public class XlsPointSource implements PointSource {
+    private static final byte[] OLE2_MAGIC = {
+        (byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1
+    };
+    
+    @Override
+    public String getFormatName() {
+        return "Excel 97-2003 (xls)";
+    }
+    
+    @Override
+    public List<String> getExtensions() {
+        return Collections.singletonList("xls");
+    }
+    
+    @Override
+    public boolean matchesMagic(byte[] head) {
+        return head.length >= OLE2_MAGIC.length
+            && Arrays.equals(Arrays.copyOf(head, OLE2_MAGIC.length), OLE2_MAGIC);
+    }
+    
+    @Override
+    public void read(File file, Sink sink) throws IOException {
+        RowBatcher batcher = new RowBatcher(sink);
+        try (POIFSFileSystem fs = new POIFSFileSystem(file, true);
+             FormulaCellEvaluator formulas = new FormulaCellEvaluator(
+                 () -> new HSSFWorkbook(new POIFSFileSystem(file, true).getRoot(), false), true)) {
+            SheetListener listener = new SheetListener(batcher, formulas);
+            FormatTrackingHSSFListener formats = new FormatTrackingHSSFListener(listener);
+            listener.formats = formats;
+            
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(formats);
+            new HSSFEventFactory().processWorkbookEvents(request, fs);
+            listener.finish();
+            if (formulas.getEvaluatedCount() > 0) {
+                System.out.println("수식 셀 계산: " + formulas.getEvaluatedCount() + "개 (저장된 결과를 믿을 수 없는 파일)");
+            }
+        } catch (EncryptedDocumentException | OldExcelFormatException e) {
+            throw new IOException("xls 파일 읽기 실패: " + e.getMessage(), e);
+        }
+        batcher.flush();
+    }
+    
+    /**
+     * 첫 번째 시트의 셀 레코드를 행 단위로 모으는 리스너
+     */
+    private static class SheetListener implements HSSFListener {
+        private final StreamingExcelReader.RowListener rows;
+        private final FormulaCellEvaluator formulas;
+        private final DateFormat dateFormat;
+        private FormatTrackingHSSFListener formats;
+        
+        private SSTRecord sst;
+        private boolean date1904;
+        private int sheetIndex = -1;
+        private boolean inFirstSheet;
+        private boolean uncalced;
+        private boolean hasRecalcId;
+        private boolean done;
+        
+        // 문자열 결과를 가진 수식 셀 (결과는 바로 뒤의 StringRecord에 들어 있음)
+        private int pendingStringRow = -1;
+        private int pendingStringColumn;
+        
+        private List<String> headers;
+        private List<String> headerValues;
+        private Object[] rowValues;
+        private int currentRow = -1;
+        
+        SheetListener(StreamingExcelReader.RowListener rows, FormulaCellEvaluator formulas) {
+            this.rows = rows;
+            this.formulas = formulas;
+            this.dateFormat = new SimpleDateFormat("dd-MMM-yyyy", LocaleUtil.getUserLocale());
+            this.dateFormat.setTimeZone(LocaleUtil.getUserTimeZone());
+        }
+        
+        @Override
+        public void processRecord(Record record) {
+            if (done) {
+                return;
+            }
+            
+            if (record instanceof BOFRecord) {
+                if (((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET) {
+                    sheetIndex++;
+                    inFirstSheet = sheetIndex == 0;
+                }
+                return;
+            }
+            if (record instanceof SSTRecord) {
+                sst = (SSTRecord) record;
+                return;
+            }
+            if (record instanceof DateWindow1904Record) {
+                date1904 = ((DateWindow1904Record) record).getWindowing() == 1;
+                return;
+            }
+            if (record instanceof RecalcIdRecord) {
+                // Excel은 항상 기록 - 없으면 수식 결과를 저장하지 않는 도구로 만든 파일일 수 있음
+                hasRecalcId = true;
+                return;
+            }
+            if (!inFirstSheet) {
+                return;
+            }
+            
+            if (record instanceof EOFRecord) {
+                finish();
+                done = true;
+            } else if (record instanceof UncalcedRecord) {
+                // 시트가 재계산되지 않은 채 저장됨 - 저장된 수식 결과를 믿을 수 없음
+                uncalced = true;
+            } else if (record instanceof StringRecord) {
+                if (pendingStringRow >= 0) {
+                    setCell(pendingStringRow, pendingStringColumn, ((StringRecord) record).getString());
+                    pendingStringRow = -1;
+                }
+            } else if (record instanceof DimensionsRecord) {
+                // getLastRow()는 마지막 행 다음 인덱스 (헤더 행 제외)
+                rows.onRowCountEstimate(Math.max(0, ((DimensionsRecord) record).getLastRow() - 1));
+            } else if (record instanceof MulBlankRecord) {
+                MulBlankRecord blanks = (MulBlankRecord) record;
+                for (int c = blanks.getFirstColumn(); c <= blanks.getLastColumn(); c++) {
+                    setCell(blanks.getRow(), c, "");
+                }
+            } else if (record instanceof CellValueRecordInterface) {
+                CellValueRecordInterface cell = (CellValueRecordInterface) record;
+                setCell(cell.getRow(), cell.getColumn(), formatCell(record));
+            }
+        }
+        
+        private String formatCell(Record record) {
+            if (record instanceof LabelSSTRecord) {
+                return sst.getString(((LabelSSTRecord) record).getSSTIndex()).getString();
+            }
+            if (record instanceof LabelRecord) {
+                return ((LabelRecord) record).getValue();
+            }
+            if (record instanceof NumberRecord) {
+                NumberRecord number = (NumberRecord) record;
+                return formatNumber(number.getValue(), number);
+            }
+            if (record instanceof FormulaRecord) {
+                return formatFormula((FormulaRecord) record);
+            }
+            if (record instanceof BoolErrRecord) {
+                BoolErrRecord boolErr = (BoolErrRecord) record;
+                if (boolErr.isBoolean()) {
+                    return boolErr.getBooleanValue() ? "TRUE" : "FALSE";
+                }
+                return FormulaError.forInt(boolErr.getErrorValue()).getString();
+            }
+            if (record instanceof BlankRecord) {
+                return "";
+            }
+            return "";
+        }
+        
+        /**
+         * 수식 셀 값 (저장된 결과 우선, 재계산되지 않은 시트만 계산)
+         */
+        private String formatFormula(FormulaRecord formula) {
+            if (uncalced || !hasRecalcId) {
+                String evaluated = formulas.evaluate(0, formula.getRow(), formula.getColumn());
+                if (evaluated != null) {
+                    return evaluated;
+                }
+            }
+            
+            switch (formula.getCachedResultTypeEnum()) {
+                case STRING:
+                    if (formula.hasCachedResultString()) {
+                        pendingStringRow = formula.getRow();
+                        pendingStringColumn = formula.getColumn();
+                    }
+                    return "";
+                case BOOLEAN:
+                    return formula.getCachedBooleanValue() ? "TRUE" : "FALSE";
+                case ERROR:
+                    return FormulaError.forInt(formula.getCachedErrorValue()).getString();
+                default:
+                    return formatNumber(formula.getValue(), formula);
+            }
+        }
+        
+        private String formatNumber(double value, CellValueRecordInterface cell) {
+            int formatIndex = formats.getFormatIndex(cell);
+            String formatString = formats.getFormatString(cell);
+            if (formatString != null && DateUtil.isValidExcelDate(value)
+                    && DateUtil.isADateFormat(formatIndex, formatString)) {
+                return dateFormat.format(DateUtil.getJavaDate(value, date1904));
+            }
+            return String.valueOf(value);
+        }
+        
+        private void setCell(int row, int column, String text) {
+            if (row != currentRow) {
+                endRow();
+                startRow(row);
+            }
+            if (row == 0) {
+                // DOM 경로는 헤더 행의 셀을 순서대로 모으므로 열 인덱스는 무시
+                headerValues.add(text);
+            } else if (column < rowValues.length) {
+                rowValues[column] = text;
+            }
+        }
+        
+        private void startRow(int row) {
+            currentRow = row;
+            if (row == 0) {
+                headerValues = new ArrayList<>();
+                return;
+            }
+            ensureHeaders();
+            rowValues = new Object[headers.size()];
+            Arrays.fill(rowValues, "");
+        }
+        
+        private void endRow() {
+            if (currentRow < 0) {
+                return;
+            }
+            if (currentRow == 0) {
+                headers = headerValues;
+                headerValues = null;
+                rows.onHeaders(headers);
+            } else {
+                rows.onRow(new ArrayList<>(Arrays.asList(rowValues)));
+                rowValues = null;
+            }
+            currentRow = -1;
+        }
+        
+        private void ensureHeaders() {
+            if (headers == null) {
+                headers = new ArrayList<>();
+                rows.onHeaders(headers);
+            }
+        }
+        
+        /**
+         * 시트 종료 처리 (마지막 행 전달, 행이 없는 시트는 빈 헤더)
+         */
+        void finish() {
+            if (done) {
+                return;
+            }
+            endRow();
+            ensureHeaders();
+        }
+    }
+}
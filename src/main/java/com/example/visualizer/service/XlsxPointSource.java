@@ -0,0 +1,35 @@
+package com.example.visualizer.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * XLSX 입력 (SAX 스트리밍 리더 사용)
+ */
+public class XlsxPointSource implements PointSource {
+    
+    @Override
+    public String getFormatName() {
+        return "Excel (xlsx)";
+    }
+    
+    @Override
+    public List<String> getExtensions() {
+        return Collections.singletonList("xlsx");
+    }
+    
+    @Override
+    public boolean matchesMagic(byte[] head) {
+        // ZIP 로컬 파일 헤더 "PK\3\4"
+        return head.length >= 4 && head[0] == 'P' && head[1] == 'K' && head[2] == 3 && head[3] == 4;
+    }
+    
+    @Override
+    public void read(File file, Sink sink) throws IOException {
+        RowBatcher batcher = new RowBatcher(sink);
+        new StreamingExcelReader().read(file, batcher);
+        batcher.flush();
+    }
+}
@@ -1,13 +1,13 @@
 package com.example.visualizer.view;
 
+import com.example.visualizer.model.PointTable;
+import com.example.visualizer.model.PointTableDiff;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
-import org.jfree.data.xy.XYSeries;
-import org.jfree.data.xy.XYSeriesCollection;
 
 import javax.swing.*;
 import java.awt.*;
@@ -19,7 +19,7 @@ import java.util.List;
 public class ChartPreviewPanel extends JPanel {
     private ChartPanel chartPanel;
     private JFreeChart chart;
-    private XYSeriesCollection dataset;
+    private PointTableXYDataset dataset;
     
     public ChartPreviewPanel() {
         initializeComponents();
@@ -28,7 +28,7 @@ public class ChartPreviewPanel extends JPanel {
     
     private void initializeComponents() {
         // 기본 차트 생성
-        dataset = new XYSeriesCollection();
+        dataset = new PointTableXYDataset("좌표점");
         chart = ChartFactory.createScatterPlot(
             "좌표 분포도", // 차트 제목
             "X 좌표 (m)",       // X축 라벨 (단위 표시)
@@ -121,23 +121,42 @@ public class ChartPreviewPanel extends JPanel {
      * 좌표 데이터로 차트 업데이트
      */
     public void updateChart(List<ChartPoint> points) {
+        if (points == null) {
+            updateChart(null, 1.0);
+            return;
+        }
+        
+        PointTable table = PointTable.forPoints(points.size());
+        for (ChartPoint point : points) {
+            table.addPoint(point.getX(), point.getY(), point.getZ(), point.getType());
+        }
+        updateChart(table, 1.0);
+    }
+    
+    /**
+     * 컬럼 배열에서 바로 차트 업데이트 (중간 포인트 객체 생성 없음)
+     * @param table 좌표 데이터
+     * @param unitScale 단위 변환 배율
+     */
+    public void updateChart(PointTable table, double unitScale) {
         SwingUtilities.invokeLater(() -> {
-            // 기존 데이터 제거
-            dataset.removeAllSeries();
+            // 이미 표시 중인 테이블이면 배율만 바꿈 (파일 감시로 바뀐 값은 pointsChanged로 이미 반영됨)
+            if (table != null && table == dataset.getTable() && table.size() > 0) {
+                setUnitScale(unitScale);
+                return;
+            }
             
-            if (points != null && !points.isEmpty()) {
-                // 시리즈 생성
-                XYSeries series = new XYSeries("좌표점");
+            int count = table != null ? table.size() : 0;
+            if (count > 0) {
+                double[] xs = table.getXArray();
+                double[] ys = table.getYArray();
+                double[] zs = table.getZArray();
                 
-                // 데이터 추가
-                for (ChartPoint point : points) {
-                    series.add(point.getX(), point.getY());
-                }
-                
-                dataset.addSeries(series);
+                // 테이블 배열을 그대로 읽는 데이터셋 (점별 객체 생성 없음)
+                dataset.setTable(table, unitScale);
                 
                 // 차트 제목 업데이트
-                chart.setTitle("건물 좌표 분포도 (" + points.size() + "개 점)");
+                chart.setTitle("건물 좌표 분포도 (" + count + "개 점)");
                 
                 // 렌더러 설정 다시 적용
                 XYPlot plot = chart.getXYPlot();
@@ -147,12 +166,13 @@ public class ChartPreviewPanel extends JPanel {
                 renderer.setSeriesLinesVisible(0, false);
                 
                 // Z값에 따른 색상 구분 (높이별 색상)
-                if (points.size() > 0) {
+                if (count > 0) {
                     // Z값 범위 계산
                     double minZ = Double.MAX_VALUE, maxZ = Double.MIN_VALUE;
-                    for (ChartPoint point : points) {
-                        if (point.getZ() < minZ) minZ = point.getZ();
-                        if (point.getZ() > maxZ) maxZ = point.getZ();
+                    for (int i = 0; i < count; i++) {
+                        double z = zs[i] * unitScale;
+                        if (z < minZ) minZ = z;
+                        if (z > maxZ) maxZ = z;
                     }
                     
                     // Z값이 모두 같으면 기본 파란색
@@ -170,102 +190,173 @@ public class ChartPreviewPanel extends JPanel {
                 plot.setRenderer(renderer);
                 
                 // 축 범위 수동 설정 (데이터 기반)
-                double minX = Double.MAX_VALUE, maxX = Double.MIN_VALUE;
-                double minY = Double.MAX_VALUE, maxY = Double.MIN_VALUE;
-                
-                for (ChartPoint point : points) {
-                    minX = Math.min(minX, point.getX());
-                    maxX = Math.max(maxX, point.getX());
-                    minY = Math.min(minY, point.getY());
-                    maxY = Math.max(maxY, point.getY());
-                }
-                
-                // 데이터 범위 계산
-                double dataRangeX = maxX - minX;
-                double dataRangeY = maxY - minY;
-                double maxDataRange = Math.max(dataRangeX, dataRangeY);
-                
-                // 여백 추가 (10%)
-                double margin = maxDataRange * 0.1;
-                if (margin == 0) margin = 1.0; // 최소 여백
-                
-                // 차트 범위 결정 (시작점과 단위는 동일, 끝점은 데이터에 맞게)
-                double newMinX, newMaxX, newMinY, newMaxY;
-                
-                // 데이터 범위에 따른 적절한 눈금 단위 계산
-                double tickUnit = calculateOptimalTickUnit(Math.max(dataRangeX, dataRangeY));
-                
-                if (minX >= 0 && minY >= 0) {
-                    // 음수가 없으면 0,0부터 시작 (1사분면)
-                    newMinX = 0;
-                    newMinY = 0;
-                    
-                    // 각 축의 끝점을 데이터에 맞게 설정 (단위의 배수로)
-                    newMaxX = Math.ceil((maxX + margin) / tickUnit) * tickUnit;
-                    newMaxY = Math.ceil((maxY + margin) / tickUnit) * tickUnit;
-                } else {
-                    // 음수가 있으면 시작점도 단위의 배수로 설정
-                    newMinX = Math.floor((minX - margin) / tickUnit) * tickUnit;
-                    newMinY = Math.floor((minY - margin) / tickUnit) * tickUnit;
-                    
-                    // 각 축의 끝점을 데이터에 맞게 설정 (단위의 배수로)
-                    newMaxX = Math.ceil((maxX + margin) / tickUnit) * tickUnit;
-                    newMaxY = Math.ceil((maxY + margin) / tickUnit) * tickUnit;
-                }
-                
-                // 축 범위 강제 설정 (즉시 적용)
-                plot.getDomainAxis().setRange(newMinX, newMaxX);
-                plot.getRangeAxis().setRange(newMinY, newMaxY);
+                applyAxisRanges(xs, ys, count, unitScale);
                 
-                // 동일한 눈금 단위 적용 (고정 단위 사용)
-                try {
-                    org.jfree.chart.axis.NumberAxis domainAxis = (org.jfree.chart.axis.NumberAxis) plot.getDomainAxis();
-                    org.jfree.chart.axis.NumberAxis rangeAxis = (org.jfree.chart.axis.NumberAxis) plot.getRangeAxis();
-                    
-                    // 동일한 눈금 단위 설정 (고정 단위)
-                    domainAxis.setTickUnit(new org.jfree.chart.axis.NumberTickUnit(tickUnit));
-                    rangeAxis.setTickUnit(new org.jfree.chart.axis.NumberTickUnit(tickUnit));
-                    
-                    // 눈금 표시 설정
-                    domainAxis.setAutoTickUnitSelection(false);
-                    rangeAxis.setAutoTickUnitSelection(false);
-                } catch (ClassCastException e) {
-                    System.err.println("NumberAxis 캐스팅 실패: " + e.getMessage());
-                }
-                
-                // 차트 강제 리페인트
-                chartPanel.repaint();
-                
-                System.out.println("차트 축 범위 설정 (동일 단위, 독립 범위):");
-                System.out.println("  데이터 범위: X=" + dataRangeX + ", Y=" + dataRangeY);
-                System.out.println("  데이터 위치: X=" + minX + "~" + maxX + ", Y=" + minY + "~" + maxY);
-                System.out.println("  눈금 단위: " + tickUnit);
-                System.out.println("  X축: " + newMinX + " ~ " + newMaxX + " (범위: " + (newMaxX - newMinX) + ")");
-                System.out.println("  Y축: " + newMinY + " ~ " + newMaxY + " (범위: " + (newMaxY - newMinY) + ")");
-                if (minX >= 0 && minY >= 0) {
-                    System.out.println("  차트 모드: 1사분면 (0,0 시작)");
-                } else {
-                    System.out.println("  차트 모드: 4사분면 (음수 포함)");
-                }
-                
-                System.out.println("차트 업데이트: " + points.size() + "개 점 추가됨");
-                for (int i = 0; i < Math.min(5, points.size()); i++) {
-                    ChartPoint p = points.get(i);
-                    System.out.println("  점 " + (i+1) + ": (" + p.getX() + ", " + p.getY() + ")");
+                System.out.println("차트 업데이트: " + count + "개 점 추가됨");
+                for (int i = 0; i < Math.min(5, count); i++) {
+                    System.out.println("  점 " + (i+1) + ": (" + xs[i] * unitScale + ", " + ys[i] * unitScale + ")");
                 }
             } else {
                 // 빈 차트
+                dataset.setTable(null, 1.0);
                 chart.setTitle("건물 좌표 분포도");
             }
         });
     }
     
+    /**
+     * 데이터 범위에 맞춰 축 범위와 눈금 단위 설정 (X, Y 동일 눈금 단위)
+     */
+    private void applyAxisRanges(double[] xs, double[] ys, int count, double unitScale) {
+        XYPlot plot = chart.getXYPlot();
+        
+        double minX = Double.MAX_VALUE, maxX = Double.MIN_VALUE;
+        double minY = Double.MAX_VALUE, maxY = Double.MIN_VALUE;
+        
+        for (int i = 0; i < count; i++) {
+            double x = xs[i] * unitScale;
+            double y = ys[i] * unitScale;
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+        }
+        
+        // 데이터 범위 계산
+        double dataRangeX = maxX - minX;
+        double dataRangeY = maxY - minY;
+        double maxDataRange = Math.max(dataRangeX, dataRangeY);
+        
+        // 여백 추가 (10%)
+        double margin = maxDataRange * 0.1;
+        if (margin == 0) margin = 1.0; // 최소 여백
+        
+        // 차트 범위 결정 (시작점과 단위는 동일, 끝점은 데이터에 맞게)
+        double newMinX, newMaxX, newMinY, newMaxY;
+        
+        // 데이터 범위에 따른 적절한 눈금 단위 계산
+        double tickUnit = calculateOptimalTickUnit(Math.max(dataRangeX, dataRangeY));
+        
+        if (minX >= 0 && minY >= 0) {
+            // 음수가 없으면 0,0부터 시작 (1사분면)
+            newMinX = 0;
+            newMinY = 0;
+            
+            // 각 축의 끝점을 데이터에 맞게 설정 (단위의 배수로)
+            newMaxX = Math.ceil((maxX + margin) / tickUnit) * tickUnit;
+            newMaxY = Math.ceil((maxY + margin) / tickUnit) * tickUnit;
+        } else {
+            // 음수가 있으면 시작점도 단위의 배수로 설정
+            newMinX = Math.floor((minX - margin) / tickUnit) * tickUnit;
+            newMinY = Math.floor((minY - margin) / tickUnit) * tickUnit;
+            
+            // 각 축의 끝점을 데이터에 맞게 설정 (단위의 배수로)
+            newMaxX = Math.ceil((maxX + margin) / tickUnit) * tickUnit;
+            newMaxY = Math.ceil((maxY + margin) / tickUnit) * tickUnit;
+        }
+        
+        // 축 범위 강제 설정 (즉시 적용)
+        plot.getDomainAxis().setRange(newMinX, newMaxX);
+        plot.getRangeAxis().setRange(newMinY, newMaxY);
+        
+        // 동일한 눈금 단위 적용 (고정 단위 사용)
+        try {
+            org.jfree.chart.axis.NumberAxis domainAxis = (org.jfree.chart.axis.NumberAxis) plot.getDomainAxis();
+            org.jfree.chart.axis.NumberAxis rangeAxis = (org.jfree.chart.axis.NumberAxis) plot.getRangeAxis();
+            
+            // 동일한 눈금 단위 설정 (고정 단위)
+            domainAxis.setTickUnit(new org.jfree.chart.axis.NumberTickUnit(tickUnit));
+            rangeAxis.setTickUnit(new org.jfree.chart.axis.NumberTickUnit(tickUnit));
+            
+            // 눈금 표시 설정
+            domainAxis.setAutoTickUnitSelection(false);
+            rangeAxis.setAutoTickUnitSelection(false);
+        } catch (ClassCastException e) {
+            System.err.println("NumberAxis 캐스팅 실패: " + e.getMessage());
+        }
+        
+        // 차트 강제 리페인트
+        chartPanel.repaint();
+        
+        System.out.println("차트 축 범위 설정 (동일 단위, 독립 범위):");
+        System.out.println("  데이터 범위: X=" + dataRangeX + ", Y=" + dataRangeY);
+        System.out.println("  데이터 위치: X=" + minX + "~" + maxX + ", Y=" + minY + "~" + maxY);
+        System.out.println("  눈금 단위: " + tickUnit);
+        System.out.println("  X축: " + newMinX + " ~ " + newMaxX + " (범위: " + (newMaxX - newMinX) + ")");
+        System.out.println("  Y축: " + newMinY + " ~ " + newMaxY + " (범위: " + (newMaxY - newMinY) + ")");
+        if (minX >= 0 && minY >= 0) {
+            System.out.println("  차트 모드: 1사분면 (0,0 시작)");
+        } else {
+            System.out.println("  차트 모드: 4사분면 (음수 포함)");
+        }
+    }
+    
+    /**
+     * 단위 변환 배율 변경 (EDT)
+     * 데이터는 그대로 두고 데이터셋 배율과 축 범위, 눈금 단위만 비율대로 바꾸므로
+     * 점 개수와 관계없이 바로 적용되고 점을 다시 훑거나 새로 할당하지 않는다.
+     */
+    public void setUnitScale(double unitScale) {
+        double oldScale = dataset.getUnitScale();
+        if (dataset.getTable() == null || unitScale == oldScale || unitScale <= 0 || oldScale <= 0) {
+            return;
+        }
+        
+        double ratio = unitScale / oldScale;
+        XYPlot plot = chart.getXYPlot();
+        rescaleAxis(plot.getDomainAxis(), ratio);
+        rescaleAxis(plot.getRangeAxis(), ratio);
+        dataset.setUnitScale(unitScale);
+        
+        System.out.println("차트 배율 변경: " + oldScale + " -> " + unitScale);
+    }
+    
+    private static void rescaleAxis(org.jfree.chart.axis.ValueAxis axis, double ratio) {
+        org.jfree.data.Range range = axis.getRange();
+        axis.setRange(range.getLowerBound() * ratio, range.getUpperBound() * ratio);
+        if (axis instanceof org.jfree.chart.axis.NumberAxis) {
+            org.jfree.chart.axis.NumberAxis numberAxis = (org.jfree.chart.axis.NumberAxis) axis;
+            if (!numberAxis.isAutoTickUnitSelection()) {
+                numberAxis.setTickUnit(new org.jfree.chart.axis.NumberTickUnit(numberAxis.getTickUnit().getSize() * ratio));
+            }
+        }
+    }
+    
+    /**
+     * 파일 변경으로 바뀐 점 반영 (EDT)
+     * 데이터셋은 테이블을 직접 읽으므로 변경 이벤트만 발생시키고,
+     * 바뀐 점이 현재 축 범위를 벗어난 경우에만 축 범위를 다시 계산한다.
+     */
+    public void pointsChanged(PointTable table, PointTableDiff diff) {
+        if (table == null || dataset.getTable() != table || diff.isEmpty()) {
+            return;
+        }
+        
+        double unitScale = dataset.getUnitScale();
+        XYPlot plot = chart.getXYPlot();
+        org.jfree.data.Range xRange = plot.getDomainAxis().getRange();
+        org.jfree.data.Range yRange = plot.getRangeAxis().getRange();
+        boolean outside = false;
+        for (int i = 0; i < diff.getChangedRows().length && !outside; i++) {
+            outside = !xRange.contains(diff.getX(i) * unitScale) || !yRange.contains(diff.getY(i) * unitScale);
+        }
+        
+        if (outside && table.size() > 0) {
+            applyAxisRanges(table.getXArray(), table.getYArray(), table.size(), unitScale);
+        }
+        chart.setTitle("건물 좌표 분포도 (" + table.size() + "개 점)");
+        dataset.fireChanged();
+        
+        System.out.println("차트 부분 갱신: " + diff.getChangedRows().length + "개 점 변경/추가, "
+            + diff.getDeletedCount() + "개 점 삭제");
+    }
+    
     /**
      * 차트 초기화
      */
     public void clearChart() {
         SwingUtilities.invokeLater(() -> {
-            dataset.removeAllSeries();
+            dataset.setTable(null, 1.0);
             chart.setTitle("건물 좌표 분포도");
         });
     }
@@ -9,9 +9,12 @@ import java.awt.*;
 public class ControlPanel extends JPanel {
     private JButton openExcelButton;
     private JButton runVisualizationButton;
+    private JButton cancelVisualizationButton;
     private JButton openResultButton;
     private JButton createChartButton;
     private JButton addChartButton;
+    private JButton cancelLoadButton;
+    private JCheckBox watchFileCheckBox;
     private JTextField scaleField;
     
     
@@ -23,9 +26,13 @@ public class ControlPanel extends JPanel {
     private void initializeComponents() {
         openExcelButton = new JButton("엑셀 열기");
         runVisualizationButton = new JButton("시각화 실행");
+        cancelVisualizationButton = new JButton("시각화 취소");
         openResultButton = new JButton("결과 엑셀 열기");
         createChartButton = new JButton("엑셀 차트 생성");
         addChartButton = new JButton("기존 파일에 차트 추가");
+        cancelLoadButton = new JButton("로딩 취소");
+        watchFileCheckBox = new JCheckBox("변경 감시");
+        watchFileCheckBox.setToolTipText("로드한 파일이 저장되면 바뀐 행만 다시 반영합니다");
         scaleField = new JTextField("1.0", 5);
         
         
@@ -33,15 +40,19 @@ public class ControlPanel extends JPanel {
         openResultButton.setEnabled(false);
         createChartButton.setEnabled(false);
         addChartButton.setEnabled(true); // 항상 활성화 (파일 선택 방식)
+        cancelLoadButton.setEnabled(false); // 로딩 중에만 활성화
+        cancelVisualizationButton.setEnabled(false); // 시각화 중에만 활성화
         
         // 스타일 설정
         openExcelButton.setPreferredSize(new Dimension(100, 30));
         runVisualizationButton.setPreferredSize(new Dimension(100, 30));
+        cancelVisualizationButton.setPreferredSize(new Dimension(100, 30));
         openResultButton.setPreferredSize(new Dimension(120, 30));
         createChartButton.setPreferredSize(new Dimension(120, 30));
         addChartButton.setPreferredSize(new Dimension(150, 30));
+        cancelLoadButton.setPreferredSize(new Dimension(100, 30));
         scaleField.setPreferredSize(new Dimension(60, 25));
-        
+    
     }
     
     private void setupLayout() {
@@ -49,16 +60,19 @@ public class ControlPanel extends JPanel {
         setBorder(BorderFactory.createTitledBorder("컨트롤"));
         
         add(openExcelButton);
+        add(cancelLoadButton);
+        add(watchFileCheckBox);
         add(new JLabel("단위 변환 배율:"));
         add(scaleField);
         add(runVisualizationButton);
+        add(cancelVisualizationButton);
         add(openResultButton);
         
         // 차트 생성 버튼들 추가
         add(new JSeparator(SwingConstants.VERTICAL));
         add(createChartButton);
         add(addChartButton);
-        
+    
     }
     
     // Getters
@@ -70,6 +84,10 @@ public class ControlPanel extends JPanel {
         return runVisualizationButton;
     }
     
+    public JButton getCancelVisualizationButton() {
+        return cancelVisualizationButton;
+    }
+    
     public JButton getOpenResultButton() {
         return openResultButton;
     }
@@ -82,6 +100,14 @@ public class ControlPanel extends JPanel {
         return addChartButton;
     }
     
+    public JButton getCancelLoadButton() {
+        return cancelLoadButton;
+    }
+    
+    public JCheckBox getWatchFileCheckBox() {
+        return watchFileCheckBox;
+    }
+    
     public JTextField getScaleField() {
         return scaleField;
     }
@@ -99,6 +125,25 @@ public class ControlPanel extends JPanel {
         createChartButton.setEnabled(enabled);
     }
     
+    /**
+     * 파일 로딩 중 상태 전환 (로딩 중에는 취소만 가능, 다른 파일 열기는 허용)
+     */
+    public void setLoading(boolean loading) {
+        cancelLoadButton.setEnabled(loading);
+        if (loading) {
+            runVisualizationButton.setEnabled(false);
+            createChartButton.setEnabled(false);
+        }
+    }
+    
+    /**
+     * 시각화 실행 중 상태 전환 (실행 중에는 취소 버튼만 활성화)
+     */
+    public void setVisualizing(boolean visualizing) {
+        cancelVisualizationButton.setEnabled(visualizing);
+        setAllButtonsEnabled(!visualizing);
+    }
+    
     public void setAllButtonsEnabled(boolean enabled) {
         openExcelButton.setEnabled(enabled);
         runVisualizationButton.setEnabled(enabled);
@@ -114,5 +159,5 @@ public class ControlPanel extends JPanel {
     public void setScaleValue(String value) {
         scaleField.setText(value);
     }
-    
+
 }
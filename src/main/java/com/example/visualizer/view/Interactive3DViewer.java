@@ -1,24 +1,42 @@
 package com.example.visualizer.view;
 
+import com.example.visualizer.model.PointOctree;
+import com.example.visualizer.model.PointTable;
+import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
 import javafx.embed.swing.JFXPanel;
 import javafx.scene.*;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Sphere;
+import javafx.geometry.Point3D;
 import javafx.scene.transform.Rotate;
+import javafx.scene.transform.Transform;
 import javafx.scene.transform.Translate;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.ScrollEvent;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.MenuItem;
 import javafx.scene.input.KeyEvent;
+import javafx.util.Duration;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 인터랙티브 3D 뷰어 컴포넌트
@@ -44,6 +62,67 @@ public class Interactive3DViewer extends JPanel {
     // 색상 매핑
     private final Map<String, Color> typeColors = new HashMap<>();
     
+    // 점 표시 방식 (기본은 타입별 메시 하나, visualizer.viewer.points=spheres면 점마다 구 노드)
+    private static final boolean MESH_POINTS =
+        !"spheres".equalsIgnoreCase(System.getProperty("visualizer.viewer.points", "mesh"));
+    private static final double POINT_RADIUS = 0.3;
+    
+    // 장면 생성 스레드와 요청 세대 (새 요청이 들어오면 이전 생성은 중단)
+    private static final int CANCEL_CHECK_MASK = 0xFFFF;
+    private final ExecutorService sceneBuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "3d-scene-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong sceneGeneration = new AtomicLong();
+    private volatile PointTable requestedTable;
+    
+    // 현재 표시 중인 데이터와 그 장면의 요청 세대 (FX 스레드에서만 접근) - 구 모드는 행 인덱스와 구 노드가 1:1로 대응
+    private static final int PATCH_CHUNK = 2000;
+    private PointTable displayedTable;
+    private long displayedGeneration;
+    // 장면 생성 중에 들어온 부분 갱신 (장면을 교체한 뒤 순서대로 적용)
+    private final List<PointEdits> queuedEdits = new ArrayList<>();
+    // 점 노드/메시를 담는 그룹 (장면 교체 단위)
+    private Group pointGroup = new Group();
+    private final List<Sphere> pointNodes = new ArrayList<>();
+    // 메시 모드: 타입별 메시와 행별 (메시, 메시 안 위치)
+    private final Map<String, PointCloudMesh> pointMeshes = new HashMap<>();
+    private PointCloudMesh[] rowMeshes = new PointCloudMesh[0];
+    private int[] rowSlots = new int[0];
+    private int meshRowCount;
+    // 숨긴 타입 (다른 데이터를 불러와도 유지)
+    private final Set<String> hiddenTypes = new HashSet<>();
+    
+    // 점이 예산보다 많으면 팔진 트리에서 카메라 거리/화면 크기에 맞는 노드만 골라 그림 (메시 모드 전용)
+    private static final int POINT_BUDGET = Integer.getInteger("visualizer.viewer.pointBudget", 200_000);
+    private static final int LOD_NODE_POINTS = 1024;
+    // 노드가 화면에서 이 반지름(픽셀)보다 크게 보이면 자식 노드로 세분
+    private static final double LOD_REFINE_PIXELS = 48;
+    private PointOctree lodOctree;
+    private PointColumns lodColumns;
+    private PauseTransition lodRefresh;
+    // 요청한 장면이 팔진 트리 모드인지 (EDT에서만 접근)와 부분 갱신 세대 (더 새로운 변경이 오면 이전 트리 생성은 버림)
+    private boolean requestedLod;
+    private final AtomicLong lodEditGeneration = new AtomicLong();
+    
+    // 회전/이동/확대 중에는 점 일부(미리보기 메시)만 그리고, 입력이 잠시 멈추면 전체 점으로 복귀
+    private static final int INTERACTION_POINTS = Integer.getInteger("visualizer.viewer.interactionPoints", 20_000);
+    private static final long INTERACTION_IDLE_NANOS = 250_000_000L;
+    private final Map<String, PointCloudMesh> previewMeshes = new HashMap<>();
+    private boolean previewStale = true;
+    private boolean previewShown;
+    private boolean interacting;
+    private long lastInputNanos;
+    // 다음 펄스에 한 번에 적용할 입력 누적값
+    private double pendingRotateX, pendingRotateY, pendingRotateZ;
+    private double pendingPanX, pendingPanY;
+    private double pendingZoom = 1.0;
+    private AnimationTimer interactionTimer;
+    private final Deque<PatchCursor> pendingPatches = new ArrayDeque<>();
+    private double normXYScale = 1.0, normZScale = 1.0;
+    private double normOffsetX, normOffsetY, normOffsetZ;
+    
     
     // CAD 스타일에 적합한 기본 색상 팔레트
     private static final Color[] BASE_COLORS = {
@@ -65,7 +144,7 @@ public class Interactive3DViewer extends JPanel {
     /**
      * 타입별로 동적으로 색상 생성
      */
-    private Color getColorForType(String type) {
+    private synchronized Color getColorForType(String type) {
         if (typeColors.containsKey(type)) {
             return typeColors.get(type);
         }
@@ -152,6 +231,34 @@ public class Interactive3DViewer extends JPanel {
         // 축 표시
         createAxes();
         
+        // 시점이 바뀌고 잠시 멈추면 LOD 노드 다시 선택
+        lodRefresh = new PauseTransition(Duration.millis(150));
+        lodRefresh.setOnFinished(e -> selectLodPoints());
+        InvalidationListener viewChanged = observable -> {
+            if (lodOctree != null) {
+                lodRefresh.playFromStart();
+            }
+        };
+        rotateX.angleProperty().addListener(viewChanged);
+        rotateY.angleProperty().addListener(viewChanged);
+        rotateZ.angleProperty().addListener(viewChanged);
+        translate.xProperty().addListener(viewChanged);
+        translate.yProperty().addListener(viewChanged);
+        translate.zProperty().addListener(viewChanged);
+        scale.xProperty().addListener(viewChanged);
+        camera.translateZProperty().addListener(viewChanged);
+        
+        // 입력은 펄스마다 한 번만 반영하고, 입력이 멈추면 전체 점으로 복귀
+        interactionTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                applyPendingInput();
+                if (now - lastInputNanos > INTERACTION_IDLE_NANOS) {
+                    endInteraction();
+                }
+            }
+        };
+        
         jfxPanel.setScene(scene);
     }
     
@@ -175,17 +282,15 @@ public class Interactive3DViewer extends JPanel {
             mouseDeltaX = (mousePosX - mouseOldX);
             mouseDeltaY = (mousePosY - mouseOldY);
             
-            // 마우스 드래그 방향과 일치하는 회전
+            // 마우스 드래그 방향과 일치하는 회전 (다음 펄스에 모아서 반영)
             if (me.isShiftDown()) {
                 // Shift + 드래그: Pan (이동)
-                translate.setX(translate.getX() + mouseDeltaX * 0.5);
-                translate.setY(translate.getY() + mouseDeltaY * 0.5);
+                queuePan(mouseDeltaX * 0.5, mouseDeltaY * 0.5);
             } else {
                 // 일반 드래그: 마우스 방향과 정확히 일치하는 회전 (감도 조정)
                 // 마우스를 오른쪽으로 드래그하면 오른쪽으로 회전
                 // 마우스를 아래로 드래그하면 아래로 회전
-                rotateY.setAngle(rotateY.getAngle() - mouseDeltaX * 0.1); // 감도 낮춤
-                rotateX.setAngle(rotateX.getAngle() + mouseDeltaY * 0.1); // 감도 낮춤
+                queueRotation(mouseDeltaY * 0.1, -mouseDeltaX * 0.1, 0); // 감도 낮춤
             }
         });
         
@@ -199,12 +304,7 @@ public class Interactive3DViewer extends JPanel {
             }
             
             // 전체적인 확대/축소 (Scale 변환 사용)
-            double currentScale = scale.getX();
-            double newScale = currentScale * scaleFactor;
-            newScale = Math.max(0.1, Math.min(10.0, newScale)); // 최소 0.1배, 최대 10배로 제한
-            scale.setX(newScale);
-            scale.setY(newScale);
-            scale.setZ(newScale);
+            queueZoom(scaleFactor);
         });
         
         // 우클릭 메뉴 추가 (뷰 리셋 등)
@@ -256,27 +356,183 @@ public class Interactive3DViewer extends JPanel {
      * X축 회전 (위/아래)
      */
     private void rotateX(double angle) {
-        Platform.runLater(() -> {
-            rotateX.setAngle(rotateX.getAngle() + angle);
-        });
+        queueRotation(angle, 0, 0);
     }
     
     /**
      * Y축 회전 (좌/우)
      */
     private void rotateY(double angle) {
-        Platform.runLater(() -> {
-            rotateY.setAngle(rotateY.getAngle() + angle);
-        });
+        queueRotation(0, angle, 0);
     }
     
     /**
      * Z축 회전 (시계방향/반시계방향) - 높이 기준 회전
      */
     private void rotateZ(double angle) {
-        Platform.runLater(() -> {
-            rotateZ.setAngle(rotateZ.getAngle() + angle);
-        });
+        queueRotation(0, 0, angle);
+    }
+    
+    /**
+     * 회전 입력 누적 (FX 스레드, 다음 펄스에 반영)
+     */
+    private void queueRotation(double angleX, double angleY, double angleZ) {
+        pendingRotateX += angleX;
+        pendingRotateY += angleY;
+        pendingRotateZ += angleZ;
+        beginInteraction();
+    }
+    
+    /**
+     * 이동 입력 누적 (FX 스레드, 다음 펄스에 반영)
+     */
+    private void queuePan(double dx, double dy) {
+        pendingPanX += dx;
+        pendingPanY += dy;
+        beginInteraction();
+    }
+    
+    /**
+     * 확대/축소 입력 누적 (FX 스레드, 다음 펄스에 반영)
+     */
+    private void queueZoom(double factor) {
+        pendingZoom *= factor;
+        beginInteraction();
+    }
+    
+    /**
+     * 조작 시작 - 점이 많으면 미리보기 메시로 전환하고 펄스 타이머 시작
+     */
+    private void beginInteraction() {
+        lastInputNanos = System.nanoTime();
+        if (!interacting) {
+            interacting = true;
+            showPreview(true);
+            interactionTimer.start();
+        }
+    }
+    
+    /**
+     * 조작 종료 - 전체 점으로 복귀
+     */
+    private void endInteraction() {
+        interacting = false;
+        interactionTimer.stop();
+        showPreview(false);
+    }
+    
+    /**
+     * 누적된 입력을 변환에 한 번에 적용
+     */
+    private void applyPendingInput() {
+        if (pendingRotateX != 0) {
+            rotateX.setAngle(rotateX.getAngle() + pendingRotateX);
+        }
+        if (pendingRotateY != 0) {
+            rotateY.setAngle(rotateY.getAngle() + pendingRotateY);
+        }
+        if (pendingRotateZ != 0) {
+            rotateZ.setAngle(rotateZ.getAngle() + pendingRotateZ);
+        }
+        if (pendingPanX != 0 || pendingPanY != 0) {
+            translate.setX(translate.getX() + pendingPanX);
+            translate.setY(translate.getY() + pendingPanY);
+        }
+        if (pendingZoom != 1.0) {
+            double newScale = scale.getX() * pendingZoom;
+            newScale = Math.max(0.1, Math.min(10.0, newScale)); // 최소 0.1배, 최대 10배로 제한
+            scale.setX(newScale);
+            scale.setY(newScale);
+            scale.setZ(newScale);
+        }
+        pendingRotateX = pendingRotateY = pendingRotateZ = 0;
+        pendingPanX = pendingPanY = 0;
+        pendingZoom = 1.0;
+    }
+    
+    /**
+     * 미리보기 메시와 전체 점 메시 전환 (메시 모드에서 점이 미리보기 개수보다 많을 때만)
+     */
+    private void showPreview(boolean show) {
+        int count = lodOctree != null ? lodColumns.count : meshRowCount;
+        if (show && (count <= INTERACTION_POINTS || pointMeshes.isEmpty())) {
+            return;
+        }
+        if (show == previewShown) {
+            return;
+        }
+        if (show) {
+            ensurePreview();
+        }
+        previewShown = show;
+        refreshPointVisibility();
+    }
+    
+    /**
+     * 미리보기 전환 상태와 숨긴 타입에 맞춰 점 노드 표시 여부 갱신
+     */
+    private void refreshPointVisibility() {
+        for (PointCloudMesh mesh : pointMeshes.values()) {
+            mesh.getView().setVisible(!previewShown && !hiddenTypes.contains(mesh.getType()));
+        }
+        for (PointCloudMesh mesh : previewMeshes.values()) {
+            mesh.getView().setVisible(previewShown && !hiddenTypes.contains(mesh.getType()));
+        }
+        for (int row = 0; row < pointNodes.size(); row++) {
+            Sphere sphere = pointNodes.get(row);
+            sphere.setVisible(!hiddenTypes.contains(sphere.getUserData()));
+        }
+    }
+    
+    /**
+     * 미리보기 메시 생성 (행을 일정 간격으로 건너뛰며 INTERACTION_POINTS개 정도 선택, 데이터가 바뀌면 다시 만듦)
+     */
+    private void ensurePreview() {
+        if (!previewStale) {
+            return;
+        }
+        for (PointCloudMesh mesh : previewMeshes.values()) {
+            pointGroup.getChildren().remove(mesh.getView());
+        }
+        previewMeshes.clear();
+        
+        int count = lodOctree != null ? lodColumns.count : meshRowCount;
+        int step = Math.max(1, (count + INTERACTION_POINTS - 1) / INTERACTION_POINTS);
+        boolean lod = lodOctree != null;
+        for (int row = 0; row < count; row += step) {
+            String type;
+            double x;
+            double y;
+            double z;
+            if (lod) {
+                type = lodColumns.types.get(lodColumns.typeIds[row]);
+                x = (lodColumns.xs[row] + normOffsetX) / normXYScale;
+                y = (lodColumns.ys[row] + normOffsetY) / normXYScale;
+                z = (lodColumns.zs[row] + normOffsetZ) / normZScale;
+            } else {
+                // FX 스레드가 가진 메시 꼭짓점에서 읽음 (EDT가 바꾸는 테이블은 읽지 않음)
+                PointCloudMesh source = row < rowMeshes.length ? rowMeshes[row] : null;
+                if (source == null) {
+                    continue;
+                }
+                type = source.getType();
+                x = source.getX(rowSlots[row]);
+                y = source.getY(rowSlots[row]);
+                z = source.getZ(rowSlots[row]);
+            }
+            PointCloudMesh mesh = previewMeshes.get(type);
+            if (mesh == null) {
+                mesh = new PointCloudMesh(type, getColorForType(type), INTERACTION_POINTS, POINT_RADIUS);
+                mesh.getView().setVisible(false);
+                previewMeshes.put(type, mesh);
+                pointGroup.getChildren().add(mesh.getView());
+            }
+            mesh.add(row, x, y, z);
+        }
+        for (PointCloudMesh mesh : previewMeshes.values()) {
+            mesh.commit();
+        }
+        previewStale = false;
     }
     
     
@@ -316,22 +572,12 @@ public class Interactive3DViewer extends JPanel {
             case EQUALS:
             case ADD:
                 // +키: 전체 확대
-                double currentScale = scale.getX();
-                double newScale = currentScale * 1.1;
-                newScale = Math.max(0.1, Math.min(10.0, newScale)); // 최소 0.1배, 최대 10배로 제한
-                scale.setX(newScale);
-                scale.setY(newScale);
-                scale.setZ(newScale);
+                queueZoom(1.1);
                 break;
             case MINUS:
             case SUBTRACT:
                 // -키: 전체 축소
-                currentScale = scale.getX();
-                newScale = currentScale * 0.9;
-                newScale = Math.max(0.1, Math.min(10.0, newScale)); // 최소 0.1배, 최대 10배로 제한
-                scale.setX(newScale);
-                scale.setY(newScale);
-                scale.setZ(newScale);
+                queueZoom(0.9);
                 break;
             default:
                 // 다른 키는 무시
@@ -391,143 +637,795 @@ public class Interactive3DViewer extends JPanel {
      * 3D 데이터를 시각화
      */
     public void visualizeData(List<BuildingPoint> points) {
-        Platform.runLater(() -> {
-            // 기존 데이터 제거 (축 제외)
-            root.getChildren().clear();
-            setupLighting();
-            createAxes();
-            
-            if (points == null || points.isEmpty()) {
+        PointTable table = PointTable.forPoints(points != null ? points.size() : 0);
+        if (points != null) {
+            for (BuildingPoint point : points) {
+                table.addPoint(point.x, point.y, point.z, point.type);
+            }
+        }
+        visualizeData(table);
+    }
+    
+    /**
+     * 컬럼 배열에서 바로 3D 데이터를 시각화
+     * 범위 계산, 정규화, 메시 배열/노드 생성은 장면 생성 스레드에서 하고
+     * 완성된 점 그룹만 FX 스레드에서 한 번에 교체한다. 더 새로운 데이터가 들어오면 진행 중인 생성은 버린다.
+     */
+    public void visualizeData(PointTable table) {
+        // 같은 테이블을 이미 표시(또는 생성) 중이면 장면을 다시 만들지 않음
+        // (좌표는 데이터 범위로 정규화되므로 단위 변환 배율만 다른 재실행은 화면이 같고,
+        //  파일 변경분은 updatePoints로 이미 반영됨)
+        if (table != null && table == requestedTable && table.size() > 0) {
+            System.out.println("3D 장면 재사용: " + table.size() + "개 포인트");
+            return;
+        }
+        requestedTable = table;
+        long generation = sceneGeneration.incrementAndGet();
+        // EDT에서 컬럼을 복사해 두고 복사본으로 장면을 만든다 (생성 중에 파일 변경이 테이블 배열을
+        // 제자리에서 바꿔도 행이 밀리거나 처음 보는 타입이 끼어들지 않음, 그 사이 변경은 교체 후 적용)
+        PointColumns columns = table != null ? PointColumns.copyOf(table) : null;
+        requestedLod = columns != null && MESH_POINTS && columns.count > POINT_BUDGET;
+        
+        sceneBuilder.execute(() -> {
+            long startTime = System.currentTimeMillis();
+            SceneBuild build;
+            try {
+                build = buildScene(table, columns, generation);
+            } catch (RuntimeException e) {
+                System.err.println("3D 장면 생성 실패: " + e.getMessage());
+                if (requestedTable == table) {
+                    requestedTable = null;
+                }
                 return;
             }
+            if (build == null) {
+                System.out.println("3D 장면 생성 취소 (새 데이터 요청)");
+                return;
+            }
+            System.out.println("3D 장면 생성: " + build.count + "개 포인트 ("
+                + (System.currentTimeMillis() - startTime) + "ms, 장면 생성 스레드)");
             
-            // 데이터 정규화를 위한 범위 계산
-            double minX = points.stream().mapToDouble(p -> p.x).min().orElse(0);
-            double maxX = points.stream().mapToDouble(p -> p.x).max().orElse(100);
-            double minY = points.stream().mapToDouble(p -> p.y).min().orElse(0);
-            double maxY = points.stream().mapToDouble(p -> p.y).max().orElse(100);
-            double minZ = points.stream().mapToDouble(p -> p.z).min().orElse(0);
-            double maxZ = points.stream().mapToDouble(p -> p.z).max().orElse(100);
-            
-            
-            // 기본 단위 적용 (1:1 비율)
-            double xRange = (maxX - minX);
-            double yRange = (maxY - minY);
-            double maxXYRange = Math.max(xRange, yRange);
-            
-            // X, Y축은 동일한 스케일로 정규화 (1:1 비율 유지)
-            double xyScale = maxXYRange / 80.0;
-            // Z축은 사용자 설정에 따라 조정
-            double zScale = xyScale / 6.0; // 기본 6배 확대
-            
-            double offsetX = -(maxX + minX) / 2.0;
-            double offsetY = -(maxY + minY) / 2.0;
-            double offsetZ = -(maxZ + minZ) / 2.0;
-            
-            System.out.println("3D 데이터 정규화: " + points.size() + "개 포인트");
-            System.out.println("X: " + minX + "~" + maxX + ", Y: " + minY + "~" + maxY + ", Z: " + minZ + "~" + maxZ);
-            System.out.println("XY스케일: " + xyScale + ", Z스케일: " + zScale + ", 오프셋: (" + offsetX + ", " + offsetY + ", " + offsetZ + ")");
-            
-                // 각 데이터 포인트를 3D 구로 표시 (CAD 스타일)
-                for (BuildingPoint point : points) {
-                    Sphere sphere = new Sphere(0.3); // CAD처럼 작은 구로 표시
+            Platform.runLater(() -> {
+                if (generation == sceneGeneration.get()) {
+                    applySceneBuild(build, generation);
+                }
+            });
+        });
+    }
+    
+    /**
+     * 장면 생성 스레드에서 만든 결과 (아직 장면에 붙지 않은 노드와 정규화 값)
+     */
+    private static class SceneBuild {
+        private final PointTable table;
+        private final int count;
+        private final Group group = new Group();
+        private double xyScale = 1.0, zScale = 1.0;
+        private double offsetX, offsetY, offsetZ;
+        private double cameraDistance;
+        private final List<Sphere> spheres = new ArrayList<>();
+        private final Map<String, PointCloudMesh> meshes = new HashMap<>();
+        private PointCloudMesh[] rowMeshes = new PointCloudMesh[0];
+        private int[] rowSlots = new int[0];
+        private int meshRowCount;
+        private PointOctree octree;
+        private PointColumns lodColumns;
+        
+        SceneBuild(PointTable table, PointColumns columns) {
+            this.table = table;
+            this.count = columns != null ? columns.count : 0;
+        }
+    }
+    
+    /**
+     * 범위 계산, 정규화, 점 노드/메시 생성 (장면 생성 스레드)
+     * 장면에 붙지 않은 노드는 FX 스레드 밖에서 만들어도 된다.
+     * @param columns visualizeData를 호출한 EDT에서 복사한 컬럼 (테이블이 없으면 null)
+     * @return 생성 결과 (더 새로운 요청이 들어와서 중단했으면 null)
+     */
+    private SceneBuild buildScene(PointTable table, PointColumns columns, long generation) {
+        SceneBuild build = new SceneBuild(table, columns);
+        int count = build.count;
+        if (count == 0) {
+            return build;
+        }
+        
+        double[] xs = columns.xs;
+        double[] ys = columns.ys;
+        double[] zs = columns.zs;
+        int[] typeIds = columns.typeIds;
+        List<String> types = columns.types;
+        
+        // 데이터 정규화를 위한 범위 계산 (한 번의 순회)
+        double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        double minZ = Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            if ((i & CANCEL_CHECK_MASK) == 0 && generation != sceneGeneration.get()) {
+                return null;
+            }
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+            minZ = Math.min(minZ, zs[i]);
+            maxZ = Math.max(maxZ, zs[i]);
+        }
+        
+        
+        // 기본 단위 적용 (1:1 비율)
+        double xRange = (maxX - minX);
+        double yRange = (maxY - minY);
+        double maxXYRange = Math.max(xRange, yRange);
+        
+        // X, Y축은 동일한 스케일로 정규화 (1:1 비율 유지)
+        double xyScale = maxXYRange / 80.0;
+        // Z축은 사용자 설정에 따라 조정
+        double zScale = xyScale / 6.0; // 기본 6배 확대
+        
+        double offsetX = -(maxX + minX) / 2.0;
+        double offsetY = -(maxY + minY) / 2.0;
+        double offsetZ = -(maxZ + minZ) / 2.0;
+        
+        // 부분 갱신 때 같은 정규화를 쓰도록 보관
+        build.xyScale = xyScale;
+        build.zScale = zScale;
+        build.offsetX = offsetX;
+        build.offsetY = offsetY;
+        build.offsetZ = offsetZ;
+        
+        System.out.println("3D 데이터 정규화: " + count + "개 포인트");
+        System.out.println("X: " + minX + "~" + maxX + ", Y: " + minY + "~" + maxY + ", Z: " + minZ + "~" + maxZ);
+        System.out.println("XY스케일: " + xyScale + ", Z스케일: " + zScale + ", 오프셋: (" + offsetX + ", " + offsetY + ", " + offsetZ + ")");
+        
+        // 카메라 거리 (정규화 좌표의 크기는 범위에서 바로 계산)
+        build.cameraDistance = fitCameraDistance(count, xRange / xyScale, yRange / xyScale, (maxZ - minZ) / zScale);
+        
+        if (MESH_POINTS && count > POINT_BUDGET) {
+            // 점이 많으면 팔진 트리만 만들고 그릴 점은 장면 교체 후 현재 시점으로 선택
+            long buildStart = System.currentTimeMillis();
+            build.octree = PointOctree.build(xs, ys, zs, count, LOD_NODE_POINTS);
+            build.lodColumns = columns;
+            System.out.println("3D 팔진 트리 생성: " + count + "개 점, " + build.octree.getNodeCount() + "개 노드 ("
+                + (System.currentTimeMillis() - buildStart) + "ms), 점 예산 " + POINT_BUDGET + "개");
+        } else if (MESH_POINTS) {
+            // 타입별로 점을 하나의 메시에 모아 표시 (장면 노드 수는 타입 수만큼)
+            int[] perType = new int[types.size()];
+            for (int i = 0; i < count; i++) {
+                perType[typeIds[i]]++;
+            }
+            build.rowMeshes = new PointCloudMesh[count];
+            build.rowSlots = new int[count];
+            for (int i = 0; i < count; i++) {
+                if ((i & CANCEL_CHECK_MASK) == 0 && generation != sceneGeneration.get()) {
+                    return null;
+                }
+                String type = types.get(typeIds[i]);
+                PointCloudMesh mesh = build.meshes.get(type);
+                if (mesh == null) {
+                    mesh = new PointCloudMesh(type, getColorForType(type), perType[typeIds[i]], POINT_RADIUS);
+                    build.meshes.put(type, mesh);
+                    build.group.getChildren().add(mesh.getView());
+                }
+                build.rowMeshes[i] = mesh;
+                build.rowSlots[i] = mesh.add(i, (xs[i] + offsetX) / xyScale,
+                    (ys[i] + offsetY) / xyScale, (zs[i] + offsetZ) / zScale);
+            }
+            build.meshRowCount = count;
+            for (PointCloudMesh mesh : build.meshes.values()) {
+                mesh.commit();
+            }
+            System.out.println("3D 점 메시 생성: " + count + "개 점, " + build.meshes.size() + "개 메시");
+        } else {
+            // 각 데이터 포인트를 3D 구로 표시 (CAD 스타일)
+            for (int i = 0; i < count; i++) {
+                if ((i & CANCEL_CHECK_MASK) == 0 && generation != sceneGeneration.get()) {
+                    return null;
+                }
+                Sphere sphere = new Sphere(POINT_RADIUS); // CAD처럼 작은 구로 표시
                 
                 // 동적 색상 설정
-                Color color = getColorForType(point.type);
+                Color color = getColorForType(types.get(typeIds[i]));
                 PhongMaterial material = new PhongMaterial(color);
                 sphere.setMaterial(material);
+                sphere.setUserData(types.get(typeIds[i]));
                 
                 // 위치 설정 (정규화 적용) - 기본 단위 적용
-                double normalizedX = (point.x + offsetX) / xyScale;
-                double normalizedY = (point.y + offsetY) / xyScale;
-                double normalizedZ = (point.z + offsetZ) / zScale;
+                double normalizedX = (xs[i] + offsetX) / xyScale;
+                double normalizedY = (ys[i] + offsetY) / xyScale;
+                double normalizedZ = (zs[i] + offsetZ) / zScale;
                 
                 sphere.setTranslateX(normalizedX);
                 sphere.setTranslateY(normalizedY);
                 sphere.setTranslateZ(normalizedZ);
                 
-                root.getChildren().add(sphere);
+                build.group.getChildren().add(sphere);
+                build.spheres.add(sphere);
+            }
+        }
+        return generation == sceneGeneration.get() ? build : null;
+    }
+    
+    /**
+     * 생성된 장면으로 교체하고 시점 초기화 (FX 스레드)
+     * 생성 중에 들어와 대기하던 같은 요청의 부분 갱신은 교체 직후 순서대로 적용한다.
+     */
+    private void applySceneBuild(SceneBuild build, long generation) {
+        // 기존 점 그룹만 교체 (조명과 축은 그대로 둠)
+        root.getChildren().remove(pointGroup);
+        pointNodes.clear();
+        pointNodes.addAll(build.spheres);
+        pointMeshes.clear();
+        pointMeshes.putAll(build.meshes);
+        rowMeshes = build.rowMeshes;
+        rowSlots = build.rowSlots;
+        meshRowCount = build.meshRowCount;
+        lodOctree = build.octree;
+        lodColumns = build.lodColumns;
+        previewMeshes.clear();
+        previewStale = true;
+        previewShown = false;
+        pendingPatches.clear();
+        displayedTable = build.table;
+        displayedGeneration = generation;
+        normXYScale = build.xyScale;
+        normZScale = build.zScale;
+        normOffsetX = build.offsetX;
+        normOffsetY = build.offsetY;
+        normOffsetZ = build.offsetZ;
+        pointGroup = build.group;
+        root.getChildren().add(pointGroup);
+        if (!hiddenTypes.isEmpty()) {
+            refreshPointVisibility();
+        }
+        for (PointEdits edits : queuedEdits) {
+            if (edits.generation == generation) {
+                applyEdits(edits);
+            }
+        }
+        queuedEdits.clear();
+        
+        if (build.count == 0) {
+            return;
+        }
+        
+        // 카메라 자동 조정 - 모든 좌표가 보이도록
+        camera.setTranslateZ(-build.cameraDistance);
+        
+        // 초기 스케일을 1.0으로 설정 (R키 리셋과 동일하게)
+        scale.setX(1.0);
+        scale.setY(1.0);
+        scale.setZ(1.0);
+        
+        // 초기 회전도 0도로 설정 (R키 리셋과 동일하게)
+        rotateX.setAngle(0);
+        rotateY.setAngle(0);
+        rotateZ.setAngle(0);
+        
+        // 초기 translate도 R키 리셋과 동일하게 설정
+        translate.setX(0);
+        translate.setY(0);
+        translate.setZ(0); // R키 리셋과 동일하게 0으로 설정
+        
+        // 초기 로드 시 모든 값 콘솔 출력
+        System.out.println("=== 초기 로드 시 모든 값 ===");
+        System.out.println("회전 각도:");
+        System.out.println("  rotateX: " + rotateX.getAngle() + "도");
+        System.out.println("  rotateY: " + rotateY.getAngle() + "도");
+        System.out.println("  rotateZ: " + rotateZ.getAngle() + "도");
+        System.out.println("이동 위치:");
+        System.out.println("  translateX: " + translate.getX());
+        System.out.println("  translateY: " + translate.getY());
+        System.out.println("  translateZ: " + translate.getZ());
+        System.out.println("스케일:");
+        System.out.println("  scaleX: " + scale.getX());
+        System.out.println("  scaleY: " + scale.getY());
+        System.out.println("  scaleZ: " + scale.getZ());
+        System.out.println("카메라 위치:");
+        System.out.println("  cameraZ: " + camera.getTranslateZ());
+        System.out.println("========================");
+        
+        // 변환 적용 (모든 회전, 이동, 스케일 포함)
+        root.getTransforms().clear();
+        root.getTransforms().addAll(rotateX, rotateY, rotateZ, translate, scale);
+        
+        selectLodPoints();
+    }
+    
+    /**
+     * 현재 시점에서 그릴 팔진 트리 노드를 골라 타입별 메시를 다시 채움 (FX 스레드)
+     * 화면에서 크게 보이는 노드부터 자식으로 세분하고, 점 예산을 넘기 전에 멈춘다.
+     * 세분하지 않은 노드는 구간에서 고르게 뽑은 표본만 그린다.
+     */
+    private void selectLodPoints() {
+        if (lodOctree == null || lodColumns == null) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        Transform toScene = root.getLocalToSceneTransform();
+        double viewHeight = root.getScene() != null && root.getScene().getHeight() > 0 ? root.getScene().getHeight() : 600;
+        double focalLength = (viewHeight / 2.0) / Math.tan(Math.toRadians(camera.getFieldOfView()) / 2.0);
+        
+        PriorityQueue<LodNode> queue = new PriorityQueue<>();
+        List<PointOctree.Node> selected = new ArrayList<>();
+        PointOctree.Node rootNode = lodOctree.getRoot();
+        int total = lodOctree.sampleSize(rootNode);
+        queue.add(new LodNode(rootNode, projectedRadius(rootNode, toScene, focalLength)));
+        while (!queue.isEmpty()) {
+            LodNode next = queue.poll();
+            PointOctree.Node node = next.node;
+            if (node.isLeaf() || next.pixels < LOD_REFINE_PIXELS) {
+                selected.add(node);
+                continue;
+            }
+            int childPoints = 0;
+            for (PointOctree.Node child : node.getChildren()) {
+                childPoints += lodOctree.sampleSize(child);
+            }
+            if (total - lodOctree.sampleSize(node) + childPoints > POINT_BUDGET) {
+                // 예산 초과 - 남은 노드는 모두 표본으로 그림
+                selected.add(node);
+                break;
+            }
+            total += childPoints - lodOctree.sampleSize(node);
+            for (PointOctree.Node child : node.getChildren()) {
+                queue.add(new LodNode(child, projectedRadius(child, toScene, focalLength)));
+            }
+        }
+        while (!queue.isEmpty()) {
+            selected.add(queue.poll().node);
+        }
+        
+        double[] xs = lodColumns.xs;
+        double[] ys = lodColumns.ys;
+        double[] zs = lodColumns.zs;
+        int[] typeIds = lodColumns.typeIds;
+        List<String> types = lodColumns.types;
+        for (PointCloudMesh mesh : pointMeshes.values()) {
+            mesh.clear();
+        }
+        for (PointOctree.Node node : selected) {
+            int samples = lodOctree.sampleSize(node);
+            for (int k = 0; k < samples; k++) {
+                int row = lodOctree.sampleRow(node, k);
+                meshForType(types.get(typeIds[row]), LOD_NODE_POINTS).add(row,
+                    (xs[row] + normOffsetX) / normXYScale, (ys[row] + normOffsetY) / normXYScale,
+                    (zs[row] + normOffsetZ) / normZScale);
+            }
+        }
+        for (PointCloudMesh mesh : pointMeshes.values()) {
+            mesh.commit();
+        }
+        System.out.println("3D LOD 선택: " + selected.size() + "개 노드, " + total + "개 점 ("
+            + (System.nanoTime() - startTime) / 1_000_000 + "ms)");
+    }
+    
+    /**
+     * 노드를 감싸는 구가 화면에 보이는 반지름 (픽셀, 카메라가 노드 안에 있으면 무한대)
+     */
+    private double projectedRadius(PointOctree.Node node, Transform toScene, double focalLength) {
+        double centerX = ((node.getMinX() + node.getMaxX()) / 2.0 + normOffsetX) / normXYScale;
+        double centerY = ((node.getMinY() + node.getMaxY()) / 2.0 + normOffsetY) / normXYScale;
+        double centerZ = ((node.getMinZ() + node.getMaxZ()) / 2.0 + normOffsetZ) / normZScale;
+        double halfX = (node.getMaxX() - node.getMinX()) / 2.0 / normXYScale;
+        double halfY = (node.getMaxY() - node.getMinY()) / 2.0 / normXYScale;
+        double halfZ = (node.getMaxZ() - node.getMinZ()) / 2.0 / normZScale;
+        double radius = Math.sqrt(halfX * halfX + halfY * halfY + halfZ * halfZ) * scale.getX();
+        
+        Point3D center = toScene.transform(centerX, centerY, centerZ);
+        double dz = center.getZ() - camera.getTranslateZ();
+        double distance = Math.sqrt(center.getX() * center.getX() + center.getY() * center.getY() + dz * dz);
+        if (distance <= radius) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return radius * focalLength / distance;
+    }
+    
+    /**
+     * LOD 선택 후보 (화면에서 크게 보이는 노드가 먼저)
+     */
+    private static class LodNode implements Comparable<LodNode> {
+        private final PointOctree.Node node;
+        private final double pixels;
+        
+        LodNode(PointOctree.Node node, double pixels) {
+            this.node = node;
+            this.pixels = pixels;
+        }
+        
+        @Override
+        public int compareTo(LodNode other) {
+            return Double.compare(other.pixels, pixels);
+        }
+    }
+    
+    /**
+     * 점 ID 단위 부분 갱신 (조명, 축, 카메라/회전/확대 상태는 유지)
+     * 점 ID는 표시 중인 테이블의 행 인덱스이며, 행을 지우거나 끼워 넣으면 뒤쪽 점의 ID도 테이블과 똑같이 밀린다.
+     * 뷰어는 해당 점이 속한 타입 메시(구 모드는 해당 구 노드)만 고치고, 바뀐 점이 많은 구 모드는
+     * PATCH_CHUNK개씩 여러 펄스에 나눠 적용하므로 갱신 중에도 조작이 가능하다.
+     * 추가/변경된 점의 좌표와 타입은 호출한 스레드에서 테이블에서 읽어 두므로
+     * 테이블을 바꾸는 스레드(EDT)에서 테이블을 바꾼 직후에 호출해야 한다.
+     * 정규화 범위는 처음 표시할 때의 값을 그대로 쓴다 (다시 시각화하면 재계산).
+     * 팔진 트리 모드는 컬럼을 복사해 두고 장면 생성 스레드에서 트리를 다시 만든다 (rebuildLod).
+     * 요청한 장면이 아직 생성 중이면 교체할 때까지 대기시켰다가 순서대로 적용한다.
+     * @param addedIds 끼워 넣거나 뒤에 붙인 행 (바뀐 뒤 테이블 기준)
+     * @param removedIds 지운 행 (바뀌기 전 테이블 기준)
+     * @param changedIds 좌표나 타입이 바뀐 행 (바뀐 뒤 테이블 기준)
+     */
+    public void updatePoints(PointTable table, int[] addedIds, int[] removedIds, int[] changedIds) {
+        if (table == null || table != requestedTable) {
+            return;
+        }
+        if (requestedLod) {
+            rebuildLod(table);
+            return;
+        }
+        PointEdits edits = new PointEdits(table, addedIds, removedIds, changedIds, sceneGeneration.get());
+        if (edits.isEmpty()) {
+            return;
+        }
+        Platform.runLater(() -> {
+            if (edits.generation == displayedGeneration) {
+                applyEdits(edits);
+            } else if (edits.generation == sceneGeneration.get()) {
+                // 이 테이블의 장면이 아직 생성 중 - 생성은 변경 전 복사본으로 하므로 교체 후 적용
+                queuedEdits.add(edits);
             }
-            
-            // 카메라 자동 조정 - 모든 좌표가 보이도록
-            adjustCameraToFitData(points, xyScale, zScale, offsetX, offsetY, offsetZ);
-            
-            // 초기 스케일을 1.0으로 설정 (R키 리셋과 동일하게)
-            scale.setX(1.0);
-            scale.setY(1.0);
-            scale.setZ(1.0);
-            
-            // 초기 회전도 0도로 설정 (R키 리셋과 동일하게)
-            rotateX.setAngle(0);
-            rotateY.setAngle(0);
-            rotateZ.setAngle(0);
-            
-            // 초기 translate도 R키 리셋과 동일하게 설정
-            translate.setX(0);
-            translate.setY(0);
-            translate.setZ(0); // R키 리셋과 동일하게 0으로 설정
-            
-            // 초기 로드 시 모든 값 콘솔 출력
-            System.out.println("=== 초기 로드 시 모든 값 ===");
-            System.out.println("회전 각도:");
-            System.out.println("  rotateX: " + rotateX.getAngle() + "도");
-            System.out.println("  rotateY: " + rotateY.getAngle() + "도");
-            System.out.println("  rotateZ: " + rotateZ.getAngle() + "도");
-            System.out.println("이동 위치:");
-            System.out.println("  translateX: " + translate.getX());
-            System.out.println("  translateY: " + translate.getY());
-            System.out.println("  translateZ: " + translate.getZ());
-            System.out.println("스케일:");
-            System.out.println("  scaleX: " + scale.getX());
-            System.out.println("  scaleY: " + scale.getY());
-            System.out.println("  scaleZ: " + scale.getZ());
-            System.out.println("카메라 위치:");
-            System.out.println("  cameraZ: " + camera.getTranslateZ());
-            System.out.println("========================");
-            
-            // 변환 적용 (모든 회전, 이동, 스케일 포함)
-            root.getTransforms().clear();
-            root.getTransforms().addAll(rotateX, rotateY, rotateZ, translate, scale);
         });
     }
     
     /**
-     * 카메라를 데이터에 맞게 자동 조정
+     * 표시 중인 장면에 부분 갱신 적용 (FX 스레드)
      */
-    private void adjustCameraToFitData(List<BuildingPoint> points, double xyScale, double zScale, 
-                                     double offsetX, double offsetY, double offsetZ) {
-        if (points == null || points.isEmpty()) {
+    private void applyEdits(PointEdits edits) {
+        previewStale = true;
+        if (MESH_POINTS) {
+            applyMeshEdits(edits);
             return;
         }
+        pendingPatches.add(new PatchCursor(edits));
+        if (pendingPatches.size() == 1) {
+            applyPatchChunk();
+        }
+    }
+    
+    /**
+     * 팔진 트리 모드 부분 갱신 (EDT에서 컬럼을 복사하고 장면 생성 스레드에서 트리를 다시 만듦)
+     * FX 스레드에서는 완성된 트리와 복사본으로 교체하고 현재 시점으로 다시 선택만 한다.
+     * 새 장면 요청이나 더 새로운 변경이 들어오면 만들던 트리는 버린다 (복사본은 변경 시점의 전체 컬럼).
+     */
+    private void rebuildLod(PointTable table) {
+        PointColumns columns = PointColumns.copyOf(table);
+        long generation = sceneGeneration.get();
+        long edit = lodEditGeneration.incrementAndGet();
+        sceneBuilder.execute(() -> {
+            if (generation != sceneGeneration.get() || edit != lodEditGeneration.get()) {
+                return;
+            }
+            long startTime = System.currentTimeMillis();
+            PointOctree octree = PointOctree.build(columns.xs, columns.ys, columns.zs, columns.count, LOD_NODE_POINTS);
+            System.out.println("3D 팔진 트리 재생성: " + columns.count + "개 점 ("
+                + (System.currentTimeMillis() - startTime) + "ms, 장면 생성 스레드)");
+            Platform.runLater(() -> {
+                if (generation != sceneGeneration.get() || edit != lodEditGeneration.get()
+                    || table != displayedTable || lodOctree == null) {
+                    return;
+                }
+                lodOctree = octree;
+                lodColumns = columns;
+                previewStale = true;
+                selectLodPoints();
+            });
+        });
+    }
+    
+    /**
+     * EDT에서 복사한 좌표/타입 컬럼 (장면 생성과 팔진 트리 모드의 LOD 선택이 읽음)
+     * 장면 생성(visualizeData)과 부분 갱신(rebuildLod) 모두 EDT에서 테이블을 복사해 두므로,
+     * EDT가 다음 변경을 반영하는 동안에도 장면 생성 스레드와 FX 스레드가 읽을 수 있다.
+     */
+    private static class PointColumns {
+        private final int count;
+        private final double[] xs;
+        private final double[] ys;
+        private final double[] zs;
+        private final int[] typeIds;
+        private final List<String> types;
         
-        // 정규화된 좌표의 최대 범위 계산
-        double maxDistance = 0;
-        double minX = Double.MAX_VALUE, maxX = Double.MIN_VALUE;
-        double minY = Double.MAX_VALUE, maxY = Double.MIN_VALUE;
-        double minZ = Double.MAX_VALUE, maxZ = Double.MIN_VALUE;
+        PointColumns(int count, double[] xs, double[] ys, double[] zs, int[] typeIds, List<String> types) {
+            this.count = count;
+            this.xs = xs;
+            this.ys = ys;
+            this.zs = zs;
+            this.typeIds = typeIds;
+            this.types = types;
+        }
         
-        for (BuildingPoint point : points) {
-            double normalizedX = (point.x + offsetX) / xyScale;
-            double normalizedY = (point.y + offsetY) / xyScale;
-            double normalizedZ = (point.z + offsetZ) / zScale;
-            
-            // 원점에서의 거리 계산
-            double distance = Math.sqrt(normalizedX * normalizedX + normalizedY * normalizedY + normalizedZ * normalizedZ);
-            maxDistance = Math.max(maxDistance, distance);
-            
-            // 각 축별 최대/최소값 계산
-            minX = Math.min(minX, normalizedX);
-            maxX = Math.max(maxX, normalizedX);
-            minY = Math.min(minY, normalizedY);
-            maxY = Math.max(maxY, normalizedY);
-            minZ = Math.min(minZ, normalizedZ);
-            maxZ = Math.max(maxZ, normalizedZ);
-        }
-        
-        // 데이터의 실제 크기 계산
-        double dataWidth = maxX - minX;
-        double dataHeight = maxY - minY;
-        double dataDepth = maxZ - minZ;
+        static PointColumns copyOf(PointTable table) {
+            int count = table.size();
+            return new PointColumns(count, Arrays.copyOf(table.getXArray(), count), Arrays.copyOf(table.getYArray(), count),
+                Arrays.copyOf(table.getZArray(), count), Arrays.copyOf(table.getTypeIdArray(), count),
+                new ArrayList<>(table.getTypeDictionary()));
+        }
+    }
+    
+    /**
+     * 타입별 표시/숨김 (장면을 다시 만들지 않고 해당 타입의 메시나 구 노드만 숨김)
+     */
+    public void setTypeVisible(String type, boolean visible) {
+        Platform.runLater(() -> {
+            boolean changed = visible ? hiddenTypes.remove(type) : hiddenTypes.add(type);
+            if (changed) {
+                refreshPointVisibility();
+            }
+        });
+    }
+    
+    /**
+     * ID 단위 갱신 내용 (추가/변경된 점의 값은 만들 때 테이블에서 복사)
+     */
+    private static class PointEdits {
+        // 호출 시점의 장면 요청 세대 (이 세대의 장면에만 적용)
+        private final long generation;
+        private final int newSize;
+        // 지운 행 (바뀌기 전 기준)과 추가한 행 (바뀐 뒤 기준), 오름차순
+        private final int[] removed;
+        private final int[] added;
+        // 값을 반영할 행 (추가 + 변경, 바뀐 뒤 기준)
+        private final int[] rows;
+        private final double[] x;
+        private final double[] y;
+        private final double[] z;
+        private final String[] types;
+        
+        PointEdits(PointTable table, int[] addedIds, int[] removedIds, int[] changedIds, long generation) {
+            this.generation = generation;
+            this.newSize = table.size();
+            this.removed = sortedIds(removedIds, Integer.MAX_VALUE);
+            this.added = sortedIds(addedIds, newSize);
+            int[] changed = sortedIds(changedIds, newSize);
+            this.rows = Arrays.copyOf(added, added.length + changed.length);
+            System.arraycopy(changed, 0, rows, added.length, changed.length);
+            this.x = new double[rows.length];
+            this.y = new double[rows.length];
+            this.z = new double[rows.length];
+            this.types = new String[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                x[i] = table.getX(rows[i]);
+                y[i] = table.getY(rows[i]);
+                z[i] = table.getZ(rows[i]);
+                types[i] = table.getType(rows[i]);
+            }
+        }
+        
+        /**
+         * 0 이상 limit 미만인 ID만 남겨 정렬하고 중복 제거
+         */
+        private static int[] sortedIds(int[] ids, int limit) {
+            if (ids == null) {
+                return new int[0];
+            }
+            int[] sorted = ids.clone();
+            Arrays.sort(sorted);
+            int count = 0;
+            for (int id : sorted) {
+                if (id >= 0 && id < limit && (count == 0 || sorted[count - 1] != id)) {
+                    sorted[count++] = id;
+                }
+            }
+            return Arrays.copyOf(sorted, count);
+        }
+        
+        boolean isEmpty() {
+            return rows.length == 0 && removed.length == 0;
+        }
+        
+        /**
+         * 행을 지우거나 끼워 넣어서 뒤쪽 행의 ID가 밀리는지 여부
+         */
+        boolean shiftsRows() {
+            return removed.length > 0 || added.length > 0;
+        }
+        
+        /**
+         * 바뀌기 전 행 → 바뀐 뒤 행 대응표 (지운 행은 -1)
+         */
+        int[] rowMapping(int oldSize) {
+            int[] map = new int[oldSize];
+            int next = 0;
+            int removedIndex = 0;
+            int addedIndex = 0;
+            for (int row = 0; row < oldSize; row++) {
+                if (removedIndex < removed.length && removed[removedIndex] == row) {
+                    removedIndex++;
+                    map[row] = -1;
+                    continue;
+                }
+                while (addedIndex < added.length && added[addedIndex] == next) {
+                    addedIndex++;
+                    next++;
+                }
+                map[row] = next++;
+            }
+            return map;
+        }
+    }
+    
+    /**
+     * 메시 모드 갱신 (꼭짓점 배열만 고치고 메시마다 한 번에 반영하므로 나누어 적용하지 않음)
+     * 지운 행은 메시에서 빼고, 남은 행은 새 ID로 다시 붙인 뒤 추가/변경된 행을 반영한다.
+     * 타입이 바뀐 행은 이전 타입 메시에서 빼서 새 타입 메시로 옮긴다.
+     */
+    private void applyMeshEdits(PointEdits edits) {
+        for (int row : edits.removed) {
+            if (row < meshRowCount && rowMeshes[row] != null) {
+                removeMeshPoint(row);
+            }
+        }
+        if (edits.shiftsRows()) {
+            int[] map = edits.rowMapping(meshRowCount);
+            PointCloudMesh[] meshes = new PointCloudMesh[edits.newSize];
+            int[] slots = new int[edits.newSize];
+            for (int row = 0; row < meshRowCount; row++) {
+                int target = map[row];
+                if (target >= 0 && target < edits.newSize) {
+                    meshes[target] = rowMeshes[row];
+                    slots[target] = rowSlots[row];
+                }
+            }
+            for (PointCloudMesh mesh : pointMeshes.values()) {
+                mesh.relabel(map);
+            }
+            rowMeshes = meshes;
+            rowSlots = slots;
+        }
+        meshRowCount = Math.min(edits.newSize, rowMeshes.length);
+        
+        for (int i = 0; i < edits.rows.length; i++) {
+            int row = edits.rows[i];
+            if (row >= meshRowCount) {
+                continue;
+            }
+            upsertMeshPoint(row, edits.types[i], (edits.x[i] + normOffsetX) / normXYScale,
+                (edits.y[i] + normOffsetY) / normXYScale, (edits.z[i] + normOffsetZ) / normZScale);
+        }
+        for (PointCloudMesh mesh : pointMeshes.values()) {
+            mesh.commit();
+        }
+        System.out.println("3D 부분 갱신 완료: " + edits.rows.length + "개 점 추가/변경, "
+            + edits.removed.length + "개 점 삭제, 총 " + meshRowCount + "개 점");
+    }
+    
+    /**
+     * 행 하나를 타입 메시에 추가 (타입 메시가 없으면 만들어서 장면에 붙임)
+     */
+    private void addMeshPoint(int row, String type, int capacity, double x, double y, double z) {
+        PointCloudMesh mesh = meshForType(type, capacity);
+        rowMeshes[row] = mesh;
+        rowSlots[row] = mesh.add(row, x, y, z);
+    }
+    
+    /**
+     * 타입 메시 조회 (없으면 만들어서 장면에 붙임)
+     */
+    private PointCloudMesh meshForType(String type, int capacity) {
+        PointCloudMesh mesh = pointMeshes.get(type);
+        if (mesh == null) {
+            mesh = new PointCloudMesh(type, getColorForType(type), capacity, POINT_RADIUS);
+            mesh.getView().setVisible(!previewShown && !hiddenTypes.contains(type));
+            pointMeshes.put(type, mesh);
+            pointGroup.getChildren().add(mesh.getView());
+        }
+        return mesh;
+    }
+    
+    /**
+     * 행 하나의 위치/타입 반영 (같은 타입이면 꼭짓점만 고치고, 타입이 바뀌었거나 새 행이면 해당 타입 메시에 추가)
+     */
+    private void upsertMeshPoint(int row, String type, double x, double y, double z) {
+        PointCloudMesh mesh = rowMeshes[row];
+        if (mesh != null && mesh.getType().equals(type)) {
+            mesh.set(rowSlots[row], x, y, z);
+            return;
+        }
+        if (mesh != null) {
+            removeMeshPoint(row);
+        }
+        addMeshPoint(row, type, 16, x, y, z);
+    }
+    
+    /**
+     * 행 하나를 타입 메시에서 제거 (메시 안에서 자리를 옮긴 행의 위치도 갱신)
+     */
+    private void removeMeshPoint(int row) {
+        int moved = rowMeshes[row].remove(rowSlots[row]);
+        if (moved >= 0) {
+            rowSlots[moved] = rowSlots[row];
+        }
+        rowMeshes[row] = null;
+    }
+    
+    /**
+     * 대기 중인 구 모드 갱신을 한 묶음 적용하고, 남은 것이 있으면 다음 펄스로 넘김
+     * 행 삭제/삽입에 따른 노드 재배치는 첫 묶음에서 한 번에 하고, 값 반영만 나누어 한다.
+     */
+    private void applyPatchChunk() {
+        PatchCursor cursor = pendingPatches.peek();
+        if (cursor == null) {
+            return;
+        }
+        PointEdits edits = cursor.edits;
+        
+        if (cursor.next == 0 && edits.shiftsRows()) {
+            int[] map = edits.rowMapping(pointNodes.size());
+            Sphere[] moved = new Sphere[edits.newSize];
+            List<Sphere> removed = new ArrayList<>();
+            for (int row = 0; row < map.length; row++) {
+                int target = map[row];
+                if (target >= 0 && target < moved.length) {
+                    moved[target] = pointNodes.get(row);
+                } else {
+                    removed.add(pointNodes.get(row));
+                }
+            }
+            pointGroup.getChildren().removeAll(new HashSet<>(removed));
+            pointNodes.clear();
+            for (int row = 0; row < moved.length; row++) {
+                if (moved[row] == null) {
+                    // 새 행 자리 (값은 아래 묶음에서 채움)
+                    moved[row] = new Sphere(POINT_RADIUS);
+                    moved[row].setVisible(false);
+                    pointGroup.getChildren().add(moved[row]);
+                }
+                pointNodes.add(moved[row]);
+            }
+        }
+        
+        int end = Math.min(edits.rows.length, cursor.next + PATCH_CHUNK);
+        for (int i = cursor.next; i < end; i++) {
+            int row = edits.rows[i];
+            if (row >= pointNodes.size()) {
+                continue;
+            }
+            Sphere sphere = pointNodes.get(row);
+            if (!edits.types[i].equals(sphere.getUserData())) {
+                sphere.setMaterial(new PhongMaterial(getColorForType(edits.types[i])));
+                sphere.setUserData(edits.types[i]);
+            }
+            sphere.setTranslateX((edits.x[i] + normOffsetX) / normXYScale);
+            sphere.setTranslateY((edits.y[i] + normOffsetY) / normXYScale);
+            sphere.setTranslateZ((edits.z[i] + normOffsetZ) / normZScale);
+            sphere.setVisible(!hiddenTypes.contains(edits.types[i]));
+        }
+        cursor.next = end;
+        
+        if (end >= edits.rows.length) {
+            pendingPatches.poll();
+            System.out.println("3D 부분 갱신 완료: " + edits.rows.length + "개 점 추가/변경, "
+                + edits.removed.length + "개 점 삭제, 총 " + pointNodes.size() + "개 점");
+        }
+        if (!pendingPatches.isEmpty()) {
+            Platform.runLater(this::applyPatchChunk);
+        }
+    }
+    
+    /**
+     * 적용 중인 구 모드 갱신과 다음에 적용할 위치
+     */
+    private static class PatchCursor {
+        private final PointEdits edits;
+        private int next;
+        
+        PatchCursor(PointEdits edits) {
+            this.edits = edits;
+        }
+    }
+    
+    /**
+     * 데이터가 모두 보이는 카메라 거리 계산 (정규화 좌표 기준 데이터 크기)
+     */
+    private static double fitCameraDistance(int count, double dataWidth, double dataHeight, double dataDepth) {
         double maxDimension = Math.max(Math.max(dataWidth, dataHeight), dataDepth);
         
         // 카메라 거리 계산 (데이터 크기와 시야각을 고려)
@@ -545,17 +1443,14 @@ public class Interactive3DViewer extends JPanel {
         cameraDistance = Math.max(cameraDistance, minDistance);
         cameraDistance = Math.min(cameraDistance, maxDistanceLimit);
         
-        // 카메라 위치 설정 (R키 리셋과 동일한 값으로)
-        camera.setTranslateZ(-cameraDistance);
-        // translate는 visualizeData에서 별도로 설정
-        
         System.out.println("카메라 자동 조정 (데이터 기반):");
-        System.out.println("  데이터 포인트 수: " + points.size() + "개");
+        System.out.println("  데이터 포인트 수: " + count + "개");
         System.out.println("  데이터 크기: " + String.format("%.1f x %.1f x %.1f", dataWidth, dataHeight, dataDepth));
         System.out.println("  최대 차원: " + String.format("%.1f", maxDimension));
         System.out.println("  계산된 카메라 거리: " + String.format("%.1f", cameraDistance));
         System.out.println("  실제 설정된 카메라 Z: " + String.format("%.1f", -cameraDistance));
         System.out.println("  거리 범위: " + String.format("%.1f ~ %.1f", minDistance, maxDistanceLimit));
+        return cameraDistance;
     }
     
     /**
@@ -1,7 +1,11 @@
 package com.example.visualizer.view;
 
+import com.example.visualizer.model.PointTableModel;
+
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 
 /**
  * 메인 프레임 뷰 클래스
@@ -26,9 +30,27 @@ public class MainFrame extends JFrame {
         progressPanel = new ProgressPanel();
         visualizationPanel = new VisualizationPanel();
         dataTable = new JTable();
+        setupTableSorting();
         mainSplitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT);
     }
     
+    /**
+     * 헤더 클릭으로 컬럼 정렬 (데이터는 그대로 두고 인덱스 순열만 변경)
+     */
+    private void setupTableSorting() {
+        dataTable.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int viewColumn = dataTable.columnAtPoint(e.getPoint());
+                if (viewColumn < 0 || !(dataTable.getModel() instanceof PointTableModel)) {
+                    return;
+                }
+                int column = dataTable.convertColumnIndexToModel(viewColumn);
+                ((PointTableModel) dataTable.getModel()).toggleSort(column);
+            }
+        });
+    }
+    
     private void setupLayout() {
         setLayout(new BorderLayout());
         
@@ -0,0 +1,197 @@
+package com.example.visualizer.view;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.Arrays;
+
+/**
+ * 한 타입의 점들을 하나의 MeshView로 묶어 그리는 점 구름 메시
+ * (장면에 붙기 전에는 장면 생성 스레드에서 채우고, 붙은 뒤에는 FX 스레드에서만 사용)
+ * 점마다 작은 팔면체(꼭짓점 6개, 삼각형 8개)를 만들고 같은 타입은 재질 하나를 공유하므로
+ * 점이 몇 개든 장면에는 노드 하나만 추가된다.
+ * 꼭짓점 좌표는 배열에 모아 두었다가 commit()에서 한 번에 메시로 넘긴다.
+ */
+public class PointCloudMesh {
+    private static final int VERTICES_PER_POINT = 6;
+    private static final int FLOATS_PER_POINT = VERTICES_PER_POINT * 3;
+    // 팔면체 면 (꼭짓점 순서: +X, -X, +Y, -Y, +Z, -Z)
+    private static final int[][] FACES = {
+        {0, 2, 4}, {2, 1, 4}, {1, 3, 4}, {3, 0, 4},
+        {2, 0, 5}, {1, 2, 5}, {3, 1, 5}, {0, 3, 5}
+    };
+    private static final int INTS_PER_POINT = FACES.length * 6;
+    // 모든 메시가 같이 쓰는 면 배열 (점 순서대로 같은 모양이므로 필요한 길이만큼 잘라 씀, 만든 뒤에는 바꾸지 않음)
+    private static int[] faceTemplate = new int[0];
+    
+    private final String type;
+    private final float radius;
+    private final TriangleMesh mesh = new TriangleMesh();
+    private final MeshView view = new MeshView(mesh);
+    private float[] vertices;
+    // 점 위치별 테이블 행 인덱스
+    private int[] rows;
+    private int count;
+    // 메시에 넘긴 면 개수 (점 개수가 바뀔 때만 면 배열을 다시 만듦)
+    private int faceCount = -1;
+    private boolean dirty;
+    
+    /**
+     * @param type 점 타입 이름
+     * @param color 타입 색상 (재질 하나를 모든 점이 공유)
+     * @param capacity 예상 점 개수
+     * @param radius 팔면체 반지름 (정규화 좌표 기준)
+     */
+    public PointCloudMesh(String type, Color color, int capacity, double radius) {
+        this.type = type;
+        this.radius = (float) radius;
+        this.vertices = new float[Math.max(1, capacity) * FLOATS_PER_POINT];
+        this.rows = new int[Math.max(1, capacity)];
+        mesh.getTexCoords().addAll(0, 0);
+        view.setMaterial(new PhongMaterial(color));
+        view.setCullFace(CullFace.NONE);
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public MeshView getView() {
+        return view;
+    }
+    
+    public int size() {
+        return count;
+    }
+    
+    /**
+     * 점 추가
+     * @param row 테이블 행 인덱스
+     * @return 메시 안에서의 점 위치
+     */
+    public int add(int row, double x, double y, double z) {
+        if (count == rows.length) {
+            rows = Arrays.copyOf(rows, rows.length * 2);
+            vertices = Arrays.copyOf(vertices, rows.length * FLOATS_PER_POINT);
+        }
+        rows[count] = row;
+        set(count, x, y, z);
+        return count++;
+    }
+    
+    /**
+     * 점 제거 (마지막 점을 빈 자리로 옮김)
+     * @return 빈 자리로 옮겨진 점의 행 인덱스 (옮긴 점이 없으면 -1)
+     */
+    public int remove(int slot) {
+        int last = --count;
+        dirty = true;
+        if (slot == last) {
+            return -1;
+        }
+        System.arraycopy(vertices, last * FLOATS_PER_POINT, vertices, slot * FLOATS_PER_POINT, FLOATS_PER_POINT);
+        rows[slot] = rows[last];
+        return rows[slot];
+    }
+    
+    /**
+     * 점들의 테이블 행 인덱스를 새 번호로 바꿈 (테이블 행 삭제/삽입으로 행 번호가 밀렸을 때, 꼭짓점은 그대로)
+     * @param map 이전 행 인덱스 → 새 행 인덱스
+     */
+    public void relabel(int[] map) {
+        for (int slot = 0; slot < count; slot++) {
+            rows[slot] = map[rows[slot]];
+        }
+    }
+    
+    /**
+     * 모든 점 제거 (배열은 재사용)
+     */
+    public void clear() {
+        count = 0;
+        dirty = true;
+    }
+    
+    /**
+     * 점 위치 변경 (commit() 전까지는 화면에 반영되지 않음)
+     */
+    public void set(int slot, double x, double y, double z) {
+        float fx = (float) x;
+        float fy = (float) y;
+        float fz = (float) z;
+        int base = slot * FLOATS_PER_POINT;
+        put(base, fx + radius, fy, fz);
+        put(base + 3, fx - radius, fy, fz);
+        put(base + 6, fx, fy + radius, fz);
+        put(base + 9, fx, fy - radius, fz);
+        put(base + 12, fx, fy, fz + radius);
+        put(base + 15, fx, fy, fz - radius);
+        dirty = true;
+    }
+    
+    /**
+     * 점 중심 좌표 (set()으로 넣은 값을 꼭짓점 배열에서 다시 읽음, float 정밀도)
+     */
+    public double getX(int slot) {
+        // +Y 꼭짓점은 x가 중심과 같음
+        return vertices[slot * FLOATS_PER_POINT + 6];
+    }
+    
+    public double getY(int slot) {
+        // +X 꼭짓점은 y, z가 중심과 같음
+        return vertices[slot * FLOATS_PER_POINT + 1];
+    }
+    
+    public double getZ(int slot) {
+        return vertices[slot * FLOATS_PER_POINT + 2];
+    }
+    
+    /**
+     * 바뀐 꼭짓점과 면을 메시에 반영
+     */
+    public void commit() {
+        if (!dirty) {
+            return;
+        }
+        mesh.getPoints().setAll(vertices, 0, count * FLOATS_PER_POINT);
+        if (faceCount != count) {
+            mesh.getFaces().setAll(faces(count), 0, count * INTS_PER_POINT);
+            faceCount = count;
+        }
+        dirty = false;
+    }
+    
+    /**
+     * 점 count개 분량 이상의 면 배열 (모자라면 두 배로 늘려 다시 만듦)
+     */
+    private static synchronized int[] faces(int count) {
+        if (faceTemplate.length < count * INTS_PER_POINT) {
+            int points = Math.max(count, faceTemplate.length / INTS_PER_POINT * 2);
+            int[] faces = new int[points * INTS_PER_POINT];
+            int index = 0;
+            for (int point = 0; point < points; point++) {
+                int first = point * VERTICES_PER_POINT;
+                for (int[] face : FACES) {
+                    // (꼭짓점, 텍스처 좌표) 쌍 3개 - 텍스처 좌표는 하나만 사용
+                    faces[index++] = first + face[0];
+                    faces[index++] = 0;
+                    faces[index++] = first + face[1];
+                    faces[index++] = 0;
+                    faces[index++] = first + face[2];
+                    faces[index++] = 0;
+                }
+            }
+            faceTemplate = faces;
+        }
+        return faceTemplate;
+    }
+    
+    private void put(int index, float x, float y, float z) {
+        vertices[index] = x;
+        vertices[index + 1] = y;
+        vertices[index + 2] = z;
+    }
+}
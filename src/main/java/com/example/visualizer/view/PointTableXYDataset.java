@@ -0,0 +1,87 @@
+package com.example.visualizer.view;
+
+import com.example.visualizer.model.PointTable;
+import org.jfree.data.xy.AbstractXYDataset;
+
+/**
+ * PointTable의 x/y 배열을 그대로 읽는 JFreeChart 데이터셋
+ * XYSeries처럼 점마다 객체를 만들지 않으며, 테이블 값이 바뀌면 fireChanged()만 호출하면 된다.
+ * 단위 변환 배율은 값을 읽을 때 곱하므로 배율이 바뀌어도 테이블은 다시 만들지 않는다.
+ * 테이블은 EDT에서만 변경되고 차트도 EDT에서 그리므로 별도 동기화는 하지 않는다.
+ */
+public class PointTableXYDataset extends AbstractXYDataset {
+    private final String seriesKey;
+    private PointTable table;
+    private double unitScale = 1.0;
+    
+    public PointTableXYDataset(String seriesKey) {
+        this.seriesKey = seriesKey;
+    }
+    
+    /**
+     * 표시할 테이블 교체 (null이면 빈 데이터셋)
+     */
+    public void setTable(PointTable table, double unitScale) {
+        this.table = table;
+        this.unitScale = unitScale;
+        fireDatasetChanged();
+    }
+    
+    public PointTable getTable() {
+        return table;
+    }
+    
+    /**
+     * 단위 변환 배율만 교체 (배율은 값을 읽을 때 곱하므로 테이블은 그대로 둔다)
+     */
+    public void setUnitScale(double unitScale) {
+        this.unitScale = unitScale;
+        fireDatasetChanged();
+    }
+    
+    public double getUnitScale() {
+        return unitScale;
+    }
+    
+    /**
+     * 테이블 값이 바뀌었음을 차트에 알림
+     */
+    public void fireChanged() {
+        fireDatasetChanged();
+    }
+    
+    @Override
+    public int getSeriesCount() {
+        return table != null ? 1 : 0;
+    }
+    
+    @Override
+    public String getSeriesKey(int series) {
+        return seriesKey;
+    }
+    
+    @Override
+    public int getItemCount(int series) {
+        return table != null ? table.size() : 0;
+    }
+    
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+    
+    @Override
+    public double getXValue(int series, int item) {
+        return table.getX(item) * unitScale;
+    }
+    
+    @Override
+    public Number getY(int series, int item) {
+        return getYValue(series, item);
+    }
+    
+    @Override
+    public double getYValue(int series, int item) {
+        return table.getY(item) * unitScale;
+    }
+}
@@ -37,10 +37,28 @@ public class ProgressPanel extends JPanel {
             progressBar.setValue(progressInfo.getProgress());
             progressBar.setString(progressInfo.getMessage());
             progressBar.setIndeterminate(progressInfo.isIndeterminate());
-            statusLabel.setText(progressInfo.getStatus());
+            statusLabel.setText(progressInfo.hasRowProgress()
+                ? progressInfo.getStatus() + " " + formatRowProgress(progressInfo)
+                : progressInfo.getStatus());
         });
     }
     
+    /**
+     * 행 수, 처리량, 남은 시간 표시 문자열
+     */
+    private String formatRowProgress(ProgressInfo progressInfo) {
+        StringBuilder text = new StringBuilder("(");
+        text.append(String.format("%,d", progressInfo.getProcessedRows()));
+        if (progressInfo.getTotalRows() > 0) {
+            text.append(" / ").append(String.format("%,d", progressInfo.getTotalRows()));
+        }
+        text.append("행, ").append(String.format("%,.0f", progressInfo.getRowsPerSecond())).append("행/초");
+        if (progressInfo.getEtaMillis() >= 0) {
+            text.append(", 남은 시간 ").append(String.format("%.1f", progressInfo.getEtaMillis() / 1000.0)).append("초");
+        }
+        return text.append(")").toString();
+    }
+    
     public void reset() {
         SwingUtilities.invokeLater(() -> {
             progressBar.setValue(0);
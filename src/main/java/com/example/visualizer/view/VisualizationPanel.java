@@ -1,5 +1,7 @@
 package com.example.visualizer.view;
 
+import com.example.visualizer.model.PointTable;
+import com.example.visualizer.model.PointTableDiff;
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
@@ -101,6 +103,19 @@ public class VisualizationPanel extends JPanel {
         });
     }
     
+    /**
+     * 컬럼 배열 데이터를 인터랙티브 뷰어에 표시
+     */
+    public void display3DData(PointTable table) {
+        SwingUtilities.invokeLater(() -> {
+            if (table != null && table.size() > 0) {
+                interactive3DViewer.visualizeData(table);
+                // 2D 탭을 먼저 보여줌
+                tabbedPane.setSelectedIndex(0);
+            }
+        });
+    }
+    
     /**
      * 3D 뷰 초기화
      */
@@ -130,6 +145,39 @@ public class VisualizationPanel extends JPanel {
         });
     }
     
+    /**
+     * 컬럼 배열 데이터를 2D 차트에 표시
+     */
+    public void display2DChart(PointTable table, double unitScale) {
+        SwingUtilities.invokeLater(() -> {
+            if (table != null && table.size() > 0) {
+                chartPreviewPanel.updateChart(table, unitScale);
+                // 2D 차트 탭을 선택
+                tabbedPane.setSelectedIndex(0);
+            }
+        });
+    }
+    
+    /**
+     * 단위 변환 배율만 변경 (데이터를 다시 만들지 않고 2D 차트의 배율과 축만 바꿈)
+     * 3D 뷰어는 데이터 범위에 맞춰 정규화해서 보여주므로 배율이 바뀌어도 장면은 그대로다.
+     */
+    public void setUnitScale(double unitScale) {
+        SwingUtilities.invokeLater(() -> {
+            chartPreviewPanel.setUnitScale(unitScale);
+        });
+    }
+    
+    /**
+     * 파일 변경으로 바뀐 점만 2D 차트와 3D 뷰어에 반영 (각 뷰가 해당 테이블을 표시 중일 때만)
+     */
+    public void applyDataPatch(PointTable table, PointTableDiff diff) {
+        SwingUtilities.invokeLater(() -> {
+            chartPreviewPanel.pointsChanged(table, diff);
+        });
+        interactive3DViewer.updatePoints(table, diff.getInsertedRows(), diff.getDeletedRows(), diff.getUpdatedRows());
+    }
+    
     /**
      * 2D 차트 초기화
      */
@@ -138,5 +186,5 @@ public class VisualizationPanel extends JPanel {
             chartPreviewPanel.clearChart();
         });
     }
-    
+
 }
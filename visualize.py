@@ -4,6 +4,7 @@ import matplotlib.font_manager as fm
 from mpl_toolkits.mplot3d import Axes3D
 import sys
 import os
+import time
 
 # 한글 폰트 설정
 def setup_korean_font():
@@ -24,6 +25,45 @@ def setup_korean_font():
 # 한글 폰트 설정 실행
 setup_korean_font()
 
+# 진행 상황 보고 대상 (None이면 stdout에 JSON 한 줄, 작업자 모드에서는 응답 프레임)
+_progress_sink = None
+_progress_last = 0.0
+
+# 행 단위 진행 보고 최소 간격 (초)
+PROGRESS_INTERVAL = 0.2
+
+def set_progress_sink(sink):
+    """진행 상황을 받을 함수 지정 (None이면 stdout으로 출력)"""
+    global _progress_sink
+    _progress_sink = sink
+
+def report_progress(stage, percent, message, rows=None, total=None):
+    """진행 상황 보고 - {"op": "progress", "stage", "percent", "message", "rows", "total"}
+    행 단위 보고(rows 지정)는 PROGRESS_INTERVAL에 한 번으로 제한하고, 단계 전환은 항상 보낸다.
+    """
+    global _progress_last
+    import json
+    
+    now = time.monotonic()
+    if rows is not None and rows != total and now - _progress_last < PROGRESS_INTERVAL:
+        return
+    _progress_last = now
+    
+    event = {'op': 'progress', 'stage': stage, 'percent': int(percent), 'message': message}
+    if rows is not None:
+        event['rows'] = int(rows)
+    if total is not None:
+        event['total'] = int(total)
+    if _progress_sink is not None:
+        _progress_sink(event)
+    else:
+        print(json.dumps(event, ensure_ascii=False), flush=True)
+
+def report_plot_progress(rows, total):
+    """그래프 그리기 진행 (전체 진행률 10~60%)"""
+    percent = 10 + (50 * rows // total if total else 50)
+    report_progress('plot', percent, "그래프를 그리는 중...", rows, total)
+
 def generate_colors_for_types(unique_types):
     """타입별로 동적으로 색상 생성"""
     import matplotlib.colors as mcolors
@@ -47,8 +87,11 @@ def generate_colors_for_types(unique_types):
     
     return type_colors
 
-def visualize_excel(file_path, unit_scale=1.0, output_dir=None):
-    df = pd.read_excel(file_path)
+def visualize_excel(file_path, unit_scale=1.0, output_dir=None, df=None):
+    # 이미 읽은 데이터가 있으면 다시 파싱하지 않음 (배율을 제자리에서 곱하므로 복사본 사용)
+    df = pd.read_excel(file_path) if df is None else df.copy()
+    total = len(df)
+    report_progress('read', 10, "엑셀 데이터를 읽었습니다.", total, total)
 
     if not {'x','y'}.issubset(df.columns):
         raise ValueError("Excel must contain 'x' and 'y' columns")
@@ -75,6 +118,7 @@ def visualize_excel(file_path, unit_scale=1.0, output_dir=None):
             unique_types = df['type'].unique()
             type_colors = generate_colors_for_types(unique_types)
             
+            plotted = 0
             for type_name, group in df.groupby('type'):
                 color = type_colors.get(type_name, 'gray')
                 ax.scatter(group['x'], group['y'], group['z'], 
@@ -86,6 +130,8 @@ def visualize_excel(file_path, unit_scale=1.0, output_dir=None):
                         coord_text = f'({row["x"]:.0f},{row["y"]:.0f},{row["z"]:.0f})'
                         ax.text(row['x'], row['y'], row['z'], coord_text, 
                                fontsize=6, alpha=0.8)
+                    plotted += 1
+                    report_plot_progress(plotted, total)
         else:
             # type 컬럼이 없는 경우
             ax.scatter(df['x'], df['y'], df['z'], s=20, color='blue', alpha=0.8)  # CAD 스타일로 작은 점
@@ -96,6 +142,7 @@ def visualize_excel(file_path, unit_scale=1.0, output_dir=None):
                     coord_text = f'({row["x"]:.0f},{row["y"]:.0f},{row["z"]:.0f})'
                     ax.text(row['x'], row['y'], row['z'], coord_text, 
                            fontsize=6, alpha=0.8)
+                report_plot_progress(idx + 1, total)
         
         ax.set_xlabel("X 좌표")
         ax.set_ylabel("Y 좌표")
@@ -159,6 +206,7 @@ def visualize_excel(file_path, unit_scale=1.0, output_dir=None):
             unique_types = df['type'].unique()
             type_colors = generate_colors_for_types(unique_types)
             
+            plotted = 0
             for type_name, group in df.groupby('type'):
                 color = type_colors.get(type_name, 'gray')  # 기본값은 회색
                 plt.scatter(group['x'], group['y'], label=type_name, s=20, color=color, alpha=0.8)  # CAD 스타일로 작은 점
@@ -170,6 +218,8 @@ def visualize_excel(file_path, unit_scale=1.0, output_dir=None):
                                (row['x'], row['y']), 
                                xytext=(5, 5), textcoords='offset points',
                                fontsize=8, alpha=0.8)
+                    plotted += 1
+                    report_plot_progress(plotted, total)
         else:
             # type 컬럼이 없는 경우
             plt.scatter(df['x'], df['y'], s=20, color='blue', alpha=0.8)  # CAD 스타일로 작은 점
@@ -181,6 +231,7 @@ def visualize_excel(file_path, unit_scale=1.0, output_dir=None):
                            (row['x'], row['y']), 
                            xytext=(5, 5), textcoords='offset points',
                            fontsize=8, alpha=0.8)
+                report_plot_progress(idx + 1, total)
 
         plt.xlabel("X 좌표")
         plt.ylabel("Y 좌표")
@@ -205,6 +256,7 @@ def visualize_excel(file_path, unit_scale=1.0, output_dir=None):
         plt.grid(True, alpha=0.3)
     
     # 여백 조정으로 이미지가 잘리지 않도록 함
+    report_progress('save_image', 60, "그래프 이미지를 저장하는 중...")
     plt.tight_layout()
 
     # 타임스탬프를 포함한 고유한 파일명 생성
@@ -234,6 +286,7 @@ def visualize_excel(file_path, unit_scale=1.0, output_dir=None):
     plt.close()
 
     # 엑셀 파일에 이미지 삽입
+    report_progress('save_excel', 75, "결과 엑셀 파일을 저장하는 중...")
     out_excel = os.path.join(output_dir, "coords_with_plot.xlsx")
     
     # 원본 데이터를 엑셀에 저장
@@ -260,59 +313,183 @@ def visualize_excel(file_path, unit_scale=1.0, output_dir=None):
 
         return img_path, out_excel
 
-def send_3d_data_to_java(df, unit_scale=1.0, output_dir=None):
-    """Java 3D 뷰어에 데이터 전송"""
+# 3D 데이터 전달 형식: bvpt(기본, 바이너리) 또는 json(이전 버전 호환)
+POINT_FORMAT = os.environ.get('VISUALIZER_3D_FORMAT', 'bvpt').lower()
+
+def point_columns(df):
+    """3D 뷰어용 좌표/타입 컬럼 (z, type 컬럼이 없으면 0, 'default')"""
+    n = len(df)
+    x = df['x'].astype(float).to_numpy()
+    y = df['y'].astype(float).to_numpy()
+    z = df['z'].astype(float).to_numpy() if 'z' in df.columns else [0.0] * n
+    types = df['type'].astype(str) if 'type' in df.columns else pd.Series(['default'] * n)
+    return x, y, z, types
+
+def encode_points_json(x, y, z, types):
+    """포인트마다 객체 하나인 JSON 문서"""
+    points = [
+        {'x': float(px), 'y': float(py), 'z': float(pz), 'type': t}
+        for px, py, pz, t in zip(x, y, z, types)
+    ]
+    return {'points': points, 'total_count': len(points)}
+
+def encode_points_binary(x, y, z, types):
+    """바이너리 포인트 형식(.bvpt, Java BinaryPointSource와 같은 구조, 리틀 엔디언)
+    magic "BVPT" | int32 version | int32 flags (1: z, 2: type) | int32 typeCount | int64 pointCount
+    | typeCount x (int32 바이트 수 + UTF-8 타입 이름) | 8바이트 정렬 패딩
+    | float64[n] x | float64[n] y | float64[n] z | int32[n] typeId
+    """
+    import struct
+    import numpy as np
+    
+    codes, names = pd.factorize(types, sort=False)
+    parts = [b'BVPT', struct.pack('<iiiq', 1, 3, len(names), len(codes))]
+    size = 24
+    for name in names:
+        raw = str(name).encode('utf-8')
+        parts.append(struct.pack('<i', len(raw)))
+        parts.append(raw)
+        size += 4 + len(raw)
+    parts.append(b'\0' * (-size % 8))
+    parts.append(np.asarray(x, dtype='<f8').tobytes())
+    parts.append(np.asarray(y, dtype='<f8').tobytes())
+    parts.append(np.asarray(z, dtype='<f8').tobytes())
+    parts.append(np.asarray(codes, dtype='<i4').tobytes())
+    return b''.join(parts)
+
+def send_3d_data_to_java(df, unit_scale=1.0, output_dir=None, push_token=None):
+    """Java 3D 뷰어에 데이터 전송 (전송 실패 시 output_dir에 파일로 저장)
+    
+    Java는 이번 실행에만 쓰는 토큰이 붙은 요청만 받으므로, 토큰이 없으면 전송하지 않고 파일로 저장한다.
+    """
     try:
-        import socket
         import json
-        
-        # 3D 데이터 준비 (이미 unit_scale이 적용된 데이터를 그대로 사용)
-        points = []
-        for idx, row in df.iterrows():
-            point = {
-                'x': float(row['x']),
-                'y': float(row['y']),
-                'z': float(row['z']) if 'z' in row else 0.0,
-                'type': str(row['type']) if 'type' in row else 'default'
-            }
-            points.append(point)
-        
-        # Java 애플리케이션에 데이터 전송 (간단한 HTTP 요청)
         import urllib.request
-        import urllib.parse
         
-        data = {
-            'points': points,
-            'total_count': len(points)
-        }
+        # 3D 데이터 준비 (이미 unit_scale이 적용된 데이터를 그대로 사용)
+        x, y, z, types = point_columns(df)
+        count = len(x)
         
-        json_data = json.dumps(data).encode('utf-8')
+        if POINT_FORMAT == 'json':
+            data = encode_points_json(x, y, z, types)
+            body = json.dumps(data).encode('utf-8')
+            content_type = 'application/json'
+        else:
+            body = encode_points_binary(x, y, z, types)
+            content_type = 'application/x-bvpt'
         
         try:
+            if not push_token:
+                raise RuntimeError("3D 데이터 수신 토큰 없음")
             # Java 애플리케이션의 3D 뷰어에 데이터 전송
             req = urllib.request.Request(
                 'http://localhost:8080/3d-data',
-                data=json_data,
-                headers={'Content-Type': 'application/json'}
+                data=body,
+                headers={'Content-Type': content_type, 'X-Visualizer-Token': push_token}
             )
             urllib.request.urlopen(req, timeout=1)
-            print(f"3D 데이터 전송 완료: {len(points)}개 포인트")
+            print(f"3D 데이터 전송 완료: {count}개 포인트")
         except:
             # HTTP 전송 실패 시 파일로 저장
             if output_dir:
-                json_path = os.path.join(output_dir, "3d_data.json")
-                with open(json_path, 'w', encoding='utf-8') as f:
-                    json.dump(data, f, ensure_ascii=False, indent=2)
-                print(f"3D 데이터 파일 저장: {json_path} ({len(points)}개 포인트)")
+                if POINT_FORMAT == 'json':
+                    file_path = os.path.join(output_dir, "3d_data.json")
+                    with open(file_path, 'w', encoding='utf-8') as f:
+                        json.dump(data, f, ensure_ascii=False, indent=2)
+                else:
+                    file_path = os.path.join(output_dir, "3d_data.bvpt")
+                    with open(file_path, 'wb') as f:
+                        f.write(body)
+                print(f"3D 데이터 파일 저장: {file_path} ({count}개 포인트)")
             else:
                 print("3D 데이터 전송 실패: output_dir이 설정되지 않음")
             
     except Exception as e:
         print(f"3D 데이터 전송 실패: {e}")
 
+def run_job(file_path, unit_scale=1.0, push_token=None):
+    """시각화 작업 1건 실행 (이미지/엑셀 생성 후 3D 데이터 전송)"""
+    # 데이터 로드 (이미지 생성과 3D 데이터 전송에 같이 사용)
+    df = pd.read_excel(file_path)
+    
+    # 이미지 생성
+    img, out = visualize_excel(file_path, unit_scale=unit_scale, df=df)
+    
+    # 3D 데이터 전송
+    report_progress('send_3d', 90, "3D 데이터를 전송하는 중...")
+    send_3d_data_to_java(df, unit_scale, os.path.dirname(img), push_token)
+    return img, out
+
+def read_frame(stream):
+    """길이(4바이트 빅엔디언) + UTF-8 JSON 프레임 읽기 (입력이 닫히면 None)"""
+    import json
+    import struct
+    
+    header = stream.read(4)
+    if len(header) < 4:
+        return None
+    (length,) = struct.unpack('>I', header)
+    payload = stream.read(length)
+    if len(payload) < length:
+        return None
+    return json.loads(payload.decode('utf-8'))
+
+def write_frame(stream, message):
+    """길이(4바이트 빅엔디언) + UTF-8 JSON 프레임 쓰기"""
+    import json
+    import struct
+    
+    payload = json.dumps(message, ensure_ascii=False).encode('utf-8')
+    stream.write(struct.pack('>I', len(payload)))
+    stream.write(payload)
+    stream.flush()
+
+def run_worker():
+    """상주 작업자 모드 - pandas/matplotlib을 한 번만 로드하고 stdin으로 받은 작업을 반복 처리
+    
+    요청: {"id": n, "op": "render", "file": 경로, "unit_scale": 배율, "push_token": 3D 데이터 전송 토큰}
+          / {"id": n, "op": "ping"} / {"op": "exit"}
+    응답: {"id": n, "ok": true, "image": 경로, "excel": 경로} / {"id": n, "ok": false, "error": 메시지}
+    render 처리 중에는 응답 전에 {"id": n, "op": "progress", ...} 프레임을 여러 번 보낸다.
+    stdout은 프레임 전용이므로 print 로그는 stderr로 보낸다.
+    """
+    plt.switch_backend('Agg')
+    requests = sys.stdin.buffer
+    responses = sys.stdout.buffer
+    sys.stdout = sys.stderr
+    
+    write_frame(responses, {'op': 'ready', 'pid': os.getpid()})
+    while True:
+        request = read_frame(requests)
+        if request is None or request.get('op') == 'exit':
+            break
+        
+        request_id = request.get('id')
+        op = request.get('op')
+        if op == 'ping':
+            write_frame(responses, {'id': request_id, 'ok': True, 'op': 'pong'})
+        elif op == 'render':
+            set_progress_sink(lambda event: write_frame(responses, dict(event, id=request_id)))
+            try:
+                img, out = run_job(request['file'], float(request.get('unit_scale', 1.0)),
+                                   request.get('push_token'))
+                write_frame(responses, {'id': request_id, 'ok': True, 'image': img, 'excel': out})
+            except Exception as e:
+                plt.close('all')
+                write_frame(responses, {'id': request_id, 'ok': False, 'error': f"{type(e).__name__}: {e}"})
+            finally:
+                set_progress_sink(None)
+        else:
+            write_frame(responses, {'id': request_id, 'ok': False, 'error': f"unknown op: {op}"})
+
 if __name__ == "__main__":
+    if len(sys.argv) > 1 and sys.argv[1] == "--worker":
+        run_worker()
+        sys.exit(0)
+    
     if len(sys.argv) < 2:
         print("Usage: python visualize.py <excel_file> [unit_scale]")
+        print("       python visualize.py --worker")
         sys.exit(1)
     file_path = sys.argv[1]
     
@@ -326,13 +503,10 @@ if __name__ == "__main__":
     else:
         unit_scale = 1.0
     
-    # 데이터 로드
-    df = pd.read_excel(file_path)
-    
-    # 이미지 생성
-    img, out = visualize_excel(file_path, unit_scale=unit_scale)
+    img, out = run_job(file_path, unit_scale, os.environ.get('VISUALIZER_PUSH_TOKEN'))
     print("Saved image:", img)
     print("Saved excel:", out)
     
-    # 3D 데이터 전송
-    send_3d_data_to_java(df, unit_scale, os.path.dirname(img))
+    # 호출한 Java 프로세스가 읽는 결과 (진행 상황과 같은 JSON 한 줄 형식)
+    import json
+    print(json.dumps({'op': 'result', 'image': img, 'excel': out}, ensure_ascii=False), flush=True)